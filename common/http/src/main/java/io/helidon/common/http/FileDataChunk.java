@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.http;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link DataChunk} representing a region of a file.
+ * <p>
+ * Transports that can write a file region directly (e.g. using {@code sendfile}) should
+ * use {@link #channel()}, {@link #position()} and {@link #count()} instead of {@link #data()},
+ * so the content is never copied to user space.
+ * Any other consumer can still use this chunk as an ordinary data chunk; the region is then
+ * read into heap buffers on the first call to {@link #data()}, the file is never memory mapped.
+ * A publisher of a large file should therefore publish it as a sequence of small regions, so consumers
+ * never read more than one region into memory at a time.
+ * <p>
+ * The file channel is either owned by this chunk and closed by {@link #release()}, or shared by several
+ * regions and closed by the release callback once all of them are released. Transports must not close
+ * the channel themselves.
+ */
+public final class FileDataChunk implements DataChunk {
+
+    // size of the buffers the region is read into by data()
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final long position;
+    private final long count;
+    private final Runnable releaseCallback;
+    private ByteBuffer[] byteBuffers;
+    private boolean isReleased = false;
+    private CompletableFuture<DataChunk> writeFuture;
+
+    private FileDataChunk(FileChannel channel, long position, long count, Runnable releaseCallback) {
+        this.channel = channel;
+        this.position = position;
+        this.count = count;
+        this.releaseCallback = releaseCallback;
+    }
+
+    /**
+     * Create a data chunk for a region of a file.
+     *
+     * @param channel  file channel, closed when the chunk is released
+     * @param position position of the region in the file
+     * @param count    number of bytes of the region, at most {@link Integer#MAX_VALUE}
+     * @return a new data chunk
+     */
+    public static FileDataChunk create(FileChannel channel, long position, long count) {
+        Objects.requireNonNull(channel, "channel is null");
+        return create(channel, position, count, () -> {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing to do, the content was already consumed
+            }
+        });
+    }
+
+    /**
+     * Create a data chunk for a region of a file shared with other chunks.
+     * The channel is not closed by this chunk, the release callback is invoked instead.
+     *
+     * @param channel         file channel
+     * @param position        position of the region in the file
+     * @param count           number of bytes of the region, at most {@link Integer#MAX_VALUE}
+     * @param releaseCallback invoked once, when this chunk is released
+     * @return a new data chunk
+     */
+    public static FileDataChunk create(FileChannel channel, long position, long count, Runnable releaseCallback) {
+        Objects.requireNonNull(channel, "channel is null");
+        Objects.requireNonNull(releaseCallback, "releaseCallback is null");
+        if (position < 0 || count < 0 || count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Position must not be negative and count must be between 0 and "
+                                                       + Integer.MAX_VALUE + ": " + position + ", " + count);
+        }
+        return new FileDataChunk(channel, position, count, releaseCallback);
+    }
+
+    /**
+     * The file channel of this chunk.
+     *
+     * @return file channel
+     */
+    public FileChannel channel() {
+        return channel;
+    }
+
+    /**
+     * Position of the region in the file.
+     *
+     * @return position in bytes
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Number of bytes of the region.
+     *
+     * @return size of the region in bytes
+     */
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public ByteBuffer[] data() {
+        if (byteBuffers == null) {
+            byteBuffers = read();
+        }
+        return byteBuffers;
+    }
+
+    @Override
+    public int remaining() {
+        if (byteBuffers == null) {
+            return (int) count;
+        }
+        return DataChunk.super.remaining();
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return isReleased;
+    }
+
+    @Override
+    public void release() {
+        if (!isReleased) {
+            isReleased = true;
+            releaseCallback.run();
+        }
+    }
+
+    @Override
+    public void writeFuture(CompletableFuture<DataChunk> writeFuture) {
+        this.writeFuture = writeFuture;
+    }
+
+    @Override
+    public Optional<CompletableFuture<DataChunk>> writeFuture() {
+        return Optional.ofNullable(writeFuture);
+    }
+
+    private ByteBuffer[] read() {
+        int buffers = (int) ((count + READ_BUFFER_SIZE - 1) / READ_BUFFER_SIZE);
+        ByteBuffer[] result = new ByteBuffer[buffers];
+        long offset = position;
+        try {
+            for (int i = 0; i < buffers; i++) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(READ_BUFFER_SIZE, position + count - offset));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offset + buffer.position()) < 0) {
+                        throw new EOFException("File ended before the end of the region: " + (offset + buffer.position()));
+                    }
+                }
+                offset += buffer.flip().remaining();
+                result[i] = buffer.asReadOnlyBuffer();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read file region", e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.common.http;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link FileDataChunk}.
+ */
+class FileDataChunkTest {
+
+    @Test
+    void testRegion(@TempDir Path tempDir) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("region.txt"), "skip:urzatron:skip");
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+
+        FileDataChunk chunk = FileDataChunk.create(channel, 5, 8);
+
+        assertThat(chunk.position(), is(5L));
+        assertThat(chunk.count(), is(8L));
+        assertThat(chunk.remaining(), is(8));
+        assertThat(chunk.isReadOnly(), is(true));
+        assertThat(chunk.isFlushChunk(), is(false));
+        assertThat(new String(chunk.bytes(), StandardCharsets.UTF_8), is("urzatron"));
+
+        chunk.release();
+        assertThat(chunk.isReleased(), is(true));
+        assertThat(channel.isOpen(), is(false));
+    }
+
+    @Test
+    void testLargeRegion(@TempDir Path tempDir) throws Exception {
+        byte[] content = new byte[200_000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        Path file = Files.write(tempDir.resolve("large.bin"), content);
+        FileDataChunk chunk = FileDataChunk.create(FileChannel.open(file, StandardOpenOption.READ), 1, content.length - 1);
+
+        // read in bounded buffers
+        assertThat(chunk.data().length, is(4));
+        assertThat(chunk.bytes(), is(Arrays.copyOfRange(content, 1, content.length)));
+        chunk.release();
+    }
+
+    @Test
+    void testEmpty(@TempDir Path tempDir) throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.txt"));
+        FileDataChunk chunk = FileDataChunk.create(FileChannel.open(file, StandardOpenOption.READ), 0, 0);
+
+        assertThat(chunk.remaining(), is(0));
+        assertThat(chunk.bytes().length, is(0));
+        chunk.release();
+    }
+
+    @Test
+    void testSharedChannel(@TempDir Path tempDir) throws Exception {
+        Path file = Files.writeString(tempDir.resolve("shared.txt"), "urzatron");
+        AtomicInteger released = new AtomicInteger();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FileDataChunk first = FileDataChunk.create(channel, 0, 4, released::incrementAndGet);
+            FileDataChunk second = FileDataChunk.create(channel, 4, 4, released::incrementAndGet);
+
+            assertThat(new String(first.bytes(), StandardCharsets.UTF_8), is("urza"));
+            first.release();
+            first.release();
+            assertThat(released.get(), is(1));
+            assertThat(channel.isOpen(), is(true));
+            assertThat(new String(second.bytes(), StandardCharsets.UTF_8), is("tron"));
+            second.release();
+            assertThat(released.get(), is(2));
+        }
+    }
+
+    @Test
+    void testInvalidRegion(@TempDir Path tempDir) throws Exception {
+        Path file = Files.createFile(tempDir.resolve("invalid.txt"));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertThrows(IllegalArgumentException.class, () -> FileDataChunk.create(channel, -1, 0));
+            assertThrows(IllegalArgumentException.class, () -> FileDataChunk.create(channel, 0, Integer.MAX_VALUE + 1L));
+        }
+    }
+}
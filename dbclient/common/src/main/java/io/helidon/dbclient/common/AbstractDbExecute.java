@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
 import io.helidon.dbclient.DbExecute;
+import io.helidon.dbclient.DbStatementBatch;
 import io.helidon.dbclient.DbStatementDml;
 import io.helidon.dbclient.DbStatementGet;
 import io.helidon.dbclient.DbStatementQuery;
@@ -113,6 +114,16 @@ public abstract class AbstractDbExecute implements DbExecute {
         return createNamedDmlStatement(generateName(DbStatementType.DML, statement), statement);
     }
 
+    @Override
+    public DbStatementBatch createNamedBatch(String statementName) {
+        return createNamedBatch(statementName, statementText(statementName));
+    }
+
+    @Override
+    public DbStatementBatch createBatch(String statement) {
+        return createNamedBatch(generateName(DbStatementType.DML, statement), statement);
+    }
+
     /**
      * Generate a name for a statement.
      * The default implementation uses {@code SHA-256} so the same name is always
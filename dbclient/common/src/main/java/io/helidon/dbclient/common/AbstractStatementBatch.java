@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.common;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.dbclient.DbClientException;
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.DbMapperManager;
+import io.helidon.dbclient.DbStatementBatch;
+import io.helidon.dbclient.DbStatementType;
+
+/**
+ * Common batch statement methods and fields.
+ * Parameter sets are collected as either {@code Map<String, Object>} for named parameters,
+ * or {@code List<Object>} for indexed parameters, and handed over to {@link #executeChunk(DbClientServiceContext, List)}
+ * in chunks.
+ * <p>
+ * Client services are invoked once for the whole batch, with the statement and no parameters.
+ */
+public abstract class AbstractStatementBatch implements DbStatementBatch {
+
+    private final DbClientContext clientContext;
+    private final DbStatementContext statementContext;
+    private final List<Object> parameters = new ArrayList<>();
+
+    private ParamType paramType = ParamType.UNKNOWN;
+    private Flow.Publisher<?> publisher;
+    private Function<Object, ?> publisherMapper;
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * Batch statement that handles parameter sets.
+     *
+     * @param statementContext database statement configuration and context
+     */
+    protected AbstractStatementBatch(DbStatementContext statementContext) {
+        this.statementContext = statementContext;
+        this.clientContext = statementContext.clientContext();
+    }
+
+    @Override
+    public DbStatementBatch batchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, but is " + batchSize);
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch addParams(List<?> parameters) {
+        Objects.requireNonNull(parameters, "Parameters cannot be null (may be an empty list)");
+        initParameters(ParamType.INDEXED, false);
+        this.parameters.add(new ArrayList<>(parameters));
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch addParams(Map<String, ?> parameters) {
+        Objects.requireNonNull(parameters, "Parameters cannot be null (may be an empty map)");
+        initParameters(ParamType.NAMED, false);
+        // values may be null, which Map.copyOf does not allow
+        this.parameters.add(new HashMap<>(parameters));
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch addNamedParam(Object parameters) {
+        initParameters(ParamType.NAMED, false);
+        this.parameters.add(toNamedParameters(parameters));
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch addIndexedParam(Object parameters) {
+        initParameters(ParamType.INDEXED, false);
+        this.parameters.add(toIndexedParameters(parameters));
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch namedParams(Flow.Publisher<?> parameters) {
+        initParameters(ParamType.NAMED, true);
+        this.publisher = parameters;
+        this.publisherMapper = this::toNamedParameters;
+        return this;
+    }
+
+    @Override
+    public DbStatementBatch indexedParams(Flow.Publisher<?> parameters) {
+        initParameters(ParamType.INDEXED, true);
+        this.publisher = parameters;
+        this.publisherMapper = this::toIndexedParameters;
+        return this;
+    }
+
+    @Override
+    public Multi<Long> execute() {
+        CompletableFuture<Long> queryFuture = new CompletableFuture<>();
+        CompletableFuture<Void> statementFuture = new CompletableFuture<>();
+        DbClientServiceContext dbContext = DbClientServiceContext.create(dbType())
+                .resultFuture(queryFuture)
+                .statementFuture(statementFuture);
+        dbContext.statementName(statementContext.statementName());
+        dbContext.statement(statementContext.statement(), List.of());
+        dbContext.statementType(statementType());
+
+        Multi<Object> source = (publisher == null)
+                ? Multi.create(parameters)
+                : Multi.create(publisher).map(publisherMapper);
+        AtomicLong total = new AtomicLong();
+
+        executionStarted(queryFuture);
+        return clientContext.invokeServices(dbContext)
+                .flatMap(serviceContext -> Multi.create(new ChunkPublisher<>(source, batchSize))
+                        // one chunk at a time, next parameters are requested once the previous chunk is done
+                        .flatMap(chunk -> executeChunk(serviceContext, chunk), 1, false, 1))
+                .peek(total::addAndGet)
+                .onComplete(() -> {
+                    statementFuture.complete(null);
+                    queryFuture.complete(total.get());
+                })
+                .onCancel(() -> {
+                    statementFuture.complete(null);
+                    queryFuture.complete(total.get());
+                })
+                .onError(throwable -> {
+                    statementFuture.completeExceptionally(throwable);
+                    queryFuture.completeExceptionally(throwable);
+                });
+    }
+
+    /**
+     * Called when the batch is executed, before client services are invoked.
+     *
+     * @param queryFuture future that completes with the total number of modified records once the batch is finished,
+     *                    or exceptionally if the batch fails
+     */
+    protected void executionStarted(CompletableFuture<Long> queryFuture) {
+    }
+
+    /**
+     * Execute one chunk of parameter sets.
+     *
+     * @param dbContext client service context as updated by client services
+     * @param chunk parameter sets, each is either a {@code Map<String, Object>} of named parameters
+     *              or a {@code List<Object>} of indexed parameters, depending on {@link #paramType()}
+     * @return number of records modified by the chunk
+     */
+    protected abstract Single<Long> executeChunk(DbClientServiceContext dbContext, List<Object> chunk);
+
+    /**
+     * Type of this database to use in interceptor context.
+     *
+     * @return type of this db
+     */
+    protected abstract String dbType();
+
+    /**
+     * Type of this statement.
+     *
+     * @return statement type
+     */
+    protected DbStatementType statementType() {
+        return statementContext.statementType();
+    }
+
+    /**
+     * Type of parameters of this batch.
+     *
+     * @return indexed or named, or unknown in case no parameters were configured
+     */
+    protected ParamType paramType() {
+        return paramType;
+    }
+
+    /**
+     * Statement name.
+     *
+     * @return name of this statement (never null, may be generated)
+     */
+    protected String statementName() {
+        return statementContext.statementName();
+    }
+
+    /**
+     * Statement text.
+     *
+     * @return text of this statement
+     */
+    protected String statement() {
+        return statementContext.statement();
+    }
+
+    /**
+     * Context of the DB client.
+     *
+     * @return context with access to client wide configuration and runtime
+     */
+    protected DbClientContext clientContext() {
+        return clientContext;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Map<String, ?> toNamedParameters(T parameters) {
+        DbMapperManager dbMapperManager = clientContext.dbMapperManager();
+        return dbMapperManager.toNamedParameters(parameters, (Class<T>) parameters.getClass());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> List<?> toIndexedParameters(T parameters) {
+        DbMapperManager dbMapperManager = clientContext.dbMapperManager();
+        return dbMapperManager.toIndexedParameters(parameters, (Class<T>) parameters.getClass());
+    }
+
+    private void initParameters(ParamType type, boolean fromPublisher) {
+        if (publisher != null || (fromPublisher && !parameters.isEmpty())) {
+            throw new IllegalStateException("Parameters of a batch cannot be both added and provided by a publisher");
+        }
+        if (paramType == ParamType.UNKNOWN) {
+            paramType = type;
+        } else if (paramType != type) {
+            throw new DbClientException("This is a batch with " + paramType.name().toLowerCase()
+                                                + " parameters, cannot use " + type.name().toLowerCase() + " parameters.");
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * Publisher that groups items of the source publisher into lists of at most {@code chunkSize} items.
+ * Each requested chunk requests {@code chunkSize} items from the source.
+ *
+ * @param <T> type of the items
+ */
+final class ChunkPublisher<T> implements Flow.Publisher<List<T>> {
+
+    private final Flow.Publisher<T> source;
+    private final int chunkSize;
+
+    ChunkPublisher(Flow.Publisher<T> source, int chunkSize) {
+        this.source = source;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super List<T>> subscriber) {
+        source.subscribe(new ChunkSubscriber<>(subscriber, chunkSize));
+    }
+
+    private static final class ChunkSubscriber<T> implements Flow.Subscriber<T>, Flow.Subscription {
+        private final Flow.Subscriber<? super List<T>> downstream;
+        private final int chunkSize;
+        private Flow.Subscription upstream;
+        private List<T> chunk;
+
+        private ChunkSubscriber(Flow.Subscriber<? super List<T>> downstream, int chunkSize) {
+            this.downstream = downstream;
+            this.chunkSize = chunkSize;
+            this.chunk = new ArrayList<>(chunkSize);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.upstream = subscription;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T item) {
+            chunk.add(item);
+            if (chunk.size() == chunkSize) {
+                List<T> full = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                downstream.onNext(full);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            chunk = null;
+            downstream.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            List<T> last = chunk;
+            chunk = null;
+            if (!last.isEmpty()) {
+                // there is always demand for the last chunk, as it requested more items than received
+                downstream.onNext(last);
+            }
+            downstream.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                upstream.request(n);
+                return;
+            }
+            // saturate on overflow
+            long items = (n > Long.MAX_VALUE / chunkSize) ? Long.MAX_VALUE : n * chunkSize;
+            upstream.request(items);
+        }
+
+        @Override
+        public void cancel() {
+            upstream.cancel();
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -354,4 +354,45 @@ public interface DbExecute {
     default Single<Long> dml(String statement, Object... parameters) {
         return createDmlStatement(statement).params(parameters).execute();
     }
+
+    /*
+     * BATCH
+     */
+
+    /**
+     * Create a batch of data modification statements using a named statement passed as an argument.
+     * The default implementation throws an {@link UnsupportedOperationException}, providers that support
+     * batches override it.
+     *
+     * @param statementName the name of the statement
+     * @param statement the statement text
+     * @return batch of data modification statements
+     */
+    default DbStatementBatch createNamedBatch(String statementName, String statement) {
+        throw new UnsupportedOperationException("Batch statements are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Create a batch of data modification statements using a statement defined in the configuration file.
+     * The default implementation throws an {@link UnsupportedOperationException}, as the statement text
+     * can only be resolved by the provider.
+     *
+     * @param statementName the name of the configuration node with statement
+     * @return batch of data modification statements
+     */
+    default DbStatementBatch createNamedBatch(String statementName) {
+        throw new UnsupportedOperationException("Named batch statements are not supported by " + getClass().getName());
+    }
+
+    /**
+     * Create a batch of data modification statements using a statement passed as an argument.
+     * The default implementation delegates to {@link #createNamedBatch(String, String)} using the statement
+     * text as its name.
+     *
+     * @param statement the statement text
+     * @return batch of data modification statements
+     */
+    default DbStatementBatch createBatch(String statement) {
+        return createNamedBatch(statement, statement);
+    }
 }
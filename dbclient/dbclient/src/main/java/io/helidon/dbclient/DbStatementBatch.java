@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Flow;
+
+import io.helidon.common.reactive.Multi;
+
+/**
+ * Batch of DML statements.
+ * The same statement is executed with each set of parameters, and the parameter sets are sent to the database
+ * in chunks of {@link #batchSize(int)}, so a bulk modification does not need a round trip per record.
+ * <p>
+ * Parameters can be either added one set at a time using the {@code addParams} methods, or provided as a
+ * {@link java.util.concurrent.Flow.Publisher} of objects with registered mapper. Items of the publisher
+ * are requested only as fast as the chunks are executed.
+ * <p>
+ * All parameter sets of a batch must use the same kind of parameters (indexed or named).
+ * Once {@link #execute()} is called, the batch must not be modified.
+ */
+public interface DbStatementBatch {
+    /**
+     * Default number of parameter sets sent to the database in one chunk.
+     */
+    int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Maximal number of parameter sets sent to the database in one chunk.
+     * Defaults to {@value #DEFAULT_BATCH_SIZE}.
+     *
+     * @param batchSize number of parameter sets in one chunk
+     * @return updated batch
+     */
+    DbStatementBatch batchSize(int batchSize);
+
+    /**
+     * Add a set of indexed parameters by order.
+     *
+     * @param parameters ordered parameters of one statement execution
+     * @return updated batch
+     */
+    DbStatementBatch addParams(List<?> parameters);
+
+    /**
+     * Add a set of indexed parameters by order.
+     *
+     * @param parameters ordered parameters of one statement execution
+     * @return updated batch
+     */
+    default DbStatementBatch addParams(Object... parameters) {
+        return addParams(Arrays.asList(parameters));
+    }
+
+    /**
+     * Add a set of named parameters.
+     *
+     * @param parameters named parameters of one statement execution
+     * @return updated batch
+     */
+    DbStatementBatch addParams(Map<String, ?> parameters);
+
+    /**
+     * Add a set of named parameters using {@link Object} instance with registered mapper.
+     *
+     * @param parameters {@link Object} instance containing parameters of one statement execution
+     * @return updated batch
+     */
+    DbStatementBatch addNamedParam(Object parameters);
+
+    /**
+     * Add a set of indexed parameters using {@link Object} instance with registered mapper.
+     *
+     * @param parameters {@link Object} instance containing parameters of one statement execution
+     * @return updated batch
+     */
+    DbStatementBatch addIndexedParam(Object parameters);
+
+    /**
+     * Use named parameters mapped from each item of the publisher.
+     * Cannot be combined with parameters added using the {@code add} methods.
+     *
+     * @param parameters publisher of {@link Object} instances with registered mapper
+     * @return updated batch
+     */
+    DbStatementBatch namedParams(Flow.Publisher<?> parameters);
+
+    /**
+     * Use indexed parameters mapped from each item of the publisher.
+     * Cannot be combined with parameters added using the {@code add} methods.
+     *
+     * @param parameters publisher of {@link Object} instances with registered mapper
+     * @return updated batch
+     */
+    DbStatementBatch indexedParams(Flow.Publisher<?> parameters);
+
+    /**
+     * Execute the batch.
+     * The next chunk is sent to the database once the previous one is finished.
+     *
+     * @return number of records modified by each chunk
+     */
+    Multi<Long> execute();
+}
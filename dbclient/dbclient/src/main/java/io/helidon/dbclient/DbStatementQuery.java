@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,4 +21,15 @@ import io.helidon.common.reactive.Multi;
  * Database query statement.
  */
 public interface DbStatementQuery extends DbStatement<DbStatementQuery, Multi<DbRow>> {
+    /**
+     * Number of rows to fetch from the database at once when more rows are needed.
+     * This is a hint for the database driver, so large results can be read without loading them
+     * into memory. Implementations that cannot control fetching ignore it.
+     *
+     * @param fetchSize number of rows to fetch at once, {@code 0} to use the default of the client
+     * @return updated db statement
+     */
+    default DbStatementQuery fetchSize(int fetchSize) {
+        return this;
+    }
 }
@@ -34,6 +34,7 @@ import io.helidon.dbclient.DbClientException;
 import io.helidon.dbclient.DbClientService;
 import io.helidon.dbclient.DbExecute;
 import io.helidon.dbclient.DbMapperManager;
+import io.helidon.dbclient.DbStatementBatch;
 import io.helidon.dbclient.DbStatementDml;
 import io.helidon.dbclient.DbStatementGet;
 import io.helidon.dbclient.DbStatementQuery;
@@ -57,6 +58,9 @@ class JdbcDbClient implements DbClient {
     private final DbMapperManager dbMapperManager;
     private final MapperManager mapperManager;
     private final List<DbClientService> clientServices;
+    private final StatementCache statementCache;
+    private final JdbcStatementQuery.ColumnClasses columnClasses = new JdbcStatementQuery.ColumnClasses();
+    private final int fetchSize;
 
     JdbcDbClient(JdbcDbClientProviderBuilder builder) {
         this.executorService = builder.executorService();
@@ -65,6 +69,8 @@ class JdbcDbClient implements DbClient {
         this.dbMapperManager = builder.dbMapperManager();
         this.mapperManager = builder.mapperManager();
         this.clientServices = builder.clientServices();
+        this.statementCache = builder.statementCache();
+        this.fetchSize = builder.fetchSize();
     }
 
     @Override
@@ -77,7 +83,10 @@ class JdbcDbClient implements DbClient {
                 clientServices,
                 connectionPool,
                 dbMapperManager,
-                mapperManager);
+                mapperManager,
+                statementCache,
+                columnClasses,
+                fetchSize);
 
         T result = executor.apply(execute);
 
@@ -167,7 +176,10 @@ class JdbcDbClient implements DbClient {
                                                                         clientServices,
                                                                         connectionPool,
                                                                         dbMapperManager,
-                                                                        mapperManager));
+                                                                        mapperManager,
+                                                                        statementCache,
+                                                                        columnClasses,
+                                                                        fetchSize));
 
         Subscribable<U> result;
 
@@ -216,7 +228,10 @@ class JdbcDbClient implements DbClient {
                               List<DbClientService> clientServices,
                               ConnectionPool connectionPool,
                               DbMapperManager dbMapperManager,
-                              MapperManager mapperManager) {
+                              MapperManager mapperManager,
+                              StatementCache statementCache,
+                              JdbcStatementQuery.ColumnClasses columnClasses,
+                              int fetchSize) {
             super(statements, JdbcExecuteContext.jdbcBuilder()
                     .statements(statements)
                     .clientServices(clientServices)
@@ -225,6 +240,9 @@ class JdbcDbClient implements DbClient {
                     .dbMapperManager(dbMapperManager)
                     .mapperManager(mapperManager)
                     .executorService(executorService)
+                    .statementCache(statementCache)
+                    .columnClasses(columnClasses)
+                    .fetchSize(fetchSize)
                     .build());
         }
 
@@ -287,12 +305,16 @@ class JdbcDbClient implements DbClient {
             this.context = context;
         }
 
+        @SuppressWarnings("checkstyle:ParameterNumber")
         private static JdbcExecuteContext createContext(DbStatements statements,
                                                         ExecutorService executorService,
                                                         List<DbClientService> clientServices,
                                                         ConnectionPool connectionPool,
                                                         DbMapperManager dbMapperManager,
-                                                        MapperManager mapperManager) {
+                                                        MapperManager mapperManager,
+                                                        StatementCache statementCache,
+                                                        JdbcStatementQuery.ColumnClasses columnClasses,
+                                                        int fetchSize) {
             CompletionStage<Connection> connection = CompletableFuture.supplyAsync(connectionPool::connection, executorService)
                     .thenApply(conn -> {
                         try {
@@ -311,6 +333,9 @@ class JdbcDbClient implements DbClient {
                     .dbMapperManager(dbMapperManager)
                     .mapperManager(mapperManager)
                     .dbType(connectionPool.dbType())
+                    .statementCache(statementCache)
+                    .columnClasses(columnClasses)
+                    .fetchSize(fetchSize)
                     .build();
         }
 
@@ -351,6 +376,12 @@ class JdbcDbClient implements DbClient {
                                         DbStatementContext.create(context, DbStatementType.DELETE, statementName, statement));
         }
 
+        @Override
+        public DbStatementBatch createNamedBatch(String statementName, String statement) {
+            return new JdbcStatementBatch(context,
+                                          DbStatementContext.create(context, DbStatementType.DML, statementName, statement));
+        }
+
         JdbcExecuteContext context() {
             return context;
         }
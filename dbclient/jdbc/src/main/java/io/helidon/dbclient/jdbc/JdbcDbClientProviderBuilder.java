@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -51,6 +51,8 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
     private DbMapperManager dbMapperManager;
     private Supplier<ExecutorService> executorService;
     private ConnectionPool connectionPool;
+    private StatementCache statementCache;
+    private int fetchSize;
 
     JdbcDbClientProviderBuilder() {
     }
@@ -87,6 +89,9 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         if (null == executorService) {
             executorService = ThreadPoolSupplier.create();
         }
+        if (null == statementCache) {
+            statementCache = StatementCache.create();
+        }
         return new JdbcDbClient(this);
     }
 
@@ -98,6 +103,8 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
 
         config.get("statements").as(DbStatements::create).ifPresent(this::statements);
         config.get("executor-service").as(ThreadPoolSupplier::create).ifPresent(this::executorService);
+        config.get("statement-cache").as(StatementCache::create).ifPresent(this::statementCache);
+        config.get("fetch-size").asInt().ifPresent(this::fetchSize);
         return this;
     }
 
@@ -124,6 +131,38 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         return this;
     }
 
+    /**
+     * Configure a cache of parsed statements with named parameters.
+     * A cache with {@value StatementCache#DEFAULT_SIZE} statements is used if not configured.
+     * Use the same instance to read its hit rate.
+     *
+     * @param statementCache statement cache to use
+     * @return updated builder instance
+     */
+    public JdbcDbClientProviderBuilder statementCache(StatementCache statementCache) {
+        this.statementCache = statementCache;
+        return this;
+    }
+
+    /**
+     * Number of rows fetched from the database at once by queries.
+     * Query rows are then read in batches as subscribers request them, instead of letting the driver
+     * load the whole result into memory. Can be changed for a single query using
+     * {@link io.helidon.dbclient.DbStatementQuery#fetchSize(int)}.
+     * Some drivers (such as PostgreSQL) honor the fetch size only when autocommit is disabled,
+     * e.g. within a transaction.
+     *
+     * @param fetchSize number of rows fetched at once, {@code 0} to use the driver default
+     * @return updated builder instance
+     */
+    public JdbcDbClientProviderBuilder fetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative, but is " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+        return this;
+    }
+
     @Override
     public JdbcDbClientProviderBuilder url(String url) {
         this.url = url;
@@ -225,4 +264,12 @@ public final class JdbcDbClientProviderBuilder implements DbClientProviderBuilde
         return connectionPool;
     }
 
+    StatementCache statementCache() {
+        return statementCache;
+    }
+
+    int fetchSize() {
+        return fetchSize;
+    }
+
 }
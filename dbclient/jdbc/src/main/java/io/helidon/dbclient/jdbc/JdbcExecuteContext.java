@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,12 +32,22 @@ final class JdbcExecuteContext extends DbClientContext {
     private final ExecutorService executorService;
     private final String dbType;
     private final CompletionStage<Connection> connection;
+    private final StatementCache statementCache;
+    private final JdbcStatementQuery.ColumnClasses columnClasses;
+    private final int fetchSize;
 
     private JdbcExecuteContext(Builder builder) {
         super(builder);
         this.executorService = builder.executorService;
         this.dbType = builder.dbType;
         this.connection = builder.connection;
+        this.statementCache = (builder.statementCache == null)
+                ? StatementCache.builder().size(0).build()
+                : builder.statementCache;
+        this.columnClasses = (builder.columnClasses == null)
+                ? new JdbcStatementQuery.ColumnClasses()
+                : builder.columnClasses;
+        this.fetchSize = builder.fetchSize;
     }
 
     /**
@@ -60,6 +70,18 @@ final class JdbcExecuteContext extends DbClientContext {
         return connection;
     }
 
+    StatementCache statementCache() {
+        return statementCache;
+    }
+
+    JdbcStatementQuery.ColumnClasses columnClasses() {
+        return columnClasses;
+    }
+
+    int fetchSize() {
+        return fetchSize;
+    }
+
     void addFuture(CompletableFuture<Long> queryFuture) {
         this.futures.add(queryFuture);
     }
@@ -79,6 +101,9 @@ final class JdbcExecuteContext extends DbClientContext {
         private ExecutorService executorService;
         private String dbType;
         private CompletionStage<Connection> connection;
+        private StatementCache statementCache;
+        private JdbcStatementQuery.ColumnClasses columnClasses;
+        private int fetchSize;
 
         @Override
         public JdbcExecuteContext build() {
@@ -99,5 +124,20 @@ final class JdbcExecuteContext extends DbClientContext {
             this.connection = connection;
             return this;
         }
+
+        Builder statementCache(StatementCache statementCache) {
+            this.statementCache = statementCache;
+            return this;
+        }
+
+        Builder columnClasses(JdbcStatementQuery.ColumnClasses columnClasses) {
+            this.columnClasses = columnClasses;
+            return this;
+        }
+
+        Builder fetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
     }
 }
@@ -111,11 +111,11 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         PreparedStatement preparedStatement = null;
         try {
             // Parameters names must be replaced with ? and names occurence order must be stored.
-            Parser parser = new Parser(statement);
-            String jdbcStatement = parser.convert();
+            StatementCache.ParsedStatement parsed = executeContext.statementCache().parse(statement);
+            String jdbcStatement = parsed.jdbcStatement();
             LOGGER.finest(() -> String.format("Converted statement: %s", jdbcStatement));
             preparedStatement = connection.prepareStatement(jdbcStatement);
-            List<String> namesOrder = parser.namesOrder();
+            List<String> namesOrder = parsed.namesOrder();
             // Set parameters into prepared statement
             int i = 1;
             for (String name : namesOrder) {
@@ -167,7 +167,7 @@ abstract class JdbcStatement<S extends DbStatement<S, R>, R> extends AbstractSta
         }
     }
 
-    private static String namedStatementErrorMessage(final List<String> namesOrder, final Map<String, Object> parameters) {
+    static String namedStatementErrorMessage(final List<String> namesOrder, final Map<String, Object> parameters) {
         // Parameters in query missing in parameters Map
         List<String> notInParams = new ArrayList<>(namesOrder.size());
         for (String name : namesOrder) {
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import io.helidon.common.reactive.Single;
+import io.helidon.dbclient.DbClientException;
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.common.AbstractStatementBatch;
+import io.helidon.dbclient.common.DbStatementContext;
+import io.helidon.dbclient.common.ParamType;
+
+/**
+ * Batch of DML statements executed using {@link java.sql.PreparedStatement#addBatch()}.
+ */
+class JdbcStatementBatch extends AbstractStatementBatch {
+
+    /** Local logger instance. */
+    private static final Logger LOGGER = Logger.getLogger(JdbcStatementBatch.class.getName());
+
+    private final JdbcExecuteContext executeContext;
+
+    JdbcStatementBatch(JdbcExecuteContext executeContext, DbStatementContext statementContext) {
+        super(statementContext);
+        this.executeContext = executeContext;
+    }
+
+    @Override
+    protected void executionStarted(CompletableFuture<Long> queryFuture) {
+        // connection must stay open until the whole batch is executed
+        executeContext.addFuture(queryFuture);
+    }
+
+    @Override
+    protected Single<Long> executeChunk(DbClientServiceContext dbContext, List<Object> chunk) {
+        return Single.create(executeContext.connection())
+                .flatMapSingle(connection -> {
+                    CompletableFuture<Long> result = new CompletableFuture<>();
+                    executeContext.executorService().submit(() -> callBatch(connection, chunk, result));
+                    return Single.create(result);
+                });
+    }
+
+    @Override
+    protected String dbType() {
+        return executeContext.dbType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void callBatch(Connection connection, List<Object> chunk, CompletableFuture<Long> result) {
+        boolean named = paramType() == ParamType.NAMED;
+        String jdbcStatement;
+        List<String> namesOrder;
+        if (named) {
+            StatementCache.ParsedStatement parsed = executeContext.statementCache().parse(statement());
+            jdbcStatement = parsed.jdbcStatement();
+            namesOrder = parsed.namesOrder();
+        } else {
+            jdbcStatement = statement();
+            namesOrder = List.of();
+        }
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(jdbcStatement)) {
+            for (Object parameters : chunk) {
+                if (named) {
+                    Map<String, Object> namedParameters = (Map<String, Object>) parameters;
+                    int i = 1;
+                    for (String name : namesOrder) {
+                        if (!namedParameters.containsKey(name)) {
+                            throw new DbClientException(JdbcStatement.namedStatementErrorMessage(namesOrder, namedParameters));
+                        }
+                        preparedStatement.setObject(i, namedParameters.get(name));
+                        i++;
+                    }
+                } else {
+                    int i = 1; // JDBC set position parameter starts from 1.
+                    for (Object value : (List<Object>) parameters) {
+                        preparedStatement.setObject(i, value);
+                        i++;
+                    }
+                }
+                preparedStatement.addBatch();
+            }
+            int[] counts = preparedStatement.executeBatch();
+            long count = 0;
+            for (int updated : counts) {
+                if (updated >= 0) {
+                    count += updated;
+                } else if (updated == Statement.SUCCESS_NO_INFO) {
+                    // the statement succeeded, but the driver does not know the number of records
+                    count++;
+                }
+            }
+            long chunkCount = count;
+            LOGGER.finest(() -> String.format("Batch %s executed %d statements, %d records modified",
+                                              statementName(), chunk.size(), chunkCount));
+            result.complete(count);
+        } catch (Exception e) {
+            result.completeExceptionally(new DbClientException("Failed to execute batch: " + statementName(), e));
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,14 +23,15 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Flow;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -56,9 +57,21 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
     /** Local logger instance. */
     private static final Logger LOGGER = Logger.getLogger(JdbcStatementQuery.class.getName());
 
+    private int fetchSize;
+
     JdbcStatementQuery(JdbcExecuteContext executeContext,
                        DbStatementContext statementContext) {
         super(executeContext, statementContext);
+        this.fetchSize = executeContext.fetchSize();
+    }
+
+    @Override
+    public JdbcStatementQuery fetchSize(int fetchSize) {
+        if (fetchSize < 0) {
+            throw new IllegalArgumentException("Fetch size must not be negative, but is " + fetchSize);
+        }
+        this.fetchSize = fetchSize;
+        return this;
     }
 
     @Override
@@ -101,12 +114,16 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
             }
 
             try {
+                if (fetchSize > 0) {
+                    statement.setFetchSize(fetchSize);
+                }
                 ResultSet rs = statement.executeQuery();
                 // at this moment we have a DbRows
                 statementFuture.complete(null);
                 result.complete(processResultSet(executorService(),
                                                  dbMapperManager(),
                                                  mapperManager(),
+                                                 executeContext().columnClasses(),
                                                  queryFuture,
                                                  rs));
             } catch (Throwable e) {
@@ -126,338 +143,384 @@ class JdbcStatementQuery extends JdbcStatement<DbStatementQuery, Multi<DbRow>> i
             ExecutorService executorService,
             DbMapperManager dbMapperManager,
             MapperManager mapperManager,
+            ColumnClasses columnClasses,
             CompletableFuture<Long> queryFuture,
             ResultSet resultSet) {
 
-        return Multi.create(new JdbcDbRows(resultSet,
-                                         executorService,
-                                         dbMapperManager,
-                                         mapperManager,
-                                         queryFuture)
-                                  .publisher());
+        return Multi.create(new RowPublisher(executorService,
+                                             resultSet,
+                                             queryFuture,
+                                             dbMapperManager,
+                                             mapperManager,
+                                             columnClasses));
     }
 
-    static Map<Long, DbColumn> createMetadata(ResultSet rs) throws SQLException {
-        ResultSetMetaData metaData = rs.getMetaData();
-        int columnCount = metaData.getColumnCount();
-
-        Map<Long, DbColumn> byNumbers = new HashMap<>();
-
-        for (int i = 1; i <= columnCount; i++) {
-            String name = metaData.getColumnLabel(i);
-            String sqlType = metaData.getColumnTypeName(i);
-            Class<?> javaClass = classByName(metaData.getColumnClassName(i));
-            DbColumn column = new DbColumn() {
-                @Override
-                public <T> T as(Class<T> type) {
-                    return null;
-                }
-
-                @Override
-                public <T> T as(GenericType<T> type) {
-                    return null;
-                }
-
-                @Override
-                public Class<?> javaType() {
-                    return javaClass;
-                }
-
-                @Override
-                public String dbType() {
-                    return sqlType;
-                }
-
-                @Override
-                public String name() {
-                    return name;
+    /**
+     * Java classes of result set columns by class name.
+     * Class.forName is expensive, so column classes are resolved once for all queries of a client.
+     * The cache belongs to a single client, so it does not keep classes (and their class loaders)
+     * reachable once the client is gone.
+     */
+    static final class ColumnClasses {
+        private final Map<String, Optional<Class<?>>> classes = new ConcurrentHashMap<>();
+
+        Class<?> forName(String columnClassName) {
+            if (columnClassName == null) {
+                return null;
+            }
+            return classes.computeIfAbsent(columnClassName, it -> {
+                try {
+                    return Optional.of(Class.forName(it));
+                } catch (ClassNotFoundException e) {
+                    return Optional.empty();
                 }
-            };
-            byNumbers.put((long) i, column);
+            }).orElse(null);
         }
-        return byNumbers;
     }
 
-    private static Class<?> classByName(String columnClassName) {
-        if (columnClassName == null) {
-            return null;
-        }
-        try {
-            return Class.forName(columnClassName);
-        } catch (ClassNotFoundException e) {
-            return null;
+    /**
+     * Column metadata of a result set, shared by all its rows.
+     */
+    static final class Columns {
+        private final String[] names;
+        private final String[] dbTypes;
+        private final Class<?>[] javaTypes;
+        private final Map<String, Integer> indexes;
+
+        private Columns(String[] names, String[] dbTypes, Class<?>[] javaTypes) {
+            this.names = names;
+            this.dbTypes = dbTypes;
+            this.javaTypes = javaTypes;
+            this.indexes = new HashMap<>();
+            // the last column wins for duplicate labels
+            for (int i = 0; i < names.length; i++) {
+                indexes.put(names[i], i);
+            }
         }
-    }
 
-    private static final class JdbcDbRows {
-        private final AtomicBoolean resultRequested = new AtomicBoolean();
-        private final ExecutorService executorService;
-        private final DbMapperManager dbMapperManager;
-        private final MapperManager mapperManager;
-        private final CompletableFuture<Long> queryFuture;
-        private final ResultSet resultSet;
+        static Columns create(ResultSet rs, ColumnClasses columnClasses) throws SQLException {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int columnCount = metaData.getColumnCount();
 
-        private JdbcDbRows(ResultSet resultSet,
-                           ExecutorService executorService,
-                           DbMapperManager dbMapperManager,
-                           MapperManager mapperManager,
-                           CompletableFuture<Long> queryFuture) {
+            String[] names = new String[columnCount];
+            String[] dbTypes = new String[columnCount];
+            Class<?>[] javaTypes = new Class<?>[columnCount];
 
-            this.executorService = executorService;
-            this.dbMapperManager = dbMapperManager;
-            this.mapperManager = mapperManager;
-            this.queryFuture = queryFuture;
-            this.resultSet = resultSet;
+            for (int i = 0; i < columnCount; i++) {
+                names[i] = metaData.getColumnLabel(i + 1);
+                dbTypes[i] = metaData.getColumnTypeName(i + 1);
+                javaTypes[i] = columnClasses.forName(metaData.getColumnClassName(i + 1));
+            }
+            return new Columns(names, dbTypes, javaTypes);
         }
 
-        Flow.Publisher<DbRow> publisher() {
-            checkResult();
-            return toPublisher();
+        int size() {
+            return names.length;
         }
 
-        @SuppressWarnings("unchecked")
-        private Flow.Publisher<DbRow> toPublisher() {
-            return new RowPublisher(executorService,
-                                    resultSet,
-                                    queryFuture,
-                                    dbMapperManager,
-                                    mapperManager);
-        }
-
-        private void checkResult() {
-            if (resultRequested.get()) {
-                throw new IllegalStateException("Result has already been requested");
-            }
-            resultRequested.set(true);
+        int index(String name) {
+            Integer index = indexes.get(name);
+            return (null == index) ? -1 : index;
         }
     }
 
     private static final class RowPublisher implements Flow.Publisher<DbRow> {
+        private final AtomicBoolean subscribed = new AtomicBoolean();
         private final ExecutorService executorService;
         private final ResultSet rs;
         private final CompletableFuture<Long> queryFuture;
         private final DbMapperManager dbMapperManager;
         private final MapperManager mapperManager;
+        private final ColumnClasses columnClasses;
 
         private RowPublisher(ExecutorService executorService,
                              ResultSet rs,
                              CompletableFuture<Long> queryFuture,
                              DbMapperManager dbMapperManager,
-                             MapperManager mapperManager) {
+                             MapperManager mapperManager,
+                             ColumnClasses columnClasses) {
 
             this.executorService = executorService;
             this.rs = rs;
             this.queryFuture = queryFuture;
             this.dbMapperManager = dbMapperManager;
             this.mapperManager = mapperManager;
+            this.columnClasses = columnClasses;
         }
 
         @Override
         public void subscribe(Flow.Subscriber<? super DbRow> subscriber) {
-            LinkedBlockingQueue<Long> requestQueue = new LinkedBlockingQueue<>();
-            AtomicBoolean cancelled = new AtomicBoolean();
-
-            // we have executed the statement, we can correctly subscribe
-            subscriber.onSubscribe(new Flow.Subscription() {
-                @Override
-                public void request(long n) {
-                    // add the requested number to the queue
-                    requestQueue.add(n);
+            if (!subscribed.compareAndSet(false, true)) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Result has already been requested"));
+                return;
+            }
+            subscriber.onSubscribe(new RowSubscription(subscriber));
+        }
+
+        /**
+         * Reads rows only when requested by the subscriber.
+         * The result set is read in an executor thread while there is outstanding demand, the thread is then released
+         * until the next request, so the driver fetches further rows (see {@link java.sql.Statement#setFetchSize(int)})
+         * only when they are needed.
+         */
+        private final class RowSubscription implements Flow.Subscription {
+            private final AtomicLong requested = new AtomicLong();
+            private final AtomicInteger wip = new AtomicInteger();
+            private final Flow.Subscriber<? super DbRow> subscriber;
+            private volatile boolean cancelled;
+            private volatile Throwable badRequest;
+            // only accessed from the drain loop
+            private Columns columns;
+            private long count;
+
+            private RowSubscription(Flow.Subscriber<? super DbRow> subscriber) {
+                this.subscriber = subscriber;
+            }
+
+            @Override
+            public void request(long n) {
+                if (n <= 0) {
+                    badRequest = new IllegalArgumentException("Request must be positive, but was " + n);
+                } else {
+                    requested.getAndUpdate(r -> (Long.MAX_VALUE - r < n) ? Long.MAX_VALUE : r + n);
                 }
+                drain();
+            }
 
-                @Override
-                public void cancel() {
-                    cancelled.set(true);
-                    requestQueue.clear();
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+
+            private void drain() {
+                // only one thread reads the result set at a time
+                if (wip.getAndIncrement() == 0) {
+                    executorService.submit(this::drainLoop);
                 }
-            });
-
-            // TODO
-            // we should only use a thread to read data that was actually requested
-            // I would prefer to use the same thread to process a single query (to make sure we honor thread locals
-            // that may be used by the database)
-
-            // and now we can process the data from the database
-            executorService.submit(() -> {
-                //now we have a subscriber, we can handle the processing of result set
-                try (ResultSet rs = this.rs) {
-                    Map<Long, DbColumn> metadata = createMetadata(rs);
-                    long count = 0;
-
-                    // now we only want to process next record if it was requested
-                    while (!cancelled.get()) {
-                        Long nextElement;
-                        try {
-                            nextElement = requestQueue.poll(10, TimeUnit.MINUTES);
-                        } catch (InterruptedException e) {
-                            LOGGER.finest("Interrupted while polling for requests, terminating DB read");
-                            subscriber.onError(e);
-                            break;
-                        }
-                        if (nextElement == null) {
-                            LOGGER.finest("No data requested for 10 minutes, terminating DB read");
-                            subscriber.onError(new TimeoutException("No data requested in 10 minutes"));
-                            break;
-                        }
-                        for (long i = 0; i < nextElement; i++) {
-                            if (rs.next()) {
-                                DbRow dbRow = createDbRow(rs, metadata, dbMapperManager, mapperManager);
-                                subscriber.onNext(dbRow);
-                                count++;
-                            } else {
+            }
+
+            private void drainLoop() {
+                int missed = 1;
+                try {
+                    if (null == columns) {
+                        columns = Columns.create(rs, columnClasses);
+                    }
+                    do {
+                        long demand = requested.get();
+                        long emitted = 0;
+                        while (true) {
+                            if (cancelled) {
+                                close();
+                                queryFuture.completeExceptionally(
+                                        new CancellationException("Processing cancelled by subscriber"));
+                                return;
+                            }
+                            Throwable error = badRequest;
+                            if (null != error) {
+                                fail(error);
+                                return;
+                            }
+                            if (emitted == demand) {
+                                break;
+                            }
+                            if (!rs.next()) {
+                                close();
                                 queryFuture.complete(count);
                                 subscriber.onComplete();
                                 return;
                             }
+                            subscriber.onNext(createDbRow());
+                            emitted++;
+                            count++;
                         }
-                    }
+                        if (demand != Long.MAX_VALUE) {
+                            requested.addAndGet(-emitted);
+                        }
+                        missed = wip.addAndGet(-missed);
+                    } while (missed != 0);
+                } catch (SQLException | RuntimeException e) {
+                    fail(e);
+                }
+            }
 
-                    if (cancelled.get()) {
-                        queryFuture
-                                .completeExceptionally(new CancellationException("Processing cancelled by subscriber"));
-                    }
+            private DbRow createDbRow() throws SQLException {
+                // read whole row
+                Object[] values = new Object[columns.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getObject(i + 1);
+                }
+                return new JdbcRow(columns, values, dbMapperManager, mapperManager);
+            }
+
+            private void fail(Throwable throwable) {
+                // wip is never decreased, so no more signals are sent
+                close();
+                queryFuture.completeExceptionally(throwable);
+                subscriber.onError(throwable);
+            }
+
+            private void close() {
+                try {
+                    rs.close();
                 } catch (SQLException e) {
-                    queryFuture.completeExceptionally(e);
-                    subscriber.onError(e);
+                    LOGGER.log(Level.FINEST, "Failed to close result set", e);
                 }
-            });
+            }
         }
+    }
 
-        private DbRow createDbRow(ResultSet rs,
-                                  Map<Long, DbColumn> metadata,
-                                  DbMapperManager dbMapperManager,
-                                  MapperManager mapperManager) throws SQLException {
-            // read whole row
-            // for each column
-            Map<String, DbColumn> byStringsWithValues = new HashMap<>();
-            Map<Integer, DbColumn> byNumbersWithValues = new HashMap<>();
-
-            for (int i = 1; i <= metadata.size(); i++) {
-                DbColumn meta = metadata.get((long) i);
-                Object value = rs.getObject(i);
-                DbColumn withValue = new DbColumn() {
-                    @Override
-                    public <T> T as(Class<T> type) {
-                        if (null == value) {
-                            return null;
-                        }
-                        if (type.isAssignableFrom(value.getClass())) {
-                            return type.cast(value);
-                        }
-                        return map(value, type);
-                    }
+    private static final class JdbcRow implements DbRow {
+        private final Columns columns;
+        private final Object[] values;
+        private final DbMapperManager dbMapperManager;
+        private final MapperManager mapperManager;
 
-                    @SuppressWarnings("unchecked")
-                    <SRC, T> T map(SRC value, Class<T> type) {
-                        Class<SRC> theClass = (Class<SRC>) value.getClass();
+        private JdbcRow(Columns columns,
+                        Object[] values,
+                        DbMapperManager dbMapperManager,
+                        MapperManager mapperManager) {
+            this.columns = columns;
+            this.values = values;
+            this.dbMapperManager = dbMapperManager;
+            this.mapperManager = mapperManager;
+        }
 
-                        try {
-                            return mapperManager.map(value, theClass, type);
-                        } catch (MapperException e) {
-                            if (type.equals(String.class)) {
-                                return (T) String.valueOf(value);
-                            }
-                            throw e;
-                        }
-                    }
+        @Override
+        public DbColumn column(String name) {
+            int index = columns.index(name);
+            return (index < 0) ? null : new JdbcColumn(index);
+        }
 
-                    @SuppressWarnings("unchecked")
-                    <SRC, T> T map(SRC value, GenericType<T> type) {
-                        Class<SRC> theClass = (Class<SRC>) value.getClass();
-                        return mapperManager.map(value, GenericType.create(theClass), type);
-                    }
+        @Override
+        public DbColumn column(int index) {
+            // column numbers start with 1, as in JDBC
+            if (index < 1 || index > values.length) {
+                return null;
+            }
+            return new JdbcColumn(index - 1);
+        }
 
-                    @Override
-                    public <T> T as(GenericType<T> type) {
-                        if (null == value) {
-                            return null;
-                        }
-                        if (type.isClass()) {
-                            Class<?> theClass = type.rawType();
-                            if (theClass.isAssignableFrom(value.getClass())) {
-                                return type.cast(value);
-                            }
-                        }
-                        return map(value, type);
-                    }
+        @Override
+        public void forEach(Consumer<? super DbColumn> columnAction) {
+            for (int i = 0; i < values.length; i++) {
+                columnAction.accept(new JdbcColumn(i));
+            }
+        }
 
-                    @Override
-                    public Class<?> javaType() {
-                        if (null == meta.javaType()) {
-                            if (null == value) {
-                                return null;
-                            }
-                            return value.getClass();
-                        } else {
-                            return meta.javaType();
-                        }
-                    }
+        @Override
+        public <T> T as(Class<T> type) {
+            return dbMapperManager.read(this, type);
+        }
 
-                    @Override
-                    public String dbType() {
-                        return meta.dbType();
-                    }
+        @Override
+        public <T> T as(GenericType<T> type) {
+            return dbMapperManager.read(this, type);
+        }
 
-                    @Override
-                    public String name() {
-                        return meta.name();
-                    }
-                };
-                byStringsWithValues.put(meta.name(), withValue);
-                byNumbersWithValues.put(i, withValue);
-            }
+        @Override
+        public <T> T as(Function<DbRow, T> mapper) {
+            return mapper.apply(this);
+        }
 
-            return new DbRow() {
-                @Override
-                public DbColumn column(String name) {
-                    return byStringsWithValues.get(name);
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append('{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
                 }
+                sb.append(columns.names[i]);
+                sb.append(':');
+                sb.append(values[i]);
+            }
+            sb.append('}');
+            return sb.toString();
+        }
 
-                @Override
-                public DbColumn column(int index) {
-                    return byNumbersWithValues.get(index);
-                }
+        private final class JdbcColumn implements DbColumn {
+            private final int index;
 
-                @Override
-                public void forEach(Consumer<? super DbColumn> columnAction) {
-                    byStringsWithValues.values()
-                            .forEach(columnAction);
-                }
+            private JdbcColumn(int index) {
+                this.index = index;
+            }
 
-                @Override
-                public <T> T as(Class<T> type) {
-                    return dbMapperManager.read(this, type);
+            @Override
+            public <T> T as(Class<T> type) {
+                Object value = values[index];
+                if (null == value) {
+                    return null;
                 }
-
-                @Override
-                public <T> T as(GenericType<T> type) {
-                    return dbMapperManager.read(this, type);
+                if (type.isAssignableFrom(value.getClass())) {
+                    return type.cast(value);
                 }
+                return map(value, type);
+            }
 
-                @Override
-                public <T> T as(Function<DbRow, T> mapper) {
-                    return mapper.apply(this);
+            @Override
+            public <T> T as(GenericType<T> type) {
+                Object value = values[index];
+                if (null == value) {
+                    return null;
                 }
+                if (type.isClass()) {
+                    Class<?> theClass = type.rawType();
+                    if (theClass.isAssignableFrom(value.getClass())) {
+                        return type.cast(value);
+                    }
+                }
+                return map(value, type);
+            }
 
-                @Override
-                public String toString() {
-                    StringBuilder sb = new StringBuilder();
-                    boolean first = true;
-                    sb.append('{');
-                    for (DbColumn col : byStringsWithValues.values()) {
-                        if (first) {
-                            first = false;
-                        } else {
-                            sb.append(',');
-                        }
-                        sb.append(col.name());
-                        sb.append(':');
-                        sb.append(col.value().toString());
+            @SuppressWarnings("unchecked")
+            private <SRC, T> T map(SRC value, Class<T> type) {
+                Class<SRC> theClass = (Class<SRC>) value.getClass();
+
+                try {
+                    return mapperManager.map(value, theClass, type);
+                } catch (MapperException e) {
+                    if (type.equals(String.class)) {
+                        return (T) String.valueOf(value);
                     }
-                    sb.append('}');
-                    return sb.toString();
+                    throw e;
                 }
-            };
+            }
+
+            @SuppressWarnings("unchecked")
+            private <SRC, T> T map(SRC value, GenericType<T> type) {
+                Class<SRC> theClass = (Class<SRC>) value.getClass();
+                return mapperManager.map(value, GenericType.create(theClass), type);
+            }
+
+            @Override
+            public Class<?> javaType() {
+                Class<?> javaType = columns.javaTypes[index];
+                if (null == javaType) {
+                    Object value = values[index];
+                    return (null == value) ? null : value.getClass();
+                }
+                return javaType;
+            }
+
+            @Override
+            public String dbType() {
+                return columns.dbTypes[index];
+            }
+
+            @Override
+            public String name() {
+                return columns.names[index];
+            }
         }
     }
 
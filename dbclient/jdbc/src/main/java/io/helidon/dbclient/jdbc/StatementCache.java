@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.helidon.config.Config;
+
+/**
+ * Bounded cache of statements with named parameters converted to JDBC statements.
+ * Statements are keyed by their text, so the same statement is parsed only once
+ * as long as it stays in the cache.
+ * <p>
+ * Prepared statements themselves are not cached, as the connection pool closes them when
+ * a connection is returned to it. To reuse prepared statements on the database side, configure
+ * statement caching of the JDBC driver through the connection pool properties
+ * (such as {@code dataSource.cachePrepStmts} for MySQL).
+ */
+public final class StatementCache {
+    /**
+     * Default maximal number of cached statements.
+     */
+    public static final int DEFAULT_SIZE = 256;
+
+    private final ConcurrentHashMap<String, ParsedStatement> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxSize;
+
+    private StatementCache(Builder builder) {
+        this.maxSize = builder.size;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, DEFAULT_SIZE));
+    }
+
+    /**
+     * Create a new cache with default configuration.
+     *
+     * @return a new statement cache
+     */
+    public static StatementCache create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new cache from configuration.
+     *
+     * @param config configuration of the cache
+     * @return a new statement cache
+     * @see io.helidon.dbclient.jdbc.StatementCache.Builder#config(io.helidon.config.Config)
+     */
+    public static StatementCache create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.dbclient.jdbc.StatementCache}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Number of statements found in the cache.
+     *
+     * @return cache hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of statements that had to be parsed.
+     *
+     * @return cache miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Ratio of statements found in the cache to all statements requested.
+     *
+     * @return hit rate between {@code 0} and {@code 1}, or {@code 1} if no statement was requested yet
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 1.0 : ((double) hitCount) / total;
+    }
+
+    /**
+     * Number of statements currently cached.
+     *
+     * @return cache size
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Get a parsed statement from the cache, parsing it if not cached.
+     *
+     * @param statement statement with named parameters
+     * @return parsed statement
+     */
+    ParsedStatement parse(String statement) {
+        ParsedStatement parsed = cache.get(statement);
+        if (parsed != null) {
+            hits.increment();
+            return parsed;
+        }
+        misses.increment();
+        JdbcStatement.Parser parser = new JdbcStatement.Parser(statement);
+        String jdbcStatement = parser.convert();
+        parsed = new ParsedStatement(jdbcStatement, List.copyOf(parser.namesOrder()));
+        if (maxSize > 0) {
+            if (cache.size() >= maxSize) {
+                evict();
+            }
+            cache.putIfAbsent(statement, parsed);
+        }
+        return parsed;
+    }
+
+    private void evict() {
+        // statements are expected to be a small, stable set, so any victim will do
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxSize && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    /**
+     * Statement converted to JDBC with the order of its named parameters.
+     */
+    static final class ParsedStatement {
+        private final String jdbcStatement;
+        private final List<String> namesOrder;
+
+        private ParsedStatement(String jdbcStatement, List<String> namesOrder) {
+            this.jdbcStatement = jdbcStatement;
+            this.namesOrder = namesOrder;
+        }
+
+        String jdbcStatement() {
+            return jdbcStatement;
+        }
+
+        List<String> namesOrder() {
+            return namesOrder;
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.dbclient.jdbc.StatementCache}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<StatementCache> {
+        private int size = DEFAULT_SIZE;
+
+        private Builder() {
+        }
+
+        @Override
+        public StatementCache build() {
+            return new StatementCache(this);
+        }
+
+        /**
+         * Update builder from configuration.
+         * <table>
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>size</td>
+         *     <td>{@value #DEFAULT_SIZE}</td>
+         *     <td>Maximal number of cached statements, {@code 0} disables the cache</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of the cache
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("size").asInt().ifPresent(this::size);
+            return this;
+        }
+
+        /**
+         * Maximal number of cached statements.
+         * Use {@code 0} to disable caching.
+         *
+         * @param size maximal number of cached statements
+         * @return updated builder instance
+         */
+        public Builder size(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Statement cache size must not be negative, but is " + size);
+            }
+            this.size = size;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.dbclient.DbClient;
+import io.helidon.dbclient.DbMapper;
+import io.helidon.dbclient.DbRow;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Unit test for {@link JdbcStatementBatch}.
+ */
+public class JdbcStatementBatchTest {
+
+    @Test
+    void testNamedParamsInChunks() throws SQLException {
+        Connection conn = Mockito.mock(Connection.class);
+        AtomicInteger added = new AtomicInteger();
+        PreparedStatement statement = batchStatement(added, null);
+        Mockito.when(conn.prepareStatement("INSERT INTO items VALUES(?, ?)")).thenReturn(statement);
+
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(() -> conn)
+                .build();
+
+        List<Long> counts = dbClient.execute(exec -> exec.createBatch("INSERT INTO items VALUES(:id, :name)")
+                .batchSize(2)
+                .addParams(Map.of("id", 1, "name", "a"))
+                .addParams(Map.of("id", 2, "name", "b"))
+                .addParams(Map.of("id", 3, "name", "c"))
+                .execute())
+                .collectList()
+                .await(1, TimeUnit.SECONDS);
+
+        assertThat(counts, is(List.of(2L, 1L)));
+        Mockito.verify(statement, Mockito.times(3)).addBatch();
+        Mockito.verify(statement).setObject(1, 3);
+        Mockito.verify(statement).setObject(2, "c");
+        Mockito.verify(statement, Mockito.times(2)).close();
+    }
+
+    @Test
+    void testNamedParamsWithNullValue() throws SQLException {
+        Connection conn = Mockito.mock(Connection.class);
+        AtomicInteger added = new AtomicInteger();
+        PreparedStatement statement = batchStatement(added, null);
+        Mockito.when(conn.prepareStatement("INSERT INTO items VALUES(?, ?)")).thenReturn(statement);
+
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(() -> conn)
+                .build();
+
+        Map<String, Object> params = new HashMap<>();
+        params.put("id", 1);
+        params.put("name", null);
+
+        List<Long> counts = dbClient.execute(exec -> exec.createBatch("INSERT INTO items VALUES(:id, :name)")
+                .addParams(params)
+                .execute())
+                .collectList()
+                .await(1, TimeUnit.SECONDS);
+
+        assertThat(counts, is(List.of(1L)));
+        Mockito.verify(statement).setObject(1, 1);
+        Mockito.verify(statement).setObject(2, null);
+    }
+
+    @Test
+    void testPublisherBackpressure() throws SQLException {
+        Connection conn = Mockito.mock(Connection.class);
+        AtomicInteger mapped = new AtomicInteger();
+        AtomicInteger added = new AtomicInteger();
+        PreparedStatement statement = batchStatement(added, mapped);
+        Mockito.when(conn.prepareStatement("INSERT INTO items VALUES(?, ?)")).thenReturn(statement);
+
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(() -> conn)
+                .addMapper(new ItemMapper(mapped), Item.class)
+                .build();
+
+        List<Long> counts = dbClient.execute(exec -> exec.createBatch("INSERT INTO items VALUES(?, ?)")
+                .batchSize(10)
+                .indexedParams(Multi.range(0, 95).map(i -> new Item(i, "item" + i)))
+                .execute())
+                .collectList()
+                .await(1, TimeUnit.SECONDS);
+
+        assertThat(counts.size(), is(10));
+        assertThat(counts.stream().mapToLong(Long::longValue).sum(), is(95L));
+        assertThat(added.get(), is(95));
+    }
+
+    // executes all added statements, and checks no more items were mapped than fit into the chunks executed so far
+    private static PreparedStatement batchStatement(AtomicInteger added, AtomicInteger mapped) throws SQLException {
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        AtomicInteger pending = new AtomicInteger();
+        AtomicInteger chunks = new AtomicInteger();
+        Mockito.doAnswer(invocation -> {
+            pending.incrementAndGet();
+            added.incrementAndGet();
+            return null;
+        }).when(statement).addBatch();
+        Mockito.when(statement.executeBatch()).thenAnswer(invocation -> {
+            if (mapped != null) {
+                assertThat(mapped.get(), lessThanOrEqualTo((chunks.incrementAndGet()) * 10));
+            }
+            int[] result = new int[pending.getAndSet(0)];
+            Arrays.fill(result, 1);
+            return result;
+        });
+        return statement;
+    }
+
+    private static final class Item {
+        private final int id;
+        private final String name;
+
+        private Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class ItemMapper implements DbMapper<Item> {
+        private final AtomicInteger mapped;
+
+        private ItemMapper(AtomicInteger mapped) {
+            this.mapped = mapped;
+        }
+
+        @Override
+        public Item read(DbRow row) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Map<String, ?> toNamedParameters(Item value) {
+            mapped.incrementAndGet();
+            return Map.of("id", value.id, "name", value.name);
+        }
+
+        @Override
+        public List<?> toIndexedParameters(Item value) {
+            mapped.incrementAndGet();
+            return List.of(value.id, value.name);
+        }
+    }
+}
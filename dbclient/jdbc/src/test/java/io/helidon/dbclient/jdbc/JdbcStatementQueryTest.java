@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import io.helidon.dbclient.DbClient;
+import io.helidon.dbclient.DbRow;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test for {@link JdbcStatementQuery}.
+ */
+public class JdbcStatementQueryTest {
+
+    private static final String QUERY = "SELECT id, name FROM items";
+
+    @Test
+    void testRowsReadOnDemand() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        Connection conn = Mockito.mock(Connection.class);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet rs = resultSet(5, read);
+        Mockito.when(conn.prepareStatement(QUERY)).thenReturn(statement);
+        Mockito.when(statement.executeQuery()).thenReturn(rs);
+
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(() -> conn)
+                .fetchSize(100)
+                .build();
+
+        List<DbRow> rows = new CopyOnWriteArrayList<>();
+        CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        CompletableFuture<Void> completed = new CompletableFuture<>();
+        dbClient.execute(exec -> exec.createQuery(QUERY).fetchSize(2).execute())
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription s) {
+                        subscription.complete(s);
+                    }
+
+                    @Override
+                    public void onNext(DbRow item) {
+                        rows.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        completed.completeExceptionally(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {
+                        completed.complete(null);
+                    }
+                });
+
+        subscription.get(1, TimeUnit.SECONDS).request(2);
+        waitFor(() -> rows.size() == 2);
+        // no rows are read ahead of the demand
+        assertThat(read.get(), is(2));
+        Mockito.verify(statement).setFetchSize(2);
+
+        subscription.get().request(10);
+        completed.get(1, TimeUnit.SECONDS);
+        assertThat(rows.size(), is(5));
+        Mockito.verify(rs).close();
+
+        DbRow row = rows.get(3);
+        assertThat(row.column(1).as(Integer.class), is(3));
+        assertThat(row.column("NAME").as(String.class), is("item3"));
+        assertThat(row.column("NAME").javaType(), is((Object) String.class));
+        assertThat(row.column("missing"), is(nullValue()));
+        assertThat(row.toString(), is("{ID:3,NAME:item3}"));
+    }
+
+    @Test
+    void testColumnClasses() {
+        JdbcStatementQuery.ColumnClasses columnClasses = new JdbcStatementQuery.ColumnClasses();
+
+        assertThat(columnClasses.forName("java.lang.String"), is((Object) String.class));
+        assertThat(columnClasses.forName("com.example.UnknownType"), nullValue());
+        assertThat(columnClasses.forName(null), nullValue());
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        AtomicInteger read = new AtomicInteger();
+        Connection conn = Mockito.mock(Connection.class);
+        PreparedStatement statement = Mockito.mock(PreparedStatement.class);
+        ResultSet rs = resultSet(1000, read);
+        Mockito.when(conn.prepareStatement(QUERY)).thenReturn(statement);
+        Mockito.when(statement.executeQuery()).thenReturn(rs);
+
+        DbClient dbClient = JdbcDbClientProviderBuilder.create()
+                .connectionPool(() -> conn)
+                .build();
+
+        List<DbRow> rows = dbClient.execute(exec -> exec.query(QUERY))
+                .limit(3)
+                .collectList()
+                .await(1, TimeUnit.SECONDS);
+
+        assertThat(rows.size(), is(3));
+        Mockito.verify(rs, Mockito.timeout(1000)).close();
+        assertThat(read.get(), is(3));
+        Mockito.verify(statement, Mockito.never()).setFetchSize(Mockito.anyInt());
+    }
+
+    private static ResultSet resultSet(int count, AtomicInteger read) throws SQLException {
+        ResultSetMetaData metaData = Mockito.mock(ResultSetMetaData.class);
+        Mockito.when(metaData.getColumnCount()).thenReturn(2);
+        Mockito.when(metaData.getColumnLabel(1)).thenReturn("ID");
+        Mockito.when(metaData.getColumnLabel(2)).thenReturn("NAME");
+        Mockito.when(metaData.getColumnClassName(1)).thenReturn(Integer.class.getName());
+        Mockito.when(metaData.getColumnClassName(2)).thenReturn("no.such.Type");
+
+        ResultSet rs = Mockito.mock(ResultSet.class);
+        Mockito.when(rs.getMetaData()).thenReturn(metaData);
+        Mockito.when(rs.next()).thenAnswer(invocation -> read.incrementAndGet() <= count);
+        Mockito.when(rs.getObject(1)).thenAnswer(invocation -> read.get() - 1);
+        Mockito.when(rs.getObject(2)).thenAnswer(invocation -> "item" + (read.get() - 1));
+        return rs;
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (!condition.getAsBoolean()) {
+            assertThat("Condition not met in time", System.nanoTime() < deadline, is(true));
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.jdbc;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Unit test for {@link StatementCache}.
+ */
+public class StatementCacheTest {
+
+    private static final String STATEMENT = "SELECT * FROM table WHERE name = :name AND type = :type";
+
+    @Test
+    void testCachedStatement() {
+        StatementCache cache = StatementCache.create();
+        StatementCache.ParsedStatement first = cache.parse(STATEMENT);
+        StatementCache.ParsedStatement second = cache.parse(STATEMENT);
+
+        assertThat(first.jdbcStatement(), is("SELECT * FROM table WHERE name = ? AND type = ?"));
+        assertThat(first.namesOrder(), is(List.of("name", "type")));
+        assertThat(second, sameInstance(first));
+        assertThat(cache.hitCount(), is(1L));
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.hitRate(), is(0.5));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    void testBoundedSize() {
+        StatementCache cache = StatementCache.builder().size(2).build();
+        for (int i = 0; i < 10; i++) {
+            cache.parse(STATEMENT + i);
+        }
+        assertThat(cache.size(), is(2));
+        assertThat(cache.missCount(), is(10L));
+    }
+
+    @Test
+    void testDisabled() {
+        StatementCache cache = StatementCache.builder().size(0).build();
+        StatementCache.ParsedStatement first = cache.parse(STATEMENT);
+        StatementCache.ParsedStatement second = cache.parse(STATEMENT);
+
+        assertThat(second.jdbcStatement(), is(first.jdbcStatement()));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.hitCount(), is(0L));
+        assertThat(cache.missCount(), is(2L));
+    }
+}
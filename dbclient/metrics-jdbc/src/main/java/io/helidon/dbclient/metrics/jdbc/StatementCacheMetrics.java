@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.metrics.jdbc;
+
+import io.helidon.dbclient.jdbc.StatementCache;
+import io.helidon.metrics.RegistryFactory;
+
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+
+/**
+ * Registers statement cache metrics in Helidon vendor metrics registry.
+ * <p>
+ * Example:
+ * <pre>{@code
+ * StatementCache cache = StatementCache.create(config.get("db.statement-cache"));
+ * StatementCacheMetrics.register(cache, "db.statement-cache.");
+ * DbClient dbClient = JdbcDbClientProviderBuilder.create()
+ *         .config(config.get("db"))
+ *         .statementCache(cache)
+ *         .build();
+ * }</pre>
+ */
+public final class StatementCacheMetrics {
+
+    private StatementCacheMetrics() {
+    }
+
+    /**
+     * Register gauges of the statement cache hit count, miss count, hit rate and size.
+     *
+     * @param statementCache statement cache to observe
+     * @param prefix prefix of the metric names, such as {@code db.statement-cache.}
+     */
+    public static void register(StatementCache statementCache, String prefix) {
+        MetricRegistry registry = RegistryFactory.getInstance().getRegistry(MetricRegistry.Type.VENDOR);
+        registry.register(prefix + "hits", (Gauge<Long>) statementCache::hitCount);
+        registry.register(prefix + "misses", (Gauge<Long>) statementCache::missCount);
+        registry.register(prefix + "hit-rate", (Gauge<Double>) statementCache::hitRate);
+        registry.register(prefix + "size", (Gauge<Integer>) statementCache::size);
+    }
+}
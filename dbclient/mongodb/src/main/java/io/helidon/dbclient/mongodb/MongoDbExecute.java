@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package io.helidon.dbclient.mongodb;
 
 import io.helidon.dbclient.DbExecute;
+import io.helidon.dbclient.DbStatementBatch;
 import io.helidon.dbclient.DbStatementDml;
 import io.helidon.dbclient.DbStatementGet;
 import io.helidon.dbclient.DbStatementQuery;
@@ -94,4 +95,13 @@ public class MongoDbExecute extends AbstractDbExecute implements DbExecute {
                                                                  statementName,
                                                                  statement));
     }
+
+    @Override
+    public DbStatementBatch createNamedBatch(String statementName, String statement) {
+        return new MongoDbStatementBatch(db,
+                                         DbStatementContext.create(clientContext,
+                                                                   DbStatementType.DML,
+                                                                   statementName,
+                                                                   statement));
+    }
 }
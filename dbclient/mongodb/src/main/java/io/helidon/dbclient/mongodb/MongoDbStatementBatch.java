@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.dbclient.mongodb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import io.helidon.common.reactive.Single;
+import io.helidon.dbclient.DbClientServiceContext;
+import io.helidon.dbclient.common.AbstractStatementBatch;
+import io.helidon.dbclient.common.DbStatementContext;
+import io.helidon.dbclient.common.ParamType;
+import io.helidon.dbclient.mongodb.MongoDbStatement.MongoOperation;
+import io.helidon.dbclient.mongodb.MongoDbStatement.MongoStatement;
+import io.helidon.dbclient.mongodb.MongoDbTransaction.TransactionManager;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.model.DeleteManyModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.WriteModel;
+import com.mongodb.reactivestreams.client.MongoCollection;
+import com.mongodb.reactivestreams.client.MongoDatabase;
+import org.bson.Document;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Batch of DML statements for MongoDB.
+ * Each chunk is sent using {@code insertMany} if it contains only inserts, and using {@code bulkWrite} otherwise.
+ * The statement must define its {@code operation}.
+ */
+public class MongoDbStatementBatch extends AbstractStatementBatch {
+
+    /** Local logger instance. */
+    private static final Logger LOGGER = Logger.getLogger(MongoDbStatementBatch.class.getName());
+
+    private final MongoDatabase db;
+    /** MongoDB transaction manager. Set to {@code null} when not running in transaction. */
+    private TransactionManager txManager;
+
+    MongoDbStatementBatch(MongoDatabase db, DbStatementContext statementContext) {
+        super(statementContext);
+        this.db = db;
+    }
+
+    /**
+     * Set target transaction for this batch.
+     *
+     * @param tx MongoDB transaction session
+     * @return MongoDB batch statement
+     */
+    MongoDbStatementBatch inTransaction(TransactionManager tx) {
+        this.txManager = tx;
+        return this;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected Single<Long> executeChunk(DbClientServiceContext dbContext, List<Object> chunk) {
+        // consecutive statements on the same collection are written together
+        List<Writes> writes = new ArrayList<>();
+        Writes current = null;
+        for (Object parameters : chunk) {
+            String statement = (paramType() == ParamType.NAMED)
+                    ? StatementParsers.namedParser(statement(), (Map<String, Object>) parameters).convert()
+                    : StatementParsers.indexedParser(statement(), (List<Object>) parameters).convert();
+            MongoStatement mongoStatement = new MongoStatement(statementType(), MongoDbStatement.READER_FACTORY, statement);
+            if (current == null || !current.collection.equals(mongoStatement.getCollection())) {
+                current = new Writes(mongoStatement.getCollection());
+                writes.add(current);
+            }
+            current.add(mongoStatement);
+        }
+
+        Single<Long> result = Single.just(0L);
+        for (Writes write : writes) {
+            result = result.flatMapSingle(count -> write.execute().map(written -> count + written));
+        }
+        return result;
+    }
+
+    @Override
+    protected String dbType() {
+        return MongoDbClientProvider.DB_TYPE;
+    }
+
+    private final class Writes {
+        private final String collection;
+        private final List<WriteModel<Document>> models = new ArrayList<>();
+        private final List<Document> inserts = new ArrayList<>();
+
+        private Writes(String collection) {
+            this.collection = collection;
+        }
+
+        private void add(MongoStatement statement) {
+            MongoOperation operation = statement.getOperation();
+            switch (operation) {
+            case INSERT:
+                models.add(new InsertOneModel<>(statement.getValue()));
+                inserts.add(statement.getValue());
+                break;
+            case UPDATE:
+                models.add(new UpdateManyModel<>(statement.getQuery(), statement.getValue()));
+                break;
+            case DELETE:
+                models.add(new DeleteManyModel<>(statement.getQuery()));
+                break;
+            default:
+                throw new IllegalStateException(
+                        String.format("Unexpected value for DML statement: %s", operation));
+            }
+        }
+
+        private Single<Long> execute() {
+            MongoCollection<Document> mc = db.getCollection(collection);
+            CompletableFuture<Long> result = new CompletableFuture<>();
+            if (inserts.size() == models.size()) {
+                Publisher<?> publisher = (txManager == null)
+                        ? mc.insertMany(inserts)
+                        : mc.insertMany(txManager.tx(), inserts);
+                long count = inserts.size();
+                publisher.subscribe(new ResultSubscriber<>(result, ignored -> count));
+            } else {
+                Publisher<BulkWriteResult> publisher = (txManager == null)
+                        ? mc.bulkWrite(models)
+                        : mc.bulkWrite(txManager.tx(), models);
+                publisher.subscribe(new ResultSubscriber<>(result, it -> (long) it.getInsertedCount()
+                        + it.getModifiedCount()
+                        + it.getDeletedCount()));
+            }
+            LOGGER.finest(() -> String.format("Batch %s writing %d documents to %s",
+                                              statementName(), models.size(), collection));
+            return Single.create(result);
+        }
+    }
+
+    private static final class ResultSubscriber<T> implements Subscriber<T> {
+        private final CompletableFuture<Long> result;
+        private final Function<T, Long> counter;
+        private long count;
+
+        private ResultSubscriber(CompletableFuture<Long> result, Function<T, Long> counter) {
+            this.result = result;
+            this.counter = counter;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            // no need for flow control, we only add the result
+            s.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(T item) {
+            count += counter.apply(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            result.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(count);
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import io.helidon.common.LazyValue;
+
+/**
+ * Adaptive limiter protects a resource by limiting the number of parallel requests,
+ * similar to {@link io.helidon.faulttolerance.Bulkhead}. Instead of a fixed limit, the limit
+ * is adjusted from the observed latency of the requests: it grows while latency stays stable and
+ * shrinks once latency increases or requests time out.
+ * <p>
+ * When the current limit is reached, requests are enqueued until the queue length is reached.
+ * Requests that are rejected, or that wait in the queue longer than the queue timeout, end with
+ * a failed response with {@link io.helidon.faulttolerance.BulkheadException}.
+ */
+public interface AdaptiveLimiter extends FtHandler {
+    /**
+     * A new builder for {@link io.helidon.faulttolerance.AdaptiveLimiter}.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Algorithm used to compute the limit from observed latencies.
+     */
+    enum Algorithm {
+        /**
+         * Additive increase, multiplicative decrease. The limit is increased by one for each
+         * request that completes within the latency threshold while the limiter is at least half
+         * utilized, and multiplied by the backoff ratio for each request that exceeds the threshold or
+         * times out.
+         */
+        AIMD,
+        /**
+         * Gradient of the long term average latency to the latency of the last request. The limit
+         * follows the gradient (between half and the current limit) with a small allowance for queueing,
+         * so it shrinks as soon as latency grows above the tolerated ratio of the long term average.
+         */
+        GRADIENT
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.faulttolerance.AdaptiveLimiter}.
+     */
+    class Builder implements io.helidon.common.Builder<AdaptiveLimiter> {
+        private static final int DEFAULT_INITIAL_LIMIT = 20;
+        private static final int DEFAULT_MIN_LIMIT = 1;
+        private static final int DEFAULT_MAX_LIMIT = 200;
+        private static final int DEFAULT_QUEUE_LENGTH = 0;
+
+        private LazyValue<? extends ExecutorService> executor = FaultTolerance.executor();
+        private LazyValue<? extends ScheduledExecutorService> scheduledExecutor = FaultTolerance.scheduledExecutor();
+        private Algorithm algorithm = Algorithm.GRADIENT;
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private int queueLength = DEFAULT_QUEUE_LENGTH;
+        private Duration queueTimeout = Duration.ofSeconds(1);
+        private Duration latencyThreshold = Duration.ofSeconds(1);
+        private double backoffRatio = 0.9;
+        private double rttTolerance = 1.5;
+        private double smoothing = 0.2;
+        private String name = "AdaptiveLimiter-" + System.identityHashCode(this);
+
+        private Builder() {
+        }
+
+        @Override
+        public AdaptiveLimiter build() {
+            return new AdaptiveLimiterImpl(this);
+        }
+
+        /**
+         * Configure executor service to use for executing enqueued tasks.
+         *
+         * @param executor executor service supplier
+         * @return updated builder instance
+         */
+        public Builder executor(Supplier<? extends ExecutorService> executor) {
+            this.executor = LazyValue.create(Objects.requireNonNull(executor));
+            return this;
+        }
+
+        /**
+         * Configure executor service to use for expiring tasks waiting in the queue.
+         *
+         * @param scheduledExecutor scheduled executor service supplier
+         * @return updated builder instance
+         */
+        public Builder scheduledExecutor(Supplier<? extends ScheduledExecutorService> scheduledExecutor) {
+            this.scheduledExecutor = LazyValue.create(Objects.requireNonNull(scheduledExecutor));
+            return this;
+        }
+
+        /**
+         * Algorithm to compute the limit with, defaults to {@link Algorithm#GRADIENT}.
+         *
+         * @param algorithm limit algorithm
+         * @return updated builder instance
+         */
+        public Builder algorithm(Algorithm algorithm) {
+            this.algorithm = Objects.requireNonNull(algorithm);
+            return this;
+        }
+
+        /**
+         * Limit of parallel requests before any latency is observed.
+         *
+         * @param initialLimit initial limit, default is {@value DEFAULT_INITIAL_LIMIT}
+         * @return updated builder instance
+         */
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        /**
+         * The limit is never decreased below this value.
+         *
+         * @param minLimit minimal limit, default is {@value DEFAULT_MIN_LIMIT}
+         * @return updated builder instance
+         */
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * The limit is never increased above this value.
+         *
+         * @param maxLimit maximal limit, default is {@value DEFAULT_MAX_LIMIT}
+         * @return updated builder instance
+         */
+        public Builder maxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        /**
+         * Maximal number of enqueued requests waiting for processing.
+         * When the queue is full, additional attempts to invoke
+         * a request will receive a {@link io.helidon.faulttolerance.BulkheadException}.
+         *
+         * @param queueLength length of queue, default is {@value DEFAULT_QUEUE_LENGTH}
+         * @return updated builder instance
+         */
+        public Builder queueLength(int queueLength) {
+            this.queueLength = queueLength;
+            return this;
+        }
+
+        /**
+         * Maximal time a request waits in the queue. Requests still waiting after this time
+         * will receive a {@link io.helidon.faulttolerance.BulkheadException}.
+         *
+         * @param queueTimeout time to wait in the queue, defaults to 1 second
+         * @return updated builder instance
+         */
+        public Builder queueTimeout(Duration queueTimeout) {
+            this.queueTimeout = Objects.requireNonNull(queueTimeout);
+            return this;
+        }
+
+        /**
+         * Latency above which the {@link Algorithm#AIMD} algorithm decreases the limit.
+         *
+         * @param latencyThreshold latency threshold, defaults to 1 second
+         * @return updated builder instance
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = Objects.requireNonNull(latencyThreshold);
+            return this;
+        }
+
+        /**
+         * Ratio the {@link Algorithm#AIMD} algorithm multiplies the limit by when decreasing it.
+         *
+         * @param backoffRatio ratio between 0.5 and 1 (exclusive), default is 0.9
+         * @return updated builder instance
+         */
+        public Builder backoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        /**
+         * Ratio of the latency of a request to the long term average latency the {@link Algorithm#GRADIENT}
+         * algorithm tolerates before decreasing the limit.
+         *
+         * @param rttTolerance tolerated ratio, at least 1, default is 1.5
+         * @return updated builder instance
+         */
+        public Builder rttTolerance(double rttTolerance) {
+            this.rttTolerance = rttTolerance;
+            return this;
+        }
+
+        /**
+         * Weight of each new limit computed by the {@link Algorithm#GRADIENT} algorithm.
+         *
+         * @param smoothing weight between 0 (exclusive) and 1, default is 0.2
+         * @return updated builder instance
+         */
+        public Builder smoothing(double smoothing) {
+            this.smoothing = smoothing;
+            return this;
+        }
+
+        /**
+         * A name assigned for debugging, error reporting or configuration purposes.
+         *
+         * @param name the name
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        LazyValue<? extends ExecutorService> executor() {
+            return executor;
+        }
+
+        LazyValue<? extends ScheduledExecutorService> scheduledExecutor() {
+            return scheduledExecutor;
+        }
+
+        Algorithm algorithm() {
+            return algorithm;
+        }
+
+        int initialLimit() {
+            return initialLimit;
+        }
+
+        int minLimit() {
+            return minLimit;
+        }
+
+        int maxLimit() {
+            return maxLimit;
+        }
+
+        int queueLength() {
+            return queueLength;
+        }
+
+        Duration queueTimeout() {
+            return queueTimeout;
+        }
+
+        Duration latencyThreshold() {
+            return latencyThreshold;
+        }
+
+        double backoffRatio() {
+            return backoffRatio;
+        }
+
+        double rttTolerance() {
+            return rttTolerance;
+        }
+
+        double smoothing() {
+            return smoothing;
+        }
+
+        String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Provides statistics during the lifetime of an adaptive limiter, such as
+     * the current limit, requests in flight, accepted/rejected calls and queue size.
+     */
+    interface Stats {
+
+        /**
+         * Current limit of parallel requests.
+         *
+         * @return current limit.
+         */
+        int limit();
+
+        /**
+         * Number of requests executing at this time.
+         *
+         * @return requests in flight.
+         */
+        int inFlight();
+
+        /**
+         * Number of calls accepted by the limiter.
+         *
+         * @return calls accepted.
+         */
+        long callsAccepted();
+
+        /**
+         * Number of calls rejected by the limiter, either because the queue was full,
+         * or because they waited in the queue for too long.
+         *
+         * @return calls rejected.
+         */
+        long callsRejected();
+
+        /**
+         * Size of waiting queue at this time.
+         *
+         * @return size of waiting queue.
+         */
+        long waitingQueueSize();
+    }
+
+    /**
+     * Provides access to internal stats for this limiter.
+     *
+     * @return internal stats.
+     */
+    Stats stats();
+}
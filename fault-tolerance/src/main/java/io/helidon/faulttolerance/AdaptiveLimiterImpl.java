@@ -0,0 +1,347 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+class AdaptiveLimiterImpl implements AdaptiveLimiter {
+    private static final Logger LOGGER = Logger.getLogger(AdaptiveLimiterImpl.class.getName());
+
+    private final LazyValue<? extends ExecutorService> executor;
+    private final LazyValue<? extends ScheduledExecutorService> scheduledExecutor;
+    private final Limit limit;
+    private final Queue<QueuedTask> queue = new ConcurrentLinkedQueue<>();
+    private final int queueLength;
+    private final long queueTimeoutNanos;
+    private final String name;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong callsAccepted = new AtomicLong();
+    private final AtomicLong callsRejected = new AtomicLong();
+
+    AdaptiveLimiterImpl(AdaptiveLimiter.Builder builder) {
+        if (builder.minLimit() < 1
+                || builder.minLimit() > builder.initialLimit()
+                || builder.initialLimit() > builder.maxLimit()) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minLimit <= initialLimit <= maxLimit, but are "
+                                                       + builder.minLimit() + ", "
+                                                       + builder.initialLimit() + ", "
+                                                       + builder.maxLimit());
+        }
+        this.executor = builder.executor();
+        this.scheduledExecutor = builder.scheduledExecutor();
+        this.queueLength = builder.queueLength();
+        this.queueTimeoutNanos = builder.queueTimeout().toNanos();
+        this.name = builder.name();
+
+        switch (builder.algorithm()) {
+        case AIMD:
+            if (builder.backoffRatio() < 0.5 || builder.backoffRatio() >= 1) {
+                throw new IllegalArgumentException("Backoff ratio must be in [0.5, 1), but is " + builder.backoffRatio());
+            }
+            this.limit = new AimdLimit(builder);
+            break;
+        case GRADIENT:
+            if (builder.rttTolerance() < 1) {
+                throw new IllegalArgumentException("RTT tolerance must be at least 1, but is " + builder.rttTolerance());
+            }
+            if (builder.smoothing() <= 0 || builder.smoothing() > 1) {
+                throw new IllegalArgumentException("Smoothing must be in (0, 1], but is " + builder.smoothing());
+            }
+            this.limit = new GradientLimit(builder);
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported algorithm " + builder.algorithm());
+        }
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+        return invokeTask(DelayedTask.createSingle(supplier));
+    }
+
+    @Override
+    public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+        return invokeTask(DelayedTask.createMulti(supplier));
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats() {
+            @Override
+            public int limit() {
+                return limit.get();
+            }
+
+            @Override
+            public int inFlight() {
+                return inFlight.get();
+            }
+
+            @Override
+            public long callsAccepted() {
+                return callsAccepted.get();
+            }
+
+            @Override
+            public long callsRejected() {
+                return callsRejected.get();
+            }
+
+            @Override
+            public long waitingQueueSize() {
+                return queueSize.get();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R invokeTask(DelayedTask<R> task) {
+        if (tryAcquire()) {
+            LOGGER.finest(() -> name + " invoke immediate: " + task);
+            execute(task);
+            return task.result();
+        }
+
+        if (queueSize.incrementAndGet() > queueLength) {
+            queueSize.decrementAndGet();
+            LOGGER.finest(() -> name + " reject: " + task);
+            callsRejected.incrementAndGet();
+            return task.error(new BulkheadException("Adaptive limiter queue \"" + name + "\" is full"));
+        }
+
+        LOGGER.finest(() -> name + " enqueue: " + task);
+        QueuedTask queued = new QueuedTask(task);
+        queued.timeout = scheduledExecutor.get().schedule(() -> expire(queued), queueTimeoutNanos, TimeUnit.NANOSECONDS);
+        queue.offer(queued);
+        R result = task.result();
+        // a permit may have been released before the task was enqueued
+        drain();
+        if (result instanceof Single<?>) {
+            Single<Object> single = (Single<Object>) result;
+            return (R) single.onCancel(() -> {
+                if (queued.claim()) {
+                    dequeue(queued);
+                }
+            });
+        }
+        return result;
+    }
+
+    // this method must be called while holding a permit
+    private void execute(DelayedTask<?> task) {
+        callsAccepted.incrementAndGet();
+        long startNanos = System.nanoTime();
+
+        task.execute()
+                .handle((it, throwable) -> {
+                    long rttNanos = System.nanoTime() - startNanos;
+                    int completedInFlight = inFlight.getAndDecrement();
+                    LOGGER.finest(() -> name + " finished execution: " + task
+                            + " (" + (throwable == null ? "success" : "failure") + ")");
+                    if (throwable == null) {
+                        limit.onSample(rttNanos, completedInFlight, false);
+                    } else if (FaultTolerance.cause(throwable) instanceof TimeoutException) {
+                        limit.onSample(rttNanos, completedInFlight, true);
+                    }
+                    drain();
+                    return null;
+                });
+    }
+
+    // execute enqueued tasks while there are free permits
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            QueuedTask queued = queue.poll();
+            if (queued == null) {
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queueSize.decrementAndGet();
+            if (queued.claim()) {
+                queued.timeout.cancel(false);
+                LOGGER.finest(() -> name + " invoke in executor: " + queued.task);
+                executor.get().submit(() -> execute(queued.task));
+            } else {
+                // expired or cancelled in the meantime
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void expire(QueuedTask queued) {
+        if (queued.claim()) {
+            dequeue(queued);
+            LOGGER.finest(() -> name + " queue timeout: " + queued.task);
+            callsRejected.incrementAndGet();
+            queued.task.fail(new BulkheadException("Timed out in adaptive limiter queue \"" + name + "\""));
+        }
+    }
+
+    private void dequeue(QueuedTask queued) {
+        if (queue.remove(queued)) {
+            queueSize.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    private static final class QueuedTask {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final DelayedTask<?> task;
+        private ScheduledFuture<?> timeout;
+
+        private QueuedTask(DelayedTask<?> task) {
+            this.task = task;
+        }
+
+        // only one of execution, expiry and cancellation may handle the task
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private interface Limit {
+        int get();
+
+        void onSample(long rttNanos, int inFlight, boolean dropped);
+    }
+
+    private static final class AimdLimit implements Limit {
+        private final AtomicInteger limit;
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdNanos;
+        private final double backoffRatio;
+
+        private AimdLimit(AdaptiveLimiter.Builder builder) {
+            this.limit = new AtomicInteger(builder.initialLimit());
+            this.minLimit = builder.minLimit();
+            this.maxLimit = builder.maxLimit();
+            this.latencyThresholdNanos = builder.latencyThreshold().toNanos();
+            this.backoffRatio = builder.backoffRatio();
+        }
+
+        @Override
+        public int get() {
+            return limit.get();
+        }
+
+        @Override
+        public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            if (dropped || rttNanos > latencyThresholdNanos) {
+                limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+            } else if (inFlight * 2 >= limit.get()) {
+                // only grow when the limit is actually used
+                limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+            }
+        }
+    }
+
+    private static final class GradientLimit implements Limit {
+        // number of samples the long term latency average is computed over
+        private static final int LONG_WINDOW = 100;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int minLimit;
+        private final int maxLimit;
+        private final double rttTolerance;
+        private final double smoothing;
+        private volatile int limit;
+        private double estimatedLimit;
+        private double longRttNanos;
+
+        private GradientLimit(AdaptiveLimiter.Builder builder) {
+            this.limit = builder.initialLimit();
+            this.estimatedLimit = builder.initialLimit();
+            this.minLimit = builder.minLimit();
+            this.maxLimit = builder.maxLimit();
+            this.rttTolerance = builder.rttTolerance();
+            this.smoothing = builder.smoothing();
+        }
+
+        @Override
+        public int get() {
+            return limit;
+        }
+
+        @Override
+        public void onSample(long rttNanos, int inFlight, boolean dropped) {
+            // samples are statistical, skip this one rather than wait for a concurrent update
+            if (!lock.tryLock()) {
+                return;
+            }
+            try {
+                if (longRttNanos == 0) {
+                    longRttNanos = rttNanos;
+                } else {
+                    longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+                }
+                // recover faster from a period of high latency
+                if (longRttNanos / rttNanos > 2) {
+                    longRttNanos *= 0.95;
+                }
+
+                double gradient = dropped
+                        ? 0.5
+                        : Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / Math.max(rttNanos, 1)));
+                if (gradient == 1.0 && inFlight * 2 < estimatedLimit) {
+                    // do not grow the limit when it is not used
+                    return;
+                }
+                double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+                estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+                limit = (int) estimatedLimit;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
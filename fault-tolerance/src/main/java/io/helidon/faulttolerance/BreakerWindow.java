@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+/**
+ * Window of results used by a circuit breaker to decide whether to open.
+ */
+interface BreakerWindow {
+    /**
+     * Record a result of a call.
+     *
+     * @param result success or failure
+     * @param durationNanos duration of the call in nanoseconds
+     */
+    void update(ResultWindow.Result result, long durationNanos);
+
+    /**
+     * Whether the recorded results should open the breaker.
+     *
+     * @return outcome of test
+     */
+    boolean shouldOpen();
+
+    /**
+     * Forget all recorded results.
+     */
+    void reset();
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -100,6 +100,14 @@ public interface CircuitBreaker extends FtHandler {
         private int successThreshold = 1;
         // rolling window size to
         private int volume = 10;
+        // time based window, count based window is used if not configured
+        private Duration window;
+        private int windowBuckets = 10;
+        // how many calls must be seen in the time based window before the breaker may open
+        private int minimumCalls = 10;
+        // calls slower than this are counted as slow, disabled if not configured
+        private Duration slowCallDuration;
+        private int slowCallRatio = 100;
         private LazyValue<? extends ScheduledExecutorService> executor = FaultTolerance.scheduledExecutor();
         private String name = "CircuitBreaker-" + System.identityHashCode(this);
 
@@ -160,6 +168,73 @@ public interface CircuitBreaker extends FtHandler {
             return this;
         }
 
+        /**
+         * Use a time based sliding window instead of the count based {@link #volume(int)}.
+         * The window is split into {@link #windowBuckets(int) buckets}, and results older than
+         * the window are dropped one bucket at a time. The {@link #errorRatio(int)} is then
+         * computed from all calls within the window, once at least {@link #minimumCalls(int)}
+         * calls were seen.
+         *
+         * @param window duration of the sliding window
+         * @return updated builder instance
+         */
+        public Builder window(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Number of buckets of a time based {@link #window(Duration)}.
+         * Defaults to {@code 10}.
+         *
+         * @param windowBuckets number of buckets
+         * @return updated builder instance
+         */
+        public Builder windowBuckets(int windowBuckets) {
+            this.windowBuckets = windowBuckets;
+            return this;
+        }
+
+        /**
+         * Minimal number of calls within a time based {@link #window(Duration)} before the
+         * circuit may open.
+         * Defaults to {@code 10}.
+         *
+         * @param minimumCalls number of calls
+         * @return updated builder instance
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Calls that take at least this long are considered slow.
+         * Only used with a time based {@link #window(Duration)}, slow calls are not tracked by default.
+         *
+         * @param slowCallDuration duration of a slow call
+         * @return updated builder instance
+         * @see #slowCallRatio(int)
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        /**
+         * How many slow calls out of 100 will trigger the circuit to open, regardless of whether they
+         * failed or not.
+         * Defaults to {@code 100}.
+         *
+         * @param slowCallRatio percent of slow calls that trigger the circuit to open
+         * @return updated builder instance
+         * @see #slowCallDuration(Duration)
+         */
+        public Builder slowCallRatio(int slowCallRatio) {
+            this.slowCallRatio = slowCallRatio;
+            return this;
+        }
+
         /**
          * These throwables will be considered failures, and all other will not.
          * <p>
@@ -270,6 +345,26 @@ public interface CircuitBreaker extends FtHandler {
             return volume;
         }
 
+        Duration window() {
+            return window;
+        }
+
+        int windowBuckets() {
+            return windowBuckets;
+        }
+
+        int minimumCalls() {
+            return minimumCalls;
+        }
+
+        Duration slowCallDuration() {
+            return slowCallDuration;
+        }
+
+        int slowCallRatio() {
+            return slowCallRatio;
+        }
+
         String name() {
             return name;
         }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,7 +48,7 @@ class CircuitBreakerImpl implements CircuitBreaker {
      */
     private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
     // rolling window for counting errors to (maybe) open the breaker
-    private final ResultWindow results;
+    private final BreakerWindow results;
     // to close from half-open
     private final AtomicInteger successCounter = new AtomicInteger();
     private final AtomicBoolean halfOpenInProgress = new AtomicBoolean();
@@ -59,7 +59,16 @@ class CircuitBreakerImpl implements CircuitBreaker {
     CircuitBreakerImpl(CircuitBreaker.Builder builder) {
         this.delayMillis = builder.delay().toMillis();
         this.successThreshold = builder.successThreshold();
-        this.results = new ResultWindow(builder.volume(), builder.errorRatio());
+        if (builder.window() == null) {
+            this.results = new ResultWindow(builder.volume(), builder.errorRatio());
+        } else {
+            this.results = new TimeWindow(builder.window(),
+                                          builder.windowBuckets(),
+                                          builder.minimumCalls(),
+                                          builder.errorRatio(),
+                                          builder.slowCallDuration(),
+                                          builder.slowCallRatio());
+        }
         this.executor = builder.executor();
         this.errorChecker = ErrorChecker.create(builder.skipOn(), builder.applyOn());
         this.name = builder.name();
@@ -83,13 +92,15 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private <U> U invokeTask(DelayedTask<U> task) {
         if (state.get() == State.CLOSED) {
             // run it!
+            long start = System.nanoTime();
             CompletionStage<Void> completion = task.execute();
             completion.handle((it, throwable) -> {
+                long duration = System.nanoTime() - start;
                 Throwable exception = FaultTolerance.cause(throwable);
                 if (exception == null || errorChecker.shouldSkip(exception)) {
-                    results.update(SUCCESS);
+                    results.update(SUCCESS, duration);
                 } else {
-                    results.update(FAILURE);
+                    results.update(FAILURE, duration);
                 }
                 if (results.shouldOpen() && state.compareAndSet(State.CLOSED, State.OPEN)) {
                     results.reset();
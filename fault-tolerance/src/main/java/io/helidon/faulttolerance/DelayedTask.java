@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,6 +39,9 @@ interface DelayedTask<T> {
     // create an error result
     T error(Throwable throwable);
 
+    // fail the result of a task that will not be executed
+    void fail(Throwable throwable);
+
     // cannot retry or fallback when data was already sent (only useful for multi)
     default boolean hadData() {
         return false;
@@ -78,6 +81,11 @@ interface DelayedTask<T> {
                 return Multi.error(throwable);
             }
 
+            @Override
+            public void fail(Throwable throwable) {
+                publisherFuture.get().completeExceptionally(throwable);
+            }
+
             @Override
             public String toString() {
                 return "multi:" + System.identityHashCode(this);
@@ -141,6 +149,11 @@ interface DelayedTask<T> {
                 return Single.error(throwable);
             }
 
+            @Override
+            public void fail(Throwable throwable) {
+                resultFuture.get().completeExceptionally(throwable);
+            }
+
             @Override
             public String toString() {
                 return "single:" + System.identityHashCode(this);
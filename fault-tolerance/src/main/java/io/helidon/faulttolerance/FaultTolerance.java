@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -39,11 +39,15 @@ import io.helidon.config.Config;
  * <p>
  * Fault tolerance provides the following features:
  * <ul>
+ *     <li>{@link io.helidon.faulttolerance.AdaptiveLimiter} - limit number of parallel requests to a resource
+ *     by a limit adjusted from observed latency</li>
  *     <li>{@link io.helidon.faulttolerance.Async} - invoke a blocking synchronous call asynchronously in an executor service</li>
  *     <li>{@link io.helidon.faulttolerance.Bulkhead} - limit number of parallel requests to a resource</li>
  *     <li>{@link io.helidon.faulttolerance.CircuitBreaker} - stop trying to request a failing resource until it becomes
  *     available</li>
  *     <li>{@link io.helidon.faulttolerance.Fallback} - fall back to another supplier of result in case the usual one fails</li>
+ *     <li>{@link io.helidon.faulttolerance.Hedge} - start another attempt in parallel if a request takes too long</li>
+ *     <li>{@link io.helidon.faulttolerance.RateLimiter} - limit rate of requests to a resource</li>
  *     <li>{@link io.helidon.faulttolerance.Retry} - try to call a supplier again if invocation fails</li>
  *     <li>{@link io.helidon.faulttolerance.Timeout} - time out a request if it takes too long</li>
  * </ul>
@@ -162,6 +166,39 @@ public final class FaultTolerance {
             return me();
         }
 
+        /**
+         * Add an adaptive limiter to the list.
+         *
+         * @param limiter adaptive limiter handler
+         * @return updated builder instance
+         */
+        public B addLimiter(AdaptiveLimiter limiter) {
+            add(limiter);
+            return me();
+        }
+
+        /**
+         * Add a rate limiter to the list.
+         *
+         * @param rateLimiter rate limiter handler
+         * @return updated builder instance
+         */
+        public B addRateLimiter(RateLimiter rateLimiter) {
+            add(rateLimiter);
+            return me();
+        }
+
+        /**
+         * Add a hedge to the list.
+         *
+         * @param hedge hedge handler
+         * @return updated builder instance
+         */
+        public B addHedge(Hedge hedge) {
+            add(hedge);
+            return me();
+        }
+
         /**
          * Add a circuit breaker to the list.
          *
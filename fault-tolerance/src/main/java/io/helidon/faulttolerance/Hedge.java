@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import io.helidon.common.LazyValue;
+
+/**
+ * Hedge reduces tail latency of idempotent requests. When a request does not complete within a delay,
+ * another attempt is started in parallel, up to {@link Builder#maxAttempts(int)} attempts.
+ * The first successful attempt provides the result and all other attempts are cancelled.
+ * The request fails once all started attempts fail.
+ * <p>
+ * The delay is either fixed, or a percentile of recently observed latencies,
+ * so only the slowest requests are hedged.
+ * <p>
+ * Only {@link #invoke(java.util.function.Supplier)} is hedged. A {@link io.helidon.common.reactive.Multi}
+ * cannot be switched to another attempt once it emitted data, so {@link #invokeMulti(java.util.function.Supplier)}
+ * invokes the supplier once.
+ */
+public interface Hedge extends FtHandler {
+    /**
+     * A new builder for {@link io.helidon.faulttolerance.Hedge}.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.faulttolerance.Hedge}.
+     */
+    class Builder implements io.helidon.common.Builder<Hedge> {
+        private static final int DEFAULT_MAX_ATTEMPTS = 2;
+
+        private LazyValue<? extends ScheduledExecutorService> scheduledExecutor = FaultTolerance.scheduledExecutor();
+        private Duration delay = Duration.ofMillis(100);
+        private double percentile = 0;
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private String name = "Hedge-" + System.identityHashCode(this);
+
+        private Builder() {
+        }
+
+        @Override
+        public Hedge build() {
+            return new HedgeImpl(this);
+        }
+
+        /**
+         * Configure executor service to use for scheduling hedged attempts.
+         *
+         * @param scheduledExecutor scheduled executor service supplier
+         * @return updated builder instance
+         */
+        public Builder scheduledExecutor(Supplier<? extends ScheduledExecutorService> scheduledExecutor) {
+            this.scheduledExecutor = LazyValue.create(Objects.requireNonNull(scheduledExecutor));
+            return this;
+        }
+
+        /**
+         * Delay after which another attempt is started if no attempt completed.
+         * When {@link #percentile(double)} is configured, this delay is used until enough
+         * latencies are observed.
+         *
+         * @param delay delay between attempts, defaults to 100 milliseconds
+         * @return updated builder instance
+         */
+        public Builder delay(Duration delay) {
+            this.delay = Objects.requireNonNull(delay);
+            return this;
+        }
+
+        /**
+         * Derive the delay from recently observed latencies of successful attempts.
+         * For example {@code 0.95} starts another attempt once a request takes longer than
+         * 95 percent of recent requests.
+         *
+         * @param percentile percentile between 0 and 1 (exclusive), zero to always use {@link #delay(java.time.Duration)}
+         * @return updated builder instance
+         */
+        public Builder percentile(double percentile) {
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Maximal number of attempts, including the first one.
+         *
+         * @param maxAttempts maximal number of attempts, default is {@value DEFAULT_MAX_ATTEMPTS}
+         * @return updated builder instance
+         */
+        public Builder maxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        /**
+         * A name assigned for debugging, error reporting or configuration purposes.
+         *
+         * @param name the name
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        LazyValue<? extends ScheduledExecutorService> scheduledExecutor() {
+            return scheduledExecutor;
+        }
+
+        Duration delay() {
+            return delay;
+        }
+
+        double percentile() {
+            return percentile;
+        }
+
+        int maxAttempts() {
+            return maxAttempts;
+        }
+
+        String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Provides statistics during the lifetime of a hedge, such as
+     * number of calls, hedged attempts started and hedged attempts that provided the result.
+     */
+    interface Stats {
+
+        /**
+         * Number of calls.
+         *
+         * @return calls.
+         */
+        long calls();
+
+        /**
+         * Number of hedged attempts started, not including the first attempt of each call.
+         *
+         * @return hedges fired.
+         */
+        long hedgesFired();
+
+        /**
+         * Number of calls completed by a hedged attempt rather than the first one.
+         *
+         * @return hedges won.
+         */
+        long hedgesWon();
+
+        /**
+         * Delay currently used before starting another attempt.
+         *
+         * @return current delay.
+         */
+        Duration delay();
+    }
+
+    /**
+     * Provides access to internal stats for this hedge.
+     *
+     * @return internal stats.
+     */
+    Stats stats();
+}
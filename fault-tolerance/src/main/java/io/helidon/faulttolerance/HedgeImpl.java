@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+class HedgeImpl implements Hedge {
+    private static final Logger LOGGER = Logger.getLogger(HedgeImpl.class.getName());
+    // number of recent latencies the percentile is computed from, and how often it is recomputed
+    private static final int SAMPLES = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+
+    private final LazyValue<? extends ScheduledExecutorService> scheduledExecutor;
+    private final double percentile;
+    private final int maxAttempts;
+    private final String name;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder hedgesFired = new LongAdder();
+    private final LongAdder hedgesWon = new LongAdder();
+    private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long delayNanos;
+
+    HedgeImpl(Hedge.Builder builder) {
+        if (builder.maxAttempts() < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive, but is " + builder.maxAttempts());
+        }
+        if (builder.percentile() < 0 || builder.percentile() >= 1) {
+            throw new IllegalArgumentException("Percentile must be in [0, 1), but is " + builder.percentile());
+        }
+        this.scheduledExecutor = builder.scheduledExecutor();
+        this.percentile = builder.percentile();
+        this.maxAttempts = builder.maxAttempts();
+        this.name = builder.name();
+        this.delayNanos = builder.delay().toNanos();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+        calls.increment();
+        return Multi.create(supplier.get());
+    }
+
+    @Override
+    public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+        calls.increment();
+        HedgedCall<T> call = new HedgedCall<>(supplier);
+        call.attempt(0);
+        return Single.create(call.result, true)
+                .onCancel(call::cancel);
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats() {
+            @Override
+            public long calls() {
+                return calls.sum();
+            }
+
+            @Override
+            public long hedgesFired() {
+                return hedgesFired.sum();
+            }
+
+            @Override
+            public long hedgesWon() {
+                return hedgesWon.sum();
+            }
+
+            @Override
+            public Duration delay() {
+                return Duration.ofNanos(delayNanos);
+            }
+        };
+    }
+
+    private void recordLatency(long latencyNanos) {
+        if (percentile == 0) {
+            return;
+        }
+        long sample = samples.getAndIncrement();
+        latencies.set((int) (sample % SAMPLES), latencyNanos);
+        if (sample >= SAMPLES - 1 && sample % RECOMPUTE_EVERY == 0) {
+            long[] sorted = new long[SAMPLES];
+            for (int i = 0; i < SAMPLES; i++) {
+                sorted[i] = latencies.get(i);
+            }
+            Arrays.sort(sorted);
+            delayNanos = sorted[(int) (percentile * SAMPLES)];
+        }
+    }
+
+    private final class HedgedCall<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // losers are cancelled before the result is completed
+        private final AtomicBoolean completed = new AtomicBoolean();
+        private final AtomicReferenceArray<Attempt<T>> attempts = new AtomicReferenceArray<>(maxAttempts);
+        // attempts started and not failed yet, the call fails once it reaches zero
+        private final AtomicInteger inProgress = new AtomicInteger();
+        private final Supplier<? extends CompletionStage<T>> supplier;
+        // captured before the primary attempt is started
+        private final long startNanos = System.nanoTime();
+        private volatile ScheduledFuture<?> nextAttempt;
+
+        private HedgedCall(Supplier<? extends CompletionStage<T>> supplier) {
+            this.supplier = supplier;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void attempt(int index) {
+            inProgress.incrementAndGet();
+            if (index + 1 < maxAttempts) {
+                nextAttempt = scheduledExecutor.get().schedule(() -> hedge(index + 1), delayNanos, TimeUnit.NANOSECONDS);
+            }
+
+            CompletionStage<T> stage;
+            try {
+                stage = supplier.get();
+            } catch (Throwable e) {
+                stage = CompletableFuture.failedStage(e);
+            }
+            Attempt<T> attempt = new Attempt<>(this, index);
+            attempts.set(index, attempt);
+            Single<T> single = stage instanceof Single ? (Single<T>) stage : Single.create(stage, true);
+            single.subscribe(attempt);
+            if (completed.get()) {
+                // completed while this attempt was starting
+                attempt.cancel();
+            }
+        }
+
+        private void hedge(int index) {
+            if (completed.get()) {
+                return;
+            }
+            LOGGER.finest(() -> name + " hedge attempt " + index);
+            hedgesFired.increment();
+            attempt(index);
+        }
+
+        private void succeeded(Attempt<T> winner, T value) {
+            if (completed.compareAndSet(false, true)) {
+                // latency of the primary attempt, when a hedge won it is a lower bound of it, as the primary
+                // did not complete yet; measuring the winner from its own start would bias the delay low
+                recordLatency(System.nanoTime() - startNanos);
+                if (winner.index > 0) {
+                    hedgesWon.increment();
+                }
+                cancel(winner);
+                result.complete(value);
+            }
+        }
+
+        private void failed(Throwable throwable) {
+            if (inProgress.decrementAndGet() == 0 && completed.compareAndSet(false, true)) {
+                cancel(null);
+                result.completeExceptionally(throwable);
+            }
+        }
+
+        private void cancel() {
+            completed.set(true);
+            cancel(null);
+        }
+
+        private void cancel(Attempt<T> winner) {
+            ScheduledFuture<?> next = nextAttempt;
+            if (next != null) {
+                next.cancel(false);
+            }
+            for (int i = 0; i < maxAttempts; i++) {
+                Attempt<T> attempt = attempts.get(i);
+                if (attempt != null && attempt != winner) {
+                    attempt.cancel();
+                }
+            }
+        }
+    }
+
+    private static final class Attempt<T> implements Flow.Subscriber<T> {
+        private final HedgedCall<T> call;
+        private final int index;
+        private volatile Flow.Subscription subscription;
+        private volatile boolean cancelled;
+        private boolean hasValue;
+
+        private Attempt(HedgedCall<T> call, int index) {
+            this.call = call;
+            this.index = index;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            hasValue = true;
+            call.succeeded(this, item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            call.failed(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            if (!hasValue) {
+                call.succeeded(this, null);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+}
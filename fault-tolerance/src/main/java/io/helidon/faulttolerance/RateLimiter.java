@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import io.helidon.common.LazyValue;
+
+/**
+ * Rate limiter limits the rate of requests to a resource using a token bucket.
+ * <p>
+ * The bucket holds up to {@link Builder#burst(int)} permits and is refilled with
+ * {@link Builder#permits(int)} permits each {@link Builder#period(java.time.Duration)}. Each request
+ * takes a permit. A request that finds the bucket empty either waits for the next permit (up to
+ * {@link Builder#maxWait(java.time.Duration)}), or ends with a failed response with
+ * {@link io.helidon.faulttolerance.RateLimitException}.
+ * <p>
+ * Rate can be limited separately for each client (or any other key) using {@link #partition(Object)}.
+ */
+public interface RateLimiter extends FtHandler {
+    /**
+     * A new builder for {@link io.helidon.faulttolerance.RateLimiter}.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Rate limiter with the configuration of this rate limiter and a bucket of its own for the provided key,
+     * such as a client IP address or an authenticated subject. The same instance is returned
+     * for the same key, unless the key was evicted.
+     * <p>
+     * Number of keys is limited by {@link Builder#maxPartitions(int)}. When the limit is exceeded, idle keys
+     * (with a full bucket) are evicted first, as a new bucket for such a key behaves the same.
+     *
+     * @param key key of the partition
+     * @return rate limiter of the partition
+     */
+    RateLimiter partition(Object key);
+
+    /**
+     * Take a permit if one is available now.
+     * This method never waits, regardless of {@link Builder#maxWait(java.time.Duration)}.
+     *
+     * @return {@code true} if a permit was taken, {@code false} otherwise
+     */
+    boolean tryAcquire();
+
+    /**
+     * Fluent API builder for {@link io.helidon.faulttolerance.RateLimiter}.
+     */
+    class Builder implements io.helidon.common.Builder<RateLimiter> {
+        private static final int DEFAULT_PERMITS = 100;
+        private static final int DEFAULT_MAX_PARTITIONS = 100_000;
+
+        private LazyValue<? extends ScheduledExecutorService> scheduledExecutor = FaultTolerance.scheduledExecutor();
+        private int permits = DEFAULT_PERMITS;
+        private Duration period = Duration.ofSeconds(1);
+        private int burst = -1;
+        private Duration maxWait = Duration.ZERO;
+        private int maxPartitions = DEFAULT_MAX_PARTITIONS;
+        private String name = "RateLimiter-" + System.identityHashCode(this);
+
+        private Builder() {
+        }
+
+        @Override
+        public RateLimiter build() {
+            return new RateLimiterImpl(this);
+        }
+
+        /**
+         * Configure executor service to use for delaying requests waiting for a permit.
+         *
+         * @param scheduledExecutor scheduled executor service supplier
+         * @return updated builder instance
+         */
+        public Builder scheduledExecutor(Supplier<? extends ScheduledExecutorService> scheduledExecutor) {
+            this.scheduledExecutor = LazyValue.create(Objects.requireNonNull(scheduledExecutor));
+            return this;
+        }
+
+        /**
+         * Number of permits added to the bucket each {@link #period(java.time.Duration)}.
+         * Permits are added evenly during the period, not all at once.
+         *
+         * @param permits permits per period, default is {@value DEFAULT_PERMITS}
+         * @return updated builder instance
+         */
+        public Builder permits(int permits) {
+            this.permits = permits;
+            return this;
+        }
+
+        /**
+         * Period to add {@link #permits(int)} permits to the bucket in.
+         *
+         * @param period refill period, defaults to 1 second
+         * @return updated builder instance
+         */
+        public Builder period(Duration period) {
+            this.period = Objects.requireNonNull(period);
+            return this;
+        }
+
+        /**
+         * Maximal number of permits in the bucket, i.e. the number of requests that may be
+         * executed at once after a period of inactivity.
+         *
+         * @param burst capacity of the bucket, defaults to {@link #permits(int)}
+         * @return updated builder instance
+         */
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        /**
+         * Maximal time a request waits for a permit when the bucket is empty. Requests that would wait
+         * longer are rejected immediately.
+         *
+         * @param maxWait maximal wait for a permit, defaults to zero (reject immediately)
+         * @return updated builder instance
+         */
+        public Builder maxWait(Duration maxWait) {
+            this.maxWait = Objects.requireNonNull(maxWait);
+            return this;
+        }
+
+        /**
+         * Maximal number of partitions (keys) kept in memory.
+         *
+         * @param maxPartitions maximal number of partitions, default is {@value DEFAULT_MAX_PARTITIONS}
+         * @return updated builder instance
+         * @see RateLimiter#partition(Object)
+         */
+        public Builder maxPartitions(int maxPartitions) {
+            this.maxPartitions = maxPartitions;
+            return this;
+        }
+
+        /**
+         * A name assigned for debugging, error reporting or configuration purposes.
+         *
+         * @param name the name
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        LazyValue<? extends ScheduledExecutorService> scheduledExecutor() {
+            return scheduledExecutor;
+        }
+
+        int permits() {
+            return permits;
+        }
+
+        Duration period() {
+            return period;
+        }
+
+        int burst() {
+            return burst < 0 ? permits : burst;
+        }
+
+        Duration maxWait() {
+            return maxWait;
+        }
+
+        int maxPartitions() {
+            return maxPartitions;
+        }
+
+        String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Provides statistics during the lifetime of a rate limiter, such as
+     * accepted/rejected calls and number of partitions. Statistics are shared by
+     * a rate limiter and all its partitions.
+     */
+    interface Stats {
+
+        /**
+         * Number of calls that got a permit.
+         *
+         * @return calls accepted.
+         */
+        long callsAccepted();
+
+        /**
+         * Number of calls rejected because no permit was available in time.
+         *
+         * @return calls rejected.
+         */
+        long callsRejected();
+
+        /**
+         * Number of partitions kept in memory at this time.
+         *
+         * @return number of partitions.
+         */
+        int partitions();
+    }
+
+    /**
+     * Provides access to internal stats for this rate limiter.
+     *
+     * @return internal stats.
+     */
+    Stats stats();
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+/*
+ * The token bucket is implemented as the equivalent generic cell rate algorithm: instead of
+ * a number of tokens and the time of last refill, each bucket keeps a single "theoretical arrival time"
+ * of the next permit, which is advanced by one permit interval by each call using a CAS.
+ * The bucket is empty when this time is more than burst intervals in the future, and full once the time is in the past.
+ */
+class RateLimiterImpl implements RateLimiter {
+    private static final Logger LOGGER = Logger.getLogger(RateLimiterImpl.class.getName());
+    private static final AtomicLongFieldUpdater<RateLimiterImpl> ARRIVAL =
+            AtomicLongFieldUpdater.newUpdater(RateLimiterImpl.class, "arrivalNanos");
+
+    private final Shared shared;
+    private final Object key;
+    private volatile long arrivalNanos;
+
+    RateLimiterImpl(RateLimiter.Builder builder) {
+        this(new Shared(builder), null);
+    }
+
+    private RateLimiterImpl(Shared shared, Object key) {
+        this.shared = shared;
+        this.key = key;
+        this.arrivalNanos = System.nanoTime();
+    }
+
+    @Override
+    public String name() {
+        return key == null ? shared.name : shared.name + "[" + key + "]";
+    }
+
+    @Override
+    public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+        long waitNanos = reserve(shared.maxWaitNanos);
+        if (waitNanos < 0) {
+            return Single.error(rejected(-waitNanos));
+        }
+        if (waitNanos == 0) {
+            return Single.create(supplier.get(), true);
+        }
+        return Single.timer(waitNanos, TimeUnit.NANOSECONDS, shared.scheduledExecutor.get())
+                .flatMapSingle(it -> Single.create(supplier.get(), true));
+    }
+
+    @Override
+    public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+        long waitNanos = reserve(shared.maxWaitNanos);
+        if (waitNanos < 0) {
+            return Multi.error(rejected(-waitNanos));
+        }
+        if (waitNanos == 0) {
+            return Multi.create(supplier.get());
+        }
+        return Single.timer(waitNanos, TimeUnit.NANOSECONDS, shared.scheduledExecutor.get())
+                .flatMap(it -> supplier.get());
+    }
+
+    @Override
+    public boolean tryAcquire() {
+        return reserve(0) == 0;
+    }
+
+    @Override
+    public RateLimiter partition(Object key) {
+        RateLimiterImpl partition = shared.partitions.get(key);
+        if (partition == null) {
+            partition = shared.partitions.computeIfAbsent(key, it -> new RateLimiterImpl(shared, it));
+            if (shared.partitions.size() > shared.maxPartitions) {
+                shared.evict();
+            }
+        }
+        return partition;
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats() {
+            @Override
+            public long callsAccepted() {
+                return shared.callsAccepted.sum();
+            }
+
+            @Override
+            public long callsRejected() {
+                return shared.callsRejected.sum();
+            }
+
+            @Override
+            public int partitions() {
+                return shared.partitions.size();
+            }
+        };
+    }
+
+    /**
+     * Reserve a permit.
+     *
+     * @param maxWaitNanos maximal time to wait for the permit
+     * @return nanoseconds to wait before using the reserved permit, or negated nanoseconds
+     *      until a permit is available if none was reserved
+     */
+    private long reserve(long maxWaitNanos) {
+        long now = System.nanoTime();
+        long current;
+        long next;
+        long waitNanos;
+        do {
+            current = arrivalNanos;
+            // an idle bucket is full, permits do not accumulate over its capacity
+            next = (current - now > 0 ? current : now) + shared.intervalNanos;
+            waitNanos = next - now - shared.burstNanos;
+            if (waitNanos > maxWaitNanos) {
+                shared.callsRejected.increment();
+                return -waitNanos;
+            }
+        } while (!ARRIVAL.compareAndSet(this, current, next));
+        shared.callsAccepted.increment();
+        return Math.max(0, waitNanos);
+    }
+
+    private RateLimitException rejected(long waitNanos) {
+        LOGGER.finest(() -> name() + " reject, next permit in " + waitNanos + " ns");
+        return new RateLimitException("Rate limit of \"" + name() + "\" exceeded", Duration.ofNanos(waitNanos));
+    }
+
+    // configuration and state shared by a rate limiter and its partitions
+    private static final class Shared {
+        private final ConcurrentHashMap<Object, RateLimiterImpl> partitions = new ConcurrentHashMap<>();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+        private final LongAdder callsAccepted = new LongAdder();
+        private final LongAdder callsRejected = new LongAdder();
+        private final LazyValue<? extends ScheduledExecutorService> scheduledExecutor;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final long maxWaitNanos;
+        private final int maxPartitions;
+        private final String name;
+
+        private Shared(RateLimiter.Builder builder) {
+            if (builder.permits() <= 0 || builder.burst() <= 0) {
+                throw new IllegalArgumentException("Permits and burst must be positive, but are "
+                                                           + builder.permits() + ", " + builder.burst());
+            }
+            if (builder.maxPartitions() <= 0) {
+                throw new IllegalArgumentException("Max partitions must be positive, but is " + builder.maxPartitions());
+            }
+            this.scheduledExecutor = builder.scheduledExecutor();
+            this.intervalNanos = Math.max(1, builder.period().toNanos() / builder.permits());
+            this.burstNanos = intervalNanos * builder.burst();
+            this.maxWaitNanos = builder.maxWait().toNanos();
+            this.maxPartitions = builder.maxPartitions();
+            this.name = builder.name();
+        }
+
+        // only one thread evicts, others continue while partitions may be over the limit for a short time
+        private void evict() {
+            if (!evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                long now = System.nanoTime();
+                // full buckets hold no state, evicting them does not change behavior
+                partitions.values().removeIf(it -> it.arrivalNanos - now <= 0);
+                // all remaining buckets are in use, evict a quarter to not evict on each new key
+                int target = maxPartitions - maxPartitions / 4;
+                Iterator<RateLimiterImpl> iterator = partitions.values().iterator();
+                while (partitions.size() > target && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+                LOGGER.finest(() -> name + " evicted partitions, remaining " + partitions.size());
+            } finally {
+                evicting.set(false);
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,7 +25,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * This should not be a significant issue, as the calculations work on a state (that may change anyway when checking
  * whether to open the circuit).
  */
-final class ResultWindow {
+final class ResultWindow implements BreakerWindow {
     private final AtomicInteger currentSum = new AtomicInteger();
     private final AtomicCycle index;
     private final AtomicInteger[] results;
@@ -44,6 +44,11 @@ final class ResultWindow {
 
     }
 
+    @Override
+    public void update(Result result, long durationNanos) {
+        update(result);
+    }
+
     void update(Result resultEnum) {
         // update total number of results
         totalResults.incrementAndGet();
@@ -69,11 +74,13 @@ final class ResultWindow {
      *
      * @return outcome of test.
      */
-    boolean shouldOpen() {
+    @Override
+    public boolean shouldOpen() {
         return totalResults.get() >= results.length && currentSum.get() >= thresholdSum;
     }
 
-    void reset() {
+    @Override
+    public void reset() {
         for (int i = 0; i < results.length; i++) {
             results[i].set(Result.SUCCESS.ordinal());
         }
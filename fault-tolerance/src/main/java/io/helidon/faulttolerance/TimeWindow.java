@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Time based sliding window of results.
+ * The window is a ring of buckets, each covering an equal slice of the window. A bucket is replaced
+ * when the time moves past it, so results expire one bucket at a time.
+ * Counters are {@link java.util.concurrent.atomic.LongAdder}s, so parallel updates do not compete for a single
+ * shared index. As with {@link io.helidon.faulttolerance.ResultWindow}, the status is eventually consistent - a result
+ * recorded while its bucket is being replaced may be lost.
+ */
+final class TimeWindow implements BreakerWindow {
+    private final AtomicReferenceArray<Bucket> buckets;
+    private final LongSupplier clock;
+    private final long bucketNanos;
+    private final int minimumCalls;
+    private final int errorRatio;
+    private final long slowCallNanos;
+    private final int slowCallRatio;
+
+    TimeWindow(Duration window,
+               int bucketCount,
+               int minimumCalls,
+               int errorRatio,
+               Duration slowCallDuration,
+               int slowCallRatio) {
+        this(window, bucketCount, minimumCalls, errorRatio, slowCallDuration, slowCallRatio, System::nanoTime);
+    }
+
+    // for unit tests
+    TimeWindow(Duration window,
+               int bucketCount,
+               int minimumCalls,
+               int errorRatio,
+               Duration slowCallDuration,
+               int slowCallRatio,
+               LongSupplier clock) {
+        if (bucketCount < 1) {
+            throw new IllegalArgumentException("Number of window buckets must be at least 1, but is " + bucketCount);
+        }
+        this.bucketNanos = Math.max(1, window.toNanos() / bucketCount);
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.errorRatio = errorRatio;
+        this.slowCallNanos = (slowCallDuration == null) ? Long.MAX_VALUE : slowCallDuration.toNanos();
+        this.slowCallRatio = slowCallRatio;
+        this.clock = clock;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+        reset();
+    }
+
+    @Override
+    public void update(ResultWindow.Result result, long durationNanos) {
+        Bucket bucket = current(clock.getAsLong() / bucketNanos);
+        bucket.calls.increment();
+        if (result == ResultWindow.Result.FAILURE) {
+            bucket.failures.increment();
+        }
+        if (durationNanos >= slowCallNanos) {
+            bucket.slowCalls.increment();
+        }
+    }
+
+    @Override
+    public boolean shouldOpen() {
+        long epoch = clock.getAsLong() / bucketNanos;
+        int length = buckets.length();
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (int i = 0; i < length; i++) {
+            Bucket bucket = buckets.get(i);
+            // ignore buckets that were not replaced since they left the window
+            if (epoch - bucket.epoch < length) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        if (calls < minimumCalls) {
+            return false;
+        }
+        return failures * 100 >= calls * errorRatio
+                || (slowCalls > 0 && slowCalls * 100 >= calls * slowCallRatio);
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, new Bucket(Long.MIN_VALUE));
+        }
+    }
+
+    private Bucket current(long epoch) {
+        int index = (int) Math.floorMod(epoch, (long) buckets.length());
+        Bucket bucket = buckets.get(index);
+        while (bucket.epoch != epoch) {
+            if (bucket.epoch > epoch) {
+                // a stale update that raced with the window moving on, count it in the newest bucket
+                return bucket;
+            }
+            Bucket next = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, next)) {
+                return next;
+            }
+            bucket = buckets.get(index);
+        }
+        return bucket;
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.LogConfig;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveLimiterTest {
+    @BeforeAll
+    static void setupTest() {
+        LogConfig.configureRuntime();
+    }
+
+    @Test
+    void testReject() {
+        String name = "unit:testReject";
+        AdaptiveLimiter limiter = AdaptiveLimiter.builder()
+                .initialLimit(1)
+                .name(name)
+                .build();
+
+        CompletableFuture<Integer> inProgress = new CompletableFuture<>();
+        Single<Integer> inProgressResult = limiter.invoke(() -> inProgress);
+        Single<Integer> rejectedResult = limiter.invoke(() -> CompletableFuture.completedFuture(1));
+
+        AdaptiveLimiter.Stats stats = limiter.stats();
+        assertThat(stats.limit(), is(1));
+        assertThat(stats.inFlight(), is(1));
+        assertThat(stats.callsAccepted(), is(1L));
+        assertThat(stats.callsRejected(), is(1L));
+
+        CompletionException completionException = assertThrows(CompletionException.class,
+                                                               () -> rejectedResult.await(1, TimeUnit.SECONDS));
+        assertThat(completionException.getCause(), instanceOf(BulkheadException.class));
+        assertThat(completionException.getCause().getMessage(), is("Adaptive limiter queue \"" + name + "\" is full"));
+
+        inProgress.complete(0);
+        assertThat(inProgressResult.await(1, TimeUnit.SECONDS), is(0));
+        assertThat(stats.inFlight(), is(0));
+    }
+
+    @Test
+    void testQueue() {
+        AdaptiveLimiter limiter = AdaptiveLimiter.builder()
+                .initialLimit(1)
+                .queueLength(1)
+                .build();
+
+        CompletableFuture<Integer> inProgress = new CompletableFuture<>();
+        Single<Integer> inProgressResult = limiter.invoke(() -> inProgress);
+        Single<Integer> enqueuedResult = limiter.invoke(() -> CompletableFuture.completedFuture(1));
+        assertThat(limiter.stats().waitingQueueSize(), is(1L));
+
+        inProgress.complete(0);
+        assertThat(inProgressResult.await(1, TimeUnit.SECONDS), is(0));
+        assertThat(enqueuedResult.await(1, TimeUnit.SECONDS), is(1));
+        assertThat(limiter.stats().waitingQueueSize(), is(0L));
+        assertThat(limiter.stats().callsAccepted(), is(2L));
+    }
+
+    @Test
+    void testQueueTimeout() {
+        AdaptiveLimiter limiter = AdaptiveLimiter.builder()
+                .initialLimit(1)
+                .queueLength(1)
+                .queueTimeout(Duration.ofMillis(50))
+                .build();
+
+        CompletableFuture<Integer> inProgress = new CompletableFuture<>();
+        limiter.invoke(() -> inProgress);
+        Single<Integer> expiredResult = limiter.invoke(() -> CompletableFuture.completedFuture(1));
+
+        CompletionException completionException = assertThrows(CompletionException.class,
+                                                               () -> expiredResult.await(1, TimeUnit.SECONDS));
+        assertThat(completionException.getCause(), instanceOf(BulkheadException.class));
+        assertThat(limiter.stats().callsRejected(), is(1L));
+        assertThat(limiter.stats().waitingQueueSize(), is(0L));
+
+        // the expired task must not be executed once a permit is released
+        inProgress.complete(0);
+        assertThat(limiter.stats().callsAccepted(), is(1L));
+    }
+
+    @Test
+    void testAimd() {
+        AdaptiveLimiter slow = AdaptiveLimiter.builder()
+                .algorithm(AdaptiveLimiter.Algorithm.AIMD)
+                .initialLimit(10)
+                .latencyThreshold(Duration.ZERO)
+                .backoffRatio(0.5)
+                .build();
+        slow.invoke(() -> Single.timer(5, TimeUnit.MILLISECONDS, FaultTolerance.scheduledExecutor().get()))
+                .await(1, TimeUnit.SECONDS);
+        assertThat(slow.stats().limit(), is(5));
+
+        AdaptiveLimiter fast = AdaptiveLimiter.builder()
+                .algorithm(AdaptiveLimiter.Algorithm.AIMD)
+                .initialLimit(2)
+                .latencyThreshold(Duration.ofMinutes(1))
+                .build();
+        fast.invoke(() -> CompletableFuture.completedFuture(1)).await(1, TimeUnit.SECONDS);
+        assertThat(fast.stats().limit(), is(3));
+        // a single request does not use a limit of 3, so it must not grow
+        fast.invoke(() -> CompletableFuture.completedFuture(1)).await(1, TimeUnit.SECONDS);
+        assertThat(fast.stats().limit(), is(3));
+    }
+
+    @Test
+    void testGradientTimeout() {
+        AdaptiveLimiter limiter = AdaptiveLimiter.builder()
+                .initialLimit(20)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            Single<Object> result = limiter.invoke(() -> CompletableFuture.failedFuture(new TimeoutException()));
+            FaultToleranceTest.completionException(result, TimeoutException.class);
+        }
+        assertThat(limiter.stats().limit(), lessThan(20));
+    }
+
+    @Test
+    void testLimitNotExceeded() {
+        AdaptiveLimiter limiter = AdaptiveLimiter.builder()
+                .initialLimit(4)
+                .maxLimit(4)
+                .queueLength(1000)
+                .build();
+
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        List<Single<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int index = i;
+            results.add(limiter.invoke(() -> {
+                maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+                return Single.timer(1, TimeUnit.MILLISECONDS, FaultTolerance.scheduledExecutor().get())
+                        .map(it -> {
+                            concurrent.decrementAndGet();
+                            return index;
+                        });
+            }));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).await(10, TimeUnit.SECONDS), is(i));
+        }
+        assertThat(maxConcurrent.get(), lessThanOrEqualTo(4));
+        assertThat(limiter.stats().callsAccepted(), is(200L));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -94,6 +94,45 @@ class CircuitBreakerTest {
         assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
     }
 
+    @Test
+    void testTimeWindowCircuitBreaker() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .window(Duration.ofMinutes(1))
+                .minimumCalls(5)
+                .errorRatio(40)
+                .delay(Duration.ofSeconds(10))
+                .build();
+
+        good(breaker);
+        bad(breaker);
+        bad(breaker);
+        bad(breaker);
+        assertThat("Should not open before minimum calls", breaker.state(), is(CircuitBreaker.State.CLOSED));
+        good(breaker);      // should open - 3 of 5 failed
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+        breakerOpen(breaker);
+    }
+
+    @Test
+    void testSlowCallCircuitBreaker() {
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .window(Duration.ofMinutes(1))
+                .minimumCalls(2)
+                .slowCallDuration(Duration.ofMillis(1))
+                .slowCallRatio(50)
+                .delay(Duration.ofSeconds(10))
+                .build();
+
+        breaker.invoke(() -> Single.timer(50, TimeUnit.MILLISECONDS, FaultTolerance.scheduledExecutor().get()))
+                .await(1, TimeUnit.SECONDS);
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+        breaker.invoke(() -> Single.timer(50, TimeUnit.MILLISECONDS, FaultTolerance.scheduledExecutor().get()))
+                .await(1, TimeUnit.SECONDS);
+
+        assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
+    }
+
     private void breakerOpen(CircuitBreaker breaker) {
         Request good = new Request();
         Single<Integer> result = breaker.invoke(good::invoke);
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.LogConfig;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+class HedgeTest {
+    @BeforeAll
+    static void setupTest() {
+        LogConfig.configureRuntime();
+    }
+
+    @Test
+    void testNoHedge() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofSeconds(10))
+                .build();
+
+        AtomicInteger attempts = new AtomicInteger();
+        Single<Integer> result = hedge.invoke(() -> CompletableFuture.completedFuture(attempts.incrementAndGet()));
+
+        assertThat(result.await(1, TimeUnit.SECONDS), is(1));
+        assertThat(attempts.get(), is(1));
+        assertThat(hedge.stats().calls(), is(1L));
+        assertThat(hedge.stats().hedgesFired(), is(0L));
+    }
+
+    @Test
+    void testHedgeWins() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(10))
+                .build();
+
+        List<CompletableFuture<Integer>> attempts = new CopyOnWriteArrayList<>();
+        Single<Integer> result = hedge.invoke(() -> {
+            CompletableFuture<Integer> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            if (attempts.size() == 2) {
+                attempt.complete(2);
+            }
+            return attempt;
+        });
+
+        assertThat(result.await(1, TimeUnit.SECONDS), is(2));
+        assertThat(attempts.size(), is(2));
+        // the slow attempt is cancelled
+        assertThat(attempts.get(0).isCancelled(), is(true));
+        assertThat(hedge.stats().hedgesFired(), is(1L));
+        assertThat(hedge.stats().hedgesWon(), is(1L));
+    }
+
+    @Test
+    void testAllAttemptsFail() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(10))
+                .maxAttempts(3)
+                .build();
+
+        AtomicInteger attempts = new AtomicInteger();
+        Single<Integer> result = hedge.invoke(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                // keep the first attempt running, so the call waits for hedges
+                return Single.timer(50, TimeUnit.MILLISECONDS, FaultTolerance.scheduledExecutor().get())
+                        .flatMapSingle(it -> Single.error(new IllegalStateException()));
+            }
+            return CompletableFuture.failedFuture(new IllegalStateException());
+        });
+
+        FaultToleranceTest.completionException(result, IllegalStateException.class);
+        assertThat(attempts.get(), is(3));
+        assertThat(hedge.stats().hedgesFired(), is(2L));
+        assertThat(hedge.stats().hedgesWon(), is(0L));
+    }
+
+    @Test
+    void testPercentileDelay() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofSeconds(10))
+                .percentile(0.9)
+                .build();
+
+        for (int i = 0; i < 300; i++) {
+            hedge.invoke(() -> CompletableFuture.completedFuture(1)).await(1, TimeUnit.SECONDS);
+        }
+        assertThat(hedge.stats().delay(), lessThan(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testWithTimeout() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(10))
+                .build();
+        FtHandler handler = FaultTolerance.builder()
+                .addTimeout(Timeout.create(Duration.ofSeconds(1)))
+                .addHedge(hedge)
+                .build();
+
+        AtomicInteger attempts = new AtomicInteger();
+        Single<Integer> result = handler.invoke(() -> attempts.incrementAndGet() == 1
+                ? new CompletableFuture<>()
+                : CompletableFuture.completedFuture(2));
+
+        assertThat(result.await(1, TimeUnit.SECONDS), is(2));
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.LogConfig;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class RateLimiterTest {
+    @BeforeAll
+    static void setupTest() {
+        LogConfig.configureRuntime();
+    }
+
+    @Test
+    void testBurst() {
+        String name = "unit:testBurst";
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(10)
+                .period(Duration.ofHours(1))
+                .burst(3)
+                .name(name)
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            int index = i;
+            assertThat(limiter.invoke(() -> CompletableFuture.completedFuture(index)).await(1, TimeUnit.SECONDS), is(i));
+        }
+        Single<Integer> rejected = limiter.invoke(() -> CompletableFuture.completedFuture(3));
+        RateLimitException exception = FaultToleranceTest.completionException(rejected, RateLimitException.class);
+        assertThat(exception.getMessage(), is("Rate limit of \"" + name + "\" exceeded"));
+        // a permit is added each 6 minutes
+        assertThat(exception.retryAfter(), greaterThan(Duration.ofMinutes(5)));
+        assertThat(exception.retryAfter(), lessThanOrEqualTo(Duration.ofMinutes(6)));
+
+        assertThat(limiter.stats().callsAccepted(), is(3L));
+        assertThat(limiter.stats().callsRejected(), is(1L));
+    }
+
+    @Test
+    void testRefill() throws InterruptedException {
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(1000)
+                .burst(1)
+                .build();
+
+        assertThat(limiter.tryAcquire(), is(true));
+        assertThat(limiter.tryAcquire(), is(false));
+        Thread.sleep(5);
+        assertThat(limiter.tryAcquire(), is(true));
+    }
+
+    @Test
+    void testMaxWait() {
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(10)
+                .burst(1)
+                .maxWait(Duration.ofSeconds(1))
+                .build();
+
+        assertThat(limiter.invoke(() -> CompletableFuture.completedFuture(0)).await(1, TimeUnit.SECONDS), is(0));
+        long start = System.nanoTime();
+        assertThat(limiter.invoke(() -> CompletableFuture.completedFuture(1)).await(1, TimeUnit.SECONDS), is(1));
+        assertThat(System.nanoTime() - start, greaterThan(TimeUnit.MILLISECONDS.toNanos(50)));
+
+        List<Integer> multi = limiter.invokeMulti(() -> Multi.just(1, 2, 3))
+                .collectList()
+                .await(1, TimeUnit.SECONDS);
+        assertThat(multi, contains(1, 2, 3));
+        assertThat(limiter.stats().callsRejected(), is(0L));
+    }
+
+    @Test
+    void testPartitions() {
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(1)
+                .period(Duration.ofHours(1))
+                .build();
+
+        RateLimiter first = limiter.partition("first");
+        assertThat(limiter.partition("first"), sameInstance(first));
+        assertThat(first.tryAcquire(), is(true));
+        assertThat(first.tryAcquire(), is(false));
+        assertThat(limiter.partition("second").tryAcquire(), is(true));
+        assertThat(limiter.tryAcquire(), is(true));
+        assertThat(limiter.stats().partitions(), is(2));
+    }
+
+    @Test
+    void testPartitionsBounded() {
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(1)
+                .period(Duration.ofHours(1))
+                .maxPartitions(100)
+                .build();
+
+        // idle partitions
+        for (int i = 0; i < 10_000; i++) {
+            limiter.partition(i);
+        }
+        assertThat(limiter.stats().partitions(), lessThanOrEqualTo(100));
+
+        // partitions in use
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(limiter.partition("used-" + i).tryAcquire(), is(true));
+        }
+        assertThat(limiter.stats().partitions(), lessThanOrEqualTo(100));
+    }
+
+    @Test
+    void testConcurrentAcquire() throws InterruptedException {
+        RateLimiter limiter = RateLimiter.builder()
+                .permits(1000)
+                .period(Duration.ofHours(1))
+                .build();
+
+        AtomicInteger acquired = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (limiter.tryAcquire()) {
+                        acquired.incrementAndGet();
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(acquired.get(), is(1000));
+        assertThat(limiter.stats().callsAccepted(), is(1000L));
+        assertThat(limiter.stats().callsRejected(), is(7000L));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class TimeWindowTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(100 * SECOND);
+
+    @Test
+    void testNotOpenBeforeMinimumCalls() {
+        TimeWindow window = window(5, null, 100);
+        assertThat("Empty should not open", window.shouldOpen(), is(false));
+        for (int i = 0; i < 4; i++) {
+            window.update(ResultWindow.Result.FAILURE, 0);
+        }
+        assertThat("Should not open before minimum calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, 0);
+        assertThat("Should open after minimum calls", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testErrorRatio() {
+        TimeWindow window = window(5, null, 100);
+        window.update(ResultWindow.Result.FAILURE, 0);
+        for (int i = 0; i < 9; i++) {
+            window.update(ResultWindow.Result.SUCCESS, 0);
+        }
+        assertThat("Should not open below 20%", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, 0);
+        window.update(ResultWindow.Result.FAILURE, 0);
+        assertThat("Should open at 3 of 12 failed", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testResultsExpire() {
+        TimeWindow window = window(5, null, 100);
+        for (int i = 0; i < 5; i++) {
+            window.update(ResultWindow.Result.FAILURE, 0);
+        }
+        assertThat(window.shouldOpen(), is(true));
+        clock.addAndGet(5 * SECOND);
+        assertThat("Failures older than window should expire", window.shouldOpen(), is(false));
+
+        // failures spread over the window are all counted
+        for (int i = 0; i < 5; i++) {
+            window.update(ResultWindow.Result.FAILURE, 0);
+            clock.addAndGet(SECOND);
+        }
+        clock.addAndGet(-SECOND);
+        assertThat("Failures within window should be counted", window.shouldOpen(), is(true));
+        clock.addAndGet(SECOND);
+        assertThat("Oldest bucket should expire", window.shouldOpen(), is(false));
+    }
+
+    @Test
+    void testSlowCalls() {
+        TimeWindow window = window(5, Duration.ofMillis(100), 50);
+        for (int i = 0; i < 3; i++) {
+            window.update(ResultWindow.Result.SUCCESS, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 2; i++) {
+            window.update(ResultWindow.Result.SUCCESS, TimeUnit.MILLISECONDS.toNanos(200));
+        }
+        assertThat("Should not open below slow call ratio", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.SUCCESS, TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat("Should open at slow call ratio", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testReset() {
+        TimeWindow window = window(5, null, 100);
+        for (int i = 0; i < 5; i++) {
+            window.update(ResultWindow.Result.FAILURE, 0);
+        }
+        assertThat(window.shouldOpen(), is(true));
+        window.reset();
+        assertThat("Empty should not open", window.shouldOpen(), is(false));
+    }
+
+    private TimeWindow window(int minimumCalls, Duration slowCallDuration, int slowCallRatio) {
+        return new TimeWindow(Duration.ofSeconds(5), 5, minimumCalls, 20, slowCallDuration, slowCallRatio, clock::get);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.health;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.reactive.Single;
+import io.helidon.faulttolerance.Async;
+import io.helidon.faulttolerance.Timeout;
+
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.MetricUnits;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+/**
+ * Invokes a single health check, with its own timeout and an optional cache of its last result.
+ */
+final class HealthCheckRunner {
+    private static final Logger LOGGER = Logger.getLogger(HealthCheckRunner.class.getName());
+
+    private static final String DURATION_METRIC_NAME = "health.check.duration";
+    private static final Metadata DURATION_METADATA = Metadata.builder()
+            .withName(DURATION_METRIC_NAME)
+            .withDisplayName("Health check duration")
+            .withDescription("Duration of a health check invocation")
+            .withType(MetricType.TIMER)
+            .withUnit(MetricUnits.NANOSECONDS)
+            .build();
+
+    // only schedules the refresh, checks are invoked using the async executor
+    private static final LazyValue<ScheduledExecutorService> REFRESH_EXECUTOR = LazyValue.create(
+            () -> Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "helidon-health-refresh");
+                thread.setDaemon(true);
+                return thread;
+            }));
+
+    private final AtomicReference<CompletableFuture<HealthSupport.HcResponse>> inFlight = new AtomicReference<>();
+    private final HealthCheck healthCheck;
+    private final Async async;
+    private final Timeout timeout;
+    private final long cacheTtlNanos;
+    private final boolean backgroundRefresh;
+    private final MetricRegistry metricRegistry;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private volatile CachedResponse cached;
+    // name of the first successful response, used to report timeouts
+    private volatile String name;
+    private volatile ScheduledFuture<?> refresh;
+
+    HealthCheckRunner(HealthCheck healthCheck,
+                      Async async,
+                      Timeout timeout,
+                      long cacheTtlMillis,
+                      boolean backgroundRefresh,
+                      MetricRegistry metricRegistry) {
+        this.healthCheck = healthCheck;
+        this.async = async;
+        this.timeout = timeout;
+        this.cacheTtlNanos = TimeUnit.MILLISECONDS.toNanos(cacheTtlMillis);
+        this.backgroundRefresh = backgroundRefresh && cacheTtlMillis > 0;
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * Invoke the health check asynchronously, or return its cached result.
+     * The returned single never fails, failures and timeouts are reported as {@code DOWN} responses.
+     *
+     * @return response of the health check
+     */
+    Single<HealthSupport.HcResponse> call() {
+        CachedResponse current = cached;
+        if (backgroundRefresh) {
+            startRefresh();
+            if (null != current) {
+                return Single.just(current.response);
+            }
+        } else if (isValid(current)) {
+            return Single.just(current.response);
+        }
+        return Single.create(invoke());
+    }
+
+    /**
+     * Invoke the health check in the current thread, or return its cached result.
+     *
+     * @return response of the health check
+     */
+    HealthSupport.HcResponse callBlocking() {
+        CachedResponse current = cached;
+        if (backgroundRefresh) {
+            startRefresh();
+            if (null != current) {
+                return current.response;
+            }
+        } else if (isValid(current)) {
+            return current.response;
+        }
+        long start = System.nanoTime();
+        HealthSupport.HcResponse response = invokeCheck();
+        complete(response, start);
+        return response;
+    }
+
+    private boolean isValid(CachedResponse current) {
+        return null != current && System.nanoTime() - current.timestamp < cacheTtlNanos;
+    }
+
+    /**
+     * Stop background refresh of the cached result, it is started again by the next call.
+     */
+    void stopRefresh() {
+        synchronized (this) {
+            if (null != refresh) {
+                refresh.cancel(false);
+                refresh = null;
+            }
+        }
+    }
+
+    private void startRefresh() {
+        if (null == refresh) {
+            synchronized (this) {
+                if (null == refresh) {
+                    refresh = REFRESH_EXECUTOR.get()
+                            .scheduleWithFixedDelay(this::invoke, cacheTtlNanos, cacheTtlNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<HealthSupport.HcResponse> invoke() {
+        CompletableFuture<HealthSupport.HcResponse> future = new CompletableFuture<>();
+        // concurrent requests (such as probes of several kinds) share a single invocation
+        CompletableFuture<HealthSupport.HcResponse> existing = inFlight.compareAndExchange(null, future);
+        if (null != existing) {
+            return existing;
+        }
+
+        long start = System.nanoTime();
+        timeout.invoke(() -> async.invoke(this::invokeCheck))
+                .onErrorResume(this::timedOut)
+                .forSingle(response -> {
+                    complete(response, start);
+                    inFlight.set(null);
+                    future.complete(response);
+                });
+        return future;
+    }
+
+    private HealthSupport.HcResponse invokeCheck() {
+        try {
+            return new HealthSupport.HcResponse(healthCheck.call());
+        } catch (Throwable e) {
+            LOGGER.log(Level.SEVERE, "Failed to compute health check for " + healthCheck.getClass().getName(), e);
+
+            return new HealthSupport.HcResponse(HealthCheckResponse
+                                                        .named(healthCheck.getClass().getName())
+                                                        .withData("message", "Failed to compute health. Error logged")
+                                                        .down()
+                                                        .build(),
+                                                true);
+        }
+    }
+
+    private HealthSupport.HcResponse timedOut(Throwable throwable) {
+        // use the name of a previous response, so the check can still be included or excluded
+        String knownName = this.name;
+        String name = (null == knownName) ? healthCheck.getClass().getName() : knownName;
+        if (throwable instanceof TimeoutException) {
+            LOGGER.warning("Health check " + name + " timed out");
+            return new HealthSupport.HcResponse(HealthCheckResponse.named(name)
+                                                        .withData("message", "Health check timed out")
+                                                        .down()
+                                                        .build());
+        }
+        LOGGER.log(Level.SEVERE, "Failed to compute health check for " + name, throwable);
+        return new HealthSupport.HcResponse(HealthCheckResponse.named(name)
+                                                    .withData("message", "Failed to compute health. Error logged")
+                                                    .down()
+                                                    .build(),
+                                            true);
+    }
+
+    private void complete(HealthSupport.HcResponse response, long start) {
+        long duration = System.nanoTime() - start;
+        if (null == name && !response.internalError()) {
+            name = response.name();
+        }
+        if (cacheTtlNanos > 0) {
+            cached = new CachedResponse(response, System.nanoTime());
+        }
+        if (null != metricRegistry) {
+            timers.computeIfAbsent(response.name(), name -> metricRegistry.timer(DURATION_METADATA, new Tag("check", name)))
+                    .update(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static final class CachedResponse {
+        private final HealthSupport.HcResponse response;
+        private final long timestamp;
+
+        private CachedResponse(HealthSupport.HcResponse response, long timestamp) {
+            this.response = response;
+            this.timestamp = timestamp;
+        }
+    }
+}
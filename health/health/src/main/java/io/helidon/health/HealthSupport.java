@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,12 +21,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -56,6 +58,7 @@ import io.helidon.webserver.cors.CrossOriginConfig;
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
 import org.eclipse.microprofile.health.HealthCheckResponse.State;
+import org.eclipse.microprofile.metrics.MetricRegistry;
 
 import static io.helidon.webserver.cors.CorsEnabledServiceHelper.CORS_CONFIG_KEY;
 
@@ -87,6 +90,9 @@ public final class HealthSupport implements Service {
     private final MessageBodyWriter<JsonStructure> jsonpWriter = JsonpSupport.writer();
     private final Timeout timeout;
     private final Async async;
+    private final boolean parallel;
+    private final Map<HealthCheck, HealthCheckRunner> runners = new IdentityHashMap<>();
+    private int webServerCounter;
 
     private HealthSupport(Builder builder) {
         this.enabled = builder.enabled;
@@ -123,6 +129,20 @@ public final class HealthSupport implements Service {
 
         this.timeout = Timeout.create(Duration.ofMillis(builder.timeoutMillis));
         this.async = Async.create();
+        this.parallel = builder.parallel;
+
+        Timeout checkTimeout = (builder.checkTimeoutMillis > 0)
+                ? Timeout.create(Duration.ofMillis(builder.checkTimeoutMillis))
+                : timeout;
+        // all liveness and readiness checks are also in the list of all checks
+        for (HealthCheck check : allChecks) {
+            runners.computeIfAbsent(check, it -> new HealthCheckRunner(it,
+                                                                      async,
+                                                                      checkTimeout,
+                                                                      builder.cacheTtlMillis,
+                                                                      builder.backgroundRefresh,
+                                                                      builder.metricRegistry));
+        }
     }
 
     @Override
@@ -131,12 +151,33 @@ public final class HealthSupport implements Service {
             // do not register anything if health check is disabled
             return;
         }
+        // background refresh of cached results is stopped once all servers using this support are shut down
+        rules.onNewWebServer(ws -> {
+            webServerStarted();
+            ws.whenShutdown().thenRun(this::webServerStopped);
+        });
         rules.any(webContext, corsEnabledServiceHelper.processor())
                 .get(webContext, this::callAll)
                 .get(webContext + "/live", this::callLiveness)
                 .get(webContext + "/ready", this::callReadiness);
     }
 
+    private synchronized void webServerStarted() {
+        webServerCounter++;
+    }
+
+    private synchronized void webServerStopped() {
+        webServerCounter--;
+        if (webServerCounter <= 0) {
+            webServerCounter = 0;
+            stopRefresh();
+        }
+    }
+
+    void stopRefresh() {
+        runners.values().forEach(HealthCheckRunner::stopRefresh);
+    }
+
     private void callAll(ServerRequest req, ServerResponse res) {
         invoke(res, allChecks);
     }
@@ -150,8 +191,14 @@ public final class HealthSupport implements Service {
     }
 
     void invoke(ServerResponse res, List<HealthCheck> healthChecks) {
-        // timeout on the asynchronous execution
-        Single<HealthResponse> result = timeout.invoke(() -> async.invoke(() -> callHealthChecks(healthChecks)));
+        Single<HealthResponse> result;
+        if (parallel) {
+            // each health check is invoked asynchronously with its own timeout
+            result = callHealthChecksAsync(healthChecks);
+        } else {
+            // timeout on the asynchronous execution
+            result = timeout.invoke(() -> async.invoke(() -> callHealthChecks(healthChecks)));
+        }
 
         // handle timeouts and failures in execution
         result = result.onErrorResume(throwable -> {
@@ -168,8 +215,36 @@ public final class HealthSupport implements Service {
     }
 
     HealthResponse callHealthChecks(List<HealthCheck> healthChecks) {
-        List<HcResponse> responses = healthChecks.stream()
-                .map(this::callHealthChecks)
+        return toHealthResponse(healthChecks.stream()
+                                        .map(this::runner)
+                                        .map(HealthCheckRunner::callBlocking)
+                                        .collect(Collectors.toList()));
+    }
+
+    Single<HealthResponse> callHealthChecksAsync(List<HealthCheck> healthChecks) {
+        List<CompletableFuture<HcResponse>> futures = healthChecks.stream()
+                .map(this::runner)
+                .map(HealthCheckRunner::call)
+                .map(Single::toCompletableFuture)
+                .collect(Collectors.toList());
+
+        return Single.create(CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                                     .thenApply(it -> toHealthResponse(futures.stream()
+                                                                               .map(CompletableFuture::join)
+                                                                               .collect(Collectors.toList()))));
+    }
+
+    private HealthCheckRunner runner(HealthCheck healthCheck) {
+        HealthCheckRunner runner = runners.get(healthCheck);
+        if (null == runner) {
+            // not registered with this health support, invoke without caching
+            return new HealthCheckRunner(healthCheck, async, timeout, 0, false, null);
+        }
+        return runner;
+    }
+
+    private HealthResponse toHealthResponse(List<HcResponse> allResponses) {
+        List<HcResponse> responses = allResponses.stream()
                 .filter(this::notExcluded)
                 .filter(this::allOrIncluded)
                 .sorted(Comparator.comparing(HcResponse::name))
@@ -225,21 +300,6 @@ public final class HealthSupport implements Service {
         return !excludedHealthChecks.contains(response.hcr.getName());
     }
 
-    private HcResponse callHealthChecks(HealthCheck hc) {
-        try {
-            return new HcResponse(hc.call());
-        } catch (Throwable e) {
-            LOGGER.log(Level.SEVERE, "Failed to compute health check for " + hc.getClass().getName(), e);
-
-            return new HcResponse(HealthCheckResponse
-                                          .named(hc.getClass().getName())
-                                          .withData("message", "Failed to compute health. Error logged")
-                                          .down()
-                                          .build(),
-                                  true);
-        }
-    }
-
     /**
      * Get a builder to configure health support instance.
      *
@@ -289,6 +349,11 @@ public final class HealthSupport implements Service {
         private boolean backwardCompatible = true;
         private CrossOriginConfig crossOriginConfig;
         private long timeoutMillis = DEFAULT_TIMEOUT_MILLIS;
+        private boolean parallel = true;
+        private long checkTimeoutMillis;
+        private long cacheTtlMillis;
+        private boolean backgroundRefresh;
+        private MetricRegistry metricRegistry;
 
         private Builder() {
         }
@@ -399,6 +464,10 @@ public final class HealthSupport implements Service {
             config.get("exclude-classes").asList(Class.class).ifPresent(list -> list.forEach(this::addExcludedClass));
             config.get("backward-compatible").asBoolean().ifPresent(this::backwardCompatible);
             config.get("timeout-millis").asLong().ifPresent(this::timeoutMillis);
+            config.get("parallel").asBoolean().ifPresent(this::parallel);
+            config.get("check-timeout-millis").asLong().ifPresent(this::checkTimeoutMillis);
+            config.get("cache-ttl-millis").asLong().ifPresent(this::cacheTtlMillis);
+            config.get("background-refresh").asBoolean().ifPresent(this::backgroundRefresh);
             config.get(CORS_CONFIG_KEY)
                     .as(CrossOriginConfig::create)
                     .ifPresent(this::crossOriginConfig);
@@ -421,6 +490,84 @@ public final class HealthSupport implements Service {
             return this;
         }
 
+        /**
+         * Whether to invoke health checks in parallel, each with its own timeout (see
+         * {@link #checkTimeout(long, java.util.concurrent.TimeUnit)}).
+         * When disabled, health checks are invoked one after another, and the overall
+         * {@link #timeout(long, java.util.concurrent.TimeUnit) timeout} applies to all of them.
+         *
+         * @param parallel whether to invoke health checks in parallel (defaults to {@code true})
+         * @return updated builder instance
+         */
+        public Builder parallel(boolean parallel) {
+            this.parallel = parallel;
+            return this;
+        }
+
+        private void checkTimeoutMillis(long aLong) {
+            this.checkTimeoutMillis = aLong;
+        }
+
+        /**
+         * Configure timeout of a single health check when invoked in parallel.
+         * A health check that does not finish in time is reported as {@code DOWN}, without failing other
+         * health checks. Defaults to the overall {@link #timeout(long, java.util.concurrent.TimeUnit) timeout}.
+         *
+         * @param timeout timeout value
+         * @param unit timeout time unit
+         * @return updated builder instance
+         */
+        public Builder checkTimeout(long timeout, TimeUnit unit) {
+            checkTimeoutMillis(unit.toMillis(timeout));
+            return this;
+        }
+
+        private void cacheTtlMillis(long aLong) {
+            this.cacheTtlMillis = aLong;
+        }
+
+        /**
+         * Cache the result of each health check for the configured time.
+         * Requests within this time (such as frequent probes of a Kubernetes cluster) get the cached result,
+         * instead of invoking the health check again. Caching is disabled by default.
+         *
+         * @param ttl time to live of a cached result
+         * @param unit time unit
+         * @return updated builder instance
+         * @see #backgroundRefresh(boolean)
+         */
+        public Builder cacheTtl(long ttl, TimeUnit unit) {
+            cacheTtlMillis(unit.toMillis(ttl));
+            return this;
+        }
+
+        /**
+         * Refresh cached health check results in background, instead of when a request finds an expired result.
+         * Requests then always return the last known result immediately, only the very first request
+         * waits for the health checks. Has no effect unless {@link #cacheTtl(long, java.util.concurrent.TimeUnit)}
+         * is configured, the time to live is used as the refresh period.
+         *
+         * @param backgroundRefresh whether to refresh health check results in background (defaults to {@code false})
+         * @return updated builder instance
+         */
+        public Builder backgroundRefresh(boolean backgroundRefresh) {
+            this.backgroundRefresh = backgroundRefresh;
+            return this;
+        }
+
+        /**
+         * Registry to record duration of each health check invocation.
+         * A timer named {@code health.check.duration} with tag {@code check} set to the health check name
+         * is updated for each invocation. Durations are not recorded by default.
+         *
+         * @param metricRegistry metric registry, such as the vendor registry
+         * @return updated builder instance
+         */
+        public Builder metricRegistry(MetricRegistry metricRegistry) {
+            this.metricRegistry = metricRegistry;
+            return this;
+        }
+
         /**
          * A class may be excluded from invoking health checks on it.
          * This allows configurable approach to disabling broken health-checks.
@@ -515,16 +662,16 @@ public final class HealthSupport implements Service {
         }
     }
 
-    private static final class HcResponse {
+    static final class HcResponse {
         private final HealthCheckResponse hcr;
         private final boolean internalServerError;
 
-        private HcResponse(HealthCheckResponse response, boolean internalServerError) {
+        HcResponse(HealthCheckResponse response, boolean internalServerError) {
             this.hcr = response;
             this.internalServerError = internalServerError;
         }
 
-        private HcResponse(HealthCheckResponse response) {
+        HcResponse(HealthCheckResponse response) {
             this(response, false);
         }
 
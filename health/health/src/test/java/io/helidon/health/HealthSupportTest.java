@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package io.helidon.health;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -26,9 +29,13 @@ import javax.json.JsonArray;
 import javax.json.JsonObject;
 
 import io.helidon.common.http.Http;
+import io.helidon.metrics.RegistryFactory;
 
 import org.eclipse.microprofile.health.HealthCheck;
 import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -42,7 +49,9 @@ import static java.util.Collections.singletonList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
 
 class HealthSupportTest {
@@ -220,6 +229,106 @@ class HealthSupportTest {
         assertThat(json.getJsonArray("checks"), hasSize(brokenChecks.size()));
     }
 
+    @Test
+    void parallelHealthChecksTimeOutIndependently() {
+        SlowHealthCheck slow1 = new SlowHealthCheck("slow1", 0);
+        List<HealthCheck> checks = asList(slow1,
+                                          new SlowHealthCheck("slow2", 300),
+                                          new SlowHealthCheck("slow3", 300),
+                                          new GoodHealthCheck("good1"));
+        HealthSupport support = HealthSupport.builder()
+                .addLiveness(checks)
+                .checkTimeout(1, TimeUnit.SECONDS)
+                .build();
+
+        HealthSupport.HealthResponse response = support.callHealthChecksAsync(checks).await(10, TimeUnit.SECONDS);
+        assertThat(response.status(), is(Http.Status.OK_200));
+
+        slow1.millis = 5000;
+        long start = System.nanoTime();
+        response = support.callHealthChecksAsync(checks).await(10, TimeUnit.SECONDS);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(millis, lessThan(4000L));
+        assertThat(response.status(), is(Http.Status.SERVICE_UNAVAILABLE_503));
+        JsonArray json = response.json().getJsonArray("checks");
+        assertThat(json, hasSize(4));
+        // sorted by name, the timed out check keeps the name of its previous response
+        assertThat(json.getJsonObject(0).getString("name"), is("good1"));
+        JsonObject timedOut = json.getJsonObject(1);
+        assertThat(timedOut.getString("name"), is("slow1"));
+        assertThat(timedOut.getString("status"), is("DOWN"));
+        assertThat(timedOut.getJsonObject("data").getString("message"), is("Health check timed out"));
+        assertThat(json.getJsonObject(2).getString("name"), is("slow2"));
+        assertThat(json.getJsonObject(2).getString("status"), is("UP"));
+        assertThat(json.getJsonObject(3).getString("name"), is("slow3"));
+        assertThat(json.getJsonObject(3).getString("status"), is("UP"));
+    }
+
+    @Test
+    void cachedHealthCheckResults() {
+        CountingHealthCheck counting = new CountingHealthCheck();
+        List<HealthCheck> checks = singletonList(counting);
+        MetricRegistry registry = RegistryFactory.getInstance().getRegistry(MetricRegistry.Type.VENDOR);
+        HealthSupport support = HealthSupport.builder()
+                .addReadiness(checks)
+                .cacheTtl(1, TimeUnit.MINUTES)
+                .metricRegistry(registry)
+                .build();
+
+        support.callHealthChecksAsync(checks).await(10, TimeUnit.SECONDS);
+        support.callHealthChecksAsync(checks).await(10, TimeUnit.SECONDS);
+        HealthSupport.HealthResponse response = support.callHealthChecks(checks);
+
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(counting.calls.get(), is(1));
+        MetricID id = new MetricID("health.check.duration", new Tag("check", "counting"));
+        assertThat(registry.getTimers().get(id).getCount(), is(1L));
+    }
+
+    @Test
+    void backgroundRefreshIsStopped() throws InterruptedException {
+        CountingHealthCheck counting = new CountingHealthCheck();
+        List<HealthCheck> checks = singletonList(counting);
+        HealthSupport support = HealthSupport.builder()
+                .addLiveness(checks)
+                .cacheTtl(20, TimeUnit.MILLISECONDS)
+                .backgroundRefresh(true)
+                .build();
+
+        support.callHealthChecksAsync(checks).await(10, TimeUnit.SECONDS);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(counting.calls.get(), greaterThan(1));
+
+        support.stopRefresh();
+        // a refresh may still be running
+        TimeUnit.MILLISECONDS.sleep(50);
+        int calls = counting.calls.get();
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(counting.calls.get(), is(calls));
+    }
+
+    @Test
+    void sequentialBackgroundRefresh() throws InterruptedException {
+        ToggledHealthCheck toggled = new ToggledHealthCheck();
+        List<HealthCheck> checks = singletonList(toggled);
+        HealthSupport support = HealthSupport.builder()
+                .addLiveness(checks)
+                .parallel(false)
+                .cacheTtl(20, TimeUnit.MILLISECONDS)
+                .backgroundRefresh(true)
+                .build();
+
+        try {
+            assertThat(support.callHealthChecks(checks).status(), is(Http.Status.OK_200));
+            toggled.up.set(false);
+            TimeUnit.MILLISECONDS.sleep(200);
+            assertThat(support.callHealthChecks(checks).status(), is(Http.Status.SERVICE_UNAVAILABLE_503));
+        } finally {
+            support.stopRefresh();
+        }
+    }
+
     private static final class GoodHealthCheck implements HealthCheck {
         private final String name;
 
@@ -251,6 +360,45 @@ class HealthSupportTest {
         }
     }
 
+    private static final class SlowHealthCheck implements HealthCheck {
+        private final String name;
+        private volatile long millis;
+
+        private SlowHealthCheck(String name, long millis) {
+            this.name = name;
+            this.millis = millis;
+        }
+
+        @Override
+        public HealthCheckResponse call() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HealthCheckResponse.named(name).up().build();
+        }
+    }
+
+    private static final class CountingHealthCheck implements HealthCheck {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public HealthCheckResponse call() {
+            calls.incrementAndGet();
+            return HealthCheckResponse.named("counting").up().build();
+        }
+    }
+
+    private static final class ToggledHealthCheck implements HealthCheck {
+        private final AtomicBoolean up = new AtomicBoolean(true);
+
+        @Override
+        public HealthCheckResponse call() {
+            return HealthCheckResponse.named("toggled").state(up.get()).build();
+        }
+    }
+
     private static final class BrokenHealthCheck implements HealthCheck {
         @Override
         public HealthCheckResponse call() {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,26 +16,40 @@
 package io.helidon.media.common;
 
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.helidon.common.GenericType;
+import io.helidon.common.http.MediaType;
 
 /**
  * Thread-safe hierarchical registry of message body operators.
+ * <p>
+ * Operators are kept in an array that is replaced on each registration, so selection and iteration
+ * do not need any locking. Results of {@link #select(GenericType, MessageBodyContext, MediaType)} are cached
+ * by the type and content media type; the cache is invalidated when an operator is registered to this registry
+ * or any of its parents. Selections without a content type are not cached, as operators may then choose
+ * themselves based on the context (such as the {@code Accept} header of the request).
+ *
  * @param <T> operator type
  */
 final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements Iterable<T>, AutoCloseable {
 
-    private final LinkedList<T> operators;
-    private final ReadWriteLock lock;
-    private final AtomicBoolean readLocked;
-    private MessageBodyOperators<T> parent;
+    /**
+     * Maximal number of cached selections, the cache is cleared once exceeded.
+     */
+    static final int MAX_CACHED_SELECTIONS = 256;
+
+    private static final Object[] EMPTY = new Object[0];
+    private static final Object NOT_FOUND = new Object();
+
+    private final MessageBodyOperators<T> parent;
+    private final AtomicReference<Selections> selections = new AtomicReference<>(new Selections(0));
+    // copy on write, guarded by this
+    private volatile Object[] operators = EMPTY;
 
     /**
      * Create a new parented registry.
@@ -43,9 +57,6 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      */
     MessageBodyOperators(MessageBodyOperators<T> parent) {
         this.parent = parent;
-        this.operators = new LinkedList<>();
-        this.lock = new ReentrantReadWriteLock();
-        this.readLocked = new AtomicBoolean(false);
     }
 
     /**
@@ -77,118 +88,201 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      * @param addFirst {@code true} if the operator should be added first,
      * {@code false} if last
      */
-    private void register(T operator, boolean addFirst) {
+    private synchronized void register(T operator, boolean addFirst) {
         Objects.requireNonNull(operator, "operator is null!");
-        try {
-            lock.writeLock().lock();
-            if (addFirst) {
-                operators.addFirst(operator);
-            } else {
-                operators.addLast(operator);
-            }
-        } finally {
-            lock.writeLock().unlock();
+        Object[] current = operators;
+        Object[] updated = new Object[current.length + 1];
+        if (addFirst) {
+            updated[0] = operator;
+            System.arraycopy(current, 0, updated, 1, current.length);
+        } else {
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = operator;
         }
+        operators = updated;
     }
 
     /**
      * Select an operator using {@link MessageBodyOperator#accept}.
      * @param type the type representation
      * @param context the message body context
+     * @param contentType content type of the context, used as part of the cache key, selection is not cached
+     *                    if {@code null}
      * @return operator, or {@code null} or no operator was found
      */
-    @SuppressWarnings("unchecked")
-    <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T select(GenericType<?> type, V context) {
+    <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T select(GenericType<?> type,
+                                                                              V context,
+                                                                              MediaType contentType) {
         Objects.requireNonNull(type, "type is null!");
         Objects.requireNonNull(context, "context is null!");
+        MessageBodyOperators<T> registry = this;
+        // registries of a single request usually do not have their own operators, use the cache of the parent
+        while (registry.operators.length == 0 && registry.parent != null) {
+            registry = registry.parent;
+        }
+        return registry.cachedSelect(type, context, contentType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T cachedSelect(GenericType<?> type,
+                                                                                            V context,
+                                                                                            MediaType contentType) {
+        if (contentType == null) {
+            // operators may depend on other parts of the context, such as accepted types
+            return this.<U, V>selectUncached(type, context);
+        }
+        int version = version();
+        Selections current = selections.get();
+        if (current.version != version) {
+            Selections fresh = new Selections(version);
+            current = selections.compareAndSet(current, fresh) ? fresh : selections.get();
+            if (current.version != version) {
+                // registration happened concurrently, do not use the cache
+                return this.<U, V>selectUncached(type, context);
+            }
+        }
+        SelectionKey key = new SelectionKey(type, contentType);
+        Object selected = current.map.get(key);
+        if (selected == null) {
+            T operator = this.<U, V>selectUncached(type, context);
+            selected = operator == null ? NOT_FOUND : operator;
+            if (current.map.size() >= MAX_CACHED_SELECTIONS) {
+                selections.compareAndSet(current, new Selections(version));
+            } else if (version == version()) {
+                // do not cache if a registration happened in the meantime
+                current.map.put(key, selected);
+            }
+        }
+        return selected == NOT_FOUND ? null : (T) selected;
+    }
+
+    /**
+     * Select an operator by walking all the operators of this registry and its parents.
+     * @param type the type representation
+     * @param context the message body context
+     * @return operator, or {@code null} or no operator was found
+     */
+    @SuppressWarnings("unchecked")
+    <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T selectUncached(GenericType<?> type, V context) {
         T assignableOperator = null;
         MessageBodyOperators<T> current = this;
 
         while (current != null) {
-            try {
-                current.lock.readLock().lock();
-                for (T operator : current.operators) {
-                    MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
-                    if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
-                        assignableOperator = operator;
-                    } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
-                        return operator;
-                    }
+            for (Object operator : current.operators) {
+                MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
+                if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
+                    assignableOperator = (T) operator;
+                } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
+                    return (T) operator;
                 }
-            } finally {
-                current.lock.readLock().unlock();
             }
             current = current.parent;
         }
         return assignableOperator;
     }
 
+    private int version() {
+        // operators are never removed, the count changes with each registration
+        int version = 0;
+        for (MessageBodyOperators<T> current = this; current != null; current = current.parent) {
+            version += current.operators.length;
+        }
+        return version;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new ParentedIterator<>(this);
     }
 
+    /**
+     * Kept for compatibility, iteration uses a snapshot of the operators and does not hold any lock.
+     */
     @Override
     public void close() {
-        if (readLocked.compareAndSet(true, false)) {
-            lock.readLock().unlock();
-        }
     }
 
     /**
-     * A thread-safe iterator implementation to iterate over a registry
-     * hierarchy.
+     * Iterator over a snapshot of the registry hierarchy.
      * @param <T> Operator type
      */
     private static final class ParentedIterator<T extends MessageBodyOperator<?>> implements Iterator<T> {
 
-        private final Iterator<T> iterator;
-        private final Lock readLock;
-        private final Iterator<T> parent;
-        private final AtomicBoolean locked;
-        private final AtomicBoolean hasNext;
+        private MessageBodyOperators<T> registry;
+        private Object[] operators;
+        private int index;
 
         ParentedIterator(MessageBodyOperators<T> registry) {
-            iterator = registry.operators.iterator();
-            readLock = registry.lock.readLock();
-            if (registry.parent != null) {
-                parent = registry.parent.iterator();
-            } else {
-                parent = null;
-            }
-            locked = registry.readLocked;
-            hasNext = new AtomicBoolean(true);
+            this.registry = registry;
+            this.operators = registry.operators;
         }
 
         @Override
         public boolean hasNext() {
-            if (!hasNext.get()) {
-                if (parent != null) {
-                    return parent.hasNext();
+            while (index == operators.length) {
+                registry = registry.parent;
+                if (registry == null) {
+                    return false;
                 }
-                return false;
+                operators = registry.operators;
+                index = 0;
             }
-            if (locked.compareAndSet(false, true)) {
-                readLock.lock();
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            if (iterator.hasNext()) {
+            return (T) operators[index++];
+        }
+    }
+
+    /**
+     * Cached selections valid for a single version of the registry hierarchy.
+     */
+    private static final class Selections {
+        private final Map<SelectionKey, Object> map = new ConcurrentHashMap<>();
+        // number of operators of this registry and all parents when the selections were cached
+        private final int version;
+
+        private Selections(int version) {
+            this.version = version;
+        }
+    }
+
+    private static final class SelectionKey {
+
+        private final GenericType<?> type;
+        private final String mediaType;
+        private final String mediaSubtype;
+
+        private SelectionKey(GenericType<?> type, MediaType contentType) {
+            this.type = type;
+            // parameters (charset, boundary...) are not part of the key to keep the cache small
+            this.mediaType = contentType == null ? null : contentType.type();
+            this.mediaSubtype = contentType == null ? null : contentType.subtype();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
                 return true;
             }
-            if (locked.compareAndSet(true, false)) {
-                readLock.unlock();
+            if (!(o instanceof SelectionKey)) {
+                return false;
             }
-            hasNext.set(false);
-            return false;
+            SelectionKey other = (SelectionKey) o;
+            return type.equals(other.type)
+                    && Objects.equals(mediaType, other.mediaType)
+                    && Objects.equals(mediaSubtype, other.mediaSubtype);
         }
 
         @Override
-        public T next() {
-            if (hasNext.get()) {
-                return iterator.next();
-            } else if (parent != null) {
-                return parent.next();
-            }
-            throw new NoSuchElementException();
+        public int hashCode() {
+            return Objects.hash(type, mediaType, mediaSubtype);
         }
     }
 }
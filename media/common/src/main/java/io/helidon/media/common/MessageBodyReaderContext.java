@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -162,7 +162,7 @@ public final class MessageBodyReaderContext extends MessageBodyContext implement
             if (byte[].class.equals(type.rawType())) {
                 return (Single<T>) ContentReaders.readBytes(filteredPayload);
             }
-            MessageBodyReader<T> reader = (MessageBodyReader<T>) readers.select(type, this);
+            MessageBodyReader<T> reader = (MessageBodyReader<T>) readers.select(type, this, contentType().orElse(null));
             if (reader == null) {
                 return readerNotFound(type.getTypeName());
             }
@@ -218,7 +218,8 @@ public final class MessageBodyReaderContext extends MessageBodyContext implement
         }
         try {
             Publisher<DataChunk> filteredPayload = applyFilters(payload, type);
-            MessageBodyStreamReader<T> reader = (MessageBodyStreamReader<T>) sreaders.select(type, this);
+            MessageBodyStreamReader<T> reader = (MessageBodyStreamReader<T>) sreaders.select(type, this,
+                                                                                             contentType().orElse(null));
             if (reader == null) {
                 return readerNotFound(type.getTypeName());
             }
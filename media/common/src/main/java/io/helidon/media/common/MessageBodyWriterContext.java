@@ -303,7 +303,7 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
                                                         + ".");
             }
 
-            MessageBodyWriter<T> writer = (MessageBodyWriter<T>) writers.select(type, this);
+            MessageBodyWriter<T> writer = (MessageBodyWriter<T>) writers.select(type, this, contentType().orElse(null));
             if (writer == null) {
                 throw new IllegalStateException("No writer found for type: " + type
                         + ". This usually occurs when the appropriate MediaSupport has not been added.");
@@ -351,7 +351,8 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
             if (content == null) {
                 return applyFilters(Multi.empty());
             }
-            MessageBodyStreamWriter<T> writer = (MessageBodyStreamWriter<T>) swriters.select(type, this);
+            MessageBodyStreamWriter<T> writer = (MessageBodyStreamWriter<T>) swriters.select(type, this,
+                                                                                             contentType().orElse(null));
             if (writer == null) {
                 throw new IllegalStateException("No stream writer found for type: " + type
                         + ". This usually occurs when the appropriate MediaSupport has not been added.");
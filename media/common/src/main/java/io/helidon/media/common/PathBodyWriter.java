@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,11 +21,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileDataChunk;
 import io.helidon.common.http.MediaType;
 import io.helidon.common.mapper.Mapper;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 
 /**
@@ -33,6 +37,9 @@ import io.helidon.common.reactive.Single;
  */
 final class PathBodyWriter implements MessageBodyWriter<Path> {
 
+    // size of the file regions a regular file is published as
+    static final int REGION_SIZE = 64 * 1024;
+
     private static final PathBodyWriter DEFAULT = new PathBodyWriter();
 
     /**
@@ -75,13 +82,80 @@ final class PathBodyWriter implements MessageBodyWriter<Path> {
 
         @Override
         public Publisher<DataChunk> map(Path path) {
-            try {
-                context.contentType(MediaType.APPLICATION_OCTET_STREAM);
-                context.contentLength(Files.size(path));
-                FileChannel fc = FileChannel.open(path, StandardOpenOption.READ);
-                return ContentWriters.byteChannelWriter().apply(fc);
-            } catch (IOException ex) {
-                return Single.<DataChunk>error(ex);
+            context.contentType(MediaType.APPLICATION_OCTET_STREAM);
+            return fileChunks(path, context);
+        }
+    }
+
+    /**
+     * Publisher of the content of a file. A regular file is published lazily as a sequence of {@link FileDataChunk}s,
+     * regions of at most {@link #REGION_SIZE} bytes sharing a single file channel. The server can transfer the regions
+     * without copying them to user space, any other consumer reads at most one region into memory per chunk.
+     *
+     * @param path    path of the file
+     * @param context writer context to set the content length to
+     * @return publisher of the file content
+     */
+    static Publisher<DataChunk> fileChunks(Path path, MessageBodyWriterContext context) {
+        try {
+            long size = Files.size(path);
+            context.contentLength(size);
+            if (!Files.isRegularFile(path)) {
+                return ContentWriters.byteChannelWriter().apply(FileChannel.open(path, StandardOpenOption.READ));
+            }
+            return Multi.defer(() -> fileRegions(path, size));
+        } catch (IOException ex) {
+            return Single.<DataChunk>error(ex);
+        }
+    }
+
+    private static Multi<DataChunk> fileRegions(Path path, long size) {
+        SharedChannel channel;
+        try {
+            channel = new SharedChannel(FileChannel.open(path, StandardOpenOption.READ));
+        } catch (IOException e) {
+            return Multi.error(e);
+        }
+        return Multi.rangeLong(0, (size + REGION_SIZE - 1) / REGION_SIZE)
+                .<DataChunk>map(index -> {
+                    long position = index * REGION_SIZE;
+                    return channel.region(position, Math.min(REGION_SIZE, size - position));
+                })
+                .onTerminate(channel::publisherDone);
+    }
+
+    /**
+     * File channel shared by the regions of a file, closed once the publisher terminated and all the published
+     * regions were released.
+     */
+    private static final class SharedChannel {
+        // one reference held by the publisher, one by each region not yet released
+        private final AtomicInteger references = new AtomicInteger(1);
+        private final AtomicBoolean publisherDone = new AtomicBoolean();
+        private final FileChannel channel;
+
+        private SharedChannel(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private FileDataChunk region(long position, long count) {
+            references.incrementAndGet();
+            return FileDataChunk.create(channel, position, count, this::release);
+        }
+
+        private void publisherDone() {
+            if (publisherDone.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // nothing to do, the content was already consumed
+                }
             }
         }
     }
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.util.concurrent.Flow;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares cached and uncached writer selection.
+ * Five writers are registered to the application registry (char sequence, path, file, throwable
+ * and an object mapper like writer compatible with any type), the selection is done from a registry
+ * of a single request parented by the application registry.
+ */
+@State(Scope.Benchmark)
+public class MessageBodyOperatorsJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(MessageBodyOperatorsJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    MessageBodyOperators<MessageBodyWriter<?>> application;
+    MessageBodyWriterContext context;
+    GenericType<?> type;
+
+    @Setup
+    public void setup() {
+        application = new MessageBodyOperators<>();
+        application.registerLast(DefaultMediaSupport.charSequenceWriter());
+        application.registerLast(DefaultMediaSupport.pathWriter());
+        application.registerLast(DefaultMediaSupport.fileWriter());
+        application.registerLast(DefaultMediaSupport.throwableWriter(false));
+        application.registerLast(new ObjectWriter());
+        context = MessageBodyWriterContext.create(HashParameters.create());
+        context.contentType(MediaType.APPLICATION_JSON);
+        // selected by the last writer
+        type = GenericType.create(MessageBodyOperatorsJMH.class);
+    }
+
+    @Benchmark
+    public MessageBodyWriter<?> select() {
+        MessageBodyOperators<MessageBodyWriter<?>> request = new MessageBodyOperators<>(application);
+        if (cached) {
+            return request.select(type, context, MediaType.APPLICATION_JSON);
+        }
+        return request.selectUncached(type, context);
+    }
+
+    private static final class ObjectWriter implements MessageBodyWriter<Object> {
+
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyWriterContext context) {
+            // similar to object mapper writers, which check whether the type can be serialized
+            return !CharSequence.class.isAssignableFrom(type.rawType())
+                    && context.contentType().map(MediaType.APPLICATION_JSON::test).orElse(true)
+                    ? PredicateResult.COMPATIBLE
+                    : PredicateResult.NOT_SUPPORTED;
+        }
+
+        @Override
+        public Flow.Publisher<DataChunk> write(Single<?> single,
+                                               GenericType<?> type,
+                                               MessageBodyWriterContext context) {
+            return Single.empty();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.http.ReadOnlyParameters;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+/**
+ * Tests {@link MessageBodyOperators}.
+ */
+public class MessageBodyOperatorsTest {
+
+    private static final GenericType<String> STRING = GenericType.create(String.class);
+    private static final MessageBodyReaderContext CONTEXT = MessageBodyReaderContext.create();
+
+    @Test
+    public void testSelectionIsCached() {
+        TestReader reader = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        MessageBodyOperators<MessageBodyReader<?>> parent = new MessageBodyOperators<>();
+        parent.registerLast(reader);
+
+        for (int i = 0; i < 3; i++) {
+            MessageBodyOperators<MessageBodyReader<?>> request = new MessageBodyOperators<>(parent);
+            assertThat(request.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(reader));
+        }
+        assertThat(reader.accepted.get(), is(1));
+
+        // parameters are not part of the key
+        assertThat(parent.select(STRING, CONTEXT, MediaType.TEXT_PLAIN.withCharset("UTF-8")), is(reader));
+        assertThat(reader.accepted.get(), is(1));
+
+        assertThat(parent.select(STRING, CONTEXT, MediaType.APPLICATION_JSON), is(reader));
+        assertThat(reader.accepted.get(), is(2));
+
+        // selection without content type is never cached
+        assertThat(parent.select(STRING, CONTEXT, null), is(reader));
+        assertThat(parent.select(STRING, CONTEXT, null), is(reader));
+        assertThat(reader.accepted.get(), is(4));
+    }
+
+    @Test
+    public void testNotFoundIsCached() {
+        TestReader reader = new TestReader(MessageBodyOperator.PredicateResult.NOT_SUPPORTED);
+        MessageBodyOperators<MessageBodyReader<?>> operators = new MessageBodyOperators<>();
+        operators.registerLast(reader);
+
+        assertThat(operators.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(nullValue()));
+        assertThat(operators.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(nullValue()));
+        assertThat(reader.accepted.get(), is(1));
+    }
+
+    @Test
+    public void testRegistrationInvalidatesCache() {
+        TestReader compatible = new TestReader(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        TestReader supported = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        MessageBodyOperators<MessageBodyReader<?>> parent = new MessageBodyOperators<>();
+        MessageBodyOperators<MessageBodyReader<?>> child = new MessageBodyOperators<>(parent);
+        parent.registerLast(compatible);
+        child.registerLast(new TestReader(MessageBodyOperator.PredicateResult.NOT_SUPPORTED));
+
+        assertThat(child.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(compatible));
+
+        // registration to the parent must be visible in the child
+        parent.registerLast(supported);
+        assertThat(child.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(supported));
+
+        TestReader first = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        child.registerFirst(first);
+        assertThat(child.select(STRING, CONTEXT, MediaType.TEXT_PLAIN), is(first));
+    }
+
+    @Test
+    public void testSelectionDependsOnAcceptedTypes() {
+        AcceptingWriter json = new AcceptingWriter(MediaType.APPLICATION_JSON);
+        AcceptingWriter text = new AcceptingWriter(MediaType.TEXT_PLAIN);
+        MessageBodyOperators<MessageBodyWriter<?>> parent = new MessageBodyOperators<>();
+        parent.registerLast(json);
+        parent.registerLast(text);
+
+        MessageBodyWriterContext jsonRequest = MessageBodyWriterContext.create((MediaContext) null, null, ReadOnlyParameters.empty(),
+                                                                                List.of(MediaType.APPLICATION_JSON));
+        MessageBodyWriterContext textRequest = MessageBodyWriterContext.create((MediaContext) null, null, ReadOnlyParameters.empty(),
+                                                                                List.of(MediaType.TEXT_PLAIN));
+
+        MessageBodyOperators<MessageBodyWriter<?>> first = new MessageBodyOperators<>(parent);
+        assertThat(first.select(STRING, jsonRequest, jsonRequest.contentType().orElse(null)), is(json));
+        MessageBodyOperators<MessageBodyWriter<?>> second = new MessageBodyOperators<>(parent);
+        assertThat(second.select(STRING, textRequest, textRequest.contentType().orElse(null)), is(text));
+    }
+
+    @Test
+    public void testIterationOrder() {
+        TestReader first = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        TestReader second = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        TestReader third = new TestReader(MessageBodyOperator.PredicateResult.SUPPORTED);
+        MessageBodyOperators<MessageBodyReader<?>> parent = new MessageBodyOperators<>();
+        MessageBodyOperators<MessageBodyReader<?>> empty = new MessageBodyOperators<>(parent);
+        MessageBodyOperators<MessageBodyReader<?>> child = new MessageBodyOperators<>(empty);
+        parent.registerLast(third);
+        child.registerLast(second);
+        child.registerFirst(first);
+
+        assertThat(iterate(child), contains(first, second, third));
+    }
+
+    private static List<MessageBodyReader<?>> iterate(MessageBodyOperators<MessageBodyReader<?>> operators) {
+        List<MessageBodyReader<?>> result = new ArrayList<>();
+        operators.forEach(result::add);
+        return result;
+    }
+
+    private static final class TestReader implements MessageBodyReader<String> {
+
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final PredicateResult result;
+
+        private TestReader(PredicateResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyReaderContext context) {
+            accepted.incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public <U extends String> Single<U> read(Flow.Publisher<DataChunk> publisher,
+                                                 GenericType<U> type,
+                                                 MessageBodyReaderContext context) {
+            return Single.empty();
+        }
+    }
+
+    private static final class AcceptingWriter implements MessageBodyWriter<String> {
+
+        private final MediaType mediaType;
+
+        private AcceptingWriter(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyWriterContext context) {
+            try {
+                context.findAccepted(mediaType::test, mediaType);
+                return PredicateResult.SUPPORTED;
+            } catch (IllegalStateException e) {
+                return PredicateResult.NOT_SUPPORTED;
+            }
+        }
+
+        @Override
+        public Flow.Publisher<DataChunk> write(Single<? extends String> single,
+                                               GenericType<? extends String> type,
+                                               MessageBodyWriterContext context) {
+            return Single.empty();
+        }
+    }
+}
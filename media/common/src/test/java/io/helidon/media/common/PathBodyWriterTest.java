@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.common;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileDataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Unit test for {@link PathBodyWriter}.
+ */
+class PathBodyWriterTest {
+
+    @Test
+    void testBoundedRegions(@TempDir Path tempDir) throws Exception {
+        byte[] content = new byte[3 * PathBodyWriter.REGION_SIZE + 17];
+        new Random(42).nextBytes(content);
+        Path file = Files.write(tempDir.resolve("content.bin"), content);
+
+        List<DataChunk> chunks = Multi.create(write(file)).collectList().await(10, TimeUnit.SECONDS);
+
+        assertThat(chunks.size(), is(4));
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        for (DataChunk chunk : chunks) {
+            assertThat(chunk, instanceOf(FileDataChunk.class));
+            assertThat(chunk.remaining(), lessThanOrEqualTo(PathBodyWriter.REGION_SIZE));
+            received.write(chunk.bytes());
+        }
+        assertThat(received.toByteArray(), is(content));
+
+        FileDataChunk first = (FileDataChunk) chunks.get(0);
+        for (int i = chunks.size() - 1; i > 0; i--) {
+            chunks.get(i).release();
+        }
+        // the channel is shared, closed once the last region is released
+        assertThat(first.channel().isOpen(), is(true));
+        first.release();
+        assertThat(first.channel().isOpen(), is(false));
+    }
+
+    @Test
+    void testEmptyFile(@TempDir Path tempDir) throws Exception {
+        Path file = Files.createFile(tempDir.resolve("empty.bin"));
+
+        List<DataChunk> chunks = Multi.create(write(file)).collectList().await(10, TimeUnit.SECONDS);
+
+        assertThat(chunks.size(), is(0));
+    }
+
+    private static Multi<DataChunk> write(Path file) {
+        MessageBodyWriterContext context = MessageBodyWriterContext.create(HashParameters.create());
+        return Multi.create(PathBodyWriter.create().write(Single.just(file), GenericType.create(Path.class), context));
+    }
+}
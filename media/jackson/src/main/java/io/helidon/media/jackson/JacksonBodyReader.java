@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,25 +16,27 @@
 package io.helidon.media.jackson;
 
 import java.io.IOException;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.Flow.Publisher;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.mapper.Mapper;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.ContentReaders;
 import io.helidon.media.common.MessageBodyReader;
 import io.helidon.media.common.MessageBodyReaderContext;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * Message body reader supporting object binding with Jackson.
+ * UTF-8 content is parsed incrementally as the data chunks arrive.
  */
 final class JacksonBodyReader implements MessageBodyReader<Object> {
 
@@ -58,7 +60,17 @@ final class JacksonBodyReader implements MessageBodyReader<Object> {
     public <U extends Object> Single<U> read(Publisher<DataChunk> publisher,
             GenericType<U> type, MessageBodyReaderContext context) {
 
-        return ContentReaders.readBytes(publisher).map(new BytesToObject<>(type, objectMapper));
+        if (!StandardCharsets.UTF_8.equals(context.charset())) {
+            // the non-blocking parser only supports UTF-8
+            return ContentReaders.readBytes(publisher).map(new BytesToObject<>(type, objectMapper));
+        }
+        JacksonTokenizer tokenizer = JacksonTokenizer.create(objectMapper, false);
+        return Multi.create(publisher)
+                .flatMapIterable(tokenizer::feed, 1)
+                .onCompleteResumeWith(Multi.defer(() -> Multi.create(tokenizer.endOfInput())))
+                // content after the first root value is ignored, same as ObjectMapper#readValue
+                .reduce((first, ignored) -> first)
+                .map(new TokensToObject<>(type, objectMapper));
     }
 
     /**
@@ -70,31 +82,46 @@ final class JacksonBodyReader implements MessageBodyReader<Object> {
         return new JacksonBodyReader(objectMapper);
     }
 
+    static JavaType javaType(ObjectMapper objectMapper, GenericType<?> type) {
+        return objectMapper.getTypeFactory().constructType(type.type());
+    }
+
+    static final class TokensToObject<T> implements Mapper<TokenBuffer, T> {
+
+        private final JavaType type;
+        private final ObjectMapper objectMapper;
+
+        TokensToObject(GenericType<T> type, ObjectMapper objectMapper) {
+            this.type = javaType(objectMapper, type);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public T map(TokenBuffer tokens) {
+            try (JsonParser parser = tokens.asParser(objectMapper)) {
+                return objectMapper.readValue(parser, type);
+            } catch (final IOException wrapMe) {
+                throw new JacksonRuntimeException(wrapMe.getMessage(), wrapMe);
+            }
+        }
+    }
+
     private static final class BytesToObject<T> implements Mapper<byte[], T> {
 
-        private final GenericType<? super T> type;
+        private final JavaType type;
         private final ObjectMapper objectMapper;
 
         BytesToObject(GenericType<T> type,
                 ObjectMapper objectMapper) {
 
-            this.type = type;
+            this.type = javaType(objectMapper, type);
             this.objectMapper = objectMapper;
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public T map(byte[] bytes) {
             try {
-                Type t = this.type.type();
-                if (t instanceof ParameterizedType) {
-                    TypeFactory typeFactory = objectMapper.getTypeFactory();
-                    ParameterizedType pt = (ParameterizedType) t;
-                    JavaType javaType = typeFactory.constructType(pt);
-                    return objectMapper.readValue(bytes, javaType);
-                } else {
-                    return objectMapper.readValue(bytes, (Class<T>) this.type.rawType());
-                }
+                return objectMapper.readValue(bytes, type);
             } catch (final IOException wrapMe) {
                 throw new JacksonRuntimeException(wrapMe.getMessage(), wrapMe);
             }
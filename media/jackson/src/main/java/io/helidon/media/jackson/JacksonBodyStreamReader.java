@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow.Publisher;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.media.common.ContentReaders;
+import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyStreamReader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Message body stream reader supporting object binding with Jackson.
+ * Elements of a root JSON array are published one by one as they are parsed, with backpressure,
+ * so the whole array is never held in memory. Content other than an array is published as a single element.
+ */
+final class JacksonBodyStreamReader implements MessageBodyStreamReader<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    private JacksonBodyStreamReader(ObjectMapper objectMapper) {
+        Objects.requireNonNull(objectMapper);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public PredicateResult accept(GenericType<?> type, MessageBodyReaderContext context) {
+        Class<?> clazz = type.rawType();
+        return !CharSequence.class.isAssignableFrom(clazz)
+                && objectMapper.canDeserialize(objectMapper.constructType(clazz))
+                ? PredicateResult.COMPATIBLE
+                : PredicateResult.NOT_SUPPORTED;
+    }
+
+    @Override
+    public <U> Publisher<U> read(Publisher<DataChunk> publisher, GenericType<U> type, MessageBodyReaderContext context) {
+        JacksonBodyReader.TokensToObject<U> mapper = new JacksonBodyReader.TokensToObject<>(type, objectMapper);
+        if (!StandardCharsets.UTF_8.equals(context.charset())) {
+            // the non-blocking parser only supports UTF-8
+            return ContentReaders.readString(publisher, context.charset())
+                    .flatMapIterable(json -> {
+                        JacksonTokenizer tokenizer = JacksonTokenizer.create(objectMapper, true);
+                        List<TokenBuffer> elements = new ArrayList<>(
+                                tokenizer.feed(DataChunk.create(json.getBytes(StandardCharsets.UTF_8))));
+                        elements.addAll(tokenizer.endOfInput());
+                        return elements;
+                    })
+                    .map(mapper);
+        }
+        JacksonTokenizer tokenizer = JacksonTokenizer.create(objectMapper, true);
+        return Multi.create(publisher)
+                .flatMapIterable(tokenizer::feed, 1)
+                .onCompleteResumeWith(Multi.defer(() -> Multi.create(tokenizer.endOfInput())))
+                .map(mapper);
+    }
+
+    /**
+     * Create a new {@link JacksonBodyStreamReader} instance.
+     *
+     * @param objectMapper object mapper to use
+     * @return JacksonBodyStreamReader
+     */
+    static JacksonBodyStreamReader create(ObjectMapper objectMapper) {
+        return new JacksonBodyStreamReader(objectMapper);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jackson;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.common.http.DataChunk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Splits UTF-8 JSON content into buffered values using the non-blocking Jackson parser.
+ * Data chunks are parsed as they arrive, so the content is never copied into a single array.
+ * <p>
+ * If {@code splitArray} is set and the root value is an array, each element is a separate value;
+ * otherwise each root value is one value.
+ * <p>
+ * Not thread safe, chunks must be fed sequentially (as is the case with reactive streams signals).
+ */
+final class JacksonTokenizer {
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final boolean splitArray;
+    private final boolean forceUseOfBigDecimal;
+
+    private TokenBuffer tokens;
+    private int depth;
+    private boolean rootArray;
+    private boolean empty = true;
+    private byte[] copyBuffer;
+
+    private JacksonTokenizer(JsonParser parser, boolean splitArray, boolean forceUseOfBigDecimal) {
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.splitArray = splitArray;
+        this.forceUseOfBigDecimal = forceUseOfBigDecimal;
+    }
+
+    /**
+     * Create a new tokenizer.
+     *
+     * @param objectMapper object mapper to create the parser
+     * @param splitArray   whether to split the root array to its elements
+     * @return new tokenizer
+     */
+    static JacksonTokenizer create(ObjectMapper objectMapper, boolean splitArray) {
+        try {
+            return new JacksonTokenizer(objectMapper.getFactory().createNonBlockingByteArrayParser(),
+                                        splitArray,
+                                        objectMapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+        } catch (IOException e) {
+            throw new JacksonRuntimeException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the next chunk of data. The chunk is released.
+     *
+     * @param chunk data chunk
+     * @return values completed by this chunk
+     */
+    List<TokenBuffer> feed(DataChunk chunk) {
+        List<TokenBuffer> result = new ArrayList<>(1);
+        try {
+            for (ByteBuffer buffer : chunk.data()) {
+                if (buffer.hasArray()) {
+                    int offset = buffer.arrayOffset() + buffer.position();
+                    feeder.feedInput(buffer.array(), offset, offset + buffer.remaining());
+                } else {
+                    int length = buffer.remaining();
+                    if (copyBuffer == null || copyBuffer.length < length) {
+                        copyBuffer = new byte[length];
+                    }
+                    buffer.duplicate().get(copyBuffer, 0, length);
+                    feeder.feedInput(copyBuffer, 0, length);
+                }
+                // the parser references the fed array, all available tokens must be consumed before next feed
+                drain(result);
+            }
+        } catch (IOException e) {
+            throw new JacksonRuntimeException(e.getMessage(), e);
+        } finally {
+            chunk.release();
+        }
+        return result;
+    }
+
+    /**
+     * Signal end of the content.
+     *
+     * @return values completed by the end of content
+     * @throws JacksonRuntimeException if the content is empty or incomplete
+     */
+    List<TokenBuffer> endOfInput() {
+        feeder.endOfInput();
+        List<TokenBuffer> result = new ArrayList<>(1);
+        try {
+            drain(result);
+            if (empty) {
+                throw MismatchedInputException.from(parser, (Class<?>) null, "No content to map due to end-of-input");
+            }
+            if (depth > 0) {
+                throw new JsonEOFException(parser, null, "Unexpected end-of-input");
+            }
+            parser.close();
+        } catch (IOException e) {
+            throw new JacksonRuntimeException(e.getMessage(), e);
+        }
+        return result;
+    }
+
+    private void drain(List<TokenBuffer> result) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            empty = false;
+            if (splitArray && depth == 0 && token == JsonToken.START_ARRAY) {
+                rootArray = true;
+                depth++;
+                continue;
+            }
+            if (rootArray && depth == 1 && token == JsonToken.END_ARRAY) {
+                rootArray = false;
+                depth--;
+                continue;
+            }
+            if (tokens == null) {
+                tokens = new TokenBuffer(parser);
+                tokens.forceUseOfBigDecimal(forceUseOfBigDecimal);
+            }
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == (rootArray ? 1 : 0)) {
+                result.add(tokens);
+                tokens = null;
+            }
+        }
+    }
+}
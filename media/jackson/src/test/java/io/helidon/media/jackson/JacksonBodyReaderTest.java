@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,17 @@
 package io.helidon.media.jackson;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyReaderContext;
 
@@ -27,8 +34,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class JacksonBodyReaderTest {
 
@@ -44,6 +55,92 @@ public class JacksonBodyReaderTest {
         assertThat(books.get(0), notNullValue());
     }
 
+    @Test
+    void testSplitChunks() {
+        JacksonBodyReader reader = JacksonBodyReader.create(new ObjectMapper());
+        String json = "{\"title\":\"Žluťoučký kůň\"}";
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // split at every position, including inside of the multi-byte characters
+        for (int i = 1; i < bytes.length; i++) {
+            Book book = reader.read(chunks(bytes, i), GenericType.create(Book.class), MessageBodyReaderContext.create())
+                    .await();
+            assertThat(book.getTitle(), is("Žluťoučký kůň"));
+        }
+    }
+
+    @Test
+    void testInvalidContent() {
+        JacksonBodyReader reader = JacksonBodyReader.create(new ObjectMapper());
+        for (String json : List.of("", "{\"title\":", "{\"title\"}")) {
+            CompletionException e = assertThrows(CompletionException.class,
+                                                 () -> reader.read(chunks(json.getBytes(StandardCharsets.UTF_8), 4),
+                                                                   GenericType.create(Book.class),
+                                                                   MessageBodyReaderContext.create())
+                                                         .await());
+            assertThat(json, e.getCause(), instanceOf(JacksonRuntimeException.class));
+        }
+    }
+
+    @Test
+    void testStreamArray() {
+        JacksonBodyStreamReader reader = JacksonBodyStreamReader.create(new ObjectMapper());
+        String json = "[{\"title\":\"The Stand\"}, {\"title\":\"It\"}, {\"title\":\"Misery\"}]";
+        List<String> titles = Multi.create(reader.read(chunks(json.getBytes(StandardCharsets.UTF_8), 5),
+                                                       GenericType.create(Book.class),
+                                                       MessageBodyReaderContext.create()))
+                .map(Book::getTitle)
+                .collectList()
+                .await();
+
+        assertThat(titles, contains("The Stand", "It", "Misery"));
+    }
+
+    @Test
+    void testStreamBackpressure() {
+        JacksonBodyStreamReader reader = JacksonBodyStreamReader.create(new ObjectMapper());
+        String json = IntStream.range(0, 1000)
+                .mapToObj(i -> "{\"title\":\"Book " + i + "\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        AtomicInteger chunks = new AtomicInteger();
+        Multi<DataChunk> publisher = Multi.create(chunks(json.getBytes(StandardCharsets.UTF_8), 16))
+                .peek(it -> chunks.incrementAndGet());
+
+        List<Book> books = new ArrayList<>();
+        reader.read(publisher, GenericType.create(Book.class), MessageBodyReaderContext.create())
+                .subscribe(new Flow.Subscriber<>() {
+                    @Override
+                    public void onSubscribe(Flow.Subscription subscription) {
+                        subscription.request(2);
+                    }
+
+                    @Override
+                    public void onNext(Book item) {
+                        books.add(item);
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                    }
+
+                    @Override
+                    public void onComplete() {
+                    }
+                });
+
+        assertThat(books.size(), is(2));
+        assertThat(chunks.get(), is(lessThan(10)));
+    }
+
+    private static Multi<DataChunk> chunks(byte[] bytes, int size) {
+        List<DataChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            chunks.add(DataChunk.create(chunk));
+        }
+        return Multi.create(chunks);
+    }
+
     public static class Book {
         private String title;
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,17 +18,22 @@ package io.helidon.media.jsonp;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 import java.util.concurrent.Flow.Publisher;
 
+import javax.json.JsonBuilderFactory;
 import javax.json.JsonException;
 import javax.json.JsonReader;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonStructure;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.mapper.Mapper;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.ContentReaders;
 import io.helidon.media.common.MessageBodyReader;
@@ -36,14 +41,22 @@ import io.helidon.media.common.MessageBodyReaderContext;
 
 /**
  * Message body reader for {@link JsonStructure} sub-classes (JSON-P).
+ * UTF-8 content is parsed incrementally as the data chunks arrive, if the reader factory is the default one
+ * and Jackson core is available.
  */
 final class JsonpBodyReader implements MessageBodyReader<JsonStructure> {
 
+    private static final boolean NON_BLOCKING_PARSER = nonBlockingParserAvailable();
+
     private final JsonReaderFactory jsonFactory;
+    private final JsonBuilderFactory builderFactory;
+    private final boolean incremental;
 
-    JsonpBodyReader(JsonReaderFactory jsonFactory) {
+    JsonpBodyReader(JsonReaderFactory jsonFactory, boolean defaultFactory) {
         Objects.requireNonNull(jsonFactory);
         this.jsonFactory = jsonFactory;
+        this.builderFactory = builderFactory(jsonFactory);
+        this.incremental = incremental(defaultFactory);
     }
 
     @Override
@@ -55,8 +68,53 @@ final class JsonpBodyReader implements MessageBodyReader<JsonStructure> {
     public <U extends JsonStructure> Single<U> read(Publisher<DataChunk> publisher, GenericType<U> type,
             MessageBodyReaderContext context) {
 
-        return ContentReaders.readBytes(publisher)
-                .map(new BytesToJsonStructure<>(jsonFactory, type, context.charset()));
+        Charset charset = context.charset();
+        if (!incremental || !StandardCharsets.UTF_8.equals(charset)) {
+            // the non-blocking parser only supports UTF-8, and a configured factory must be honored
+            return ContentReaders.readBytes(publisher)
+                    .map(new BytesToJsonStructure<>(jsonFactory, type, charset));
+        }
+        JsonpTokenizer tokenizer = JsonpTokenizer.create(builderFactory, false);
+        return Multi.create(publisher)
+                .flatMapIterable(tokenizer::feed, 1)
+                .onCompleteResumeWith(Multi.defer(() -> Multi.create(tokenizer.endOfInput())))
+                // content after the first root value is ignored, same as JsonReader#read
+                .reduce((first, ignored) -> first)
+                .map(json -> checkType(json, type));
+    }
+
+    /**
+     * Whether content can be parsed incrementally using {@link JsonpTokenizer}.
+     * A custom reader factory may be configured with features the tokenizer does not know about,
+     * so it is only used with the default factory.
+     *
+     * @param defaultFactory whether the reader factory is the default one
+     * @return whether to use the incremental parser
+     */
+    static boolean incremental(boolean defaultFactory) {
+        return defaultFactory && NON_BLOCKING_PARSER;
+    }
+
+    private static boolean nonBlockingParserAvailable() {
+        try {
+            // optional dependency
+            Class.forName("com.fasterxml.jackson.core.async.ByteArrayFeeder", false, JsonpBodyReader.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    static JsonBuilderFactory builderFactory(JsonReaderFactory readerFactory) {
+        return JsonProvider.provider().createBuilderFactory(readerFactory.getConfigInUse());
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends JsonValue> T checkType(JsonValue json, GenericType<T> type) {
+        if (!type.rawType().isAssignableFrom(json.getClass())) {
+            throw new JsonException("Unable to convert " + json.getClass() + " to " + type.rawType());
+        }
+        return (T) json;
     }
 
     private static final class BytesToJsonStructure<T extends JsonStructure> implements Mapper<byte[], T> {
@@ -72,15 +130,10 @@ final class JsonpBodyReader implements MessageBodyReader<JsonStructure> {
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public T map(byte[] bytes) {
             InputStream is = new ByteArrayInputStream(bytes);
             JsonReader reader = jsonFactory.createReader(is, charset);
-            JsonStructure json = reader.read();
-            if (!type.rawType().isAssignableFrom(json.getClass())) {
-                throw new JsonException("Unable to convert " + json.getClass() + " to " + type.rawType());
-            }
-            return (T) json;
+            return checkType(reader.read(), type);
         }
     }
 }
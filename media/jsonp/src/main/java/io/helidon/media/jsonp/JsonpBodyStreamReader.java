@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jsonp;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow.Publisher;
+
+import javax.json.JsonArray;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.media.common.ContentReaders;
+import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyStreamReader;
+
+/**
+ * Message body stream reader for {@link JsonValue} sub-classes (JSON-P).
+ * Elements of a root JSON array are published one by one as they are parsed, with backpressure,
+ * so the whole array is never held in memory. Content other than an array is published as a single element.
+ * Incremental parsing is only used for UTF-8 content with the default reader factory and Jackson core available,
+ * otherwise the whole content is read first.
+ */
+final class JsonpBodyStreamReader implements MessageBodyStreamReader<JsonValue> {
+
+    private final JsonReaderFactory jsonFactory;
+    private final JsonBuilderFactory builderFactory;
+    private final boolean incremental;
+
+    JsonpBodyStreamReader(JsonReaderFactory jsonFactory, boolean defaultFactory) {
+        Objects.requireNonNull(jsonFactory);
+        this.jsonFactory = jsonFactory;
+        this.builderFactory = JsonpBodyReader.builderFactory(jsonFactory);
+        this.incremental = JsonpBodyReader.incremental(defaultFactory);
+    }
+
+    @Override
+    public PredicateResult accept(GenericType<?> type, MessageBodyReaderContext context) {
+        return PredicateResult.supports(JsonValue.class, type);
+    }
+
+    @Override
+    public <U extends JsonValue> Publisher<U> read(Publisher<DataChunk> publisher, GenericType<U> type,
+            MessageBodyReaderContext context) {
+
+        if (!incremental || !StandardCharsets.UTF_8.equals(context.charset())) {
+            // the non-blocking parser only supports UTF-8, and a configured factory must be honored
+            return ContentReaders.readString(publisher, context.charset())
+                    .flatMapIterable(this::readElements)
+                    .map(json -> JsonpBodyReader.checkType(json, type));
+        }
+        JsonpTokenizer tokenizer = JsonpTokenizer.create(builderFactory, true);
+        return Multi.create(publisher)
+                .flatMapIterable(tokenizer::feed, 1)
+                .onCompleteResumeWith(Multi.defer(() -> Multi.create(tokenizer.endOfInput())))
+                .map(json -> JsonpBodyReader.checkType(json, type));
+    }
+
+    private Iterable<JsonValue> readElements(String content) {
+        try (JsonReader reader = jsonFactory.createReader(new StringReader(content))) {
+            JsonStructure json = reader.read();
+            return json instanceof JsonArray ? (JsonArray) json : List.of(json);
+        }
+    }
+}
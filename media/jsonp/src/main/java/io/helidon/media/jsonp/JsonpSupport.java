@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,11 +23,13 @@ import java.util.Map;
 import javax.json.Json;
 import javax.json.JsonReaderFactory;
 import javax.json.JsonStructure;
+import javax.json.JsonValue;
 import javax.json.JsonWriterFactory;
 
 import io.helidon.common.LazyValue;
 import io.helidon.media.common.MediaSupport;
 import io.helidon.media.common.MessageBodyReader;
+import io.helidon.media.common.MessageBodyStreamReader;
 import io.helidon.media.common.MessageBodyStreamWriter;
 import io.helidon.media.common.MessageBodyWriter;
 
@@ -39,16 +41,19 @@ import io.helidon.media.common.MessageBodyWriter;
 public final class JsonpSupport implements MediaSupport {
     private static final LazyValue<JsonpSupport> DEFAULT =
             LazyValue.create(() -> new JsonpSupport(Builder.readerFactory(null),
+                                                    true,
                                                     Builder.writerFactory(null)));
 
     private final JsonpBodyReader reader;
+    private final JsonpBodyStreamReader streamReader;
     private final JsonpBodyWriter writer;
     private final JsonpBodyStreamWriter streamWriter;
     private final JsonpEsBodyStreamWriter esStreamWriter;
     private final JsonpNdBodyStreamWriter ndStreamWriter;
 
-    private JsonpSupport(JsonReaderFactory readerFactory, JsonWriterFactory writerFactory) {
-        reader = new JsonpBodyReader(readerFactory);
+    private JsonpSupport(JsonReaderFactory readerFactory, boolean defaultReaderFactory, JsonWriterFactory writerFactory) {
+        reader = new JsonpBodyReader(readerFactory, defaultReaderFactory);
+        streamReader = new JsonpBodyStreamReader(readerFactory, defaultReaderFactory);
         writer = new JsonpBodyWriter(writerFactory);
         streamWriter = new JsonpBodyStreamWriter(writerFactory);
         esStreamWriter = new JsonpEsBodyStreamWriter(writerFactory);
@@ -99,7 +104,28 @@ public final class JsonpSupport implements MediaSupport {
      * @return new JSON-P body reader instance
      */
     public static MessageBodyReader<JsonStructure> reader(JsonReaderFactory readerFactory) {
-        return new JsonpBodyReader(readerFactory);
+        return new JsonpBodyReader(readerFactory, false);
+    }
+
+    /**
+     * Return a default JSON-P entity stream reader.
+     * Elements of a JSON array are read one by one.
+     *
+     * @return default JSON-P body stream reader instance
+     */
+    public static MessageBodyStreamReader<JsonValue> streamReader() {
+        return DEFAULT.get().streamReader;
+    }
+
+    /**
+     * Create a new JSON-P entity stream reader based on {@link JsonReaderFactory}.
+     * Elements of a JSON array are read one by one.
+     *
+     * @param readerFactory json reader factory
+     * @return new JSON-P body stream reader instance
+     */
+    public static MessageBodyStreamReader<JsonValue> streamReader(JsonReaderFactory readerFactory) {
+        return new JsonpBodyStreamReader(readerFactory, false);
     }
 
     /**
@@ -191,6 +217,18 @@ public final class JsonpSupport implements MediaSupport {
         return reader;
     }
 
+    /**
+     * Return JSON-P stream reader.
+     * <p>
+     * This stream reader publishes elements of a JSON array one by one,
+     * such as {@link javax.json.JsonObject JsonObjects}, as they are parsed.
+     *
+     * @return JSON processing stream reader.
+     */
+    public MessageBodyStreamReader<JsonValue> streamReaderInstance() {
+        return streamReader;
+    }
+
     /**
      * Return JSON-P entity writer.
      *
@@ -258,6 +296,11 @@ public final class JsonpSupport implements MediaSupport {
         return List.of(reader);
     }
 
+    @Override
+    public Collection<MessageBodyStreamReader<?>> streamReaders() {
+        return List.of(streamReader);
+    }
+
     @Override
     public Collection<MessageBodyWriter<?>> writers() {
         return List.of(writer);
@@ -286,6 +329,8 @@ public final class JsonpSupport implements MediaSupport {
             if (null == jsonPConfig) {
                 jsonPConfig = new HashMap<>();
             }
+            // a reader factory without any configuration behaves the same as the default one
+            boolean defaultReaderFactory = (null == jsonReaderFactory) && jsonPConfig.isEmpty();
 
             if (null == jsonWriterFactory) {
                 jsonWriterFactory = writerFactory(jsonPConfig);
@@ -295,7 +340,7 @@ public final class JsonpSupport implements MediaSupport {
                 jsonReaderFactory = readerFactory(jsonPConfig);
             }
 
-            return new JsonpSupport(jsonReaderFactory, jsonWriterFactory);
+            return new JsonpSupport(jsonReaderFactory, defaultReaderFactory, jsonWriterFactory);
         }
 
         private static JsonReaderFactory readerFactory(Map<String, ?> jsonPConfig) {
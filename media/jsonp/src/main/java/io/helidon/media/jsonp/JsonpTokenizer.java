@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jsonp;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonException;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.spi.JsonProvider;
+
+import io.helidon.common.http.DataChunk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+/**
+ * Builds JSON-P values from UTF-8 content using the non-blocking Jackson parser.
+ * Data chunks are parsed as they arrive, so the content is never copied into a single array.
+ * <p>
+ * If {@code splitArray} is set and the root value is an array, each element is a separate value;
+ * otherwise each root value is one value.
+ * <p>
+ * Not thread safe, chunks must be fed sequentially (as is the case with reactive streams signals).
+ */
+final class JsonpTokenizer {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final JsonProvider JSON_PROVIDER = JsonProvider.provider();
+
+    private final JsonBuilderFactory builderFactory;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final boolean splitArray;
+    // JsonObjectBuilder or JsonArrayBuilder of the values being parsed
+    private final Deque<Object> builders = new ArrayDeque<>();
+    private final Deque<String> names = new ArrayDeque<>();
+
+    private boolean rootArray;
+    private boolean empty = true;
+    private byte[] copyBuffer;
+
+    private JsonpTokenizer(JsonBuilderFactory builderFactory, JsonParser parser, boolean splitArray) {
+        this.builderFactory = builderFactory;
+        this.parser = parser;
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.splitArray = splitArray;
+    }
+
+    /**
+     * Create a new tokenizer.
+     *
+     * @param builderFactory factory of the object and array builders
+     * @param splitArray     whether to split the root array to its elements
+     * @return new tokenizer
+     */
+    static JsonpTokenizer create(JsonBuilderFactory builderFactory, boolean splitArray) {
+        try {
+            return new JsonpTokenizer(builderFactory, JSON_FACTORY.createNonBlockingByteArrayParser(), splitArray);
+        } catch (IOException e) {
+            throw new JsonException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Parse the next chunk of data. The chunk is released.
+     *
+     * @param chunk data chunk
+     * @return values completed by this chunk
+     */
+    List<JsonValue> feed(DataChunk chunk) {
+        List<JsonValue> result = new ArrayList<>(1);
+        try {
+            for (ByteBuffer buffer : chunk.data()) {
+                if (buffer.hasArray()) {
+                    int offset = buffer.arrayOffset() + buffer.position();
+                    feeder.feedInput(buffer.array(), offset, offset + buffer.remaining());
+                } else {
+                    int length = buffer.remaining();
+                    if (copyBuffer == null || copyBuffer.length < length) {
+                        copyBuffer = new byte[length];
+                    }
+                    buffer.duplicate().get(copyBuffer, 0, length);
+                    feeder.feedInput(copyBuffer, 0, length);
+                }
+                // the parser references the fed array, all available tokens must be consumed before next feed
+                drain(result);
+            }
+        } catch (IOException e) {
+            throw new JsonException(e.getMessage(), e);
+        } finally {
+            chunk.release();
+        }
+        return result;
+    }
+
+    /**
+     * Signal end of the content.
+     *
+     * @return values completed by the end of content
+     * @throws JsonException if the content is empty or incomplete
+     */
+    List<JsonValue> endOfInput() {
+        feeder.endOfInput();
+        List<JsonValue> result = new ArrayList<>(1);
+        try {
+            drain(result);
+            parser.close();
+        } catch (IOException e) {
+            throw new JsonException(e.getMessage(), e);
+        }
+        if (empty) {
+            throw new JsonException("No content to read");
+        }
+        if (rootArray || !builders.isEmpty()) {
+            throw new JsonException("Unexpected end of content");
+        }
+        return result;
+    }
+
+    private void drain(List<JsonValue> result) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            empty = false;
+            switch (token) {
+            case START_OBJECT:
+                builders.push(builderFactory.createObjectBuilder());
+                break;
+            case START_ARRAY:
+                if (splitArray && builders.isEmpty() && !rootArray) {
+                    rootArray = true;
+                } else {
+                    builders.push(builderFactory.createArrayBuilder());
+                }
+                break;
+            case END_OBJECT:
+                add(((JsonObjectBuilder) builders.pop()).build(), result);
+                break;
+            case END_ARRAY:
+                if (builders.isEmpty()) {
+                    rootArray = false;
+                } else {
+                    add(((JsonArrayBuilder) builders.pop()).build(), result);
+                }
+                break;
+            case FIELD_NAME:
+                names.push(parser.getCurrentName());
+                break;
+            case VALUE_STRING:
+                add(JSON_PROVIDER.createValue(parser.getText()), result);
+                break;
+            case VALUE_NUMBER_INT:
+                switch (parser.getNumberType()) {
+                case INT:
+                    add(JSON_PROVIDER.createValue(parser.getIntValue()), result);
+                    break;
+                case LONG:
+                    add(JSON_PROVIDER.createValue(parser.getLongValue()), result);
+                    break;
+                default:
+                    add(JSON_PROVIDER.createValue(parser.getBigIntegerValue()), result);
+                }
+                break;
+            case VALUE_NUMBER_FLOAT:
+                add(JSON_PROVIDER.createValue(parser.getDecimalValue()), result);
+                break;
+            case VALUE_TRUE:
+                add(JsonValue.TRUE, result);
+                break;
+            case VALUE_FALSE:
+                add(JsonValue.FALSE, result);
+                break;
+            case VALUE_NULL:
+                add(JsonValue.NULL, result);
+                break;
+            default:
+                throw new JsonException("Unsupported JSON token: " + token);
+            }
+        }
+    }
+
+    private void add(JsonValue value, List<JsonValue> result) {
+        Object parent = builders.peek();
+        if (parent == null) {
+            result.add(value);
+        } else if (parent instanceof JsonObjectBuilder) {
+            ((JsonObjectBuilder) parent).add(names.pop(), value);
+        } else {
+            ((JsonArrayBuilder) parent).add(value);
+        }
+    }
+}
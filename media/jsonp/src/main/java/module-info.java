@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import io.helidon.media.jsonp.JsonpSupport;
  */
 module io.helidon.media.jsonp {
 
+    requires static com.fasterxml.jackson.core;
     requires io.helidon.common;
     requires io.helidon.common.http;
     requires io.helidon.common.mapper;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,21 +16,38 @@
 
 package io.helidon.media.jsonp;
 
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import javax.json.Json;
 import javax.json.JsonArray;
 import javax.json.JsonObject;
+import javax.json.JsonReader;
+import javax.json.JsonReaderFactory;
 import javax.json.JsonStructure;
+import javax.json.JsonValue;
 
 import io.helidon.common.GenericType;
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyReader;
 import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyStreamReader;
 
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -45,6 +62,8 @@ public class JsonpReaderTest {
 
     private final static MessageBodyReader<JsonStructure> READER = JsonpSupport.reader();
 
+    private final static MessageBodyStreamReader<JsonValue> STREAM_READER = JsonpSupport.streamReader();
+
     @Test
     public void simpleJsonObject() throws Exception {
         JsonObject jsonObject = readJsonObject("{ \"p\" : \"val\" }");
@@ -69,6 +88,95 @@ public class JsonpReaderTest {
         assertThrows(ExecutionException.class, () -> readJsonObject("{ \"p\" : \"val\" "));
     }
 
+    @Test
+    public void splitChunks() {
+        String json = "{\"s\":\"Žluťoučký kůň\",\"i\":1,\"l\":12345678901,\"d\":1.5,"
+                + "\"b\":true,\"n\":null,\"a\":[1,{\"x\":[]}]}";
+        JsonObject expected = Json.createReader(new StringReader(json)).readObject();
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // split at every position, including inside of the multi-byte characters
+        for (int i = 1; i < bytes.length; i++) {
+            JsonObject jsonObject = READER.read(chunks(bytes, i), GenericType.create(JsonObject.class), CONTEXT)
+                    .await();
+            assertThat(jsonObject, is(expected));
+        }
+        JsonObject jsonObject = READER.read(chunks(bytes, 3), GenericType.create(JsonObject.class), CONTEXT).await();
+        assertThat(jsonObject.getJsonNumber("d").bigDecimalValue(), is(new BigDecimal("1.5")));
+        assertThat(jsonObject.getJsonNumber("l").longValue(), is(12345678901L));
+    }
+
+    @Test
+    public void emptyContent() {
+        assertThrows(ExecutionException.class, () -> readJsonObject(""));
+    }
+
+    @Test
+    public void streamArray() {
+        String json = "[{\"p\":\"a\"}, {\"p\":\"b\"}, {\"p\":\"c\"}]";
+        List<String> values = Multi.create(STREAM_READER.read(chunks(json.getBytes(StandardCharsets.UTF_8), 5),
+                                                              GenericType.create(JsonObject.class),
+                                                              CONTEXT))
+                .map(it -> it.getString("p"))
+                .collectList()
+                .await();
+        assertThat(values, hasItems("a", "b", "c"));
+        assertThat(values.size(), is(3));
+    }
+
+    @Test
+    public void customReaderFactory() {
+        JsonReaderFactory defaultFactory = Json.createReaderFactory(Map.of());
+        AtomicInteger created = new AtomicInteger();
+        JsonReaderFactory factory = new JsonReaderFactory() {
+            @Override
+            public JsonReader createReader(Reader reader) {
+                created.incrementAndGet();
+                return defaultFactory.createReader(reader);
+            }
+
+            @Override
+            public JsonReader createReader(InputStream in) {
+                created.incrementAndGet();
+                return defaultFactory.createReader(in);
+            }
+
+            @Override
+            public JsonReader createReader(InputStream in, Charset charset) {
+                created.incrementAndGet();
+                return defaultFactory.createReader(in, charset);
+            }
+
+            @Override
+            public Map<String, ?> getConfigInUse() {
+                return defaultFactory.getConfigInUse();
+            }
+        };
+        byte[] bytes = "{\"p\":\"val\"}".getBytes(StandardCharsets.UTF_8);
+
+        JsonObject jsonObject = JsonpSupport.reader(factory)
+                .read(chunks(bytes, 3), GenericType.create(JsonObject.class), CONTEXT)
+                .await();
+        assertThat(jsonObject.getString("p"), is("val"));
+        assertThat(created.get(), is(1));
+
+        List<JsonObject> values = Multi.create(JsonpSupport.streamReader(factory)
+                                                       .read(chunks(bytes, 3), GenericType.create(JsonObject.class), CONTEXT))
+                .collectList()
+                .await();
+        assertThat(values.size(), is(1));
+        assertThat(created.get(), is(2));
+    }
+
+    private static Multi<DataChunk> chunks(byte[] bytes, int size) {
+        List<DataChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            chunks.add(DataChunk.create(chunk));
+        }
+        return Multi.create(chunks);
+    }
+
     private static JsonObject readJsonObject(String json) throws Exception {
         return READER.read(Single.just(DataChunk.create(json.getBytes())), GenericType.create(JsonObject.class), CONTEXT).get();
     }
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.Tag;
+
+/**
+ * Counter resolved from a registry once, resolved again only if a metric was removed from the registry.
+ *
+ * @see Registry#counterHandle(Metadata, Tag...)
+ */
+final class CounterHandle implements Counter {
+    private final Registry registry;
+    private final Metadata metadata;
+    private final Tag[] tags;
+    private volatile Resolved resolved;
+
+    CounterHandle(Registry registry, Metadata metadata, Tag... tags) {
+        this.registry = registry;
+        this.metadata = metadata;
+        this.tags = tags.clone();
+        this.resolved = resolve();
+    }
+
+    @Override
+    public void inc() {
+        counter().inc();
+    }
+
+    @Override
+    public void inc(long n) {
+        counter().inc(n);
+    }
+
+    @Override
+    public long getCount() {
+        return counter().getCount();
+    }
+
+    private Counter counter() {
+        Resolved current = resolved;
+        if (current.removals != registry.removals()) {
+            current = resolve();
+            resolved = current;
+        }
+        return current.counter;
+    }
+
+    private Resolved resolve() {
+        // read before the lookup, a concurrent removal makes the next call resolve again
+        long removals = registry.removals();
+        return new Resolved(registry.counter(metadata, tags), removals);
+    }
+
+    private static final class Resolved {
+        private final Counter counter;
+        private final long removals;
+
+        private Resolved(Counter counter, long removals) {
+            this.counter = counter;
+            this.removals = removals;
+        }
+    }
+}
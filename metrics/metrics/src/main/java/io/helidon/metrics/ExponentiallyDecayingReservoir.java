@@ -46,9 +46,9 @@ import static java.lang.Math.min;
  * Cormode et al. Forward Decay: A Practical Time Decay Model for Streaming Systems. ICDE '09:
  * Proceedings of the 2009 IEEE International Conference on Data Engineering (2009)</a>
  */
-class ExponentiallyDecayingReservoir {
-    private static final int DEFAULT_SIZE = 1028;
-    private static final double DEFAULT_ALPHA = 0.015;
+class ExponentiallyDecayingReservoir implements Reservoir {
+    static final int DEFAULT_SIZE = 1028;
+    static final double DEFAULT_ALPHA = 0.015;
     private static final long RESCALE_THRESHOLD = TimeUnit.HOURS.toNanos(1);
 
     private final ConcurrentSkipListMap<Double, WeightedSnapshot.WeightedSample> values;
@@ -87,10 +87,12 @@ class ExponentiallyDecayingReservoir {
         this.nextScaleTime = new AtomicLong(clock.nanoTick() + RESCALE_THRESHOLD);
     }
 
+    @Override
     public int size() {
         return (int) min(size, count.get());
     }
 
+    @Override
     public void update(long value) {
         update(value, currentTimeInSeconds());
     }
@@ -101,6 +103,7 @@ class ExponentiallyDecayingReservoir {
      * @param value     the value to be added
      * @param timestamp the epoch timestamp of {@code value} in seconds
      */
+    @Override
     public void update(long value, long timestamp) {
         rescaleIfNeeded();
         lockForRegularUsage();
@@ -134,6 +137,7 @@ class ExponentiallyDecayingReservoir {
         }
     }
 
+    @Override
     public Snapshot getSnapshot() {
         rescaleIfNeeded();
         lockForRegularUsage();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -97,19 +97,19 @@ final class HelidonConcurrentGauge extends MetricImpl implements ConcurrentGauge
             prometheusType(sb, nameCurrent, metadata().getType());
             prometheusHelp(sb, nameCurrent);
         }
-        sb.append(nameCurrent).append(prometheusTags(metricID.getTags()))
+        sb.append(nameCurrent).append(prometheusTags(metricID))
                 .append(" ").append(prometheusValue()).append('\n');
         final String nameMin = name + "_min";
         if (withHelpType) {
             prometheusType(sb, nameMin, metadata().getType());
         }
-        sb.append(nameMin).append(prometheusTags(metricID.getTags()))
+        sb.append(nameMin).append(prometheusTags(metricID))
                 .append(" ").append(getMin()).append('\n');
         final String nameMax = name + "_max";
         if (withHelpType) {
             prometheusType(sb, nameMax, metadata().getType());
         }
-        sb.append(nameMax).append(prometheusTags(metricID.getTags()))
+        sb.append(nameMax).append(prometheusTags(metricID))
                 .append(" ").append(getMax()).append('\n');
     }
 
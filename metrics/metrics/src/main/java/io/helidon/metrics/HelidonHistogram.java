@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -43,7 +43,11 @@ final class HelidonHistogram extends MetricImpl implements Histogram {
     }
 
     static HelidonHistogram create(String type, Metadata metadata, Clock clock) {
-        return new HelidonHistogram(type, metadata, new HistogramImpl(clock));
+        return create(type, metadata, clock, ReservoirFactory.DEFAULT);
+    }
+
+    static HelidonHistogram create(String type, Metadata metadata, Clock clock, ReservoirFactory reservoirFactory) {
+        return new HelidonHistogram(type, metadata, new HistogramImpl(reservoirFactory.create(clock)));
     }
 
     static HelidonHistogram create(String type, Metadata metadata, Histogram delegate) {
@@ -73,7 +77,7 @@ final class HelidonHistogram extends MetricImpl implements Histogram {
     @Override
     public void prometheusData(StringBuilder sb, MetricID metricID, boolean withHelpType) {
         Units units = getUnits();
-        String tags = prometheusTags(metricID.getTags());
+        String tags = prometheusTags(metricID);
         String name = metricID.getName();
 
         String nameUnits;
@@ -192,10 +196,10 @@ final class HelidonHistogram extends MetricImpl implements Histogram {
 
     static final class HistogramImpl implements Histogram {
         private final LongAdder counter = new LongAdder();
-        private final ExponentiallyDecayingReservoir reservoir;
+        private final Reservoir reservoir;
 
-        private HistogramImpl(Clock clock) {
-            this.reservoir = new ExponentiallyDecayingReservoir(clock);
+        private HistogramImpl(Reservoir reservoir) {
+            this.reservoir = reservoir;
         }
 
         public void update(int value) {
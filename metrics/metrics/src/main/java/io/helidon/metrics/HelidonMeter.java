@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -80,7 +80,7 @@ final class HelidonMeter extends MetricImpl implements Meter {
     public void prometheusData(StringBuilder sb, MetricID metricID, boolean withHelpType) {
         String name = metricID.getName();
         String nameUnits = prometheusNameWithUnits(name, Optional.empty()) + "_total";
-        String tags = prometheusTags(metricID.getTags());
+        String tags = prometheusTags(metricID);
 
         if (withHelpType) {
             prometheusType(sb, nameUnits, "counter");
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -88,7 +88,7 @@ final class HelidonSimpleTimer extends MetricImpl implements SimpleTimer {
     public void prometheusData(StringBuilder sb, MetricID metricID, boolean withHelpType) {
         String promName;
         String name = metricID.getName();
-        String tags = prometheusTags(metricID.getTags());
+        String tags = prometheusTags(metricID);
         promName = prometheusName(name) + "_total";
         if (withHelpType) {
             prometheusType(sb, promName, "counter");
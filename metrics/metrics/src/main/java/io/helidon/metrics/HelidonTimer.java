@@ -48,7 +48,11 @@ final class HelidonTimer extends MetricImpl implements Timer {
     }
 
     static HelidonTimer create(String repoType, Metadata metadata, Clock clock) {
-        return create(repoType, metadata, new TimerImpl(repoType, metadata.getName(), clock));
+        return create(repoType, metadata, clock, ReservoirFactory.DEFAULT);
+    }
+
+    static HelidonTimer create(String repoType, Metadata metadata, Clock clock, ReservoirFactory reservoirFactory) {
+        return create(repoType, metadata, new TimerImpl(repoType, metadata.getName(), clock, reservoirFactory));
     }
 
     static HelidonTimer create(String repoType, Metadata metadata, Timer metric) {
@@ -109,7 +113,7 @@ final class HelidonTimer extends MetricImpl implements Timer {
     public void prometheusData(StringBuilder sb, MetricID metricID, boolean withHelpType) {
         String nameUnits;
         String name = metricID.getName();
-        String tags = prometheusTags(metricID.getTags());
+        String tags = prometheusTags(metricID);
         nameUnits = prometheusNameWithUnits(name, Optional.empty()) + "_rate_per_second";
         if (withHelpType) {
             prometheusType(sb, nameUnits, "gauge");
@@ -279,7 +283,7 @@ final class HelidonTimer extends MetricImpl implements Timer {
         private final Histogram histogram;
         private final Clock clock;
 
-        TimerImpl(String repoType, String name, Clock clock) {
+        TimerImpl(String repoType, String name, Clock clock, ReservoirFactory reservoirFactory) {
             this.meter = HelidonMeter.create(repoType, Metadata.builder()
                     .withName(name)
                     .withType(MetricType.METERED)
@@ -287,7 +291,7 @@ final class HelidonTimer extends MetricImpl implements Timer {
             this.histogram = HelidonHistogram.create(repoType, Metadata.builder()
                     .withName(name)
                     .withType(MetricType.HISTOGRAM)
-                    .build(), clock);
+                    .build(), clock, reservoirFactory);
             this.clock = clock;
         }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -50,6 +51,9 @@ abstract class MetricImpl implements HelidonMetric {
     private static final Pattern COLON_UNDERSCORE = Pattern.compile(":_");
     private static final Pattern CAMEL_CASE = Pattern.compile("(.)(\\p{Upper})");
     private static final Map<String, Units> PROMETHEUS_CONVERTERS = new HashMap<>();
+    // cleaned prometheus names, keyed by the scope prefixed metric name
+    private static final Map<String, String> PROMETHEUS_NAMES = new ConcurrentHashMap<>();
+    private static final int MAX_PROMETHEUS_NAMES = 10_000;
     private static final long KILOBITS = 1000 / 8;
     private static final long MEGABITS = 1000 * KILOBITS;
     private static final long GIGABITS = 1000 * MEGABITS;
@@ -116,6 +120,7 @@ abstract class MetricImpl implements HelidonMetric {
 
     private final String registryType;
     private final Metadata metadata;
+    private volatile PrometheusTags prometheusTags;
 
     MetricImpl(String registryType, Metadata metadata) {
         this.metadata = metadata;
@@ -229,7 +234,7 @@ abstract class MetricImpl implements HelidonMetric {
             prometheusType(sb, nameWithUnits, metadata.getType());
             prometheusHelp(sb, nameWithUnits);
         }
-        sb.append(nameWithUnits).append(prometheusTags(metricID.getTags())).append(" ").append(prometheusValue()).append('\n');
+        sb.append(nameWithUnits).append(prometheusTags(metricID)).append(" ").append(prometheusValue()).append('\n');
     }
 
     @Override
@@ -264,7 +269,17 @@ abstract class MetricImpl implements HelidonMetric {
     }
 
     final String prometheusName(String name) {
-        return prometheusClean(name, registryType + "_");
+        // prefix consists of valid characters only, so it can be cleaned together with the name
+        String prefixed = registryType + "_" + name;
+        String result = PROMETHEUS_NAMES.get(prefixed);
+        if (result == null) {
+            result = prometheusClean(prefixed, "");
+            if (PROMETHEUS_NAMES.size() >= MAX_PROMETHEUS_NAMES) {
+                PROMETHEUS_NAMES.clear();
+            }
+            PROMETHEUS_NAMES.put(prefixed, result);
+        }
+        return result;
     }
 
     private String prometheusClean(String name, String prefix) {
@@ -290,6 +305,22 @@ abstract class MetricImpl implements HelidonMetric {
 
         return name;
     }
+
+    /**
+     * Prometheus tags of the metric ID, cached as the metric is usually exported with the same ID repeatedly.
+     *
+     * @param metricID metric ID
+     * @return tags in prometheus format, empty if there are none
+     */
+    final String prometheusTags(MetricID metricID) {
+        PrometheusTags cached = prometheusTags;
+        if (cached == null || !cached.metricID.equals(metricID)) {
+            cached = new PrometheusTags(metricID, prometheusTags(metricID.getTags()));
+            prometheusTags = cached;
+        }
+        return cached.tags;
+    }
+
     final String prometheusTags(Map<String, String> tags) {
         return (tags == null || tags.isEmpty() ? "" : tags.entrySet().stream()
                 .filter(entry -> entry.getKey() != null)
@@ -409,4 +440,13 @@ abstract class MetricImpl implements HelidonMetric {
         }
     }
 
+    private static final class PrometheusTags {
+        private final MetricID metricID;
+        private final String tags;
+
+        private PrometheusTags(MetricID metricID, String tags) {
+            this.metricID = metricID;
+            this.tags = tags;
+        }
+    }
 }
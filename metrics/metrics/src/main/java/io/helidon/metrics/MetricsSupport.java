@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,12 +22,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -93,6 +91,12 @@ import static io.helidon.webserver.cors.CorsEnabledServiceHelper.CORS_CONFIG_KEY
  * <tr><td>helidon.metrics.base.${metricName}.enabled</td><td>true</td><td>Can
  * control which base metrics are exposed, set to false to disable a base
  * metric</td></tr>
+ * <tr><td>helidon.metrics.reservoir.type</td><td>exponentially-decaying</td><td>Reservoir
+ * of histograms and timers, either exponentially-decaying or lock free sliding-window</td></tr>
+ * <tr><td>helidon.metrics.reservoir.size</td><td>1028</td><td>Number of values sampled
+ * by a reservoir</td></tr>
+ * <tr><td>helidon.metrics.reservoir.window-seconds</td><td>300</td><td>Values older than this
+ * are ignored by the sliding-window reservoir</td></tr>
  * </table>
  * <p>
  * The application metrics registry is then available as follows:
@@ -107,6 +111,7 @@ public final class MetricsSupport implements Service {
     private static final String SERVICE_NAME = "Metrics";
 
     private static final MessageBodyWriter<JsonStructure> JSONP_WRITER = JsonpSupport.writer();
+    private static final MediaType PROMETHEUS_CONTENT_TYPE = MediaType.parse("text/plain; version=0.0.4; charset=utf-8");
 
     private final String context;
     private final RegistryFactory rf;
@@ -171,7 +176,7 @@ public final class MetricsSupport implements Service {
         if (mediaType == MediaType.APPLICATION_JSON) {
             sendJson(res, toJsonData(registry));
         } else if (mediaType == MediaType.TEXT_PLAIN) {
-            res.send(toPrometheusData(registry));
+            sendPrometheus(req, res, registry);
         } else {
             res.status(Http.Status.NOT_ACCEPTABLE_406);
             res.send();
@@ -203,21 +208,41 @@ public final class MetricsSupport implements Service {
 
     static String toPrometheusData(Registry registry) {
         StringBuilder builder = new StringBuilder();
-        Set<String> serialized = new HashSet<>();
-        registry.stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    String name = entry.getKey().getName();
-                    if (!serialized.contains(name)) {
-                        toPrometheusData(builder, entry.getKey(), entry.getValue(), true);
-                        serialized.add(name);
-                    } else {
-                        toPrometheusData(builder, entry.getKey(), entry.getValue(), false);
-                    }
-                });
+        PrometheusExporter.write(builder, registry);
         return builder.toString();
     }
 
+    private static void sendPrometheus(ServerRequest req, ServerResponse res, Registry... registries) {
+        res.headers().contentType(PROMETHEUS_CONTENT_TYPE);
+        res.headers().add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+        if (acceptsGzip(req.headers())) {
+            res.headers().put(Http.Header.CONTENT_ENCODING, "gzip");
+            res.send(PrometheusExporter.createGzip(registries));
+        } else {
+            res.send(PrometheusExporter.create(registries));
+        }
+    }
+
+    private static boolean acceptsGzip(RequestHeaders headers) {
+        for (String value : headers.values(Http.Header.ACCEPT_ENCODING)) {
+            for (String item : value.split(",")) {
+                String[] parts = item.split(";");
+                if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                    continue;
+                }
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if ((param.startsWith("q=") || param.startsWith("Q="))
+                            && param.substring(2).trim().matches("0(\\.0{0,3})?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Formats a metric in Prometheus format.
      *
@@ -470,7 +495,7 @@ public final class MetricsSupport implements Service {
         if (mediaType == MediaType.APPLICATION_JSON) {
             sendJson(res, toJsonData(registries));
         } else if (mediaType == MediaType.TEXT_PLAIN) {
-            res.send(toPrometheusData(registries));
+            sendPrometheus(req, res, registries);
         } else {
             res.status(Http.Status.NOT_ACCEPTABLE_406);
             res.send();
@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+
+import org.eclipse.microprofile.metrics.MetricID;
+
+/**
+ * Streams metrics of registries in Prometheus text format.
+ * <p>
+ * Metrics are formatted one by one into a small text buffer, that is encoded into a data chunk
+ * whenever it exceeds {@link #CHUNK_SIZE}, so the exposition of the whole registry never exists in memory.
+ * The chunks are backed by pooled direct buffers that are returned to the pool when the chunk is released.
+ */
+final class PrometheusExporter implements Iterable<DataChunk> {
+    static final int CHUNK_SIZE = 16 * 1024;
+
+    // one metric may produce more than the chunk size, the buffer must accommodate both
+    private static final int BUFFER_SIZE = 2 * CHUNK_SIZE;
+    private static final int MAX_POOLED_BUFFERS = 64;
+    private static final Queue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED = new AtomicInteger();
+
+    private final Registry[] registries;
+
+    private PrometheusExporter(Registry[] registries) {
+        this.registries = registries;
+    }
+
+    /**
+     * Chunks of Prometheus data of the registries.
+     *
+     * @param registries registries to export
+     * @return publisher of the data
+     */
+    static Multi<DataChunk> create(Registry... registries) {
+        return Multi.create(new PrometheusExporter(registries));
+    }
+
+    /**
+     * Gzip compressed chunks of Prometheus data of the registries.
+     *
+     * @param registries registries to export
+     * @return publisher of the compressed data
+     */
+    static Multi<DataChunk> createGzip(Registry... registries) {
+        return Multi.defer(() -> {
+            Gzip gzip = new Gzip();
+            return create(registries)
+                    .flatMapIterable(gzip::compress)
+                    .onCompleteResumeWith(Multi.defer(() -> Multi.create(gzip.finish())));
+        });
+    }
+
+    /**
+     * Prometheus data of the registry.
+     *
+     * @param sb        builder to append the data to
+     * @param registry  registry to export
+     */
+    static void write(StringBuilder sb, Registry registry) {
+        Iterator<Map.Entry<MetricID, HelidonMetric>> entries = sorted(registry);
+        String previousName = null;
+        while (entries.hasNext()) {
+            previousName = write(sb, entries.next(), previousName);
+        }
+    }
+
+    @Override
+    public Iterator<DataChunk> iterator() {
+        return new ChunkIterator(registries);
+    }
+
+    private static Iterator<Map.Entry<MetricID, HelidonMetric>> sorted(Registry registry) {
+        // sorted by name, so all metrics of the same name follow a single HELP and TYPE
+        return registry.stream()
+                .sorted(Map.Entry.comparingByKey())
+                .iterator();
+    }
+
+    private static String write(StringBuilder sb, Map.Entry<MetricID, HelidonMetric> entry, String previousName) {
+        String name = entry.getKey().getName();
+        entry.getValue().prometheusData(sb, entry.getKey(), !name.equals(previousName));
+        return name;
+    }
+
+    private static ByteBuffer acquire() {
+        ByteBuffer buffer = BUFFERS.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        POOLED.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    private static void release(ByteBuffer buffer) {
+        if (POOLED.incrementAndGet() > MAX_POOLED_BUFFERS) {
+            POOLED.decrementAndGet();
+            return;
+        }
+        BUFFERS.offer(buffer);
+    }
+
+    private static final class ChunkIterator implements Iterator<DataChunk> {
+        private final StringBuilder text = new StringBuilder(BUFFER_SIZE);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final Registry[] registries;
+        private int registryIndex;
+        private Iterator<Map.Entry<MetricID, HelidonMetric>> entries;
+        private String previousName;
+
+        private ChunkIterator(Registry[] registries) {
+            this.registries = registries;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return text.length() > 0 || fill();
+        }
+
+        @Override
+        public DataChunk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return encode();
+        }
+
+        private boolean fill() {
+            while (text.length() < CHUNK_SIZE) {
+                if (entries == null || !entries.hasNext()) {
+                    if (!nextRegistry()) {
+                        break;
+                    }
+                    continue;
+                }
+                previousName = write(text, entries.next(), previousName);
+            }
+            return text.length() > 0;
+        }
+
+        private boolean nextRegistry() {
+            while (registryIndex < registries.length) {
+                Registry registry = registries[registryIndex++];
+                if (!registry.empty()) {
+                    entries = sorted(registry);
+                    previousName = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private DataChunk encode() {
+            ByteBuffer buffer = acquire();
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isUnderflow()) {
+                result = encoder.flush(buffer);
+            }
+            if (result.isOverflow()) {
+                // a single huge metric, not worth pooling
+                release(buffer);
+                byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+                text.setLength(0);
+                return DataChunk.create(bytes);
+            }
+            text.setLength(0);
+            buffer.flip();
+            return DataChunk.create(false, () -> release(buffer), buffer);
+        }
+    }
+
+    private static final class Gzip {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(CHUNK_SIZE);
+        private final byte[] bytes = new byte[BUFFER_SIZE];
+        private final GZIPOutputStream gzip;
+
+        private Gzip() {
+            try {
+                this.gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private List<DataChunk> compress(DataChunk chunk) {
+            try {
+                for (ByteBuffer data : chunk.data()) {
+                    while (data.hasRemaining()) {
+                        int length = Math.min(data.remaining(), bytes.length);
+                        data.get(bytes, 0, length);
+                        gzip.write(bytes, 0, length);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                chunk.release();
+            }
+            return drain();
+        }
+
+        private List<DataChunk> finish() {
+            try {
+                gzip.finish();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return drain();
+        }
+
+        private List<DataChunk> drain() {
+            if (out.size() == 0) {
+                return List.of();
+            }
+            DataChunk chunk = DataChunk.create(out.toByteArray());
+            out.reset();
+            return List.of(chunk);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,7 +31,10 @@ import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -62,6 +66,9 @@ public class Registry extends MetricRegistry {
     private final Map<MetricID, HelidonMetric> allMetrics = new ConcurrentHashMap<>();
     private final Map<String, List<MetricID>> allMetricIDsByName = new ConcurrentHashMap<>();
     private final Map<String, Metadata> allMetadata = new ConcurrentHashMap<>(); // metric name -> metadata
+    // incremented on each removal, so cached handles know when to resolve their metric again
+    private final AtomicLong removals = new AtomicLong();
+    private volatile ReservoirFactory reservoirFactory = ReservoirFactory.DEFAULT;
 
     /**
      * Create a registry of a certain type.
@@ -117,6 +124,21 @@ public class Registry extends MetricRegistry {
         return getOrRegisterMetric(metadata, HelidonCounter::create, HelidonCounter.class, tags);
     }
 
+    /**
+     * Get a pre-resolved handle of a counter, registering the counter if it does not exist yet.
+     * The handle is meant to be obtained once and cached by the caller, its updates go directly
+     * to the counter without any lookup in the registry. If the counter is removed from the registry,
+     * the next update of the handle registers it again.
+     *
+     * @param metadata metadata of the counter
+     * @param tags tags of the counter
+     * @return counter handle
+     * @throws IllegalArgumentException if the metadata is inconsistent with an already registered metric
+     */
+    public Counter counterHandle(Metadata metadata, Tag... tags) {
+        return new CounterHandle(this, metadata, tags);
+    }
+
     @Override
     public Histogram histogram(String name) {
         return histogram(name, NO_TAGS);
@@ -129,12 +151,12 @@ public class Registry extends MetricRegistry {
 
     @Override
     public Histogram histogram(String name, Tag... tags) {
-        return getOrRegisterMetric(name, HelidonHistogram::create, HelidonHistogram.class, tags);
+        return getOrRegisterMetric(name, this::createHistogram, HelidonHistogram.class, tags);
     }
 
     @Override
     public Histogram histogram(Metadata metadata, Tag... tags) {
-        return getOrRegisterMetric(metadata, HelidonHistogram::create, HelidonHistogram.class, tags);
+        return getOrRegisterMetric(metadata, this::createHistogram, HelidonHistogram.class, tags);
     }
 
     @Override
@@ -169,12 +191,12 @@ public class Registry extends MetricRegistry {
 
     @Override
     public Timer timer(String name, Tag... tags) {
-        return getOrRegisterMetric(name, HelidonTimer::create, HelidonTimer.class, tags);
+        return getOrRegisterMetric(name, this::createTimer, HelidonTimer.class, tags);
     }
 
     @Override
     public Timer timer(Metadata metadata, Tag... tags) {
-        return getOrRegisterMetric(metadata, HelidonTimer::create, HelidonTimer.class, tags);
+        return getOrRegisterMetric(metadata, this::createTimer, HelidonTimer.class, tags);
     }
 
     @Override
@@ -218,45 +240,49 @@ public class Registry extends MetricRegistry {
     }
 
     /**
-     * Removes a metric by name. Synchronized for atomic update of more than one internal map.
+     * Removes a metric by name. Atomic for all metrics of the name, without locking other names.
      *
      * @param name Name of the metric.
      * @return Outcome of removal.
      */
     @Override
-    public synchronized boolean remove(String name) {
-        final List<MetricID> metricIDs = allMetricIDsByName.get(name);
-        if (metricIDs == null) {
-            return false;
+    public boolean remove(String name) {
+        boolean[] result = new boolean[1];
+        allMetricIDsByName.computeIfPresent(name, (metricName, metricIDs) -> {
+            for (MetricID metricID : metricIDs) {
+                result[0] |= allMetrics.remove(metricID) != null;
+            }
+            allMetadata.remove(metricName);
+            return null;
+        });
+        if (result[0]) {
+            removals.incrementAndGet();
         }
-        final boolean result = metricIDs.stream()
-                .map(metricID -> allMetrics.remove(metricID) != null)
-                .reduce((a, b) -> a || b)
-                .orElse(false);
-        allMetricIDsByName.remove(name);
-        allMetadata.remove(name);
-        return result;
+        return result[0];
     }
 
     /**
-     * Removes a metric by ID. Synchronized for atomic update of more than one internal map.
+     * Removes a metric by ID. Atomic for all metrics of the name, without locking other names.
      *
      * @param metricID ID of metric.
      * @return Outcome of removal.
      */
     @Override
-    public synchronized boolean remove(MetricID metricID) {
-        final List<MetricID> metricIDS = allMetricIDsByName.get(metricID.getName());
-        if (metricIDS == null) {
-            return false;
-        }
-        metricIDS.remove(metricID);
-        if (metricIDS.isEmpty()) {
-            allMetricIDsByName.remove(metricID.getName());
-            allMetadata.remove(metricID.getName());
+    public boolean remove(MetricID metricID) {
+        boolean[] result = new boolean[1];
+        allMetricIDsByName.computeIfPresent(metricID.getName(), (metricName, metricIDs) -> {
+            result[0] = allMetrics.remove(metricID) != null;
+            metricIDs.remove(metricID);
+            if (metricIDs.isEmpty()) {
+                allMetadata.remove(metricName);
+                return null;
+            }
+            return metricIDs;
+        });
+        if (result[0]) {
+            removals.incrementAndGet();
         }
-
-        return allMetrics.remove(metricID) != null;
+        return result[0];
     }
 
     @Override
@@ -431,19 +457,26 @@ public class Registry extends MetricRegistry {
     }
 
     /**
-     * Get internal map entry given a metric name. Synchronized for atomic access of more than
-     * one internal map.
+     * Get internal map entry given a metric name.
      *
      * @param metricName The metric name.
      * @return Optional map entry..
      */
-    public synchronized Optional<Map.Entry<? extends Metric, List<MetricID>>> getOptionalMetricWithIDsEntry(String metricName) {
+    public Optional<Map.Entry<? extends Metric, List<MetricID>>> getOptionalMetricWithIDsEntry(String metricName) {
         final List<MetricID> metricIDs = allMetricIDsByName.get(metricName);
-        if (metricIDs == null || metricIDs.isEmpty()) {
+        if (metricIDs == null) {
             return Optional.empty();
         }
-        return Optional.of(
-                new AbstractMap.SimpleEntry<>(allMetrics.get(metricIDs.get(0)), metricIDs));
+        // the list may be concurrently modified, its iterator works with a snapshot
+        Iterator<MetricID> iterator = metricIDs.iterator();
+        if (!iterator.hasNext()) {
+            return Optional.empty();
+        }
+        HelidonMetric metric = allMetrics.get(iterator.next());
+        if (metric == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new AbstractMap.SimpleEntry<>(metric, metricIDs));
     }
 
     <T extends HelidonMetric> Optional<T> getOptionalMetric(MetricID metricID, Class<T> clazz) {
@@ -455,6 +488,10 @@ public class Registry extends MetricRegistry {
         return type;
     }
 
+    long removals() {
+        return removals.get();
+    }
+
     List<MetricID> metricIDsForName(String metricName) {
         return allMetricIDsByName.get(metricName);
     }
@@ -508,7 +545,7 @@ public class Registry extends MetricRegistry {
      * Returns an existing metric (if one is already registered with the name
      * from the metadata plus the tags, and if the existing metadata is
      * consistent with the new metadata) or a new metric, registered using the metadata and tags.
-     * Synchronized for atomic access of more than one internal map.
+     * An existing metric is found without any locking.
      *
      * @param <T> type of the metric
      * @param newMetadata metadata describing the metric
@@ -521,24 +558,26 @@ public class Registry extends MetricRegistry {
      * previously-registered metadata or if the metric is being reused and the
      * metadata prohibits reuse
      */
-    private synchronized <T extends HelidonMetric> T getOrRegisterMetric(Metadata newMetadata,
+    private <T extends HelidonMetric> T getOrRegisterMetric(Metadata newMetadata,
             BiFunction<String, Metadata, T> metricFactory,
             Class<T> clazz,
             Tag... tags) throws IllegalArgumentException {
-        final String metricName = newMetadata.getName();
+        final MetricID metricID = new MetricID(newMetadata.getName(), tags);
         /*
          * If there is an existing compatible metric then there's really nothing
          * new to register; the existing registration is enough so return that
          * previously-registered metric.
          */
-        return getOptionalMetric(metricName, clazz, tags)
-                .filter(existingMetric -> enforceConsistentMetadata(existingMetric, newMetadata, tags))
-                .orElseGet(() -> {
-                    final Metadata metadata = getOrRegisterMetadata(metricName, newMetadata, tags);
-                    return registerMetric(metricName,
-                                    metricFactory.apply(type.getName(), metadata),
-                                    tags);
-                });
+        HelidonMetric metric = allMetrics.get(metricID);
+        if (metric == null) {
+            metric = registerMetric(metricID,
+                                    existingMetadata -> consistentMetadata(existingMetadata, newMetadata, tags),
+                                    metadata -> metricFactory.apply(type.getName(), metadata),
+                                    false);
+        }
+        T result = toType(metric, clazz);
+        enforceConsistentMetadata(result, newMetadata, tags);
+        return result;
     }
 
     /**
@@ -546,7 +585,7 @@ public class Registry extends MetricRegistry {
      * is already registered registers a new metric using the name and type. If
      * metadata with the same name already exists it is used and checked for
      * consistency with the metric type {@code T}.
-     * Synchronized for atomic access of more than one internal map.
+     * An existing metric is found without any locking.
      *
      * @param <T> type of the metric
      * @param metricName name of the metric
@@ -555,21 +594,24 @@ public class Registry extends MetricRegistry {
      * @param tags tags for refining the identity of the metric
      * @return the existing or newly-created metric
      */
-    private synchronized <T extends HelidonMetric> T getOrRegisterMetric(String metricName,
+    private <T extends HelidonMetric> T getOrRegisterMetric(String metricName,
             BiFunction<String, Metadata, T> metricFactory,
             Class<T> clazz,
             Tag... tags) {
-        final MetricType newType = METRIC_TO_TYPE_MAP.get(clazz);
-        return getOptionalMetric(metricName, clazz, tags)
-                .orElseGet(() -> {
-                    final Metadata metadata = getOrRegisterMetadata(metricName, newType,
-                            () ->  Metadata.builder()
-                                    .withName(metricName)
-                                    .withType(newType)
-                                    .build(), tags);
-                    return registerMetric(metricName, metricFactory.apply(type.getName(), metadata),
-                            tags);
-                });
+        final MetricID metricID = new MetricID(metricName, tags);
+        HelidonMetric metric = allMetrics.get(metricID);
+        if (metric == null) {
+            final MetricType newType = METRIC_TO_TYPE_MAP.get(clazz);
+            metric = registerMetric(metricID,
+                                    existingMetadata -> consistentMetadata(existingMetadata, newType,
+                                            () -> Metadata.builder()
+                                                    .withName(metricName)
+                                                    .withType(newType)
+                                                    .build(), tags),
+                                    metadata -> metricFactory.apply(type.getName(), metadata),
+                                    false);
+        }
+        return toType(metric, clazz);
     }
 
     /**
@@ -577,7 +619,6 @@ public class Registry extends MetricRegistry {
      * or, if none, creating new metadata based on the metric's name and type,
      * returning the metric itself. Throws an exception if the metric is already
      * registered or if the metric and existing metadata are incompatible.
-     * Synchronized for atomic access of more than one internal map.
      *
      * @param <T> type of the metric
      * @param metricName name of the metric
@@ -586,17 +627,16 @@ public class Registry extends MetricRegistry {
      * @throws IllegalArgumentException if the metric is already registered and
      * its metadata prohibits reuse
      */
-    private synchronized <T extends Metric> T registerUniqueMetric(String metricName, T metric) throws IllegalArgumentException {
-
-        enforceMetricUniqueness(metricName);
+    private <T extends Metric> T registerUniqueMetric(String metricName, T metric) throws IllegalArgumentException {
         final MetricType metricType = MetricType.from(metric.getClass());
-
-        final Metadata metadata = getOrRegisterMetadata(metricName, metricType,
-                () -> Metadata.builder()
-                        .withName(metricName)
-                        .withType(metricType)
-                        .build(), NO_TAGS);
-        registerMetric(metricName, toImpl(metadata, metric), NO_TAGS);
+        registerMetric(new MetricID(metricName),
+                       existingMetadata -> consistentMetadata(existingMetadata, metricType,
+                               () -> Metadata.builder()
+                                       .withName(metricName)
+                                       .withType(metricType)
+                                       .build(), NO_TAGS),
+                       metadata -> toImpl(metadata, metric),
+                       true);
         return metric;
     }
 
@@ -606,7 +646,6 @@ public class Registry extends MetricRegistry {
      * by the given metadata, returning the metric itself. Throws an exception
      * if the metric is already registered or if incompatible metadata is
      * already registered.
-     * Synchronized for atomic access of more than one internal map.
      *
      * @param <T> type of the metric
      * @param metadata metadata describing the metric
@@ -615,32 +654,33 @@ public class Registry extends MetricRegistry {
      * @return the newly-registered metric
      * @throws IllegalArgumentException if the specified metadata is incompatible with previously-registered metadata
      */
-    private synchronized <T extends Metric> T registerUniqueMetric(Metadata metadata, T metric, Tag... tags)
+    private <T extends Metric> T registerUniqueMetric(Metadata metadata, T metric, Tag... tags)
             throws IllegalArgumentException {
-
-        final String metricName = metadata.getName();
-        enforceMetricUniqueness(metricName, tags);
-
-        metadata = getOrRegisterMetadata(metricName, metadata, tags);
-        registerMetric(metricName, toImpl(metadata, metric), tags);
+        registerMetric(new MetricID(metadata.getName(), tags),
+                       existingMetadata -> consistentMetadata(existingMetadata, metadata, tags),
+                       newMetadata -> toImpl(newMetadata, metric),
+                       true);
         return metric;
     }
 
-    private boolean enforceMetricUniqueness(String metricName) {
-        return enforceMetricUniqueness(new MetricID(metricName));
+    /**
+     * Configure reservoirs of histograms and timers created from now on.
+     *
+     * @param reservoirFactory factory of reservoirs
+     */
+    void reservoirFactory(ReservoirFactory reservoirFactory) {
+        this.reservoirFactory = reservoirFactory;
     }
 
-    private boolean enforceMetricUniqueness(String metricName, Tag... tags) {
-        return enforceMetricUniqueness(new MetricID(metricName, tags));
+    private HelidonHistogram createHistogram(String repoType, Metadata metadata) {
+        return HelidonHistogram.create(repoType, metadata, Clock.system(), reservoirFactory);
     }
 
-    private boolean enforceMetricUniqueness(MetricID metricID) {
-        if (allMetrics.containsKey(metricID)) {
-            throw new IllegalArgumentException("Attempt to reregister the existing metric " + metricID);
-        }
-        return true;
+    private HelidonTimer createTimer(String repoType, Metadata metadata) {
+        return HelidonTimer.create(repoType, metadata, Clock.system(), reservoirFactory);
     }
 
+
     private <T extends HelidonMetric, U extends HelidonMetric> U toType(T m1, Class<U> clazz) {
         MetricType type1 = toType(m1);
         MetricType type2 = toType(clazz);
@@ -652,72 +692,80 @@ public class Registry extends MetricRegistry {
     }
 
     /**
-     * Returns an existing metadata instance with the requested name or, if there
-     * is none, registers the provided new metadata. Throws an exception if the
-     * provided new metadata is incompatible with any existing metadata
-     * Synchronized for multiple access of an internal map.
+     * Returns the existing metadata or, if there is none, the provided new metadata.
+     * Throws an exception if the provided new metadata is incompatible with the existing metadata.
      *
-     * @param metricName name of the metric
+     * @param existingMetadata metadata registered for the name, or {@code null}
      * @param newMetadata new metadata to register if none exists for this name
      * @param tags tags associated with the metric being sought or created (for error messaging)
      * @return existing metadata if any; otherwise the provided new metadata
      */
-    private synchronized Metadata getOrRegisterMetadata(String metricName, Metadata newMetadata, Tag... tags) {
-
-        return getOptionalMetadata(metricName)
-                .filter(existingMetadata -> enforceConsistentMetadata(existingMetadata, newMetadata, tags))
-                .orElseGet(() -> registerMetadata(newMetadata));
+    private static Metadata consistentMetadata(Metadata existingMetadata, Metadata newMetadata, Tag... tags) {
+        if (existingMetadata == null) {
+            return newMetadata;
+        }
+        enforceConsistentMetadata(existingMetadata, newMetadata, tags);
+        return existingMetadata;
     }
 
     /**
-     * Returns an existing metadata instance with the requested name or, if there is none,
-     * registers the metadata supplied by the provided metadata factory. Throws an exception
-     * if the provided new metric type is incompatible with any previously-registered
-     * metadata. Synchronized for multiple access of an internal map.
+     * Returns the existing metadata or, if there is none, the metadata supplied by the provided
+     * metadata factory. Throws an exception if the provided new metric type is incompatible with
+     * the existing metadata.
      *
-     * @param metricName name of the metric
+     * @param existingMetadata metadata registered for the name, or {@code null}
      * @param newMetricType metric type of the new metric being created
      * @param metadataFactory supplier for new metadata if none is found under the specified name
      * @param tags tags associated with the metric being sought or created (for error messaging)
      * @return existing metadata if any; otherwise the metadata from the provided supplier
      */
-    private synchronized Metadata getOrRegisterMetadata(String metricName, MetricType newMetricType,
+    private static Metadata consistentMetadata(Metadata existingMetadata, MetricType newMetricType,
             Supplier<Metadata> metadataFactory, Tag... tags) {
-
-        return getOptionalMetadata(metricName)
-                .filter(existingMetadata -> enforceConsistentMetadataType(existingMetadata, newMetricType, tags))
-                .orElseGet(() -> registerMetadata(metadataFactory.get()));
-    }
-
-    private Optional<Metadata> getOptionalMetadata(String name) {
-        return Optional.ofNullable(allMetadata.get(name));
-    }
-
-    private Metadata registerMetadata(Metadata metadata) {
-        allMetadata.put(metadata.getName(), metadata);
-        return metadata;
+        if (existingMetadata == null) {
+            return metadataFactory.get();
+        }
+        enforceConsistentMetadataType(existingMetadata, newMetricType, tags);
+        return existingMetadata;
     }
 
     /**
-     * Register a metric using name and tags. Synchronized for atomic access of more than
-     * one internal map.
+     * Registers a metric, unless a metric with the same ID already exists.
+     * The metric, its metadata and the list of IDs of its name are updated atomically
+     * for the name of the metric, registrations of metrics with other names are not blocked.
      *
-     * @param metricName Name of metric.
-     * @param metric The metric instance.
-     * @param tags The metric tags.
-     * @param <T> Metric subtype.
-     * @return The metric instance.
+     * @param metricID ID of the metric
+     * @param metadataResolver gets the metadata registered for the name, or {@code null}, returns the metadata to use
+     *                         or throws if the metadata is not consistent
+     * @param metricFactory creates the metric from the resolved metadata
+     * @param unique whether to fail if the metric already exists
+     * @return the existing or newly-registered metric
+     * @throws IllegalArgumentException if the metric must be unique and already exists,
+     * or if the metadata is not consistent
      */
-    private synchronized <T extends HelidonMetric> T registerMetric(String metricName, T metric, Tag... tags) {
-        final MetricID metricID = new MetricID(metricName, tags);
-        allMetrics.put(metricID, metric);
-        List<MetricID> metricIDsWithSameName = allMetricIDsByName.get(metricName);
-        if (metricIDsWithSameName == null) {
-            metricIDsWithSameName = new ArrayList<>();
-            allMetricIDsByName.put(metricName, metricIDsWithSameName);
-        }
-        metricIDsWithSameName.add(metricID);
-        return metric;
+    private HelidonMetric registerMetric(MetricID metricID,
+            Function<Metadata, Metadata> metadataResolver,
+            Function<Metadata, HelidonMetric> metricFactory,
+            boolean unique) {
+        HelidonMetric[] result = new HelidonMetric[1];
+        allMetricIDsByName.compute(metricID.getName(), (metricName, metricIDs) -> {
+            HelidonMetric existing = allMetrics.get(metricID);
+            if (existing != null) {
+                if (unique) {
+                    throw new IllegalArgumentException("Attempt to reregister the existing metric " + metricID);
+                }
+                result[0] = existing;
+                return metricIDs;
+            }
+            Metadata metadata = metadataResolver.apply(allMetadata.get(metricName));
+            HelidonMetric metric = metricFactory.apply(metadata);
+            allMetadata.putIfAbsent(metricName, metadata);
+            allMetrics.put(metricID, metric);
+            List<MetricID> ids = (metricIDs == null) ? new CopyOnWriteArrayList<>() : metricIDs;
+            ids.add(metricID);
+            result[0] = metric;
+            return ids;
+        });
+        return result[0];
     }
 
 
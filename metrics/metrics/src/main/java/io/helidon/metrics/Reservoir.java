@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * Sampling reservoir of {@link HelidonHistogram} and {@link HelidonTimer} values.
+ *
+ * @see ReservoirFactory
+ */
+interface Reservoir {
+
+    /**
+     * Number of values in the reservoir.
+     *
+     * @return number of values
+     */
+    int size();
+
+    /**
+     * Add a value to the reservoir.
+     *
+     * @param value value
+     */
+    void update(long value);
+
+    /**
+     * Add a value with a fixed timestamp to the reservoir.
+     *
+     * @param value     value
+     * @param timestamp epoch timestamp of the value in seconds
+     */
+    void update(long value, long timestamp);
+
+    /**
+     * Snapshot of the values in the reservoir.
+     *
+     * @return snapshot
+     */
+    Snapshot getSnapshot();
+}
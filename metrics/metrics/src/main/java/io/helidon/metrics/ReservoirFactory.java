@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+
+/**
+ * Creates reservoirs of histograms and timers as configured.
+ * <p>
+ * Configuration under {@code metrics.reservoir}:
+ * <table border="1">
+ * <caption>Reservoir configuration</caption>
+ * <tr><th>key</th><th>default</th><th>description</th></tr>
+ * <tr><td>type</td><td>{@code exponentially-decaying}</td><td>{@code exponentially-decaying} reservoir biased
+ * towards the last five minutes, or lock free {@code sliding-window} reservoir of the most recent values</td></tr>
+ * <tr><td>size</td><td>{@code 1028}</td><td>number of sampled values</td></tr>
+ * <tr><td>window-seconds</td><td>{@code 300}</td><td>values older than this are ignored
+ * by the {@code sliding-window} reservoir</td></tr>
+ * </table>
+ */
+final class ReservoirFactory {
+
+    static final String CONFIG_KEY = "reservoir";
+    static final ReservoirFactory DEFAULT = new ReservoirFactory(Type.EXPONENTIALLY_DECAYING,
+                                                                 ExponentiallyDecayingReservoir.DEFAULT_SIZE,
+                                                                 SlidingWindowReservoir.DEFAULT_WINDOW_SECONDS);
+
+    private final Type type;
+    private final int size;
+    private final long windowSeconds;
+
+    private ReservoirFactory(Type type, int size, long windowSeconds) {
+        this.type = type;
+        this.size = size;
+        this.windowSeconds = windowSeconds;
+    }
+
+    /**
+     * Create a factory from the metrics configuration.
+     *
+     * @param metricsConfig {@code metrics} configuration node
+     * @return reservoir factory
+     */
+    static ReservoirFactory create(Config metricsConfig) {
+        Config config = metricsConfig.get(CONFIG_KEY);
+        if (!config.exists()) {
+            return DEFAULT;
+        }
+        Type type = config.get("type")
+                .asString()
+                .map(it -> Type.valueOf(it.toUpperCase(Locale.ROOT).replace('-', '_')))
+                .orElse(DEFAULT.type);
+        int size = config.get("size").asInt().orElse(DEFAULT.size);
+        long windowSeconds = config.get("window-seconds").asLong().orElse(DEFAULT.windowSeconds);
+        if (size <= 0) {
+            throw new IllegalArgumentException("Reservoir size must be positive, but is " + size);
+        }
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("Reservoir window must be positive, but is " + windowSeconds);
+        }
+        return new ReservoirFactory(type, size, windowSeconds);
+    }
+
+    /**
+     * Create a new reservoir.
+     *
+     * @param clock clock to use
+     * @return new reservoir
+     */
+    Reservoir create(Clock clock) {
+        switch (type) {
+        case SLIDING_WINDOW:
+            return new SlidingWindowReservoir(size, TimeUnit.SECONDS.toMillis(windowSeconds), clock);
+        case EXPONENTIALLY_DECAYING:
+        default:
+            return new ExponentiallyDecayingReservoir(size, ExponentiallyDecayingReservoir.DEFAULT_ALPHA, clock);
+        }
+    }
+
+    Type type() {
+        return type;
+    }
+
+    enum Type {
+        EXPONENTIALLY_DECAYING,
+        SLIDING_WINDOW
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.eclipse.microprofile.metrics.Snapshot;
+
+/**
+ * A lock free reservoir of the most recent values within a time window.
+ * <p>
+ * Values are written to ring buffers striped by thread, so concurrent updates from different threads
+ * rarely touch the same memory and an update neither locks nor allocates. Each stripe keeps its most recent values;
+ * a snapshot contains all the values of all stripes that are not older than the window, with equal weights.
+ * <p>
+ * The stripes together hold exactly {@code size} values. As a thread always writes to the same stripe (chosen by its id),
+ * the values are not evicted in a global order: a thread that updates more often than others only replaces its own
+ * values and, when it shares a stripe with other threads, theirs. A busy stripe therefore covers a shorter time span than
+ * an idle one, and the snapshot is biased towards values of the less busy threads once a stripe is full.
+ */
+final class SlidingWindowReservoir implements Reservoir {
+    static final long DEFAULT_WINDOW_SECONDS = 300;
+
+    private static final int MIN_STRIPE_SIZE = 16;
+    private static final int MAX_STRIPES = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long windowMillis;
+    private final Clock clock;
+
+    /**
+     * Creates a new {@link SlidingWindowReservoir}.
+     *
+     * @param size         number of values to keep, split among the stripes
+     * @param windowMillis values older than this are not part of the snapshot
+     * @param clock        clock to use
+     */
+    SlidingWindowReservoir(int size, long windowMillis, Clock clock) {
+        // power of two, so the stripe of a thread is a mask of its id; small reservoirs use fewer, larger stripes
+        int maxStripes = Math.min(Runtime.getRuntime().availableProcessors(), MAX_STRIPES);
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(maxStripes, size / MIN_STRIPE_SIZE)));
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // the remainder is spread over the first stripes, so the stripe sizes add up to size
+            stripes[i] = new Stripe(size / stripeCount + (i < size % stripeCount ? 1 : 0));
+        }
+        this.stripeMask = stripeCount - 1;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public int size() {
+        return values().size();
+    }
+
+    @Override
+    public void update(long value) {
+        updateMillis(value, clock.milliTime());
+    }
+
+    @Override
+    public void update(long value, long timestamp) {
+        updateMillis(value, timestamp * 1000);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return new WeightedSnapshot(values());
+    }
+
+    // number of values the stripes can hold together
+    int capacity() {
+        int capacity = 0;
+        for (Stripe stripe : stripes) {
+            capacity += stripe.size;
+        }
+        return capacity;
+    }
+
+    private void updateMillis(long value, long timestampMillis) {
+        // thread ids are sequential, threads of the same pool are spread over all the stripes
+        stripes[(int) Thread.currentThread().getId() & stripeMask].add(value, timestampMillis);
+    }
+
+    private List<WeightedSnapshot.WeightedSample> values() {
+        long oldest = clock.milliTime() - windowMillis;
+        List<WeightedSnapshot.WeightedSample> result = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collect(oldest, result);
+        }
+        return result;
+    }
+
+    private static final class Stripe {
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicLongArray values;
+        private final AtomicLongArray timestamps;
+        private final int size;
+
+        private Stripe(int size) {
+            this.values = new AtomicLongArray(size);
+            this.timestamps = new AtomicLongArray(size);
+            this.size = size;
+        }
+
+        private void add(long value, long timestampMillis) {
+            int slot = (int) (next.getAndIncrement() % size);
+            values.lazySet(slot, value);
+            timestamps.set(slot, timestampMillis);
+        }
+
+        private void collect(long oldest, List<WeightedSnapshot.WeightedSample> result) {
+            int written = (int) Math.min(next.get(), size);
+            for (int i = 0; i < written; i++) {
+                if (timestamps.get(i) >= oldest) {
+                    result.add(new WeightedSnapshot.WeightedSample(values.get(i), 1.0));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Scrape time and allocation of registries with 1k, 10k and 50k tagged metrics, formatted
+ * into a single string or streamed as chunks.
+ * Allocation is reported by the GC profiler as {@code gc.alloc.rate.norm} in bytes per scrape.
+ */
+@State(Scope.Benchmark)
+public class PrometheusExporterJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(PrometheusExporterJMH.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"1000", "10000", "50000"})
+    int metrics;
+
+    Registry registry;
+
+    @Setup
+    public void setup() {
+        registry = Registry.create(MetricRegistry.Type.APPLICATION);
+        for (int i = 0; i < metrics; i++) {
+            // typical per endpoint metrics, a counter and a histogram tagged by the endpoint
+            Tag tag = new Tag("endpoint", "/api/resource/" + i);
+            if (i % 2 == 0) {
+                registry.counter("requests", tag).inc(i);
+            } else {
+                registry.histogram("response.size", tag).update(i);
+            }
+        }
+    }
+
+    @Benchmark
+    public String text() {
+        return MetricsSupport.toPrometheusData(registry);
+    }
+
+    @Benchmark
+    public void chunks(Blackhole blackhole) {
+        PrometheusExporter.create(registry)
+                .forEach(chunk -> {
+                    blackhole.consume(chunk.data());
+                    chunk.release();
+                })
+                .await();
+    }
+}
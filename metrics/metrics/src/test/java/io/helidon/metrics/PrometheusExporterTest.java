@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import io.helidon.common.http.DataChunk;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test for {@link PrometheusExporter}.
+ */
+class PrometheusExporterTest {
+
+    private static Registry app;
+    private static Registry vendor;
+
+    @BeforeAll
+    static void initClass() {
+        app = Registry.create(MetricRegistry.Type.APPLICATION);
+        vendor = Registry.create(MetricRegistry.Type.VENDOR);
+        for (int i = 0; i < 500; i++) {
+            app.counter("requests", new Tag("endpoint", "/endpoint/" + i)).inc(i);
+            app.histogram("sizes", new Tag("endpoint", "/endpoint/" + i)).update(i);
+        }
+        vendor.counter("requests").inc();
+    }
+
+    @Test
+    void testChunksMatchText() {
+        List<DataChunk> chunks = PrometheusExporter.create(app, vendor).collectList().await();
+
+        assertThat(chunks.size(), greaterThan(1));
+        String expected = MetricsSupport.toPrometheusData(app) + MetricsSupport.toPrometheusData(vendor);
+        assertThat(text(chunks), is(expected));
+    }
+
+    @Test
+    void testHelpTypeOncePerName() {
+        String data = text(PrometheusExporter.create(app, vendor).collectList().await());
+
+        assertThat(count(data, "# TYPE application_requests_total counter\n"), is(1));
+        assertThat(count(data, "# TYPE vendor_requests_total counter\n"), is(1));
+        assertThat(data, containsString("application_requests_total{endpoint=\"/endpoint/42\"} 42\n"));
+    }
+
+    @Test
+    void testGzip() throws IOException {
+        List<DataChunk> chunks = PrometheusExporter.createGzip(app, vendor).collectList().await();
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        for (DataChunk chunk : chunks) {
+            compressed.write(chunk.bytes());
+            chunk.release();
+        }
+        byte[] data;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            data = in.readAllBytes();
+        }
+        String expected = MetricsSupport.toPrometheusData(app) + MetricsSupport.toPrometheusData(vendor);
+        assertThat(new String(data, StandardCharsets.UTF_8), is(expected));
+    }
+
+    @Test
+    void testEmptyRegistry() {
+        List<DataChunk> chunks = PrometheusExporter.create(Registry.create(MetricRegistry.Type.BASE))
+                .collectList()
+                .await();
+
+        assertThat(chunks.size(), is(0));
+    }
+
+    private static String text(List<DataChunk> chunks) {
+        StringBuilder result = new StringBuilder();
+        for (DataChunk chunk : chunks) {
+            result.append(new String(chunk.bytes(), StandardCharsets.UTF_8));
+            chunk.release();
+        }
+        return result.toString();
+    }
+
+    private static int count(String data, String line) {
+        int result = 0;
+        for (int index = data.indexOf(line); index >= 0; index = data.indexOf(line, index + 1)) {
+            result++;
+        }
+        return result;
+    }
+}
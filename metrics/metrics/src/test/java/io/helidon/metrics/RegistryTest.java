@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,7 +29,14 @@ import org.hamcrest.core.IsSame;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
@@ -200,6 +207,72 @@ public class RegistryTest {
         assertThat(result, is(false));
     }
 
+    @Test
+    void testConcurrentRegistration() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<List<Counter>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    List<Counter> counters = new ArrayList<>();
+                    for (int j = 0; j < 100; j++) {
+                        Counter counter = registry.counter("concurrent", new Tag("index", String.valueOf(j)));
+                        counter.inc();
+                        counters.add(counter);
+                    }
+                    return counters;
+                }));
+            }
+            start.countDown();
+            List<Counter> first = futures.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<List<Counter>> future : futures) {
+                List<Counter> counters = future.get(10, TimeUnit.SECONDS);
+                for (int j = 0; j < counters.size(); j++) {
+                    assertThat(counters.get(j), IsSame.sameInstance(first.get(j)));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(registry.metricIDsForName("concurrent").size(), is(100));
+        assertThat(registry.getCounters().get(new MetricID("concurrent", new Tag("index", "42"))).getCount(),
+                   is((long) threads));
+    }
+
+    @Test
+    void testCounterHandle() {
+        Metadata metadata = Metadata.builder()
+                .withName("handled")
+                .withType(MetricType.COUNTER)
+                .build();
+        Counter handle = registry.counterHandle(metadata, tag1);
+        handle.inc();
+        handle.inc(2);
+
+        Counter counter = registry.counter(metadata, tag1);
+        assertThat(counter.getCount(), is(3L));
+
+        registry.remove("handled");
+        handle.inc();
+        Counter registered = registry.counter(metadata, tag1);
+        assertThat(registered.getCount(), is(1L));
+        assertThat(handle.getCount(), is(1L));
+    }
+
+    @Test
+    void testCounterHandleInconsistentMetadata() {
+        registry.timer("handledTimer");
+        Metadata metadata = Metadata.builder()
+                .withName("handledTimer")
+                .withType(MetricType.COUNTER)
+                .build();
+        assertThrows(IllegalArgumentException.class, () -> registry.counterHandle(metadata));
+    }
+
     private static class MetricNameFilter implements MetricFilter {
 
         private final String name;
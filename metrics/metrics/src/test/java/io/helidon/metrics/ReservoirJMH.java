@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares histogram updates contended by 1, 8 and 32 threads with the exponentially decaying
+ * and the sliding window reservoir.
+ */
+@State(Scope.Benchmark)
+public class ReservoirJMH {
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(ReservoirJMH.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"exponentially-decaying", "sliding-window"})
+    String reservoir;
+
+    HelidonHistogram histogram;
+
+    @Setup
+    public void setup() {
+        ReservoirFactory factory = ReservoirFactory.create(Config.create(ConfigSources.create(
+                Map.of("reservoir.type", reservoir))));
+        histogram = HelidonHistogram.create(MetricRegistry.Type.APPLICATION.getName(),
+                                            Metadata.builder()
+                                                    .withName("jmh")
+                                                    .withType(MetricType.HISTOGRAM)
+                                                    .build(),
+                                            Clock.system(),
+                                            factory);
+    }
+
+    @Benchmark
+    public void update() {
+        histogram.update(ThreadLocalRandom.current().nextLong(1000));
+    }
+}
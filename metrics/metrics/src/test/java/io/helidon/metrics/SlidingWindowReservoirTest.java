@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link SlidingWindowReservoir}.
+ */
+class SlidingWindowReservoirTest {
+
+    @Test
+    void testSnapshot() {
+        TestClock clock = TestClock.create();
+        SlidingWindowReservoir reservoir = new SlidingWindowReservoir(1028, TimeUnit.MINUTES.toMillis(5), clock);
+        for (int i = 1; i <= 100; i++) {
+            reservoir.update(i);
+        }
+
+        Snapshot snapshot = reservoir.getSnapshot();
+        assertThat(reservoir.size(), is(100));
+        assertThat(snapshot.getMin(), is(1L));
+        assertThat(snapshot.getMax(), is(100L));
+        assertThat(snapshot.getMean(), is(50.5));
+    }
+
+    @Test
+    void testWindow() {
+        TestClock clock = TestClock.create();
+        SlidingWindowReservoir reservoir = new SlidingWindowReservoir(1028, TimeUnit.MINUTES.toMillis(5), clock);
+        reservoir.update(1000);
+        clock.add(4, TimeUnit.MINUTES);
+        reservoir.update(10);
+        assertThat(reservoir.getSnapshot().getMax(), is(1000L));
+
+        clock.add(2, TimeUnit.MINUTES);
+        assertThat(reservoir.size(), is(1));
+        assertThat(reservoir.getSnapshot().getMax(), is(10L));
+
+        clock.add(5, TimeUnit.MINUTES);
+        assertThat(reservoir.size(), is(0));
+    }
+
+    @Test
+    void testTimestampInSeconds() {
+        TestClock clock = TestClock.create();
+        SlidingWindowReservoir reservoir = new SlidingWindowReservoir(1028, TimeUnit.MINUTES.toMillis(5), clock);
+        long now = TimeUnit.MILLISECONDS.toSeconds(clock.milliTime());
+        reservoir.update(1, now);
+        reservoir.update(2, now - TimeUnit.MINUTES.toSeconds(10));
+
+        assertThat(reservoir.size(), is(1));
+    }
+
+    @Test
+    void testConcurrentUpdates() throws InterruptedException {
+        SlidingWindowReservoir reservoir = new SlidingWindowReservoir(1_000_000, TimeUnit.MINUTES.toMillis(5), Clock.system());
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    reservoir.update(j);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(reservoir.size(), is(8000));
+        assertThat(reservoir.getSnapshot().getMax(), is(999L));
+    }
+
+    @Test
+    void testOldestValuesReplaced() {
+        TestClock clock = TestClock.create();
+        SlidingWindowReservoir reservoir = new SlidingWindowReservoir(16, TimeUnit.MINUTES.toMillis(5), clock);
+        for (int i = 0; i < 10_000; i++) {
+            reservoir.update(i);
+        }
+
+        // a single thread writes to a single stripe
+        assertThat(reservoir.size(), is(16));
+        assertThat(reservoir.getSnapshot().getMin(), is(9984L));
+    }
+
+    @Test
+    void testCapacity() {
+        for (int size : new int[] {1, 15, 16, 100, 1028, 1_000_003}) {
+            SlidingWindowReservoir reservoir = new SlidingWindowReservoir(size, TimeUnit.MINUTES.toMillis(5), Clock.system());
+            assertThat(reservoir.capacity(), is(size));
+        }
+    }
+
+    @Test
+    void testConfiguredReservoir() {
+        Config config = Config.create(ConfigSources.create(Map.of("reservoir.type", "sliding-window",
+                                                                  "reservoir.size", "256")));
+        ReservoirFactory factory = ReservoirFactory.create(config);
+
+        assertThat(factory.type(), is(ReservoirFactory.Type.SLIDING_WINDOW));
+        assertThat(factory.create(Clock.system()), instanceOf(SlidingWindowReservoir.class));
+        assertThat(ReservoirFactory.create(Config.empty()).create(Clock.system()),
+                   instanceOf(ExponentiallyDecayingReservoir.class));
+        assertThrows(IllegalArgumentException.class,
+                     () -> ReservoirFactory.create(Config.create(ConfigSources.create(Map.of("reservoir.type", "unknown")))));
+    }
+
+    @Test
+    void testRegistryUsesConfiguredReservoir() {
+        RegistryFactory registryFactory = RegistryFactory.create(Config.create(ConfigSources.create(
+                Map.of("reservoir.type", "sliding-window", "reservoir.window-seconds", "1"))));
+        Registry registry = registryFactory.getARegistry(MetricRegistry.Type.APPLICATION);
+        registry.histogram("sliding").update(42);
+
+        assertThat(registry.histogram("sliding").getSnapshot().getMax(), is(42L));
+    }
+}
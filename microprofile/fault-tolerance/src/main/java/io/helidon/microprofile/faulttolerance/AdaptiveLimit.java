@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.microprofile.faulttolerance;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+import javax.interceptor.InterceptorBinding;
+
+import io.helidon.faulttolerance.AdaptiveLimiter;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Limits the number of concurrent invocations of a method by a limit adjusted from
+ * the observed latency of the invocations. Invocations over the limit wait in a queue
+ * of {@link #waitingTaskQueue()} length for at most {@link #queueTimeout()}, and fail with
+ * {@link org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException} if the queue is full
+ * or the time passes. All invocations of a method share a limiter, same as with
+ * {@link org.eclipse.microprofile.faulttolerance.Bulkhead}.
+ * <p>
+ * Parameters can be overridden using config, same as for the MicroProfile fault tolerance
+ * annotations, e.g. {@code com.acme.Service/call/AdaptiveLimit/maxLimit=50}.
+ *
+ * @see io.helidon.faulttolerance.AdaptiveLimiter
+ */
+@Inherited
+@Documented
+@InterceptorBinding
+@Retention(RUNTIME)
+@Target({METHOD, TYPE})
+public @interface AdaptiveLimit {
+
+    /**
+     * Algorithm to compute the limit with.
+     *
+     * @return limit algorithm
+     */
+    AdaptiveLimiter.Algorithm algorithm() default AdaptiveLimiter.Algorithm.GRADIENT;
+
+    /**
+     * Limit of concurrent invocations before any latency is observed.
+     *
+     * @return initial limit
+     */
+    int initialLimit() default 20;
+
+    /**
+     * The limit is never decreased below this value.
+     *
+     * @return minimal limit
+     */
+    int minLimit() default 1;
+
+    /**
+     * The limit is never increased above this value.
+     *
+     * @return maximal limit
+     */
+    int maxLimit() default 200;
+
+    /**
+     * Maximal number of invocations waiting for processing.
+     *
+     * @return length of the queue
+     */
+    int waitingTaskQueue() default 0;
+
+    /**
+     * Maximal time an invocation waits in the queue.
+     *
+     * @return time to wait in the queue
+     */
+    long queueTimeout() default 1000;
+
+    /**
+     * Unit of {@link #queueTimeout()}.
+     *
+     * @return queue timeout unit
+     */
+    ChronoUnit queueTimeoutUnit() default ChronoUnit.MILLIS;
+
+    /**
+     * Latency above which the {@link AdaptiveLimiter.Algorithm#AIMD} algorithm decreases the limit.
+     *
+     * @return latency threshold
+     */
+    long latencyThreshold() default 1000;
+
+    /**
+     * Unit of {@link #latencyThreshold()}.
+     *
+     * @return latency threshold unit
+     */
+    ChronoUnit latencyThresholdUnit() default ChronoUnit.MILLIS;
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.microprofile.faulttolerance;
+
+import java.lang.reflect.Method;
+import java.time.temporal.ChronoUnit;
+
+import io.helidon.faulttolerance.AdaptiveLimiter;
+
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceDefinitionException;
+
+/**
+ * Class AdaptiveLimitAntn.
+ */
+class AdaptiveLimitAntn extends MethodAntn implements AdaptiveLimit {
+
+    /**
+     * Constructor.
+     *
+     * @param beanClass Bean class.
+     * @param method The method.
+     */
+    AdaptiveLimitAntn(Class<?> beanClass, Method method) {
+        super(beanClass, method);
+    }
+
+    @Override
+    public void validate() {
+        if (minLimit() <= 0) {
+            throw new FaultToleranceDefinitionException("Invalid @AdaptiveLimit annotation, "
+                                                        + "minLimit must be > 0");
+        }
+        if (initialLimit() < minLimit() || initialLimit() > maxLimit()) {
+            throw new FaultToleranceDefinitionException("Invalid @AdaptiveLimit annotation, "
+                                                        + "initialLimit must be between minLimit and maxLimit");
+        }
+        if (waitingTaskQueue() < 0) {
+            throw new FaultToleranceDefinitionException("Invalid @AdaptiveLimit annotation, "
+                                                        + "waitingTaskQueue must be >= 0");
+        }
+        if (queueTimeout() < 0) {
+            throw new FaultToleranceDefinitionException("Invalid @AdaptiveLimit annotation, "
+                                                        + "queueTimeout must be >= 0");
+        }
+        if (latencyThreshold() < 0) {
+            throw new FaultToleranceDefinitionException("Invalid @AdaptiveLimit annotation, "
+                                                        + "latencyThreshold must be >= 0");
+        }
+    }
+
+    @Override
+    public AdaptiveLimiter.Algorithm algorithm() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("algorithm", lookupResult.getType());
+        return override != null ? AdaptiveLimiter.Algorithm.valueOf(override) : lookupResult.getAnnotation().algorithm();
+    }
+
+    @Override
+    public int initialLimit() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("initialLimit", lookupResult.getType());
+        return override != null ? Integer.parseInt(override) : lookupResult.getAnnotation().initialLimit();
+    }
+
+    @Override
+    public int minLimit() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("minLimit", lookupResult.getType());
+        return override != null ? Integer.parseInt(override) : lookupResult.getAnnotation().minLimit();
+    }
+
+    @Override
+    public int maxLimit() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("maxLimit", lookupResult.getType());
+        return override != null ? Integer.parseInt(override) : lookupResult.getAnnotation().maxLimit();
+    }
+
+    @Override
+    public int waitingTaskQueue() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("waitingTaskQueue", lookupResult.getType());
+        return override != null ? Integer.parseInt(override) : lookupResult.getAnnotation().waitingTaskQueue();
+    }
+
+    @Override
+    public long queueTimeout() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("queueTimeout", lookupResult.getType());
+        return override != null ? Long.parseLong(override) : lookupResult.getAnnotation().queueTimeout();
+    }
+
+    @Override
+    public ChronoUnit queueTimeoutUnit() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("queueTimeoutUnit", lookupResult.getType());
+        return override != null ? ChronoUnit.valueOf(override) : lookupResult.getAnnotation().queueTimeoutUnit();
+    }
+
+    @Override
+    public long latencyThreshold() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("latencyThreshold", lookupResult.getType());
+        return override != null ? Long.parseLong(override) : lookupResult.getAnnotation().latencyThreshold();
+    }
+
+    @Override
+    public ChronoUnit latencyThresholdUnit() {
+        LookupResult<AdaptiveLimit> lookupResult = lookupAnnotation(AdaptiveLimit.class);
+        final String override = getParamOverride("latencyThresholdUnit", lookupResult.getType());
+        return override != null ? ChronoUnit.valueOf(override) : lookupResult.getAnnotation().latencyThresholdUnit();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -164,6 +164,9 @@ public class FaultToleranceExtension implements Extension {
         discovery.addInterceptorBinding(
                 new AnnotatedTypeWrapper<>(bm.createAnnotatedType(Fallback.class),
                         LiteralCommandBinding.getInstance()));
+        discovery.addInterceptorBinding(
+                new AnnotatedTypeWrapper<>(bm.createAnnotatedType(AdaptiveLimit.class),
+                        LiteralCommandBinding.getInstance()));
 
         discovery.addAnnotatedType(bm.createAnnotatedType(CommandInterceptor.class),
                 CommandInterceptor.class.getName());
@@ -266,6 +269,9 @@ public class FaultToleranceExtension implements Extension {
                 if (MethodAntn.isAnnotationPresent(beanClass, method, Asynchronous.class)) {
                     new AsynchronousAntn(beanClass, method).validate();
                 }
+                if (MethodAntn.isAnnotationPresent(beanClass, method, AdaptiveLimit.class)) {
+                    new AdaptiveLimitAntn(beanClass, method).validate();
+                }
             });
         }
 
@@ -325,7 +331,8 @@ public class FaultToleranceExtension implements Extension {
                 || MethodAntn.isAnnotationPresent(beanClass, method, Bulkhead.class)
                 || MethodAntn.isAnnotationPresent(beanClass, method, Timeout.class)
                 || MethodAntn.isAnnotationPresent(beanClass, method, Asynchronous.class)
-                || MethodAntn.isAnnotationPresent(beanClass, method, Fallback.class);
+                || MethodAntn.isAnnotationPresent(beanClass, method, Fallback.class)
+                || MethodAntn.isAnnotationPresent(beanClass, method, AdaptiveLimit.class);
     }
 
     /**
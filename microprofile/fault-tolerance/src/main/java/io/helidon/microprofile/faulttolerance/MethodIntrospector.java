@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -50,6 +50,8 @@ class MethodIntrospector {
 
     private final Bulkhead bulkhead;
 
+    private final AdaptiveLimit adaptiveLimit;
+
     /**
      * Constructor.
      *
@@ -65,6 +67,8 @@ class MethodIntrospector {
         this.timeout = isAnnotationEnabled(Timeout.class) ? new TimeoutAntn(beanClass, method) : null;
         this.bulkhead = isAnnotationEnabled(Bulkhead.class) ? new BulkheadAntn(beanClass, method) : null;
         this.fallback = isAnnotationEnabled(Fallback.class) ? new FallbackAntn(beanClass, method) : null;
+        this.adaptiveLimit = isAnnotationEnabled(AdaptiveLimit.class)
+                ? new AdaptiveLimitAntn(beanClass, method) : null;
     }
 
     Method method() {
@@ -150,6 +154,19 @@ class MethodIntrospector {
         return bulkhead;
     }
 
+    /**
+     * Checks if {@code @AdaptiveLimit} is present.
+     *
+     * @return Outcome of test.
+     */
+    boolean hasAdaptiveLimit() {
+        return adaptiveLimit != null;
+    }
+
+    AdaptiveLimit getAdaptiveLimit() {
+        return adaptiveLimit;
+    }
+
     /**
      * Determines if annotation type is present and enabled.
      *
@@ -26,6 +26,8 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import javax.interceptor.InvocationContext;
@@ -33,6 +35,7 @@ import javax.interceptor.InvocationContext;
 import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
 import io.helidon.common.reactive.Single;
+import io.helidon.faulttolerance.AdaptiveLimiter;
 import io.helidon.faulttolerance.Async;
 import io.helidon.faulttolerance.Bulkhead;
 import io.helidon.faulttolerance.CircuitBreaker;
@@ -47,6 +50,7 @@ import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
 import org.eclipse.microprofile.faulttolerance.exceptions.CircuitBreakerOpenException;
 import org.eclipse.microprofile.faulttolerance.exceptions.TimeoutException;
 import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Histogram;
 
 import static io.helidon.microprofile.faulttolerance.FaultToleranceExtension.isFaultToleranceMetricsEnabled;
 import static io.helidon.microprofile.faulttolerance.FaultToleranceMetrics.BREAKER_CALLS_FAILED_TOTAL;
@@ -146,13 +150,48 @@ class MethodInvoker implements FtSupplier<Object> {
     private static class MethodState {
         private Retry retry;
         private Bulkhead bulkhead;
+        private AdaptiveLimiter limiter;
         private CircuitBreaker breaker;
         private Timeout timeout;
-        private State lastBreakerState;
-        private long breakerTimerOpen;
-        private long breakerTimerClosed;
-        private long breakerTimerHalfOpen;
-        private long startNanos;
+
+        // metrics resolved once, updated concurrently by all invocations without locking
+        private Counter invocationsTotal;
+        private Counter invocationsFailedTotal;
+        private Counter retryCallsSucceededNotRetriedTotal;
+        private Counter retryCallsSucceededRetriedTotal;
+        private Counter retryCallsFailedTotal;
+        private Counter retryRetriesTotal;
+        private final AtomicLong retriesRecorded = new AtomicLong();
+        private Histogram timeoutExecutionDuration;
+        private Counter timeoutCallsTimedOutTotal;
+        private Counter timeoutCallsNotTimedOutTotal;
+        private Counter breakerCallsSucceededTotal;
+        private Counter breakerCallsFailedTotal;
+        private Counter breakerCallsPreventedTotal;
+        private Counter breakerOpenedTotal;
+        private final AtomicReference<BreakerState> breakerState = new AtomicReference<>();
+        private final AtomicLong breakerTimerOpen = new AtomicLong();
+        private final AtomicLong breakerTimerClosed = new AtomicLong();
+        private final AtomicLong breakerTimerHalfOpen = new AtomicLong();
+        private Counter bulkheadCallsAcceptedTotal;
+        private Counter bulkheadCallsRejectedTotal;
+        private final AtomicLong bulkheadAcceptedRecorded = new AtomicLong();
+        private final AtomicLong bulkheadRejectedRecorded = new AtomicLong();
+        private Histogram bulkheadExecutionDuration;
+        private Histogram bulkheadWaitingDuration;
+    }
+
+    /**
+     * Last observed state of a circuit breaker and the time it was observed at.
+     */
+    private static final class BreakerState {
+        private final State state;
+        private final long sinceNanos;
+
+        private BreakerState(State state, long sinceNanos) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+        }
     }
 
     /**
@@ -283,14 +322,10 @@ class MethodInvoker implements FtSupplier<Object> {
         MethodStateKey methodStateKey = new MethodStateKey(ccl, context.getTarget().getClass(), method);
         this.methodState = METHOD_STATES.computeIfAbsent(methodStateKey, key -> {
             MethodState methodState = new MethodState();
-            methodState.lastBreakerState = State.CLOSED;
-            if (introspector.hasCircuitBreaker()) {
-                methodState.breakerTimerOpen = 0L;
-                methodState.breakerTimerClosed = 0L;
-                methodState.breakerTimerHalfOpen = 0L;
-                methodState.startNanos = System.nanoTime();
-            }
             initMethodHandler(methodState);
+            if (isFaultToleranceMetricsEnabled()) {
+                initMethodMetrics(methodState);
+            }
             return methodState;
         });
 
@@ -300,37 +335,6 @@ class MethodInvoker implements FtSupplier<Object> {
         // Gather information about current request scope if active
         requestScopeHelper = new RequestScopeHelper();
         requestScopeHelper.saveScope();
-
-        // Gauges and other metrics for bulkhead and circuit breakers
-        if (isFaultToleranceMetricsEnabled()) {
-            if (introspector.hasCircuitBreaker()) {
-                registerGauge(method, BREAKER_OPEN_TOTAL,
-                        "Amount of time the circuit breaker has spent in open state",
-                        () -> methodState.breakerTimerOpen);
-                registerGauge(method, BREAKER_HALF_OPEN_TOTAL,
-                        "Amount of time the circuit breaker has spent in half-open state",
-                        () -> methodState.breakerTimerHalfOpen);
-                registerGauge(method, BREAKER_CLOSED_TOTAL,
-                        "Amount of time the circuit breaker has spent in closed state",
-                        () -> methodState.breakerTimerClosed);
-            }
-            if (introspector.hasBulkhead()) {
-                registerGauge(method, BULKHEAD_CONCURRENT_EXECUTIONS,
-                        "Number of currently running executions",
-                        () -> methodState.bulkhead.stats().concurrentExecutions());
-                if (introspector.isAsynchronous()) {
-                    registerGauge(method, BULKHEAD_WAITING_QUEUE_POPULATION,
-                            "Number of executions currently waiting in the queue",
-                            () -> methodState.bulkhead.stats().waitingQueueSize());
-                    registerHistogram(
-                            String.format(METRIC_NAME_TEMPLATE,
-                                    method.getDeclaringClass().getName(),
-                                    method.getName(),
-                                    BULKHEAD_WAITING_DURATION),
-                            "Histogram of the time executions spend waiting in the queue.");
-                }
-            }
-        }
     }
 
     @Override
@@ -448,6 +452,19 @@ class MethodInvoker implements FtSupplier<Object> {
      * @param methodState State related to this invocation's method.
      */
     private void initMethodHandler(MethodState methodState) {
+        if (introspector.hasAdaptiveLimit()) {
+            AdaptiveLimit adaptiveLimit = introspector.getAdaptiveLimit();
+            methodState.limiter = AdaptiveLimiter.builder()
+                    .algorithm(adaptiveLimit.algorithm())
+                    .initialLimit(adaptiveLimit.initialLimit())
+                    .minLimit(adaptiveLimit.minLimit())
+                    .maxLimit(adaptiveLimit.maxLimit())
+                    .queueLength(adaptiveLimit.waitingTaskQueue())
+                    .queueTimeout(Duration.of(adaptiveLimit.queueTimeout(), adaptiveLimit.queueTimeoutUnit()))
+                    .latencyThreshold(Duration.of(adaptiveLimit.latencyThreshold(), adaptiveLimit.latencyThresholdUnit()))
+                    .build();
+        }
+
         if (introspector.hasBulkhead()) {
             methodState.bulkhead = Bulkhead.builder()
                     .limit(introspector.getBulkhead().value())
@@ -491,6 +508,67 @@ class MethodInvoker implements FtSupplier<Object> {
         }
     }
 
+    /**
+     * Registers gauges and resolves all metrics of the method, so invocations update them
+     * without any lookup. Called once per method state.
+     *
+     * @param methodState State related to this invocation's method.
+     */
+    private void initMethodMetrics(MethodState methodState) {
+        methodState.invocationsTotal = getCounter(method, INVOCATIONS_TOTAL);
+        methodState.invocationsFailedTotal = getCounter(method, INVOCATIONS_FAILED_TOTAL);
+
+        if (introspector.hasRetry()) {
+            methodState.retryCallsSucceededNotRetriedTotal = getCounter(method, RETRY_CALLS_SUCCEEDED_NOT_RETRIED_TOTAL);
+            methodState.retryCallsSucceededRetriedTotal = getCounter(method, RETRY_CALLS_SUCCEEDED_RETRIED_TOTAL);
+            methodState.retryCallsFailedTotal = getCounter(method, RETRY_CALLS_FAILED_TOTAL);
+            methodState.retryRetriesTotal = getCounter(method, RETRY_RETRIES_TOTAL);
+        }
+
+        if (introspector.hasTimeout()) {
+            methodState.timeoutExecutionDuration = getHistogram(method, TIMEOUT_EXECUTION_DURATION);
+            methodState.timeoutCallsTimedOutTotal = getCounter(method, TIMEOUT_CALLS_TIMED_OUT_TOTAL);
+            methodState.timeoutCallsNotTimedOutTotal = getCounter(method, TIMEOUT_CALLS_NOT_TIMED_OUT_TOTAL);
+        }
+
+        if (introspector.hasCircuitBreaker()) {
+            methodState.breakerCallsSucceededTotal = getCounter(method, BREAKER_CALLS_SUCCEEDED_TOTAL);
+            methodState.breakerCallsFailedTotal = getCounter(method, BREAKER_CALLS_FAILED_TOTAL);
+            methodState.breakerCallsPreventedTotal = getCounter(method, BREAKER_CALLS_PREVENTED_TOTAL);
+            methodState.breakerOpenedTotal = getCounter(method, BREAKER_OPENED_TOTAL);
+            methodState.breakerState.set(new BreakerState(State.CLOSED, System.nanoTime()));
+            registerGauge(method, BREAKER_OPEN_TOTAL,
+                    "Amount of time the circuit breaker has spent in open state",
+                    methodState.breakerTimerOpen::get);
+            registerGauge(method, BREAKER_HALF_OPEN_TOTAL,
+                    "Amount of time the circuit breaker has spent in half-open state",
+                    methodState.breakerTimerHalfOpen::get);
+            registerGauge(method, BREAKER_CLOSED_TOTAL,
+                    "Amount of time the circuit breaker has spent in closed state",
+                    methodState.breakerTimerClosed::get);
+        }
+
+        if (introspector.hasBulkhead()) {
+            methodState.bulkheadCallsAcceptedTotal = getCounter(method, BULKHEAD_CALLS_ACCEPTED_TOTAL);
+            methodState.bulkheadCallsRejectedTotal = getCounter(method, BULKHEAD_CALLS_REJECTED_TOTAL);
+            methodState.bulkheadExecutionDuration = getHistogram(method, BULKHEAD_EXECUTION_DURATION);
+            registerGauge(method, BULKHEAD_CONCURRENT_EXECUTIONS,
+                    "Number of currently running executions",
+                    () -> methodState.bulkhead.stats().concurrentExecutions());
+            if (introspector.isAsynchronous()) {
+                registerGauge(method, BULKHEAD_WAITING_QUEUE_POPULATION,
+                        "Number of executions currently waiting in the queue",
+                        () -> methodState.bulkhead.stats().waitingQueueSize());
+                methodState.bulkheadWaitingDuration = registerHistogram(
+                        String.format(METRIC_NAME_TEMPLATE,
+                                method.getDeclaringClass().getName(),
+                                method.getName(),
+                                BULKHEAD_WAITING_DURATION),
+                        "Histogram of the time executions spend waiting in the queue.");
+            }
+        }
+    }
+
     /**
      * Creates a FT handler for this invocation. Handlers are composed as follows:
      *
@@ -504,6 +582,10 @@ class MethodInvoker implements FtSupplier<Object> {
     private FtHandlerTyped<Object> createMethodHandler(MethodState methodState) {
         FaultTolerance.TypedBuilder<Object> builder = FaultTolerance.typedBuilder();
 
+        if (methodState.limiter != null) {
+            builder.addLimiter(methodState.limiter);
+        }
+
         if (methodState.bulkhead != null) {
             builder.addBulkhead(methodState.bulkhead);
         }
@@ -621,16 +703,15 @@ class MethodInvoker implements FtSupplier<Object> {
     private void updateMetricsBefore() {
         handlerStartNanos = System.nanoTime();
 
-        if (introspector.hasCircuitBreaker()) {
-            synchronized (method) {
-                // Breaker state may have changed since we recorded it last
-                methodState.lastBreakerState = methodState.breaker.state();
-            }
+        if (introspector.hasCircuitBreaker() && isFaultToleranceMetricsEnabled()) {
+            // Breaker state may have changed since we recorded it last
+            updateBreakerState();
         }
     }
 
     /**
-     * Update metrics after method is called and depending on outcome.
+     * Update metrics after method is called and depending on outcome. Metrics are resolved
+     * in the method state and updated atomically, so concurrent invocations do not block each other.
      *
      * @param cause Exception cause or {@code null} if execution successful.
      */
@@ -639,120 +720,138 @@ class MethodInvoker implements FtSupplier<Object> {
             return;
         }
 
-        synchronized (method) {
-            // Calculate execution time
-            long executionTime = System.nanoTime() - handlerStartNanos;
-
-            // Metrics for retries
-            if (introspector.hasRetry()) {
-                // Have retried the last call?
-                long newValue = methodState.retry.retryCounter();
-                if (updateCounter(method, RETRY_RETRIES_TOTAL, newValue)) {
-                    if (cause == null) {
-                        getCounter(method, RETRY_CALLS_SUCCEEDED_RETRIED_TOTAL).inc();
-                    }
-                } else {
-                    getCounter(method, RETRY_CALLS_SUCCEEDED_NOT_RETRIED_TOTAL).inc();
-                }
+        // Calculate execution time
+        long executionTime = System.nanoTime() - handlerStartNanos;
 
-                // Update failed calls
-                if (cause != null) {
-                    getCounter(method, RETRY_CALLS_FAILED_TOTAL).inc();
+        // Metrics for retries
+        if (introspector.hasRetry()) {
+            // Have retried the last call?
+            long newValue = methodState.retry.retryCounter();
+            if (updateCounter(methodState.retryRetriesTotal, methodState.retriesRecorded, newValue)) {
+                if (cause == null) {
+                    methodState.retryCallsSucceededRetriedTotal.inc();
                 }
+            } else {
+                methodState.retryCallsSucceededNotRetriedTotal.inc();
             }
 
-            // Timeout
-            if (introspector.hasTimeout()) {
-                getHistogram(method, TIMEOUT_EXECUTION_DURATION).update(executionTime);
-                getCounter(method, cause instanceof TimeoutException
-                        ? TIMEOUT_CALLS_TIMED_OUT_TOTAL
-                        : TIMEOUT_CALLS_NOT_TIMED_OUT_TOTAL).inc();
+            // Update failed calls
+            if (cause != null) {
+                methodState.retryCallsFailedTotal.inc();
             }
+        }
 
-            // Circuit breaker
-            if (introspector.hasCircuitBreaker()) {
-                Objects.requireNonNull(methodState.breaker);
+        // Timeout
+        if (introspector.hasTimeout()) {
+            methodState.timeoutExecutionDuration.update(executionTime);
+            if (cause instanceof TimeoutException) {
+                methodState.timeoutCallsTimedOutTotal.inc();
+            } else {
+                methodState.timeoutCallsNotTimedOutTotal.inc();
+            }
+        }
 
-                // Update counters based on state changes
-                if (methodState.lastBreakerState == State.OPEN) {
-                    getCounter(method, BREAKER_CALLS_PREVENTED_TOTAL).inc();
-                } else if (methodState.breaker.state() == State.OPEN) {     // closed -> open
-                    getCounter(method, BREAKER_OPENED_TOTAL).inc();
-                }
+        // Circuit breaker
+        if (introspector.hasCircuitBreaker()) {
+            Objects.requireNonNull(methodState.breaker);
 
-                // Update succeeded and failed
-                if (cause == null) {
-                    getCounter(method, BREAKER_CALLS_SUCCEEDED_TOTAL).inc();
-                } else if (!(cause instanceof CircuitBreakerOpenException)) {
-                    boolean failure = false;
-                    Class<? extends Throwable>[] failOn = introspector.getCircuitBreaker().failOn();
-                    for (Class<? extends Throwable> c : failOn) {
-                        if (c.isAssignableFrom(cause.getClass())) {
-                            failure = true;
-                            break;
-                        }
+            // Update succeeded, failed and prevented
+            if (cause == null) {
+                methodState.breakerCallsSucceededTotal.inc();
+            } else if (cause instanceof CircuitBreakerOpenException) {
+                methodState.breakerCallsPreventedTotal.inc();
+            } else {
+                boolean failure = false;
+                Class<? extends Throwable>[] failOn = introspector.getCircuitBreaker().failOn();
+                for (Class<? extends Throwable> c : failOn) {
+                    if (c.isAssignableFrom(cause.getClass())) {
+                        failure = true;
+                        break;
                     }
-
-                    getCounter(method, failure ? BREAKER_CALLS_FAILED_TOTAL
-                            : BREAKER_CALLS_SUCCEEDED_TOTAL).inc();
                 }
 
-                // Update times for gauges
-                switch (methodState.lastBreakerState) {
-                    case OPEN:
-                        methodState.breakerTimerOpen += System.nanoTime() - methodState.startNanos;
-                        break;
-                    case CLOSED:
-                        methodState.breakerTimerClosed += System.nanoTime() - methodState.startNanos;
-                        break;
-                    case HALF_OPEN:
-                        methodState.breakerTimerHalfOpen += System.nanoTime() - methodState.startNanos;
-                        break;
-                    default:
-                        throw new IllegalStateException("Unknown breaker state " + methodState.lastBreakerState);
+                if (failure) {
+                    methodState.breakerCallsFailedTotal.inc();
+                } else {
+                    methodState.breakerCallsSucceededTotal.inc();
                 }
-
-                // Update internal state
-                methodState.lastBreakerState = methodState.breaker.state();
-                methodState.startNanos = System.nanoTime();
             }
 
-            // Bulkhead
-            if (introspector.hasBulkhead()) {
-                Objects.requireNonNull(methodState.bulkhead);
-                Bulkhead.Stats stats = methodState.bulkhead.stats();
-                updateCounter(method, BULKHEAD_CALLS_ACCEPTED_TOTAL, stats.callsAccepted());
-                updateCounter(method, BULKHEAD_CALLS_REJECTED_TOTAL, stats.callsRejected());
-
-                // Update histograms if task accepted
-                if (!(cause instanceof BulkheadException)) {
-                    long waitingTime = invocationStartNanos - handlerStartNanos;
-                    getHistogram(method, BULKHEAD_EXECUTION_DURATION).update(executionTime - waitingTime);
-                    if (introspector.isAsynchronous()) {
-                        getHistogram(method, BULKHEAD_WAITING_DURATION).update(waitingTime);
-                    }
+            // Update times for gauges and the closed -> open counter
+            updateBreakerState();
+        }
+
+        // Bulkhead
+        if (introspector.hasBulkhead()) {
+            Objects.requireNonNull(methodState.bulkhead);
+            Bulkhead.Stats stats = methodState.bulkhead.stats();
+            updateCounter(methodState.bulkheadCallsAcceptedTotal, methodState.bulkheadAcceptedRecorded,
+                          stats.callsAccepted());
+            updateCounter(methodState.bulkheadCallsRejectedTotal, methodState.bulkheadRejectedRecorded,
+                          stats.callsRejected());
+
+            // Update histograms if task accepted
+            if (!(cause instanceof BulkheadException)) {
+                long waitingTime = invocationStartNanos - handlerStartNanos;
+                methodState.bulkheadExecutionDuration.update(executionTime - waitingTime);
+                if (introspector.isAsynchronous()) {
+                    methodState.bulkheadWaitingDuration.update(waitingTime);
                 }
             }
+        }
 
-            // Global method counters
-            getCounter(method, INVOCATIONS_TOTAL).inc();
-            if (cause != null) {
-                getCounter(method, INVOCATIONS_FAILED_TOTAL).inc();
-            }
+        // Global method counters
+        methodState.invocationsTotal.inc();
+        if (cause != null) {
+            methodState.invocationsFailedTotal.inc();
+        }
+    }
+
+    /**
+     * Records the current state of the breaker. The time since the last recorded state is added
+     * to the timer of that state, and a transition to open state increments the opened counter.
+     * Each transition is recorded by exactly one invocation, the one that swaps the recorded state.
+     */
+    private void updateBreakerState() {
+        State current = methodState.breaker.state();
+        long now = System.nanoTime();
+        BreakerState next = new BreakerState(current, now);
+        BreakerState previous;
+        do {
+            previous = methodState.breakerState.get();
+        } while (!methodState.breakerState.compareAndSet(previous, next));
+
+        long elapsed = now - previous.sinceNanos;
+        switch (previous.state) {
+            case OPEN:
+                methodState.breakerTimerOpen.addAndGet(elapsed);
+                break;
+            case CLOSED:
+                methodState.breakerTimerClosed.addAndGet(elapsed);
+                break;
+            case HALF_OPEN:
+                methodState.breakerTimerHalfOpen.addAndGet(elapsed);
+                break;
+            default:
+                throw new IllegalStateException("Unknown breaker state " + previous.state);
+        }
+        if (previous.state != State.OPEN && current == State.OPEN) {     // closed -> open
+            methodState.breakerOpenedTotal.inc();
         }
     }
 
     /**
      * Sets the value of a monotonically increasing counter using {@code inc()}.
+     * The value recorded so far is tracked separately, so concurrent updates never
+     * increment the counter twice for the same change.
      *
-     * @param method The method.
-     * @param name The counter's name.
+     * @param counter The counter.
+     * @param recorded The value recorded to the counter so far.
      * @param newValue The new value.
      * @return A value of {@code true} if counter updated, {@code false} otherwise.
      */
-    private static boolean updateCounter(Method method, String name, long newValue) {
-        Counter counter = getCounter(method, name);
-        long oldValue = counter.getCount();
+    private static boolean updateCounter(Counter counter, AtomicLong recorded, long newValue) {
+        long oldValue = recorded.getAndAccumulate(newValue, Math::max);
         if (newValue > oldValue) {
             counter.inc(newValue - oldValue);
             return true;
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.microprofile.faulttolerance;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.eclipse.microprofile.faulttolerance.Asynchronous;
+
+/**
+ * A bean whose methods are protected by adaptive limits.
+ */
+class AdaptiveLimitBean {
+
+    static final int MAX_LIMIT = 2;
+    static final int WAITING_TASK_QUEUE = 4;
+    static final int TOTAL_CALLS = MAX_LIMIT + WAITING_TASK_QUEUE;
+
+    private final BulkheadBean.ConcurrencyCounter counter = new BulkheadBean.ConcurrencyCounter();
+
+    BulkheadBean.ConcurrencyCounter getCounter() {
+        return counter;
+    }
+
+    void reset() {
+        counter.reset();
+    }
+
+    @Asynchronous
+    @AdaptiveLimit(initialLimit = MAX_LIMIT, maxLimit = MAX_LIMIT, waitingTaskQueue = WAITING_TASK_QUEUE, queueTimeout = 5000)
+    CompletableFuture<String> execute(long sleepMillis) {
+        return sleep(sleepMillis);
+    }
+
+    @Asynchronous
+    @AdaptiveLimit(initialLimit = MAX_LIMIT, maxLimit = MAX_LIMIT)
+    CompletableFuture<String> executeNoQueue(long sleepMillis) {
+        return sleep(sleepMillis);
+    }
+
+    private CompletableFuture<String> sleep(long sleepMillis) {
+        try {
+            counter.increment();
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                // falls through
+            }
+            return CompletableFuture.completedFuture(Thread.currentThread().getName());
+        } finally {
+            counter.decrement();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.microprofile.faulttolerance;
+
+import java.util.concurrent.CompletableFuture;
+
+import javax.inject.Inject;
+
+import io.helidon.microprofile.tests.junit5.AddBean;
+
+import org.eclipse.microprofile.faulttolerance.exceptions.BulkheadException;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test for beans whose methods are protected by adaptive limits.
+ */
+@AddBean(AdaptiveLimitBean.class)
+class AdaptiveLimitTest extends FaultToleranceTest {
+
+    @Inject
+    private AdaptiveLimitBean bean;
+
+    @Override
+    void reset() {
+        bean.reset();
+    }
+
+    @Test
+    void testAdaptiveLimit() {
+        CompletableFuture<String>[] calls = getAsyncConcurrentCalls(
+                () -> bean.execute(100), AdaptiveLimitBean.TOTAL_CALLS);
+        waitFor(calls);
+        assertThat(bean.getCounter().concurrentCalls(), lessThanOrEqualTo(AdaptiveLimitBean.MAX_LIMIT));
+        assertThat(bean.getCounter().totalCalls(), is(AdaptiveLimitBean.TOTAL_CALLS));
+    }
+
+    @Test
+    void testAdaptiveLimitNoQueue() {
+        CompletableFuture<String>[] calls = getAsyncConcurrentCalls(
+                () -> bean.executeNoQueue(1000), 10);
+        RuntimeException e = assertThrows(RuntimeException.class, () -> waitFor(calls));
+        assertThat(e.getCause().getCause(), instanceOf(BulkheadException.class));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.microprofile.faulttolerance;
+
+import javax.enterprise.context.Dependent;
+import javax.enterprise.inject.spi.CDI;
+
+import io.helidon.microprofile.server.Server;
+
+import org.eclipse.microprofile.faulttolerance.CircuitBreaker;
+import org.eclipse.microprofile.faulttolerance.Retry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Measures invocations of a single retry and circuit breaker method with metrics enabled,
+ * contended by 1, 8, 16 and 64 threads.
+ */
+@State(Scope.Benchmark)
+public class MethodInvokerJMH {
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 16, 64}) {
+            Options opt = new OptionsBuilder()
+                    .include(MethodInvokerJMH.class.getSimpleName())
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    Server server;
+    BenchmarkBean bean;
+
+    @Setup
+    public void setup() {
+        server = Server.builder().port(0).build().start();
+        bean = CDI.current().select(BenchmarkBean.class).get();
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public String invoke() {
+        return bean.hello();
+    }
+
+    @Dependent
+    public static class BenchmarkBean {
+
+        @Retry(maxRetries = 2)
+        @CircuitBreaker(requestVolumeThreshold = 100)
+        public String hello() {
+            return "hello";
+        }
+    }
+}
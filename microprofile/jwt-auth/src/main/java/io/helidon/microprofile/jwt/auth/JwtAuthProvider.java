@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -73,6 +75,7 @@ import io.helidon.security.jwt.jwk.JwkRSA;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
+import io.helidon.security.providers.common.VerifiedTokenCache;
 import io.helidon.security.spi.AuthenticationProvider;
 import io.helidon.security.spi.OutboundSecurityProvider;
 import io.helidon.security.spi.SynchronousProvider;
@@ -116,6 +119,7 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
     private final Jwk defaultJwk;
     private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new IdentityHashMap<>();
     private final String expectedIssuer;
+    private final VerifiedTokenCache<SignedJwt> tokenCache;
 
     private JwtAuthProvider(Builder builder) {
         this.optional = builder.optional;
@@ -131,6 +135,10 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
         this.expectedAudience = builder.expectedAudience;
         this.defaultJwk = builder.defaultJwk;
         this.expectedIssuer = builder.expectedIssuer;
+        this.tokenCache = builder.tokenCache;
+        if (null != tokenCache) {
+            tokenCache.bindTo(this);
+        }
 
         if (null == atnTokenHandler) {
             defaultTokenHandler = TokenHandler.builder()
@@ -200,28 +208,8 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
         }
 
         return maybeToken
-                .map(token -> {
-                    SignedJwt signedJwt;
-                    try {
-                        signedJwt = SignedJwt.parseToken(token);
-                    } catch (Exception e) {
-                        //invalid token
-                        return AuthenticationResponse.failed("Invalid token", e);
-                    }
-                    Errors errors = signedJwt.verifySignature(verifyKeys, defaultJwk);
-                    if (errors.isValid()) {
-                        Jwt jwt = signedJwt.getJwt();
-                        // verify the audience is correct
-                        Errors validate = jwt.validate(expectedIssuer, expectedAudience);
-                        if (validate.isValid()) {
-                            return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
-                        } else {
-                            return AuthenticationResponse.failed("Audience is invalid or missing: " + expectedAudience);
-                        }
-                    } else {
-                        return AuthenticationResponse.failed(errors.toString());
-                    }
-                }).orElseGet(() -> {
+                .map(this::authenticateToken)
+                .orElseGet(() -> {
                     if (optional) {
                         return AuthenticationResponse.abstain();
                     } else {
@@ -230,6 +218,47 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
                 });
     }
 
+    private AuthenticationResponse authenticateToken(String token) {
+        AtomicReference<AuthenticationResponse> failure = new AtomicReference<>();
+        Supplier<Optional<SignedJwt>> verifier = () -> verifyToken(token, failure);
+        Optional<SignedJwt> verified = (null == tokenCache) ? verifier.get() : tokenCache.verify(token, verifier);
+
+        return verified.map(this::validateToken)
+                .orElseGet(failure::get);
+    }
+
+    private Optional<SignedJwt> verifyToken(String token, AtomicReference<AuthenticationResponse> failure) {
+        SignedJwt signedJwt;
+        try {
+            signedJwt = SignedJwt.parseToken(token);
+        } catch (Exception e) {
+            //invalid token
+            failure.set(AuthenticationResponse.failed("Invalid token", e));
+            return Optional.empty();
+        }
+        Errors errors = signedJwt.verifySignature(verifyKeys, defaultJwk);
+        if (errors.isValid()) {
+            return Optional.of(signedJwt);
+        }
+        failure.set(AuthenticationResponse.failed(errors.toString()));
+        return Optional.empty();
+    }
+
+    private AuthenticationResponse validateToken(SignedJwt signedJwt) {
+        Jwt jwt = signedJwt.getJwt();
+        // verify the audience is correct (time claims are validated even for cached tokens)
+        Errors validate = jwt.validate(expectedIssuer, expectedAudience);
+        if (validate.isValid()) {
+            return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
+        } else {
+            return AuthenticationResponse.failed("Audience is invalid or missing: " + expectedAudience);
+        }
+    }
+
+    private static Optional<Instant> expirationTime(SignedJwt signedJwt) {
+        return signedJwt.getJwt().expirationTime();
+    }
+
     Subject buildSubject(Jwt jwt, SignedJwt signedJwt) {
         JsonWebTokenImpl principal = buildPrincipal(jwt, signedJwt);
 
@@ -521,6 +550,7 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
         private String expectedAudience;
         private String publicKeyPath;
         private String publicKey;
+        private VerifiedTokenCache<SignedJwt> tokenCache;
 
         private Builder() {
         }
@@ -872,6 +902,9 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
             config.get("atn-token.jwt-audience").asString().ifPresent(this::expectedAudience);
             config.get("atn-token.default-key-id").asString().ifPresent(this::defaultKeyId);
             config.get("atn-token.verify-key").asString().ifPresent(this::publicKeyPath);
+            config.get("atn-token.token-cache")
+                    .ifExists(cacheConfig -> tokenCache(VerifiedTokenCache.create(cacheConfig,
+                                                                                  JwtAuthProvider::expirationTime)));
             config.get("sign-token").ifExists(outbound -> outboundConfig(OutboundConfig.create(outbound)));
             config.get("sign-token").ifExists(this::outbound);
 
@@ -896,6 +929,33 @@ public class JwtAuthProvider extends SynchronousProvider implements Authenticati
             return this;
         }
 
+        /**
+         * Cache of tokens with verified signature.
+         * Clients usually send the same token with many requests, signature of a cached token is not verified again.
+         * Expiration, issuer and audience of the token are still validated for each request.
+         * Tokens are not cached by default. Use the same instance to read cache statistics.
+         * The cache must not be shared with another provider.
+         *
+         * @param tokenCache cache of verified tokens
+         * @return updated builder instance
+         * @see #tokenCacheBuilder()
+         */
+        public Builder tokenCache(VerifiedTokenCache<SignedJwt> tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
+
+        /**
+         * A builder of a token cache that evicts tokens once they expire, to be used with
+         * {@link #tokenCache(io.helidon.security.providers.common.VerifiedTokenCache)}.
+         *
+         * @return a new token cache builder
+         */
+        public static VerifiedTokenCache.Builder<SignedJwt> tokenCacheBuilder() {
+            return VerifiedTokenCache.<SignedJwt>builder()
+                    .expiration(JwtAuthProvider::expirationTime);
+        }
+
         /**
          * Expected issuer in incoming requests.
          *
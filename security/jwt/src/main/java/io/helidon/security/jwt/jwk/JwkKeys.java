@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,12 @@ package io.helidon.security.jwt.jwk;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
@@ -25,8 +31,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -48,17 +64,61 @@ import io.helidon.common.configurable.Resource;
  * Optional&lt;Jwk&gt; key = keys
  * .forKeyId("cc34c0a0-bd5a-4a3c-a50d-a2a7db7643df");
  * </pre>
+ *
+ * Keys loaded from a URI using {@link Builder#refreshUri(java.net.URI)} are kept up to date:
+ * <ul>
+ * <li>the document is refreshed in background, honoring {@code Cache-Control: max-age}, {@code Expires}
+ *  and {@code ETag} HTTP headers (bounded by {@link Builder#refreshInterval(java.time.Duration)}
+ *  and {@link Builder#minRefreshInterval(java.time.Duration)})</li>
+ * <li>a request for an unknown key id triggers a refetch in background, at most once per minimal refresh interval;
+ *  the request itself is answered from the keys known at that time</li>
+ * </ul>
+ * Background refresh stops when the instance is {@link #close() closed} or no longer referenced.
  */
 public final class JwkKeys {
+    /**
+     * Default maximal time between refreshes of keys loaded with {@link Builder#refreshUri(java.net.URI)}.
+     */
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofHours(1);
+    /**
+     * Default minimal time between refreshes of keys loaded with {@link Builder#refreshUri(java.net.URI)}.
+     */
+    public static final Duration DEFAULT_MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
     private static final Logger LOGGER = Logger.getLogger(JwkKeys.class.getName());
     private static final JsonReaderFactory JSON = Json.createReaderFactory(Collections.emptyMap());
+    private static final int CONNECTION_TIMEOUT_MILLIS = 10_000;
+    private static final Pattern MAX_AGE = Pattern.compile("max-age\\s*=\\s*(\\d+)");
 
-    private final Map<String, Jwk> keyMap = new HashMap<>();
-    private final List<Jwk> noKeyIdKeys = new LinkedList<>();
+    private final URI refreshUri;
+    private final Duration refreshInterval;
+    private final Duration minRefreshInterval;
+    private final Object refreshLock = new Object();
+    private final AtomicLong refreshCount = new AtomicLong();
+    private final AtomicLong refreshFailureCount = new AtomicLong();
+    private final AtomicLong unknownKeyIdRefreshCount = new AtomicLong();
+    // refresh triggered by an unknown key id is submitted and not finished yet
+    private final AtomicBoolean refreshPending = new AtomicBoolean();
+
+    private volatile KeyIndex index;
+    private volatile Instant lastRefresh = Instant.MIN;
+    private volatile boolean closed;
+    // guarded by refreshLock
+    private String etag;
+    private Duration nextRefresh;
+    private ScheduledFuture<?> scheduledRefresh;
 
     private JwkKeys(Builder builder) {
-        this.keyMap.putAll(builder.keyMap);
-        this.noKeyIdKeys.addAll(builder.noKeyIdKeys);
+        this.refreshUri = builder.refreshUri;
+        this.refreshInterval = builder.refreshInterval;
+        this.minRefreshInterval = builder.minRefreshInterval;
+        this.index = new KeyIndex(builder.keyMap, builder.noKeyIdKeys);
+
+        if (null != refreshUri) {
+            this.nextRefresh = refreshInterval;
+            refresh();
+            scheduleRefresh();
+        }
     }
 
     /**
@@ -83,11 +143,21 @@ public final class JwkKeys {
     /**
      * Get a JWK for defined key id if present.
      *
-     * @param keyId keyId of the key to obtain from this keys
-     * @return Jwk if present
+     * @param keyId keyId of the key to obtain from this keys, may be {@code null} for tokens without a key id
+     * @return Jwk if present, empty if the key id is {@code null} or not known
      */
     public Optional<Jwk> forKeyId(String keyId) {
-        return Optional.ofNullable(keyMap.get(keyId));
+        if (null == keyId) {
+            return Optional.empty();
+        }
+        Jwk jwk = index.keyMap.get(keyId);
+        if ((null == jwk) && (null != refreshUri)) {
+            // the keys may have been rotated since the last refresh, never block the caller on the refetch
+            if (refreshIfAllowed()) {
+                unknownKeyIdRefreshCount.incrementAndGet();
+            }
+        }
+        return Optional.ofNullable(jwk);
     }
 
     /**
@@ -96,18 +166,204 @@ public final class JwkKeys {
      * @return all keys configured
      */
     public List<Jwk> keys() {
+        KeyIndex current = index;
         List<Jwk> result = new LinkedList<>();
-        result.addAll(noKeyIdKeys);
-        result.addAll(keyMap.values());
+        result.addAll(current.noKeyIdKeys);
+        result.addAll(current.keyMap.values());
         return result;
     }
 
+    /**
+     * Number of successful refreshes of keys loaded from {@link Builder#refreshUri(java.net.URI)},
+     * including the initial load and responses with HTTP status {@code 304 Not Modified}.
+     *
+     * @return number of successful refreshes
+     */
+    public long refreshCount() {
+        return refreshCount.get();
+    }
+
+    /**
+     * Number of failed refreshes of keys loaded from {@link Builder#refreshUri(java.net.URI)}.
+     *
+     * @return number of failed refreshes
+     */
+    public long refreshFailureCount() {
+        return refreshFailureCount.get();
+    }
+
+    /**
+     * Number of refreshes triggered by a request for an unknown key id.
+     *
+     * @return number of refreshes caused by unknown key ids
+     */
+    public long unknownKeyIdRefreshCount() {
+        return unknownKeyIdRefreshCount.get();
+    }
+
+    /**
+     * Stop background refresh of keys loaded from {@link Builder#refreshUri(java.net.URI)}.
+     * Keys known at this time are still available. Does nothing for keys not loaded from a URI.
+     */
+    public void close() {
+        closed = true;
+        synchronized (refreshLock) {
+            if (null != scheduledRefresh) {
+                scheduledRefresh.cancel(false);
+                scheduledRefresh = null;
+            }
+        }
+    }
+
+    private boolean refreshIfAllowed() {
+        if (closed || lastRefresh.plus(minRefreshInterval).isAfter(Instant.now())) {
+            return false;
+        }
+        // coalesces concurrent requests for unknown key ids into a single refetch
+        if (!refreshPending.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            RefreshExecutor.EXECUTOR.execute(() -> {
+                try {
+                    refresh();
+                } finally {
+                    refreshPending.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            refreshPending.set(false);
+            LOGGER.log(Level.WARNING, "Failed to submit refresh of JWK keys from " + refreshUri, e);
+            return false;
+        }
+        return true;
+    }
+
+    private void refresh() {
+        synchronized (refreshLock) {
+            lastRefresh = Instant.now();
+            try {
+                URLConnection connection = refreshUri.toURL().openConnection();
+                connection.setConnectTimeout(CONNECTION_TIMEOUT_MILLIS);
+                connection.setReadTimeout(CONNECTION_TIMEOUT_MILLIS);
+                if (null != etag) {
+                    connection.setRequestProperty("If-None-Match", etag);
+                }
+                connection.setRequestProperty("Accept", "application/json");
+                if (connection instanceof HttpURLConnection) {
+                    int status = ((HttpURLConnection) connection).getResponseCode();
+                    if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                        nextRefresh = refreshDelay(connection);
+                        refreshCount.incrementAndGet();
+                        LOGGER.finest(() -> "JWK keys not modified: " + refreshUri);
+                        return;
+                    }
+                    if (status >= 300) {
+                        throw new IOException("Unexpected response status " + status + " from " + refreshUri);
+                    }
+                }
+                Builder builder = builder();
+                try (InputStream is = connection.getInputStream()) {
+                    builder.addKeys(JSON.createReader(is).readObject());
+                }
+                index = new KeyIndex(builder.keyMap, builder.noKeyIdKeys);
+                etag = connection.getHeaderField("ETag");
+                nextRefresh = refreshDelay(connection);
+                refreshCount.incrementAndGet();
+                LOGGER.finest(() -> "JWK keys refreshed from " + refreshUri);
+            } catch (Exception e) {
+                refreshFailureCount.incrementAndGet();
+                nextRefresh = minRefreshInterval;
+                LOGGER.log(Level.WARNING, "Failed to refresh JWK keys from " + refreshUri + ", keeping the previous keys", e);
+            }
+        }
+    }
+
+    private Duration refreshDelay(URLConnection connection) {
+        Duration delay = refreshInterval;
+        String cacheControl = connection.getHeaderField("Cache-Control");
+        if (null != cacheControl) {
+            Matcher matcher = MAX_AGE.matcher(cacheControl);
+            if (cacheControl.contains("no-cache") || cacheControl.contains("no-store")) {
+                delay = minRefreshInterval;
+            } else if (matcher.find()) {
+                delay = Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        } else if (connection.getExpiration() > 0) {
+            delay = Duration.ofMillis(connection.getExpiration() - System.currentTimeMillis());
+        }
+        if (delay.compareTo(minRefreshInterval) < 0) {
+            return minRefreshInterval;
+        }
+        if (delay.compareTo(refreshInterval) > 0) {
+            return refreshInterval;
+        }
+        return delay;
+    }
+
+    private void scheduleRefresh() {
+        // the task only holds a weak reference, so the shared executor does not keep unused instances alive
+        WeakReference<JwkKeys> reference = new WeakReference<>(this);
+        synchronized (refreshLock) {
+            if (closed) {
+                return;
+            }
+            scheduledRefresh = RefreshExecutor.EXECUTOR.schedule(() -> scheduledRefresh(reference),
+                                                                 nextRefresh.toMillis(),
+                                                                 TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void scheduledRefresh(WeakReference<JwkKeys> reference) {
+        JwkKeys keys = reference.get();
+        if ((null == keys) || keys.closed) {
+            return;
+        }
+        try {
+            keys.refresh();
+        } finally {
+            keys.scheduleRefresh();
+        }
+    }
+
+    private static final class KeyIndex {
+        private final Map<String, Jwk> keyMap;
+        private final List<Jwk> noKeyIdKeys;
+
+        private KeyIndex(Map<String, Jwk> keyMap, List<Jwk> noKeyIdKeys) {
+            this.keyMap = new ConcurrentHashMap<>(keyMap);
+            this.noKeyIdKeys = List.copyOf(noKeyIdKeys);
+        }
+    }
+
+    private static final class RefreshExecutor {
+        // created only when refreshing keys are used
+        private static final ScheduledExecutorService EXECUTOR;
+
+        static {
+            AtomicInteger counter = new AtomicInteger(1);
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "jwk-refresh-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            EXECUTOR = executor;
+        }
+
+        private RefreshExecutor() {
+        }
+    }
+
     /**
      * Builder of {@link JwkKeys}.
      */
     public static final class Builder implements io.helidon.common.Builder<JwkKeys> {
         private final List<Jwk> noKeyIdKeys = new LinkedList<>();
         private final Map<String, Jwk> keyMap = new HashMap<>();
+        private URI refreshUri;
+        private Duration refreshInterval = DEFAULT_REFRESH_INTERVAL;
+        private Duration minRefreshInterval = DEFAULT_MIN_REFRESH_INTERVAL;
 
         private Builder() {
         }
@@ -157,6 +413,52 @@ public final class JwkKeys {
             return this;
         }
 
+        /**
+         * Load keys from a URI and keep them up to date.
+         * The keys are loaded when {@link #build()} is called, and then refreshed in background.
+         * A request for a key id that is not known triggers a refresh as well, rate limited by
+         * {@link #minRefreshInterval(java.time.Duration)}.
+         * Such a refresh runs in background and the request that triggered it is answered from the keys
+         * known at that time, so a token signed with a newly rotated key is rejected until the refresh
+         * completes; only subsequent requests can see the new key.
+         * Keys added explicitly to this builder are replaced by the first successful load.
+         *
+         * @param uri URI of the JSON web keys document (such as {@code jwks_uri} of an OIDC server)
+         * @return updated builder instance
+         */
+        public Builder refreshUri(URI uri) {
+            this.refreshUri = Objects.requireNonNull(uri, "JWK URI must not be null");
+            return this;
+        }
+
+        /**
+         * Maximal time between background refreshes of keys loaded from {@link #refreshUri(java.net.URI)}.
+         * This interval is used when the server response does not define caching headers, shorter
+         * {@code max-age} or {@code Expires} are honored.
+         * Defaults to {@link JwkKeys#DEFAULT_REFRESH_INTERVAL}.
+         *
+         * @param interval refresh interval
+         * @return updated builder instance
+         */
+        public Builder refreshInterval(Duration interval) {
+            this.refreshInterval = Objects.requireNonNull(interval, "Refresh interval must not be null");
+            return this;
+        }
+
+        /**
+         * Minimal time between refreshes of keys loaded from {@link #refreshUri(java.net.URI)}.
+         * This limits how often an unknown key id can trigger a refresh, and is also used to retry
+         * after a failed refresh.
+         * Defaults to {@link JwkKeys#DEFAULT_MIN_REFRESH_INTERVAL}.
+         *
+         * @param interval minimal refresh interval
+         * @return updated builder instance
+         */
+        public Builder minRefreshInterval(Duration interval) {
+            this.minRefreshInterval = Objects.requireNonNull(interval, "Minimal refresh interval must not be null");
+            return this;
+        }
+
         /**
          * Load keys from JSON.
          *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,12 +16,17 @@
 
 package io.helidon.security.jwt.jwk;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import io.helidon.common.configurable.Resource;
 import io.helidon.security.jwt.JwtException;
@@ -328,4 +333,92 @@ public class JwkKeysTest {
             }, () -> fail("The key should be present in built keys"));
         }, () -> fail("Key \"" + fileKeyid + "\" should be present in jwk_data.json"));
     }
+
+    @Test
+    public void testRefreshOnUnknownKeyId() throws IOException {
+        Path file = Files.createTempFile("jwk", ".json");
+        try {
+            Files.writeString(file, jwks("first"));
+            JwkKeys keys = JwkKeys.builder()
+                    .refreshUri(file.toUri())
+                    .minRefreshInterval(Duration.ZERO)
+                    .build();
+
+            assertThat(keys.forKeyId("first").isPresent(), is(true));
+            assertThat(keys.refreshCount(), is(1L));
+
+            // keys rotated on the server, the unknown key id is refetched in background
+            Files.writeString(file, jwks("second"));
+            assertThat(awaitKey(keys, "second"), is(true));
+            assertThat(keys.unknownKeyIdRefreshCount(), not(0L));
+            assertThat(keys.forKeyId("first").isPresent(), is(false));
+            assertThat(keys.refreshFailureCount(), is(0L));
+            keys.close();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testNullKeyId() throws IOException {
+        assertThat(customKeys.forKeyId(null).isPresent(), is(false));
+
+        Path file = Files.createTempFile("jwk", ".json");
+        try {
+            Files.writeString(file, jwks("first"));
+            JwkKeys keys = JwkKeys.builder()
+                    .refreshUri(file.toUri())
+                    .minRefreshInterval(Duration.ZERO)
+                    .build();
+
+            // a token without a key id is not a sign of rotated keys
+            assertThat(keys.forKeyId(null).isPresent(), is(false));
+            assertThat(keys.unknownKeyIdRefreshCount(), is(0L));
+            keys.close();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testRefreshRateLimited() throws IOException {
+        Path file = Files.createTempFile("jwk", ".json");
+        try {
+            Files.writeString(file, jwks("first"));
+            JwkKeys keys = JwkKeys.builder()
+                    .refreshUri(file.toUri())
+                    .minRefreshInterval(Duration.ofHours(1))
+                    .build();
+
+            Files.writeString(file, jwks("second"));
+            assertThat(keys.forKeyId("second").isPresent(), is(false));
+            assertThat(keys.forKeyId("first").isPresent(), is(true));
+            assertThat(keys.refreshCount(), is(1L));
+            assertThat(keys.unknownKeyIdRefreshCount(), is(0L));
+            keys.close();
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static boolean awaitKey(JwkKeys keys, String keyId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (keys.forKeyId(keyId).isPresent()) {
+                return true;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static String jwks(String keyId) {
+        return "{\"keys\": [{\"kty\": \"oct\", \"kid\": \"" + keyId + "\", \"alg\": \"HS256\", "
+                + "\"k\": \"FdFYFzERwC2uCBB46pZQi4GG85LujR8obt-KWRBICVQ\"}]}";
+    }
 }
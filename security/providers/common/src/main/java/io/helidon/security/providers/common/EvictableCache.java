@@ -16,6 +16,7 @@
 
 package io.helidon.security.providers.common;
 
+import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -29,6 +30,9 @@ import io.helidon.config.Config;
  * Generic cache with eviction support.
  * Default implementation is backed by {@link java.util.concurrent.ConcurrentHashMap} and provides
  * configuration to set this map up, as can be done through {@link #builder()}, and {@link #create(io.helidon.config.Config)}.
+ * A cache with constant time eviction and frequency based size bound can be selected using
+ * {@link io.helidon.security.providers.common.EvictableCache.Builder#cacheType(CacheType)}, which is better suited
+ * for large caches.
  *
  * Cache timeouts:
  * <ul>
@@ -178,6 +182,56 @@ public interface EvictableCache<K, V> {
     default void close() {
     }
 
+    /**
+     * Number of requests that found a valid record in this cache.
+     * Implementations that do not collect statistics return {@code 0}.
+     *
+     * @return number of cache hits
+     */
+    default long hitCount() {
+        return 0;
+    }
+
+    /**
+     * Number of requests that did not find a valid record in this cache.
+     * Implementations that do not collect statistics return {@code 0}.
+     *
+     * @return number of cache misses
+     */
+    default long missCount() {
+        return 0;
+    }
+
+    /**
+     * Number of records evicted from this cache because they expired, were rejected by the evictor,
+     * or to keep the cache within its maximal size. Explicitly removed records are not counted.
+     * Implementations that do not collect statistics return {@code 0}.
+     *
+     * @return number of evicted records
+     */
+    default long evictionCount() {
+        return 0;
+    }
+
+    /**
+     * Implementation of the cache created by {@link io.helidon.security.providers.common.EvictableCache.Builder}.
+     */
+    enum CacheType {
+        /**
+         * Records in a {@link java.util.concurrent.ConcurrentHashMap}, evicted by periodically scanning the whole map.
+         * When the cache is full, new records are not cached.
+         * This is the default.
+         */
+        DEFAULT,
+        /**
+         * Records evicted in amortized constant time using access ordered lists. When the cache is full,
+         * a W-TinyLFU policy keeps the most frequently used records.
+         * Collects hit, miss and eviction statistics.
+         * Configured as {@code tiny-lfu}.
+         */
+        TINY_LFU
+    }
+
     /**
      * Builder to create instances of {@link EvictableCache} using the default implementation backed by
      * a {@link java.util.concurrent.ConcurrentHashMap}.
@@ -197,6 +251,7 @@ public interface EvictableCache<K, V> {
         private TimeUnit cacheEvictTimeUnit = TimeUnit.MINUTES;
         private long parallelismThreshold = EVICT_PARALLELISM_THRESHOLD;
         private BiFunction<K, V, Boolean> evictor = (key, value) -> false;
+        private CacheType cacheType = CacheType.DEFAULT;
 
         /**
          * Build a new instance of the cache based on configuration of this builder.
@@ -206,6 +261,9 @@ public interface EvictableCache<K, V> {
         @Override
         public EvictableCache<K, V> build() {
             if (cacheEnabled) {
+                if (cacheType == CacheType.TINY_LFU) {
+                    return new TinyLfuEvictableCache<>(this);
+                }
                 return new EvictableCacheImpl<>(this);
             } else {
                 return noCache();
@@ -301,6 +359,18 @@ public interface EvictableCache<K, V> {
             return this;
         }
 
+        /**
+         * Implementation of the cache to use.
+         * Defaults to {@link CacheType#DEFAULT}.
+         *
+         * @param cacheType type of the cache
+         * @return updated builder instance
+         */
+        public Builder<K, V> cacheType(CacheType cacheType) {
+            this.cacheType = cacheType;
+            return this;
+        }
+
         /**
          * Update this builder from configuration.
          *
@@ -319,6 +389,8 @@ public interface EvictableCache<K, V> {
          * <tr><td>parallelism-treshold</td><td>{@value #EVICT_PARALLELISM_THRESHOLD}</td><td>see
          * {@link #parallelismThreshold(long)}</td></tr>
          * <tr><td>evictor-class</td><td></td><td>A class that is instantiated and used as an evictor for this instance</td></tr>
+         * <tr><td>cache-type</td><td>default</td><td>Implementation of the cache, {@code default} or {@code tiny-lfu},
+         * see {@link CacheType}</td></tr>
          * </table>
          *
          * @param config Config to use to load configuration options for this builder
@@ -338,6 +410,9 @@ public interface EvictableCache<K, V> {
                 evictSchedule(evictDelay, evictPeriod, TimeUnit.MILLISECONDS);
                 config.get("parallelism-treshold").asLong().ifPresent(this::parallelismThreshold);
                 config.get("evictor-class").as(Class.class).ifPresent(this::evictorClass);
+                config.get("cache-type").asString()
+                        .map(type -> CacheType.valueOf(type.toUpperCase(Locale.ROOT).replace('-', '_')))
+                        .ifPresent(this::cacheType);
             }
 
             return this;
@@ -33,7 +33,10 @@ class EvictableCacheImpl<K, V> implements EvictableCache<K, V> {
      * Number of threads in the scheduled thread pool to evict records.
      */
     private static final int EVICT_THREAD_COUNT = 1;
-    private static final ScheduledThreadPoolExecutor EXECUTOR;
+    /**
+     * Executor shared by cache implementations to evict records.
+     */
+    static final ScheduledThreadPoolExecutor EXECUTOR;
     /**
      * An implementation that does no caching.
      */
@@ -51,6 +54,7 @@ class EvictableCacheImpl<K, V> implements EvictableCache<K, V> {
             }
         };
         EXECUTOR = new ScheduledThreadPoolExecutor(EVICT_THREAD_COUNT, jf);
+        EXECUTOR.setRemoveOnCancelPolicy(true);
     }
 
     private final ConcurrentHashMap<K, CacheRecord<K, V>> cacheMap = new ConcurrentHashMap<>();
@@ -73,7 +77,6 @@ class EvictableCacheImpl<K, V> implements EvictableCache<K, V> {
                 builder.cacheEvictDelay(),
                 builder.cacheEvictPeriod(),
                 builder.cacheEvictTimeUnit());
-        EXECUTOR.setRemoveOnCancelPolicy(true);
     }
 
     @Override
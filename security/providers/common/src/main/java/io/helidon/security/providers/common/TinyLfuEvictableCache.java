@@ -0,0 +1,489 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.common;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * {@link EvictableCache} implementation with amortized constant time expiry and a W-TinyLFU size bound.
+ * <p>
+ * Records are kept in access ordered lists: a small admission window and a main space segmented to probation
+ * and protected records. Expired records are found at the heads of these lists (and of a creation ordered list
+ * for the overall timeout), so eviction never scans the whole cache. When the cache is full, a record leaving
+ * the window replaces the least recently used record of the main space only if it is accessed more often, as
+ * estimated by a {@link FrequencySketch}.
+ * <p>
+ * Reads and writes are recorded in buffers and applied to these structures by the thread that acquires the
+ * policy lock, other threads never wait for it (unless too many writes are pending).
+ * Records not yet found expired by the eviction are still validated on every read.
+ */
+class TinyLfuEvictableCache<K, V> implements EvictableCache<K, V> {
+    private static final int READ_BUFFER_MAX = 256;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 64;
+    private static final int WRITE_BUFFER_FORCE_DRAIN = 1024;
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private final ConcurrentHashMap<K, Node<K, V>> cacheMap = new ConcurrentHashMap<>();
+    private final Queue<Node<K, V>> readBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger readBufferSize = new AtomicInteger();
+    private final Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger writeBufferSize = new AtomicInteger();
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final long cacheTimeoutNanos;
+    private final long overallTimeoutNanos;
+    private final long cacheMaxSize;
+    private final long windowMaxSize;
+    private final long mainMaxSize;
+    private final long protectedMaxSize;
+    private final BiFunction<K, V, Boolean> evictor;
+    private final ScheduledFuture<?> evictionFuture;
+
+    // guarded by policyLock
+    private final FrequencySketch sketch;
+    private final AccessOrder<K, V> window = new AccessOrder<>(Region.WINDOW);
+    private final AccessOrder<K, V> probation = new AccessOrder<>(Region.PROBATION);
+    private final AccessOrder<K, V> protectedRecords = new AccessOrder<>(Region.PROTECTED);
+    private Node<K, V> oldest;
+    private Node<K, V> newest;
+
+    TinyLfuEvictableCache(Builder<K, V> builder) {
+        cacheMaxSize = builder.cacheMaxSize();
+        cacheTimeoutNanos = TimeUnit.NANOSECONDS.convert(builder.cacheTimeout(), builder.cacheTimeoutUnit());
+        overallTimeoutNanos = TimeUnit.NANOSECONDS.convert(builder.overallTimeout(), builder.overallTimeoutUnit());
+        evictor = builder.evictor();
+
+        windowMaxSize = Math.max(1, cacheMaxSize * WINDOW_PERCENT / 100);
+        mainMaxSize = Math.max(0, cacheMaxSize - windowMaxSize);
+        protectedMaxSize = mainMaxSize * PROTECTED_PERCENT / 100;
+        sketch = new FrequencySketch(cacheMaxSize);
+
+        // eviction only processes the expired records, so it can run often
+        evictionFuture = EvictableCacheImpl.EXECUTOR.scheduleAtFixedRate(
+                this::evict,
+                builder.cacheEvictDelay(),
+                builder.cacheEvictPeriod(),
+                builder.cacheEvictTimeUnit());
+    }
+
+    @Override
+    public Optional<V> remove(K key) {
+        Node<K, V> removed = cacheMap.remove(key);
+        if (null == removed) {
+            return Optional.empty();
+        }
+        afterWrite(() -> unlink(removed));
+
+        if (isValid(removed)) {
+            return Optional.of(removed.value);
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<V> get(K key) {
+        Node<K, V> node = cacheMap.get(key);
+        if (null == node) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        if (isValid(node)) {
+            hitCount.increment();
+            afterRead(node);
+            return Optional.of(node.value);
+        }
+        missCount.increment();
+        removeInvalid(node);
+        return Optional.empty();
+    }
+
+    @Override
+    public int size() {
+        return cacheMap.size();
+    }
+
+    @Override
+    public Optional<V> computeValue(K key, Supplier<Optional<V>> valueSupplier) {
+        if (cacheMaxSize <= 0) {
+            return valueSupplier.get();
+        }
+
+        Node<K, V> existing = cacheMap.get(key);
+        if ((null != existing) && isValid(existing)) {
+            hitCount.increment();
+            afterRead(existing);
+            return Optional.of(existing.value);
+        }
+
+        AtomicReference<Node<K, V>> created = new AtomicReference<>();
+        AtomicReference<Node<K, V>> replaced = new AtomicReference<>();
+        Node<K, V> node = cacheMap.compute(key, (theKey, current) -> {
+            if (null != current) {
+                if (isValid(current)) {
+                    return current;
+                }
+                replaced.set(current);
+            }
+            Node<K, V> newNode = valueSupplier.get()
+                    .map(value -> new Node<>(theKey, value))
+                    .orElse(null);
+            created.set(newNode);
+            return newNode;
+        });
+
+        Node<K, V> replacedNode = replaced.get();
+        if (null != replacedNode) {
+            evictionCount.increment();
+            afterWrite(() -> unlink(replacedNode));
+        }
+        if (null == node) {
+            missCount.increment();
+            return Optional.empty();
+        }
+        if (node == created.get()) {
+            missCount.increment();
+            afterWrite(() -> add(node));
+        } else {
+            hitCount.increment();
+            afterRead(node);
+        }
+        return Optional.of(node.value);
+    }
+
+    @Override
+    public long hitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long missCount() {
+        return missCount.sum();
+    }
+
+    @Override
+    public long evictionCount() {
+        return evictionCount.sum();
+    }
+
+    @Override
+    public void close() {
+        evictionFuture.cancel(true);
+        cacheMap.clear();
+        policyLock.lock();
+        try {
+            writeBuffer.clear();
+            readBuffer.clear();
+            window.clear();
+            probation.clear();
+            protectedRecords.clear();
+            oldest = null;
+            newest = null;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    void evict() {
+        policyLock.lock();
+        try {
+            maintenance();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    private boolean isValid(Node<K, V> node) {
+        long now = System.nanoTime();
+        return ((now - node.created) < overallTimeoutNanos)
+                && ((now - node.lastAccess) < cacheTimeoutNanos)
+                && !evictor.apply(node.key, node.value);
+    }
+
+    private void removeInvalid(Node<K, V> node) {
+        if (cacheMap.remove(node.key, node)) {
+            evictionCount.increment();
+            afterWrite(() -> unlink(node));
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        node.lastAccess = System.nanoTime();
+        // the read buffer is lossy - under heavy load some accesses are not reflected in the policy
+        if (readBufferSize.get() < READ_BUFFER_MAX) {
+            readBuffer.add(node);
+            if (readBufferSize.incrementAndGet() >= READ_BUFFER_DRAIN_THRESHOLD) {
+                tryMaintenance();
+            }
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        if (writeBufferSize.incrementAndGet() > WRITE_BUFFER_FORCE_DRAIN) {
+            // writers are faster than maintenance, make sure the size bound holds
+            evict();
+        } else {
+            tryMaintenance();
+        }
+    }
+
+    private void tryMaintenance() {
+        if (policyLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                policyLock.unlock();
+            }
+        }
+    }
+
+    private void maintenance() {
+        // reads first, so frequencies are up to date when writes decide what to evict
+        Node<K, V> node;
+        while ((node = readBuffer.poll()) != null) {
+            readBufferSize.decrementAndGet();
+            onAccess(node);
+        }
+
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            writeBufferSize.decrementAndGet();
+            task.run();
+        }
+
+        expire();
+    }
+
+    private void add(Node<K, V> node) {
+        if (cacheMap.get(node.key) != node) {
+            // removed before it was added to the policy
+            return;
+        }
+        sketch.increment(node.key);
+        window.addLast(node);
+        if (null == newest) {
+            oldest = node;
+        } else {
+            newest.newer = node;
+            node.older = newest;
+        }
+        newest = node;
+        node.inCreationOrder = true;
+
+        evictToSize();
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (null == node.region) {
+            // already removed
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.region) {
+        case WINDOW:
+            window.moveToLast(node);
+            break;
+        case PROBATION:
+            probation.remove(node);
+            protectedRecords.addLast(node);
+            if (protectedRecords.size > protectedMaxSize) {
+                Node<K, V> demoted = protectedRecords.first;
+                protectedRecords.remove(demoted);
+                probation.addLast(demoted);
+            }
+            break;
+        case PROTECTED:
+        default:
+            protectedRecords.moveToLast(node);
+            break;
+        }
+    }
+
+    private void evictToSize() {
+        while (window.size > windowMaxSize) {
+            Node<K, V> candidate = window.first;
+            window.remove(candidate);
+            if (probation.size + protectedRecords.size < mainMaxSize) {
+                probation.addLast(candidate);
+                continue;
+            }
+            Node<K, V> victim = (null == probation.first) ? protectedRecords.first : probation.first;
+            if ((null != victim) && (sketch.frequency(candidate.key) > sketch.frequency(victim.key))) {
+                evictNode(victim);
+                probation.addLast(candidate);
+            } else {
+                evictNode(candidate);
+            }
+        }
+    }
+
+    private void expire() {
+        long now = System.nanoTime();
+        while ((null != oldest) && ((now - oldest.created) >= overallTimeoutNanos)) {
+            evictNode(oldest);
+        }
+        expire(window, now);
+        expire(probation, now);
+        expire(protectedRecords, now);
+    }
+
+    private void expire(AccessOrder<K, V> accessOrder, long now) {
+        Node<K, V> node = accessOrder.first;
+        while ((null != node)
+                && (((now - node.lastAccess) >= cacheTimeoutNanos) || evictor.apply(node.key, node.value))) {
+            evictNode(node);
+            node = accessOrder.first;
+        }
+    }
+
+    private void evictNode(Node<K, V> node) {
+        unlink(node);
+        if (cacheMap.remove(node.key, node)) {
+            evictionCount.increment();
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        if (null != node.region) {
+            accessOrder(node.region).remove(node);
+        }
+        if (node.inCreationOrder) {
+            if (null == node.older) {
+                oldest = node.newer;
+            } else {
+                node.older.newer = node.newer;
+            }
+            if (null == node.newer) {
+                newest = node.older;
+            } else {
+                node.newer.older = node.older;
+            }
+            node.older = null;
+            node.newer = null;
+            node.inCreationOrder = false;
+        }
+    }
+
+    private AccessOrder<K, V> accessOrder(Region region) {
+        switch (region) {
+        case WINDOW:
+            return window;
+        case PROBATION:
+            return probation;
+        case PROTECTED:
+        default:
+            return protectedRecords;
+        }
+    }
+
+    private enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    private static final class Node<K, V> {
+        private final K key;
+        private final V value;
+        private final long created = System.nanoTime();
+        private volatile long lastAccess = created;
+
+        // guarded by policy lock
+        private Region region;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+        private boolean inCreationOrder;
+        private Node<K, V> older;
+        private Node<K, V> newer;
+
+        private Node(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Doubly linked list of nodes in a region, least recently used first.
+     */
+    private static final class AccessOrder<K, V> {
+        private final Region region;
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private long size;
+
+        private AccessOrder(Region region) {
+            this.region = region;
+        }
+
+        private void addLast(Node<K, V> node) {
+            node.region = region;
+            node.previous = last;
+            node.next = null;
+            if (null == last) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+            size++;
+        }
+
+        private void remove(Node<K, V> node) {
+            if (null == node.previous) {
+                first = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (null == node.next) {
+                last = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            node.region = null;
+            size--;
+        }
+
+        private void moveToLast(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        private void clear() {
+            first = null;
+            last = null;
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import io.helidon.config.Config;
+
+/**
+ * Cache of tokens that passed (expensive) verification, such as signature validation of a JWT.
+ * Clients usually send the same token with many requests, so a cached token does not have to be verified again.
+ * <p>
+ * Tokens are stored under a SHA-256 hash of the token string and are evicted once expired (see
+ * {@link Builder#expiration(java.util.function.Function)}), when not used for the configured timeout,
+ * or when the cache is full. Only successfully verified tokens are cached. Claims that depend on current time
+ * (such as expiration and not-before) must still be validated by the caller for each request.
+ * <p>
+ * Use the same instance to read the statistics of the cache, for example to register them as gauges.
+ * <p>
+ * A cached token is trusted without calling the verifier, so a cache must only be used by a single verifying
+ * component (such as a security provider), see {@link #bindTo(Object)}.
+ *
+ * @param <T> type of the verified token
+ */
+public final class VerifiedTokenCache<T> {
+    /**
+     * Default maximal number of tokens in the cache.
+     */
+    public static final long DEFAULT_MAX_SIZE = 10_000;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder verificationNanos = new LongAdder();
+    private final AtomicReference<Object> owner = new AtomicReference<>();
+    private final EvictableCache<String, CachedToken<T>> cache;
+    private final Function<T, Optional<Instant>> expiration;
+
+    private VerifiedTokenCache(Builder<T> builder) {
+        this.expiration = builder.expiration;
+        this.cache = builder.cacheBuilder
+                .evictor((key, token) -> token.expired())
+                .build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @param <T> type of the verified token
+     * @return a new builder
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Create a new cache with default configuration, tokens do not expire (other than by the cache timeout).
+     *
+     * @param <T> type of the verified token
+     * @return a new cache
+     */
+    public static <T> VerifiedTokenCache<T> create() {
+        return VerifiedTokenCache.<T>builder().build();
+    }
+
+    /**
+     * Create a new cache from configuration.
+     * See {@link EvictableCache.Builder#config(io.helidon.config.Config)} for configuration options.
+     *
+     * @param config configuration of the cache
+     * @param expiration function to get expiration time of a token
+     * @param <T> type of the verified token
+     * @return a new cache
+     */
+    public static <T> VerifiedTokenCache<T> create(Config config, Function<T, Optional<Instant>> expiration) {
+        return VerifiedTokenCache.<T>builder()
+                .config(config)
+                .expiration(expiration)
+                .build();
+    }
+
+    /**
+     * Bind this cache to the component that verifies the tokens.
+     * Tokens verified by one component (e.g. with its keys, issuer or audience) must not be accepted by another one,
+     * so a cache cannot be shared.
+     *
+     * @param owner component using this cache to verify tokens
+     * @throws IllegalStateException if this cache is already bound to a different component
+     */
+    public void bindTo(Object owner) {
+        Objects.requireNonNull(owner, "Owner of the token cache must not be null");
+        if (!this.owner.compareAndSet(null, owner) && this.owner.get() != owner) {
+            throw new IllegalStateException("Verified token cache is already used by " + this.owner.get()
+                                                    + ", each provider must use its own cache instance");
+        }
+    }
+
+    /**
+     * Return the cached token, or verify it and cache the result.
+     *
+     * @param token token string as received from the client
+     * @param verifier verifies the token, returns empty if the token is not valid
+     * @return verified token, or empty if verification failed
+     */
+    public Optional<T> verify(String token, Supplier<Optional<T>> verifier) {
+        String key = hash(token);
+        Optional<CachedToken<T>> cached = cache.get(key);
+        if (cached.isPresent()) {
+            CachedToken<T> cachedToken = cached.get();
+            if (!cachedToken.expired()) {
+                hits.increment();
+                return Optional.of(cachedToken.token);
+            }
+            cache.remove(key);
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        Optional<T> verified = verifier.get();
+        verificationNanos.add(System.nanoTime() - start);
+        verifications.increment();
+
+        verified.ifPresent(it -> cache.computeValue(key, () -> Optional.of(new CachedToken<>(it, expiration.apply(it)))));
+        return verified;
+    }
+
+    /**
+     * Number of requests served from the cache.
+     *
+     * @return hit count
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of requests that had to verify the token.
+     *
+     * @return miss count
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Ratio of requests served from the cache.
+     *
+     * @return hit rate between {@code 0} and {@code 1}, {@code 0} if there were no requests yet
+     */
+    public double hitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return (total == 0) ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Total time spent verifying tokens that were not cached.
+     *
+     * @param unit time unit of the result
+     * @return total verification time
+     */
+    public long verificationTime(TimeUnit unit) {
+        return unit.convert(verificationNanos.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Average time to verify a token that was not cached.
+     *
+     * @param unit time unit of the result
+     * @return average verification time, {@code 0} if no token was verified yet
+     */
+    public long averageVerificationTime(TimeUnit unit) {
+        long count = verifications.sum();
+        return (count == 0) ? 0 : unit.convert(verificationNanos.sum() / count, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Current number of cached tokens (including expired tokens not yet evicted).
+     *
+     * @return size of the cache
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Close this cache, stops the eviction thread.
+     */
+    public void close() {
+        cache.close();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new SecurityException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link VerifiedTokenCache}.
+     *
+     * @param <T> type of the verified token
+     */
+    public static final class Builder<T> implements io.helidon.common.Builder<VerifiedTokenCache<T>> {
+        private final EvictableCache.Builder<String, CachedToken<T>> cacheBuilder = EvictableCache.builder();
+        private Function<T, Optional<Instant>> expiration = it -> Optional.empty();
+
+        private Builder() {
+            cacheBuilder.maxSize(DEFAULT_MAX_SIZE);
+        }
+
+        @Override
+        public VerifiedTokenCache<T> build() {
+            return new VerifiedTokenCache<>(this);
+        }
+
+        /**
+         * Function to get expiration time of a verified token, expired tokens are never returned from the cache.
+         *
+         * @param expiration function returning expiration time, or empty if the token does not expire
+         * @return updated builder instance
+         */
+        public Builder<T> expiration(Function<T, Optional<Instant>> expiration) {
+            this.expiration = Objects.requireNonNull(expiration);
+            return this;
+        }
+
+        /**
+         * Maximal number of cached tokens, defaults to {@value VerifiedTokenCache#DEFAULT_MAX_SIZE}.
+         *
+         * @param maxSize maximal number of tokens
+         * @return updated builder instance
+         */
+        public Builder<T> maxSize(long maxSize) {
+            cacheBuilder.maxSize(maxSize);
+            return this;
+        }
+
+        /**
+         * Timeout of a token that is not used.
+         *
+         * @param timeout timeout value
+         * @param timeoutUnit timeout unit
+         * @return updated builder instance
+         */
+        public Builder<T> timeout(long timeout, TimeUnit timeoutUnit) {
+            cacheBuilder.timeout(timeout, timeoutUnit);
+            return this;
+        }
+
+        /**
+         * Update this builder from configuration.
+         * See {@link EvictableCache.Builder#config(io.helidon.config.Config)} for configuration options.
+         *
+         * @param config configuration of the cache
+         * @return updated builder instance
+         */
+        public Builder<T> config(Config config) {
+            cacheBuilder.config(config);
+            return this;
+        }
+    }
+
+    private static final class CachedToken<T> {
+        private final T token;
+        private final long expirationMillis;
+
+        private CachedToken(T token, Optional<Instant> expiration) {
+            this.token = token;
+            this.expirationMillis = expiration.map(Instant::toEpochMilli).orElse(Long.MAX_VALUE);
+        }
+
+        private boolean expired() {
+            return System.currentTimeMillis() >= expirationMillis;
+        }
+    }
+}
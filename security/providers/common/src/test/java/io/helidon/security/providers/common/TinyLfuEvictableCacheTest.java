@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.common;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link TinyLfuEvictableCache}.
+ */
+class TinyLfuEvictableCacheTest {
+    private static final Optional<String> EMPTY = Optional.empty();
+
+    @Test
+    void testCaching() {
+        EvictableCache<String, String> cache = builder().build();
+        assertThat(cache.computeValue("one", () -> Optional.of("1")), is(Optional.of("1")));
+        assertThat(cache.computeValue("two", () -> Optional.of("2")), is(Optional.of("2")));
+        assertThat(cache.computeValue("none", () -> EMPTY), is(EMPTY));
+        // already cached
+        assertThat(cache.computeValue("two", () -> EMPTY), is(Optional.of("2")));
+
+        assertThat(cache.remove("two"), is(Optional.of("2")));
+        assertThat(cache.remove("two"), is(EMPTY));
+
+        assertThat(cache.computeValue("two", () -> EMPTY), is(EMPTY));
+        assertThat(cache.get("one"), is(Optional.of("1")));
+        assertThat(cache.get("two"), is(EMPTY));
+
+        assertThat(cache.hitCount(), is(2L));
+        assertThat(cache.missCount(), is(5L));
+        assertThat(cache.evictionCount(), is(0L));
+
+        cache.close();
+    }
+
+    @Test
+    void testEviction() throws InterruptedException {
+        TinyLfuEvictableCache<String, String> cache = (TinyLfuEvictableCache<String, String>) builder()
+                .timeout(50, TimeUnit.MILLISECONDS)
+                .build();
+
+        assertThat(cache.computeValue("one", () -> Optional.of("1")), is(Optional.of("1")));
+        TimeUnit.MILLISECONDS.sleep(100);
+        cache.evict();
+        assertThat(cache.size(), is(0));
+        assertThat(cache.evictionCount(), is(1L));
+        assertThat(cache.get("one"), is(EMPTY));
+
+        cache.close();
+    }
+
+    @Test
+    void testOverallTimeout() throws InterruptedException {
+        EvictableCache<String, String> cache = builder()
+                .timeout(10, TimeUnit.MINUTES)
+                .overallTimeout(50, TimeUnit.MILLISECONDS)
+                .build();
+
+        assertThat(cache.computeValue("one", () -> Optional.of("1")), is(Optional.of("1")));
+        assertThat(cache.get("one"), is(Optional.of("1")));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(cache.get("one"), is(EMPTY));
+
+        cache.close();
+    }
+
+    @Test
+    void testEvictor() {
+        EvictableCache<String, String> cache = builder()
+                // always evict ones
+                .evictor((key, value) -> "one".equals(key))
+                .build();
+
+        assertThat(cache.computeValue("one", () -> Optional.of("1")), is(Optional.of("1")));
+        assertThat(cache.computeValue("two", () -> Optional.of("2")), is(Optional.of("2")));
+        assertThat(cache.get("one"), is(EMPTY));
+        assertThat(cache.get("two"), is(Optional.of("2")));
+
+        cache.close();
+    }
+
+    @Test
+    void testMaxSizeKeepsFrequent() {
+        TinyLfuEvictableCache<Integer, String> cache = (TinyLfuEvictableCache<Integer, String>) EvictableCache
+                .<Integer, String>builder()
+                .cacheType(EvictableCache.CacheType.TINY_LFU)
+                .maxSize(100)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            int key = i;
+            cache.computeValue(key, () -> Optional.of(String.valueOf(key)));
+        }
+        // make the first ten keys popular
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.get(i);
+            }
+        }
+        // a scan of keys used only once must not push the popular ones out
+        for (int i = 100; i < 1000; i++) {
+            int key = i;
+            cache.computeValue(key, () -> Optional.of(String.valueOf(key)));
+        }
+        cache.evict();
+
+        assertThat(cache.size(), is(100));
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.get(i), is(Optional.of(String.valueOf(i))));
+        }
+        assertThat(cache.evictionCount(), is(900L));
+
+        cache.close();
+    }
+
+    @Test
+    void testFromConfig() {
+        Config config = Config.builder()
+                .sources(ConfigSources.create(Map.of("cache-type", "tiny-lfu",
+                                                     "max-size", "10")))
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .build();
+
+        EvictableCache<String, String> cache = EvictableCache.create(config);
+        assertThat(cache, instanceOf(TinyLfuEvictableCache.class));
+
+        cache.close();
+    }
+
+    private static EvictableCache.Builder<String, String> builder() {
+        return EvictableCache.<String, String>builder()
+                .cacheType(EvictableCache.CacheType.TINY_LFU);
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.security.providers.common;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link io.helidon.security.providers.common.VerifiedTokenCache}.
+ */
+class VerifiedTokenCacheTest {
+    @Test
+    void testCaching() {
+        AtomicInteger verifications = new AtomicInteger();
+        VerifiedTokenCache<String> cache = VerifiedTokenCache.create();
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.verify("token", () -> verified("valid", verifications)), is(Optional.of("valid")));
+        }
+        assertThat(verifications.get(), is(1));
+        assertThat(cache.hitCount(), is(2L));
+        assertThat(cache.missCount(), is(1L));
+        assertThat(cache.hitRate(), is(2.0 / 3));
+
+        // failed verification is not cached
+        assertThat(cache.verify("other", () -> Optional.empty()), is(Optional.empty()));
+        assertThat(cache.verify("other", () -> verified("other", verifications)), is(Optional.of("other")));
+        assertThat(verifications.get(), is(2));
+        assertThat(cache.size(), is(2));
+
+        cache.close();
+    }
+
+    @Test
+    void testExpiration() {
+        AtomicInteger verifications = new AtomicInteger();
+        VerifiedTokenCache<Instant> cache = VerifiedTokenCache.<Instant>builder()
+                .expiration(Optional::of)
+                .build();
+
+        Instant expired = Instant.now().minusSeconds(1);
+        cache.verify("expired", () -> verified(expired, verifications));
+        cache.verify("expired", () -> verified(expired, verifications));
+        assertThat(verifications.get(), is(2));
+
+        Instant valid = Instant.now().plusSeconds(60);
+        cache.verify("valid", () -> verified(valid, verifications));
+        cache.verify("valid", () -> verified(valid, verifications));
+        assertThat(verifications.get(), is(3));
+
+        cache.close();
+    }
+
+    @Test
+    void testSharingRejected() {
+        VerifiedTokenCache<String> cache = VerifiedTokenCache.create();
+        Object provider = new Object();
+
+        cache.bindTo(provider);
+        // binding again to the same owner is allowed
+        cache.bindTo(provider);
+        assertThrows(IllegalStateException.class, () -> cache.bindTo(new Object()));
+
+        cache.close();
+    }
+
+    private static <T> Optional<T> verified(T token, AtomicInteger verifications) {
+        verifications.incrementAndGet();
+        return Optional.of(token);
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,8 @@ import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 import io.helidon.common.Errors;
@@ -48,6 +50,7 @@ import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
+import io.helidon.security.providers.common.VerifiedTokenCache;
 import io.helidon.security.spi.AuthenticationProvider;
 import io.helidon.security.spi.OutboundSecurityProvider;
 import io.helidon.security.spi.SynchronousProvider;
@@ -85,6 +88,7 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new IdentityHashMap<>();
     private final Jwk defaultJwk;
     private final boolean useJwtGroups;
+    private final VerifiedTokenCache<SignedJwt> tokenCache;
 
     private JwtProvider(Builder builder) {
         this.optional = builder.optional;
@@ -100,6 +104,10 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         this.expectedAudience = builder.expectedAudience;
         this.verifySignature = builder.verifySignature;
         this.useJwtGroups = builder.useJwtGroups;
+        this.tokenCache = builder.tokenCache;
+        if (null != tokenCache) {
+            tokenCache.bindTo(this);
+        }
 
         if (null == atnTokenHandler) {
             defaultTokenHandler = TokenHandler.builder()
@@ -169,32 +177,57 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     }
 
     private AuthenticationResponse authenticateToken(String token) {
+        if (!verifySignature) {
+            SignedJwt signedJwt;
+            try {
+                signedJwt = SignedJwt.parseToken(token);
+            } catch (Exception e) {
+                //invalid token
+                return AuthenticationResponse.failed("Invalid token", e);
+            }
+            return AuthenticationResponse.success(buildSubject(signedJwt.getJwt(), signedJwt));
+        }
+
+        AtomicReference<AuthenticationResponse> failure = new AtomicReference<>();
+        Supplier<Optional<SignedJwt>> verifier = () -> verifyToken(token, failure);
+        Optional<SignedJwt> verified = (null == tokenCache) ? verifier.get() : tokenCache.verify(token, verifier);
+
+        return verified.map(this::validateToken)
+                .orElseGet(failure::get);
+    }
+
+    private Optional<SignedJwt> verifyToken(String token, AtomicReference<AuthenticationResponse> failure) {
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
         } catch (Exception e) {
             //invalid token
-            return AuthenticationResponse.failed("Invalid token", e);
-        }
-        if (verifySignature) {
-            Errors errors = signedJwt.verifySignature(verifyKeys, defaultJwk);
-            if (errors.isValid()) {
-                Jwt jwt = signedJwt.getJwt();
-                // verify the audience is correct
-                Errors validate = jwt.validate(null, expectedAudience);
-                if (validate.isValid()) {
-                    return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
-                } else {
-                    return AuthenticationResponse.failed("Audience is invalid or missing: " + expectedAudience);
-                }
-            } else {
-                return AuthenticationResponse.failed(errors.toString());
-            }
+            failure.set(AuthenticationResponse.failed("Invalid token", e));
+            return Optional.empty();
+        }
+        Errors errors = signedJwt.verifySignature(verifyKeys, defaultJwk);
+        if (errors.isValid()) {
+            return Optional.of(signedJwt);
+        }
+        failure.set(AuthenticationResponse.failed(errors.toString()));
+        return Optional.empty();
+    }
+
+    private AuthenticationResponse validateToken(SignedJwt signedJwt) {
+        Jwt jwt = signedJwt.getJwt();
+        // verify the audience is correct (time claims are validated even for cached tokens)
+        Errors validate = jwt.validate(null, expectedAudience);
+        if (validate.isValid()) {
+            return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
         } else {
-            return AuthenticationResponse.success(buildSubject(signedJwt.getJwt(), signedJwt));
+            return AuthenticationResponse.failed("Audience is invalid or missing: " + expectedAudience);
         }
     }
 
+    private static Optional<Instant> expirationTime(SignedJwt signedJwt) {
+        return signedJwt.getJwt().expirationTime();
+    }
+
     Subject buildSubject(Jwt jwt, SignedJwt signedJwt) {
         Principal principal = buildPrincipal(jwt);
 
@@ -606,6 +639,7 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         private String issuer;
         private String expectedAudience;
         private boolean useJwtGroups = true;
+        private VerifiedTokenCache<SignedJwt> tokenCache;
 
         private Builder() {
         }
@@ -793,6 +827,8 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             config.get("atn-token").ifExists(this::verifyKeys);
             config.get("atn-token.jwt-audience").asString().ifPresent(this::expectedAudience);
             config.get("atn-token.verify-signature").asBoolean().ifPresent(this::verifySignature);
+            config.get("atn-token.token-cache")
+                    .ifExists(cacheConfig -> tokenCache(VerifiedTokenCache.create(cacheConfig, JwtProvider::expirationTime)));
             config.get("sign-token").ifExists(outbound -> outboundConfig(OutboundConfig.create(outbound)));
             config.get("sign-token").ifExists(this::outbound);
             config.get("allow-unsigned").asBoolean().ifPresent(this::allowUnsigned);
@@ -822,6 +858,33 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             return this;
         }
 
+        /**
+         * Cache of tokens with verified signature.
+         * Clients usually send the same token with many requests, signature of a cached token is not verified again.
+         * Expiration and audience of the token are still validated for each request.
+         * Tokens are not cached by default. Use the same instance to read cache statistics.
+         * The cache must not be shared with another provider.
+         *
+         * @param tokenCache cache of verified tokens
+         * @return updated builder instance
+         * @see #tokenCacheBuilder()
+         */
+        public Builder tokenCache(VerifiedTokenCache<SignedJwt> tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
+
+        /**
+         * A builder of a token cache that evicts tokens once they expire, to be used with
+         * {@link #tokenCache(io.helidon.security.providers.common.VerifiedTokenCache)}.
+         *
+         * @return a new token cache builder
+         */
+        public static VerifiedTokenCache.Builder<SignedJwt> tokenCacheBuilder() {
+            return VerifiedTokenCache.<SignedJwt>builder()
+                    .expiration(JwtProvider::expirationTime);
+        }
+
         private void verifyKeys(Config config) {
             config.get("jwk.resource").as(Resource::create).ifPresent(this::verifyJwk);
 
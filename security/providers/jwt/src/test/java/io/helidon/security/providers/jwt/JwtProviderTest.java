@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -41,6 +41,7 @@ import io.helidon.security.jwt.jwk.JwkEC;
 import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.jwt.jwk.JwkOctet;
 import io.helidon.security.jwt.jwk.JwkRSA;
+import io.helidon.security.providers.common.VerifiedTokenCache;
 
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.DisplayName;
@@ -50,6 +51,7 @@ import org.mockito.Mockito;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -92,6 +94,55 @@ public class JwtProviderTest {
         assertThat(authenticationResponse.status(), is(SecurityResponse.SecurityStatus.FAILURE));
     }
 
+    @Test
+    public void testTokenCache() {
+        VerifiedTokenCache<SignedJwt> tokenCache = JwtProvider.Builder.tokenCacheBuilder().build();
+        JwtProvider provider = JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .tokenCache(tokenCache)
+                .build();
+
+        SecurityContext context = Mockito.mock(SecurityContext.class);
+        when(context.user()).thenReturn(Optional.of(Subject.create(Principal.builder().name("user1").id("user1-id").build())));
+        ProviderRequest request = mock(ProviderRequest.class);
+        when(request.securityContext()).thenReturn(context);
+        SecurityEnvironment outboundEnv = SecurityEnvironment.builder()
+                .path("/ec")
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080/ec"))
+                .build();
+        OutboundSecurityResponse response = provider.syncOutbound(request, outboundEnv, EndpointConfig.create());
+        String signedToken = response.requestHeaders().get("Authorization").get(0);
+
+        ProviderRequest atnRequest = mock(ProviderRequest.class);
+        when(atnRequest.env()).thenReturn(SecurityEnvironment.builder()
+                                                  .header("Authorization", signedToken)
+                                                  .build());
+        for (int i = 0; i < 3; i++) {
+            AuthenticationResponse authenticationResponse = provider.syncAuthenticate(atnRequest);
+            assertThat(authenticationResponse.status(), is(SecurityResponse.SecurityStatus.SUCCESS));
+            assertThat(authenticationResponse.user().map(Subject::principal).map(Principal::id), is(Optional.of("user1-id")));
+        }
+        assertThat(tokenCache.missCount(), is(1L));
+        assertThat(tokenCache.hitCount(), is(2L));
+
+        // tokens that fail verification are not cached
+        ProviderRequest wrongRequest = mock(ProviderRequest.class);
+        when(wrongRequest.env()).thenReturn(SecurityEnvironment.builder()
+                                                    .header("Authorization", "bearer " + WRONG_TOKEN)
+                                                    .build());
+        assertThat(provider.syncAuthenticate(wrongRequest).status(), is(SecurityResponse.SecurityStatus.FAILURE));
+        assertThat(provider.syncAuthenticate(wrongRequest).status(), is(SecurityResponse.SecurityStatus.FAILURE));
+        assertThat(tokenCache.missCount(), is(3L));
+        assertThat(tokenCache.size(), is(1));
+
+        // a token verified by this provider must not be trusted by another one
+        assertThrows(IllegalStateException.class, () -> JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .tokenCache(tokenCache)
+                .build());
+    }
+
     @Test
     public void testEcBothWays() {
         String username = "user1";
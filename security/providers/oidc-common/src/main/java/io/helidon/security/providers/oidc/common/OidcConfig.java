@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,10 @@
 package io.helidon.security.providers.oidc.common;
 
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import javax.json.Json;
@@ -29,10 +32,14 @@ import javax.ws.rs.client.WebTarget;
 
 import io.helidon.common.Errors;
 import io.helidon.common.configurable.Resource;
+import io.helidon.common.http.Http;
 import io.helidon.config.Config;
+import io.helidon.media.jsonp.JsonpSupport;
 import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.util.TokenHandler;
+import io.helidon.webclient.Proxy;
+import io.helidon.webclient.WebClient;
 
 import org.glassfish.jersey.client.ClientProperties;
 import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
@@ -218,6 +225,22 @@ import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
  *     <td>When validate-with-jwk is set to "false", this is the endpoint used</td>
  * </tr>
  * <tr>
+ *     <td>introspect-cache-enabled</td>
+ *     <td>{@value DEFAULT_INTROSPECT_CACHE_ENABLED}</td>
+ *     <td>Whether to cache successful introspection responses, so the identity server is not called for each request
+ *     with the same token</td>
+ * </tr>
+ * <tr>
+ *     <td>introspect-cache-max-size</td>
+ *     <td>{@value DEFAULT_INTROSPECT_CACHE_MAX_SIZE}</td>
+ *     <td>Maximal number of introspected tokens to cache</td>
+ * </tr>
+ * <tr>
+ *     <td>introspect-cache-timeout-millis</td>
+ *     <td>{@value DEFAULT_INTROSPECT_CACHE_TIMEOUT_MILLIS}</td>
+ *     <td>Maximal time an introspection response is cached; a token is never cached after its expiration time</td>
+ * </tr>
+ * <tr>
  *     <td>base-scopes</td>
  *     <td>{@value DEFAULT_BASE_SCOPES}</td>
  *     <td>Configure scopes to be requested by default. If the scope has a qualifier, it must be included here</td>
@@ -281,6 +304,9 @@ public final class OidcConfig {
     static final String DEFAULT_REALM = "helidon";
     static final String DEFAULT_ATTEMPT_PARAM = "h_ra";
     static final int DEFAULT_MAX_REDIRECTS = 5;
+    static final boolean DEFAULT_INTROSPECT_CACHE_ENABLED = false;
+    static final int DEFAULT_INTROSPECT_CACHE_MAX_SIZE = 10_000;
+    static final long DEFAULT_INTROSPECT_CACHE_TIMEOUT_MILLIS = 300_000;
 
     private final String redirectUri;
     private final boolean useCookie;
@@ -302,6 +328,11 @@ public final class OidcConfig {
     private final String baseScopes;
     private final boolean validateJwtWithJwk;
     private final WebTarget introspectEndpoint;
+    private final URI introspectUri;
+    private final WebClient appWebClient;
+    private final boolean introspectCacheEnabled;
+    private final int introspectCacheMaxSize;
+    private final long introspectCacheTimeoutMillis;
     private final String issuer;
     private final String audience;
     private final Client appClient;
@@ -334,6 +365,11 @@ public final class OidcConfig {
         this.appClient = builder.appClient;
         this.tokenEndpoint = builder.tokenEndpoint;
         this.generalClient = builder.generalClient;
+        this.introspectUri = builder.introspectUri;
+        this.appWebClient = builder.appWebClient;
+        this.introspectCacheEnabled = builder.introspectCacheEnabled;
+        this.introspectCacheMaxSize = builder.introspectCacheMaxSize;
+        this.introspectCacheTimeoutMillis = builder.introspectCacheTimeoutMillis;
 
         if (null == builder.signJwk) {
             this.signJwk = JwkKeys.builder().build();
@@ -589,6 +625,56 @@ public final class OidcConfig {
         return introspectEndpoint;
     }
 
+    /**
+     * Token introspection endpoint URI.
+     *
+     * @return introspection endpoint URI, {@code null} when tokens are validated with JWK
+     * @see Builder#introspectEndpointUri(URI)
+     */
+    public URI introspectUri() {
+        return introspectUri;
+    }
+
+    /**
+     * Reactive client with configured proxy and security of this OIDC client.
+     * Only available when tokens are validated through the introspection endpoint.
+     *
+     * @return reactive client for communication with OIDC server, {@code null} when tokens are validated with JWK
+     */
+    public WebClient appWebClient() {
+        return appWebClient;
+    }
+
+    /**
+     * Whether successful token introspection responses are cached.
+     *
+     * @return whether to cache introspection responses
+     * @see Builder#introspectCacheEnabled(boolean)
+     */
+    public boolean introspectCacheEnabled() {
+        return introspectCacheEnabled;
+    }
+
+    /**
+     * Maximal number of cached introspection responses.
+     *
+     * @return maximal size of the introspection cache
+     * @see Builder#introspectCacheMaxSize(int)
+     */
+    public int introspectCacheMaxSize() {
+        return introspectCacheMaxSize;
+    }
+
+    /**
+     * Maximal time an introspection response is cached in milliseconds.
+     *
+     * @return introspection cache timeout in milliseconds
+     * @see Builder#introspectCacheTimeout(long, java.util.concurrent.TimeUnit)
+     */
+    public long introspectCacheTimeoutMillis() {
+        return introspectCacheTimeoutMillis;
+    }
+
     /**
      * Token issuer.
      *
@@ -723,6 +809,9 @@ public final class OidcConfig {
 
         private boolean validateJwtWithJwk = DEFAULT_JWT_VALIDATE_JWK;
         private URI introspectUri;
+        private boolean introspectCacheEnabled = DEFAULT_INTROSPECT_CACHE_ENABLED;
+        private int introspectCacheMaxSize = DEFAULT_INTROSPECT_CACHE_MAX_SIZE;
+        private long introspectCacheTimeoutMillis = DEFAULT_INTROSPECT_CACHE_TIMEOUT_MILLIS;
         private boolean redirect = DEFAULT_REDIRECT;
         private String realm = DEFAULT_REALM;
         private String redirectAttemptParam = DEFAULT_ATTEMPT_PARAM;
@@ -732,6 +821,7 @@ public final class OidcConfig {
         private Client generalClient;
         private WebTarget tokenEndpoint;
         private Client appClient;
+        private WebClient appWebClient;
 
         @Override
         public OidcConfig build() {
@@ -842,8 +932,9 @@ public final class OidcConfig {
                         if ("idcs".equals(serverType)) {
                             this.signJwk = IdcsSupport.signJwk(generalClient, tokenEndpoint, collector, jwkUri);
                         } else {
+                            // keys are refreshed, so rotation of keys on the server does not require a restart
                             this.signJwk = JwkKeys.builder()
-                                    .resource(Resource.create(jwkUri))
+                                    .refreshUri(jwkUri)
                                     .build();
                         }
                     }
@@ -853,6 +944,20 @@ public final class OidcConfig {
                                                      introspectUri,
                                                      "introspection_endpoint",
                                                      "/oauth2/v1/introspect");
+
+                WebClient.Builder webClientBuilder = WebClient.builder()
+                        .useSystemServiceLoader(false)
+                        .addMediaSupport(JsonpSupport.create())
+                        .addHeader(Http.Header.AUTHORIZATION, "Basic " + Base64.getEncoder()
+                                .encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8)));
+                if (proxyHost != null) {
+                    webClientBuilder.proxy(Proxy.builder()
+                                                   .type(Proxy.ProxyType.HTTP)
+                                                   .host(proxyHost)
+                                                   .port(proxyPort)
+                                                   .build());
+                }
+                this.appWebClient = webClientBuilder.build();
             }
 
             return new OidcConfig(this);
@@ -956,6 +1061,10 @@ public final class OidcConfig {
 
             config.get("introspect-endpoint-uri").as(URI.class).ifPresent(this::introspectEndpointUri);
             config.get("validate-with-jwk").asBoolean().ifPresent(this::validateJwtWithJwk);
+            config.get("introspect-cache-enabled").asBoolean().ifPresent(this::introspectCacheEnabled);
+            config.get("introspect-cache-max-size").asInt().ifPresent(this::introspectCacheMaxSize);
+            config.get("introspect-cache-timeout-millis").asLong()
+                    .ifPresent(timeout -> introspectCacheTimeout(timeout, TimeUnit.MILLISECONDS));
             config.get("issuer").asString().ifPresent(this::issuer);
             config.get("audience").asString().ifPresent(this::audience);
 
@@ -1042,6 +1151,47 @@ public final class OidcConfig {
             return this;
         }
 
+        /**
+         * Whether to cache successful responses of the introspection endpoint.
+         * Defaults to {@value #DEFAULT_INTROSPECT_CACHE_ENABLED}.
+         *
+         * @param enabled whether to cache introspection responses
+         * @return updated builder instance
+         */
+        public Builder introspectCacheEnabled(boolean enabled) {
+            this.introspectCacheEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Maximal number of cached introspection responses.
+         * Defaults to {@value #DEFAULT_INTROSPECT_CACHE_MAX_SIZE}.
+         *
+         * @param maxSize maximal size of the introspection cache
+         * @return updated builder instance
+         */
+        public Builder introspectCacheMaxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("Introspection cache max size must be positive, but is " + maxSize);
+            }
+            this.introspectCacheMaxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Maximal time an introspection response is cached.
+         * The response is never cached beyond the expiration time of the token.
+         * Defaults to {@value #DEFAULT_INTROSPECT_CACHE_TIMEOUT_MILLIS} milliseconds.
+         *
+         * @param timeout timeout value
+         * @param unit timeout unit
+         * @return updated builder instance
+         */
+        public Builder introspectCacheTimeout(long timeout, TimeUnit unit) {
+            this.introspectCacheTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
         /**
          * Configure base scopes.
          * By default this is {@value DEFAULT_BASE_SCOPES}.
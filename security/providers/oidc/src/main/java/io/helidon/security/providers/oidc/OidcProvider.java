@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -37,13 +39,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import javax.json.JsonObject;
-import javax.ws.rs.client.Entity;
-import javax.ws.rs.core.CacheControl;
-import javax.ws.rs.core.MediaType;
-import javax.ws.rs.core.MultivaluedHashMap;
-import javax.ws.rs.core.Response;
-
 import io.helidon.common.Errors;
 import io.helidon.common.http.Http;
 import io.helidon.config.Config;
@@ -72,7 +67,6 @@ import io.helidon.security.providers.common.TokenCredential;
 import io.helidon.security.providers.oidc.common.OidcConfig;
 import io.helidon.security.spi.AuthenticationProvider;
 import io.helidon.security.spi.OutboundSecurityProvider;
-import io.helidon.security.spi.SynchronousProvider;
 import io.helidon.security.util.TokenHandler;
 
 /**
@@ -87,14 +81,20 @@ import io.helidon.security.util.TokenHandler;
  * application configuration, as well as "Grant the client access to Identity Cloud Service Admin APIs." configured to "User
  * Administrator"</li>
  * </ul>
+ *
+ * When tokens are validated using the introspection endpoint (JWK validation is disabled), the endpoint is invoked
+ * using a reactive client, so no thread is blocked waiting for the identity server. Successful responses can be cached
+ * (see {@link io.helidon.security.providers.oidc.common.OidcConfig.Builder#introspectCacheEnabled(boolean)}) and concurrent
+ * requests with the same token share a single call to the identity server.
  */
-public final class OidcProvider extends SynchronousProvider implements AuthenticationProvider, OutboundSecurityProvider {
+public final class OidcProvider implements AuthenticationProvider, OutboundSecurityProvider {
     private static final Logger LOGGER = Logger.getLogger(OidcProvider.class.getName());
 
     private final OidcConfig oidcConfig;
     private final TokenHandler paramHeaderHandler;
 
     private final BiConsumer<SignedJwt, Errors.Collector> jwtValidator;
+    private final TokenIntrospector introspector;
     private final Pattern attemptPattern;
     private final boolean propagate;
     private final OidcOutboundConfig outboundConfig;
@@ -151,29 +151,10 @@ public final class OidcProvider extends SynchronousProvider implements Authentic
 
                 });
             };
+            this.introspector = null;
         } else {
-            this.jwtValidator = (signedJwt, collector) -> {
-
-                MultivaluedHashMap<String, String> formValues = new MultivaluedHashMap<>();
-                formValues.putSingle("token", signedJwt.tokenContent());
-                Response response = oidcConfig.introspectEndpoint().request()
-                        .accept(MediaType.APPLICATION_JSON_TYPE)
-                        .cacheControl(CacheControl.valueOf("no-cache, no-store, must-revalidate"))
-                        .post(Entity.form(formValues));
-
-                if (response.getStatusInfo().getFamily() == Response.Status.Family.SUCCESSFUL) {
-                    JsonObject jsonResponse = response.readEntity(JsonObject.class);
-                    if (jsonResponse.getBoolean("active")) {
-                        // fine
-                        return;
-                    }
-                    collector.fatal(jsonResponse, "Token is not active");
-                } else {
-                    collector.fatal(response,
-                                    "Failed to validate token, response code: " + response.getStatus() + ", entity. " + response
-                                            .readEntity(String.class));
-                }
-            };
+            this.jwtValidator = null;
+            this.introspector = TokenIntrospector.create(oidcConfig);
         }
     }
 
@@ -212,7 +193,7 @@ public final class OidcProvider extends SynchronousProvider implements Authentic
     }
 
     @Override
-    protected AuthenticationResponse syncAuthenticate(ProviderRequest providerRequest) {
+    public CompletionStage<AuthenticationResponse> authenticate(ProviderRequest providerRequest) {
         /*
         1. Get token from request - if available, validate it and continue
         2. If not - Redirect to login page
@@ -249,16 +230,18 @@ public final class OidcProvider extends SynchronousProvider implements Authentic
                 }
             }
         } catch (SecurityException e) {
-            return AuthenticationResponse.failed("Failed to extract one of the configured tokens", e);
+            return CompletableFuture.completedFuture(
+                    AuthenticationResponse.failed("Failed to extract one of the configured tokens", e));
         }
 
         if (token.isPresent()) {
             return validateToken(providerRequest, token.get());
         } else {
-            return errorResponse(providerRequest,
-                                 Http.Status.UNAUTHORIZED_401,
-                                 null,
-                                 "Missing token, could not find in either of: " + missingLocations);
+            return CompletableFuture.completedFuture(errorResponse(providerRequest,
+                                                                   Http.Status.UNAUTHORIZED_401,
+                                                                   null,
+                                                                   "Missing token, could not find in either of: "
+                                                                           + missingLocations));
         }
     }
 
@@ -417,20 +400,29 @@ public final class OidcProvider extends SynchronousProvider implements Authentic
         }
     }
 
-    private AuthenticationResponse validateToken(ProviderRequest providerRequest, String token) {
+    private CompletionStage<AuthenticationResponse> validateToken(ProviderRequest providerRequest, String token) {
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
         } catch (Exception e) {
             //invalid token
-            return AuthenticationResponse.failed("Invalid token", e);
+            return CompletableFuture.completedFuture(AuthenticationResponse.failed("Invalid token", e));
         }
 
-        Jwt jwt = signedJwt.getJwt();
-        Errors.Collector collector = Errors.collector();
-        jwtValidator.accept(signedJwt, collector);
+        if (null == introspector) {
+            return CompletableFuture.supplyAsync(() -> {
+                Errors.Collector collector = Errors.collector();
+                jwtValidator.accept(signedJwt, collector);
+                return processValidation(providerRequest, signedJwt, collector.collect());
+            }, providerRequest.securityContext().executorService());
+        }
 
-        Errors errors = collector.collect();
+        return introspector.introspect(signedJwt)
+                .thenApply(errors -> processValidation(providerRequest, signedJwt, errors));
+    }
+
+    private AuthenticationResponse processValidation(ProviderRequest providerRequest, SignedJwt signedJwt, Errors errors) {
+        Jwt jwt = signedJwt.getJwt();
         Errors validationErrors = jwt.validate(oidcConfig.issuer(), oidcConfig.audience());
 
         if (errors.isValid() && validationErrors.isValid()) {
@@ -483,6 +475,22 @@ public final class OidcProvider extends SynchronousProvider implements Authentic
     }
 
     @Override
+    public CompletionStage<OutboundSecurityResponse> outboundSecurity(ProviderRequest providerRequest,
+                                                                      SecurityEnvironment outboundEnv,
+                                                                      EndpointConfig outboundEndpointConfig) {
+        // same semantics as SynchronousProvider, which this provider no longer extends so authentication can be asynchronous
+        return CompletableFuture.supplyAsync(() -> syncOutbound(providerRequest, outboundEnv, outboundEndpointConfig),
+                                             providerRequest.securityContext().executorService());
+    }
+
+    /**
+     * Synchronous outbound security, invoked using the security executor service.
+     *
+     * @param providerRequest context of the request
+     * @param outboundEnv environment of the outbound call
+     * @param outboundEndpointConfig outbound endpoint configuration
+     * @return outbound security response
+     */
     protected OutboundSecurityResponse syncOutbound(ProviderRequest providerRequest,
                                                     SecurityEnvironment outboundEnv,
                                                     EndpointConfig outboundEndpointConfig) {
@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.json.JsonObject;
+
+import io.helidon.common.Errors;
+import io.helidon.common.http.FormParams;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+import io.helidon.security.jwt.SignedJwt;
+import io.helidon.security.providers.common.EvictableCache;
+import io.helidon.security.providers.oidc.common.OidcConfig;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+
+/**
+ * Validates tokens using the introspection endpoint of the identity server.
+ * <p>
+ * Calls are done through the reactive {@link io.helidon.webclient.WebClient}, so no thread is blocked
+ * while waiting for the identity server. Successful responses are cached until the token expires (and at most
+ * for the configured cache timeout), and concurrent introspections of the same token share a single outbound call.
+ */
+final class TokenIntrospector {
+    private static final Logger LOGGER = Logger.getLogger(TokenIntrospector.class.getName());
+    private static final String NO_CACHE = "no-cache, no-store, must-revalidate";
+
+    private final WebClient webClient;
+    private final String introspectUri;
+    private final long cacheTimeoutMillis;
+    // token to the instant until which the successful introspection is reused
+    private final EvictableCache<String, Instant> cache;
+    private final ConcurrentHashMap<String, CompletableFuture<Errors>> inFlight = new ConcurrentHashMap<>();
+
+    private TokenIntrospector(OidcConfig oidcConfig) {
+        this.webClient = oidcConfig.appWebClient();
+        this.introspectUri = oidcConfig.introspectUri().toString();
+        this.cacheTimeoutMillis = oidcConfig.introspectCacheTimeoutMillis();
+
+        if (oidcConfig.introspectCacheEnabled() && cacheTimeoutMillis > 0) {
+            this.cache = EvictableCache.<String, Instant>builder()
+                    .maxSize(oidcConfig.introspectCacheMaxSize())
+                    .overallTimeout(cacheTimeoutMillis, TimeUnit.MILLISECONDS)
+                    .evictor((token, validUntil) -> validUntil.isBefore(Instant.now()))
+                    .build();
+        } else {
+            this.cache = EvictableCache.noCache();
+        }
+    }
+
+    static TokenIntrospector create(OidcConfig oidcConfig) {
+        return new TokenIntrospector(oidcConfig);
+    }
+
+    /**
+     * Introspect the token.
+     *
+     * @param signedJwt token to introspect
+     * @return errors of the introspection, valid if the token is active
+     */
+    CompletionStage<Errors> introspect(SignedJwt signedJwt) {
+        String token = signedJwt.tokenContent();
+        if (isCached(token)) {
+            return CompletableFuture.completedFuture(Errors.collector().collect());
+        }
+
+        CompletableFuture<Errors> result = new CompletableFuture<>();
+        CompletableFuture<Errors> existing = inFlight.putIfAbsent(token, result);
+        if (null != existing) {
+            // the same token is being introspected right now
+            return existing;
+        }
+
+        Single<Errors> response;
+        try {
+            response = callEndpoint(token);
+        } catch (RuntimeException e) {
+            // the request could not even be created, later requests must not wait for it
+            failed(token, result, e);
+            return result;
+        }
+        response.toStage()
+                .whenComplete((errors, throwable) -> {
+                    if (null == throwable) {
+                        if (errors.isValid()) {
+                            cache(token, signedJwt);
+                        }
+                        inFlight.remove(token, result);
+                        result.complete(errors);
+                    } else {
+                        failed(token, result, throwable);
+                    }
+                });
+
+        return result;
+    }
+
+    private void failed(String token, CompletableFuture<Errors> result, Throwable throwable) {
+        inFlight.remove(token, result);
+        LOGGER.log(Level.FINEST, "Failed to introspect token", throwable);
+        Errors.Collector collector = Errors.collector();
+        collector.fatal(throwable, "Failed to validate token: " + throwable.getMessage());
+        result.complete(collector.collect());
+    }
+
+    int cacheSize() {
+        return cache.size();
+    }
+
+    private Single<Errors> callEndpoint(String token) {
+        return webClient.post()
+                .uri(introspectUri)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    headers.add(Http.Header.CACHE_CONTROL, NO_CACHE);
+                    return headers;
+                })
+                .submit(FormParams.builder()
+                                .add("token", token)
+                                .build())
+                .flatMapSingle(this::processResponse);
+    }
+
+    private Single<Errors> processResponse(WebClientResponse response) {
+        Errors.Collector collector = Errors.collector();
+        if (response.status().family() == Http.ResponseStatus.Family.SUCCESSFUL) {
+            return response.content()
+                    .as(JsonObject.class)
+                    .map(jsonResponse -> {
+                        if (!jsonResponse.getBoolean("active", false)) {
+                            collector.fatal(jsonResponse, "Token is not active");
+                        }
+                        return collector.collect();
+                    });
+        }
+        return response.content()
+                .as(String.class)
+                .map(entity -> {
+                    collector.fatal(response,
+                                    "Failed to validate token, response code: " + response.status().code()
+                                            + ", entity. " + entity);
+                    return collector.collect();
+                });
+    }
+
+    private boolean isCached(String token) {
+        return cache.get(token)
+                .map(validUntil -> {
+                    if (validUntil.isAfter(Instant.now())) {
+                        return true;
+                    }
+                    cache.remove(token);
+                    return false;
+                })
+                .orElse(false);
+    }
+
+    private void cache(String token, SignedJwt signedJwt) {
+        Instant validUntil = Instant.now().plusMillis(cacheTimeoutMillis);
+        Instant expiration = signedJwt.getJwt().expirationTime().orElse(validUntil);
+        if (expiration.isBefore(validUntil)) {
+            validUntil = expiration;
+        }
+        if (validUntil.isAfter(Instant.now())) {
+            Instant value = validUntil;
+            cache.computeValue(token, () -> Optional.of(value));
+        }
+    }
+}
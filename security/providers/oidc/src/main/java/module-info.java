@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2019, 2021 Oracle and/or its affiliates. All rights reserved.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ module io.helidon.security.providers.oidc {
     requires jersey.client;
     requires java.ws.rs;
     requires io.helidon.webserver;
+    requires io.helidon.webclient;
     requires io.helidon.security.integration.webserver;
 
     exports io.helidon.security.providers.oidc;
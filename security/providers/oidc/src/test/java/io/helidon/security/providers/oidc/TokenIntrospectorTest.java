@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.oidc;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.Errors;
+import io.helidon.common.http.FormParams;
+import io.helidon.common.http.MediaType;
+import io.helidon.security.jwt.Jwt;
+import io.helidon.security.jwt.SignedJwt;
+import io.helidon.security.jwt.jwk.Jwk;
+import io.helidon.security.providers.oidc.common.OidcConfig;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link TokenIntrospector}.
+ */
+class TokenIntrospectorTest {
+    private static final AtomicInteger CALLS = new AtomicInteger();
+    private static volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+    private static WebServer server;
+
+    private TokenIntrospector introspector;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = WebServer.create(Routing.builder()
+                                          .post("/introspect", (req, res) -> req.content()
+                                                  .as(FormParams.class)
+                                                  .thenAccept(form -> {
+                                                      CALLS.incrementAndGet();
+                                                      boolean active = !form.first("token")
+                                                              .map(SignedJwt::parseToken)
+                                                              .flatMap(jwt -> jwt.getJwt().subject())
+                                                              .orElse("")
+                                                              .equals("inactive");
+                                                      gate.thenRun(() -> {
+                                                          res.headers().contentType(MediaType.APPLICATION_JSON);
+                                                          res.send("{\"active\": " + active + "}");
+                                                      });
+                                                  }))
+                                          .build());
+        server.start().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    static void stopServer() throws Exception {
+        server.shutdown().toCompletableFuture().get(10, TimeUnit.SECONDS);
+    }
+
+    @BeforeEach
+    void reset() {
+        CALLS.set(0);
+        gate = CompletableFuture.completedFuture(null);
+        introspector = TokenIntrospector.create(OidcConfig.builder()
+                                                        .clientId("id")
+                                                        .clientSecret("secret")
+                                                        .identityUri(URI.create("http://localhost:7774/identity"))
+                                                        .tokenEndpointUri(URI.create("http://localhost:7774/token"))
+                                                        .authorizationEndpointUri(URI.create("http://localhost:7774/authorize"))
+                                                        .introspectEndpointUri(URI.create("http://localhost:" + server.port()
+                                                                                                  + "/introspect"))
+                                                        .oidcMetadataWellKnown(false)
+                                                        .introspectCacheEnabled(true)
+                                                        .build());
+    }
+
+    @Test
+    void testCoalescedAndCached() throws Exception {
+        gate = new CompletableFuture<>();
+        SignedJwt token = token("active");
+
+        CompletionStage<Errors> first = introspector.introspect(token);
+        CompletionStage<Errors> second = introspector.introspect(token);
+        assertThat("Concurrent introspection should be shared", second, is(sameInstance(first)));
+
+        gate.complete(null);
+        assertThat(first.toCompletableFuture().get(10, TimeUnit.SECONDS).isValid(), is(true));
+        assertThat(CALLS.get(), is(1));
+
+        Errors cached = introspector.introspect(token).toCompletableFuture().get(10, TimeUnit.SECONDS);
+        assertThat(cached.isValid(), is(true));
+        assertThat("Active token should be served from cache", CALLS.get(), is(1));
+        assertThat(introspector.cacheSize(), is(1));
+    }
+
+    @Test
+    void testInactiveNotCached() throws Exception {
+        SignedJwt token = token("inactive");
+
+        assertThat(introspector.introspect(token).toCompletableFuture().get(10, TimeUnit.SECONDS).isValid(), is(false));
+        assertThat(introspector.introspect(token).toCompletableFuture().get(10, TimeUnit.SECONDS).isValid(), is(false));
+        assertThat(CALLS.get(), is(2));
+        assertThat(introspector.cacheSize(), is(0));
+    }
+
+    @Test
+    void testRequestNotCreated() throws Exception {
+        TokenIntrospector broken = TokenIntrospector.create(OidcConfig.builder()
+                                                                    .clientId("id")
+                                                                    .clientSecret("secret")
+                                                                    .identityUri(URI.create("http://localhost:7774/identity"))
+                                                                    .tokenEndpointUri(URI.create("http://localhost:7774/token"))
+                                                                    .authorizationEndpointUri(URI.create(
+                                                                            "http://localhost:7774/authorize"))
+                                                                    .introspectEndpointUri(URI.create("urn:introspect"))
+                                                                    .oidcMetadataWellKnown(false)
+                                                                    .build());
+        SignedJwt token = token("active");
+
+        assertThat(broken.introspect(token).toCompletableFuture().get(10, TimeUnit.SECONDS).isValid(), is(false));
+        // the failed introspection must not be shared with later requests
+        assertThat(broken.introspect(token).toCompletableFuture().get(10, TimeUnit.SECONDS).isValid(), is(false));
+    }
+
+    private static SignedJwt token(String subject) {
+        Jwt jwt = Jwt.builder()
+                .subject(subject)
+                .expirationTime(Instant.now().plusSeconds(3600))
+                .build();
+        return SignedJwt.sign(jwt, Jwk.NONE_JWK);
+    }
+}
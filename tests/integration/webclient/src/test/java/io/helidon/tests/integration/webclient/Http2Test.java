@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tests.integration.webclient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.configurable.Resource;
+import io.helidon.common.http.Http;
+import io.helidon.common.pki.KeyConfig;
+import io.helidon.common.reactive.Single;
+import io.helidon.webclient.Http2ClientConfiguration;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+import io.helidon.webclient.WebClientTls;
+import io.helidon.webserver.ExperimentalConfiguration;
+import io.helidon.webserver.Http2Configuration;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.SocketConfiguration;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.WebServerTls;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests HTTP/2 support of the {@link WebClient}.
+ */
+public class Http2Test {
+
+    private static final int REQUESTS = 50;
+
+    private static WebServer webServer;
+
+    @BeforeAll
+    public static void startServer() throws Exception {
+        WebServerTls tls = WebServerTls.builder()
+                .privateKey(KeyConfig.keystoreBuilder()
+                                    .keystore(Resource.create("server.p12"))
+                                    .keystorePassphrase("password")
+                                    .build())
+                .build();
+
+        webServer = WebServer.builder()
+                .routing(Routing.builder().get("/greet", (req, res) -> res.send("Hello World!")))
+                .experimental(ExperimentalConfiguration.builder()
+                                      .http2(Http2Configuration.builder().enable(true).build())
+                                      .build())
+                .addSocket(SocketConfiguration.builder()
+                                   .name("secured")
+                                   .tls(tls)
+                                   .build(),
+                           Routing.builder().get("/greet", (req, res) -> res.send("Hello Secured!")).build())
+                .build()
+                .start()
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    public static void stopServer() throws Exception {
+        if (webServer != null) {
+            webServer.shutdown()
+                    .toCompletableFuture()
+                    .get(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testPriorKnowledge() {
+        WebClient webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .http2(Http2ClientConfiguration.builder().enabled(true).build())
+                .build();
+
+        List<Single<WebClientResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(webClient.get().path("/greet").request());
+        }
+        for (Single<WebClientResponse> single : responses) {
+            WebClientResponse response = single.await(10, TimeUnit.SECONDS);
+            assertThat(response.status(), is(Http.Status.OK_200));
+            assertThat(response.version(), is(Http.Version.V2_0));
+            assertThat(response.content().as(String.class).await(10, TimeUnit.SECONDS), is("Hello World!"));
+        }
+
+        // all the requests were multiplexed over a single connection
+        assertThat(webClient.connectionPoolStatistics().created(), is(1L));
+    }
+
+    @Test
+    public void testAlpn() {
+        WebClient webClient = WebClient.builder()
+                .baseUri("https://localhost:" + webServer.port("secured"))
+                .tls(WebClientTls.builder().trustAll(true).build())
+                .http2(Http2ClientConfiguration.builder().enabled(true).build())
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            WebClientResponse response = webClient.get().path("/greet").request().await(10, TimeUnit.SECONDS);
+            assertThat(response.status(), is(Http.Status.OK_200));
+            assertThat(response.version(), is(Http.Version.V2_0));
+            assertThat(response.content().as(String.class).await(10, TimeUnit.SECONDS), is("Hello Secured!"));
+        }
+
+        assertThat(webClient.connectionPoolStatistics().created(), is(1L));
+    }
+
+    @Test
+    public void testHttp1() {
+        WebClient webClient = WebClient.builder()
+                .baseUri("http://localhost:" + webServer.port())
+                .http2(Http2ClientConfiguration.builder().enabled(true).build())
+                .build();
+
+        WebClientResponse response = webClient.get()
+                .path("/greet")
+                .httpVersion(Http.Version.V1_1)
+                .request()
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response.version(), is(Http.Version.V1_1));
+        assertThat(response.content().as(String.class).await(10, TimeUnit.SECONDS), is("Hello World!"));
+    }
+}
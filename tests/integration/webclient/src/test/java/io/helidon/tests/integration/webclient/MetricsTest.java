@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,6 +15,8 @@
  */
 package io.helidon.tests.integration.webclient;
 
+import java.util.Map;
+
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.Single;
 import io.helidon.metrics.RegistryFactory;
@@ -25,7 +27,9 @@ import io.helidon.webclient.spi.WebClientService;
 
 import org.eclipse.microprofile.metrics.ConcurrentGauge;
 import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Gauge;
 import org.eclipse.microprofile.metrics.Meter;
+import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.junit.jupiter.api.Test;
 
@@ -227,4 +231,30 @@ public class MetricsTest extends TestParent {
         }
     }
 
+    @Test
+    public void testConnectionPoolGauges() {
+        WebClient webClient = createNewClient();
+        WebClientMetrics.registerConnectionPool("pool.test", webClient);
+        Map<MetricID, Gauge> gauges = FACTORY.getGauges();
+
+        assertThat(gauges.get(new MetricID("pool.test.connections.created")).getValue(), is(0L));
+        try {
+            for (int i = 0; i < 3; i++) {
+                webClient.get()
+                        .request(String.class)
+                        .toCompletableFuture()
+                        .get();
+            }
+            // connection is reused for all requests
+            assertThat(gauges.get(new MetricID("pool.test.connections.created")).getValue(), is(1L));
+            assertThat(gauges.get(new MetricID("pool.test.connections.evicted")).getValue(), is(0L));
+            assertThat(gauges.get(new MetricID("pool.test.connections.pending")).getValue(), is(0L));
+            long active = (Long) gauges.get(new MetricID("pool.test.connections.active")).getValue();
+            long idle = (Long) gauges.get(new MetricID("pool.test.connections.idle")).getValue();
+            assertThat(active + idle, is(1L));
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
 }
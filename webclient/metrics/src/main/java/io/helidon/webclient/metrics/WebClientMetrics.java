@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,15 +17,24 @@ package io.helidon.webclient.metrics;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.ToLongFunction;
 
 import io.helidon.common.reactive.Single;
 import io.helidon.config.Config;
+import io.helidon.metrics.RegistryFactory;
+import io.helidon.webclient.ConnectionPoolStatistics;
+import io.helidon.webclient.WebClient;
 import io.helidon.webclient.WebClientException;
 import io.helidon.webclient.WebClientRequestBuilder;
 import io.helidon.webclient.WebClientServiceRequest;
 import io.helidon.webclient.WebClientServiceResponse;
 import io.helidon.webclient.spi.WebClientService;
 
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+
 /**
  * Container object for all metrics created by the config.
  */
@@ -87,6 +96,44 @@ public class WebClientMetrics implements WebClientService {
         return builder.build();
     }
 
+    /**
+     * Registers gauges of the connection pool of the client in the application registry.
+     * Gauges {@code <name>.connections.active}, {@code <name>.connections.idle},
+     * {@code <name>.connections.pending}, {@code <name>.connections.created} and
+     * {@code <name>.connections.evicted} are registered.
+     *
+     * @param name name of the client, used as a prefix of the gauge names
+     * @param client client to observe
+     */
+    public static void registerConnectionPool(String name, WebClient client) {
+        MetricRegistry registry = RegistryFactory.getInstance().getRegistry(MetricRegistry.Type.APPLICATION);
+        ConnectionPoolStatistics statistics = client.connectionPoolStatistics();
+        registerGauge(registry, name, "active", "Connections used by requests", statistics,
+                      ConnectionPoolStatistics::active);
+        registerGauge(registry, name, "idle", "Connections available for reuse", statistics,
+                      ConnectionPoolStatistics::idle);
+        registerGauge(registry, name, "pending", "Requests waiting for a connection", statistics,
+                      ConnectionPoolStatistics::pending);
+        registerGauge(registry, name, "created", "Total number of opened connections", statistics,
+                      ConnectionPoolStatistics::created);
+        registerGauge(registry, name, "evicted", "Total number of connections closed by the pool", statistics,
+                      ConnectionPoolStatistics::evicted);
+    }
+
+    private static void registerGauge(MetricRegistry registry,
+                                      String name,
+                                      String gauge,
+                                      String description,
+                                      ConnectionPoolStatistics statistics,
+                                      ToLongFunction<ConnectionPoolStatistics> value) {
+        Metadata metadata = Metadata.builder()
+                .withName(name + ".connections." + gauge)
+                .withDescription(description)
+                .withType(MetricType.GAUGE)
+                .build();
+        registry.register(metadata, (Gauge<Long>) () -> value.applyAsLong(statistics));
+    }
+
     private static WebClientMetric processClientMetric(Config metricConfig) {
         String type = metricConfig.get("type").asString().orElse("COUNTER");
         switch (type) {
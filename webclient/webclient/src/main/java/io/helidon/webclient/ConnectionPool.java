@@ -0,0 +1,396 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.util.AttributeKey;
+
+/**
+ * Pool of keep-alive connections of a single {@link WebClient} instance.
+ * <p>
+ * Connections are pooled per {@link WebClientRequestBuilderImpl.ConnectionIdent}. Each host has a limited number of
+ * connections; requests over the limit wait in a bounded queue until a connection is returned, or until the acquire
+ * timeout passes. The most recently returned connection is reused first, so the rest can reach the idle timeout
+ * and get closed when the load drops.
+ */
+final class ConnectionPool implements ConnectionPoolStatistics {
+
+    static final AttributeKey<PooledChannel> POOLED_CHANNEL = AttributeKey.valueOf("pooledChannel");
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private final Map<WebClientRequestBuilderImpl.ConnectionIdent, HostPool> hosts = new ConcurrentHashMap<>();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final ConnectionPoolConfiguration configuration;
+    private final Http2ConnectionPool http2;
+
+    ConnectionPool(ConnectionPoolConfiguration configuration, Http2ClientConfiguration http2Configuration) {
+        this.configuration = configuration;
+        this.http2 = new Http2ConnectionPool(configuration, http2Configuration, created, evicted);
+    }
+
+    /**
+     * Obtain a connection to the host.
+     *
+     * @param ident     connection identification
+     * @param connector used to open a new connection if there is no idle connection and the limit is not reached
+     * @return future completed with an active channel
+     */
+    CompletableFuture<Channel> acquire(WebClientRequestBuilderImpl.ConnectionIdent ident,
+                                       Supplier<ChannelFuture> connector) {
+        return hosts.computeIfAbsent(ident, it -> new HostPool(it.toString())).acquire(connector);
+    }
+
+    /**
+     * Return the channel to its pool once the response was fully read.
+     *
+     * @param channel channel to return
+     */
+    static void release(Channel channel) {
+        PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+        if (pooled != null) {
+            pooled.host.release(pooled);
+        }
+    }
+
+    /**
+     * Remove closed channel from its pool.
+     *
+     * @param channel closed channel
+     */
+    static void closed(Channel channel) {
+        PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+        if (pooled != null) {
+            pooled.host.remove(pooled, false);
+        }
+    }
+
+    /**
+     * Close the channel if it is idle in its pool.
+     *
+     * @param channel channel which reached the idle timeout
+     */
+    static void evictIdle(Channel channel) {
+        PooledChannel pooled = channel.attr(POOLED_CHANNEL).get();
+        if (pooled != null) {
+            pooled.host.evictIdle(pooled);
+        }
+    }
+
+    ConnectionPoolConfiguration configuration() {
+        return configuration;
+    }
+
+    /**
+     * Pool of HTTP/2 connections, sharing the limits of this pool.
+     *
+     * @return HTTP/2 pool
+     */
+    Http2ConnectionPool http2() {
+        return http2;
+    }
+
+    @Override
+    public long active() {
+        return sum(HostPool::active) + http2.active();
+    }
+
+    @Override
+    public long idle() {
+        return sum(HostPool::idle) + http2.idle();
+    }
+
+    @Override
+    public long pending() {
+        return sum(HostPool::pending) + http2.pending();
+    }
+
+    @Override
+    public long created() {
+        return created.sum();
+    }
+
+    @Override
+    public long evicted() {
+        return evicted.sum();
+    }
+
+    private long sum(ToIntFunction<HostPool> counter) {
+        long result = 0;
+        for (HostPool host : hosts.values()) {
+            result += counter.applyAsInt(host);
+        }
+        return result;
+    }
+
+    private enum State {
+        CONNECTING,
+        ACTIVE,
+        IDLE,
+        CLOSED
+    }
+
+    static final class PooledChannel {
+        private final HostPool host;
+        private final Channel channel;
+        private final long created;
+        // guarded by host
+        private State state = State.CONNECTING;
+
+        private PooledChannel(HostPool host, Channel channel) {
+            this.host = host;
+            this.channel = channel;
+            this.created = System.nanoTime();
+        }
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Channel> result = new CompletableFuture<>();
+        private final Supplier<ChannelFuture> connector;
+
+        private Waiter(Supplier<ChannelFuture> connector) {
+            this.connector = connector;
+        }
+    }
+
+    private final class HostPool {
+
+        private final String name;
+        // used as a stack, most recently used channels are on top
+        private final Deque<PooledChannel> idle = new ArrayDeque<>();
+        private final Deque<Waiter> pending = new ArrayDeque<>();
+        // all channels of this host, including the connecting ones
+        private int total;
+
+        private HostPool(String name) {
+            this.name = name;
+        }
+
+        private CompletableFuture<Channel> acquire(Supplier<ChannelFuture> connector) {
+            List<PooledChannel> expired = new ArrayList<>(0);
+            Waiter waiter = new Waiter(connector);
+            boolean connect = false;
+            try {
+                synchronized (this) {
+                    PooledChannel pooled;
+                    while ((pooled = idle.pollFirst()) != null) {
+                        if (healthy(pooled)) {
+                            pooled.state = State.ACTIVE;
+                            PooledChannel reused = pooled;
+                            LOGGER.finest(() -> "Reusing -> " + reused.channel.hashCode());
+                            return CompletableFuture.completedFuture(pooled.channel);
+                        }
+                        pooled.state = State.CLOSED;
+                        total--;
+                        expired.add(pooled);
+                    }
+                    if (total < configuration.maxConnectionsPerHost()) {
+                        total++;
+                        connect = true;
+                    } else if (pending.size() < configuration.maxPendingAcquires()) {
+                        pending.addLast(waiter);
+                    } else {
+                        return CompletableFuture.failedFuture(
+                                new WebClientException("Too many requests waiting for a connection to " + name
+                                                               + ", max pending acquires: "
+                                                               + configuration.maxPendingAcquires()));
+                    }
+                }
+            } finally {
+                evict(expired);
+            }
+
+            if (connect) {
+                connect(waiter);
+            } else {
+                waiter.result.orTimeout(configuration.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .whenComplete((channel, throwable) -> {
+                            if (throwable != null) {
+                                synchronized (this) {
+                                    pending.remove(waiter);
+                                }
+                            }
+                        });
+            }
+            return waiter.result;
+        }
+
+        private void connect(Waiter waiter) {
+            created.increment();
+            LOGGER.finest(() -> "New connection to -> " + name);
+            ChannelFuture connect;
+            try {
+                connect = waiter.connector.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    total--;
+                }
+                waiter.result.completeExceptionally(e);
+                slotFreed();
+                return;
+            }
+            Channel channel = connect.channel();
+            PooledChannel pooled = new PooledChannel(this, channel);
+            channel.attr(POOLED_CHANNEL).set(pooled);
+            connect.addListener(future -> {
+                if (future.isSuccess()) {
+                    synchronized (this) {
+                        if (pooled.state == State.CONNECTING) {
+                            pooled.state = State.ACTIVE;
+                        }
+                    }
+                    long maxLifetime = configuration.maxLifetime().toNanos();
+                    if (maxLifetime > 0) {
+                        channel.eventLoop().schedule(() -> evictIdle(pooled), maxLifetime, TimeUnit.NANOSECONDS);
+                    }
+                    if (!waiter.result.complete(channel)) {
+                        // the request is no longer interested, keep the connection for the next one
+                        release(pooled);
+                    }
+                } else {
+                    remove(pooled, false);
+                    waiter.result.completeExceptionally(future.cause());
+                }
+            });
+        }
+
+        private void release(PooledChannel pooled) {
+            Waiter waiter = null;
+            synchronized (this) {
+                if (pooled.state == State.CLOSED) {
+                    return;
+                }
+                if (healthy(pooled)) {
+                    waiter = nextWaiter();
+                    if (waiter == null) {
+                        LOGGER.finest(() -> "Returning channel " + pooled.channel.hashCode() + " to the pool");
+                        pooled.state = State.IDLE;
+                        idle.addFirst(pooled);
+                        return;
+                    }
+                    pooled.state = State.ACTIVE;
+                }
+            }
+            if (waiter == null) {
+                remove(pooled, true);
+            } else {
+                Waiter next = waiter;
+                // hand over the channel once the current response processing is finished
+                pooled.channel.eventLoop().execute(() -> {
+                    if (!next.result.complete(pooled.channel)) {
+                        release(pooled);
+                    }
+                });
+            }
+        }
+
+        private void evictIdle(PooledChannel pooled) {
+            boolean evict;
+            synchronized (this) {
+                evict = pooled.state == State.IDLE;
+            }
+            if (evict) {
+                remove(pooled, true);
+            }
+        }
+
+        private void remove(PooledChannel pooled, boolean evict) {
+            synchronized (this) {
+                if (pooled.state == State.CLOSED) {
+                    return;
+                }
+                if (pooled.state == State.IDLE) {
+                    idle.remove(pooled);
+                    // connection closed while unused is an eviction as well
+                    evict = true;
+                }
+                pooled.state = State.CLOSED;
+                total--;
+            }
+            if (evict) {
+                evict(List.of(pooled));
+            }
+            slotFreed();
+        }
+
+        private void slotFreed() {
+            Waiter waiter;
+            synchronized (this) {
+                if (total >= configuration.maxConnectionsPerHost()) {
+                    return;
+                }
+                waiter = nextWaiter();
+                if (waiter == null) {
+                    return;
+                }
+                total++;
+            }
+            connect(waiter);
+        }
+
+        private void evict(List<PooledChannel> channels) {
+            for (PooledChannel pooled : channels) {
+                LOGGER.finest(() -> "Evicting channel " + pooled.channel.hashCode() + " of " + name);
+                evicted.increment();
+                pooled.channel.close();
+            }
+        }
+
+        // guarded by this
+        private Waiter nextWaiter() {
+            Waiter waiter;
+            while ((waiter = pending.pollFirst()) != null) {
+                if (!waiter.result.isDone()) {
+                    return waiter;
+                }
+            }
+            return null;
+        }
+
+        private boolean healthy(PooledChannel pooled) {
+            long maxLifetime = configuration.maxLifetime().toNanos();
+            return pooled.channel.isActive()
+                    && (maxLifetime <= 0 || System.nanoTime() - pooled.created < maxLifetime);
+        }
+
+        private synchronized int active() {
+            return total - idle.size();
+        }
+
+        private synchronized int idle() {
+            return idle.size();
+        }
+
+        private synchronized int pending() {
+            return pending.size();
+        }
+    }
+}
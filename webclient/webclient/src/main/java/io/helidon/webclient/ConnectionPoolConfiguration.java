@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import io.helidon.config.Config;
+
+/**
+ * Configuration of the connection pool of a {@link WebClient}.
+ * Each client instance has its own pool, connections are pooled per host (and the rest
+ * of the connection properties, such as proxy and TLS configuration).
+ */
+public final class ConnectionPoolConfiguration {
+
+    private final int maxConnectionsPerHost;
+    private final int maxPendingAcquires;
+    private final Duration acquireTimeout;
+    private final Duration idleTimeout;
+    private final Duration maxLifetime;
+
+    private ConnectionPoolConfiguration(Builder builder) {
+        this.maxConnectionsPerHost = builder.maxConnectionsPerHost;
+        this.maxPendingAcquires = builder.maxPendingAcquires;
+        this.acquireTimeout = builder.acquireTimeout;
+        this.idleTimeout = builder.idleTimeout;
+        this.maxLifetime = builder.maxLifetime;
+    }
+
+    /**
+     * Fluent API builder for new instances.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance with default values.
+     *
+     * @return connection pool configuration
+     */
+    public static ConnectionPoolConfiguration create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance from configuration.
+     *
+     * @param config configuration of the connection pool
+     * @return connection pool configuration
+     * @see Builder#config(Config)
+     */
+    public static ConnectionPoolConfiguration create(Config config) {
+        return builder().config(config).build();
+    }
+
+    int maxConnectionsPerHost() {
+        return maxConnectionsPerHost;
+    }
+
+    int maxPendingAcquires() {
+        return maxPendingAcquires;
+    }
+
+    Duration acquireTimeout() {
+        return acquireTimeout;
+    }
+
+    Duration idleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Maximal lifetime of a connection, {@link Duration#ZERO} if not limited.
+     *
+     * @return max lifetime
+     */
+    Duration maxLifetime() {
+        return maxLifetime;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ConnectionPoolConfiguration that = (ConnectionPoolConfiguration) o;
+        return maxConnectionsPerHost == that.maxConnectionsPerHost
+                && maxPendingAcquires == that.maxPendingAcquires
+                && acquireTimeout.equals(that.acquireTimeout)
+                && idleTimeout.equals(that.idleTimeout)
+                && maxLifetime.equals(that.maxLifetime);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(maxConnectionsPerHost, maxPendingAcquires, acquireTimeout, idleTimeout, maxLifetime);
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPoolConfiguration{"
+                + "maxConnectionsPerHost=" + maxConnectionsPerHost
+                + ", maxPendingAcquires=" + maxPendingAcquires
+                + ", acquireTimeout=" + acquireTimeout
+                + ", idleTimeout=" + idleTimeout
+                + ", maxLifetime=" + maxLifetime
+                + '}';
+    }
+
+    /**
+     * Fluent API builder for {@link ConnectionPoolConfiguration} instance.
+     */
+    public static final class Builder implements io.helidon.common.Builder<ConnectionPoolConfiguration> {
+
+        private int maxConnectionsPerHost = 500;
+        private int maxPendingAcquires = 1000;
+        private Duration acquireTimeout = Duration.ofSeconds(30);
+        private Duration idleTimeout = Duration.ofSeconds(50);
+        private Duration maxLifetime = Duration.ZERO;
+
+        private Builder() {
+        }
+
+        /**
+         * Maximal number of connections opened to a single host.
+         * Defaults to {@code 500}.
+         *
+         * @param maxConnectionsPerHost max number of connections
+         * @return updated builder instance
+         */
+        public Builder maxConnectionsPerHost(int maxConnectionsPerHost) {
+            if (maxConnectionsPerHost < 1) {
+                throw new IllegalArgumentException("Max connections per host must be positive, but is "
+                                                           + maxConnectionsPerHost);
+            }
+            this.maxConnectionsPerHost = maxConnectionsPerHost;
+            return this;
+        }
+
+        /**
+         * Maximal number of requests waiting for a connection to a single host when
+         * all connections are in use. Requests over this limit fail immediately.
+         * Defaults to {@code 1000}.
+         *
+         * @param maxPendingAcquires max number of waiting requests
+         * @return updated builder instance
+         */
+        public Builder maxPendingAcquires(int maxPendingAcquires) {
+            if (maxPendingAcquires < 0) {
+                throw new IllegalArgumentException("Max pending acquires must not be negative, but is "
+                                                           + maxPendingAcquires);
+            }
+            this.maxPendingAcquires = maxPendingAcquires;
+            return this;
+        }
+
+        /**
+         * How long a request waits for a connection to become available.
+         * Defaults to {@code 30} seconds.
+         *
+         * @param acquireTimeout acquire timeout
+         * @return updated builder instance
+         */
+        public Builder acquireTimeout(Duration acquireTimeout) {
+            this.acquireTimeout = Objects.requireNonNull(acquireTimeout);
+            return this;
+        }
+
+        /**
+         * How long an unused connection is kept in the pool before it is closed.
+         * Defaults to {@code 50} seconds.
+         *
+         * @param idleTimeout idle timeout
+         * @return updated builder instance
+         */
+        public Builder idleTimeout(Duration idleTimeout) {
+            this.idleTimeout = Objects.requireNonNull(idleTimeout);
+            return this;
+        }
+
+        /**
+         * Maximal lifetime of a connection. Connections older than this are closed when
+         * returned to the pool or before reuse. {@link Duration#ZERO} (the default) means no limit.
+         *
+         * @param maxLifetime max lifetime of a connection
+         * @return updated builder instance
+         */
+        public Builder maxLifetime(Duration maxLifetime) {
+            this.maxLifetime = Objects.requireNonNull(maxLifetime);
+            return this;
+        }
+
+        /**
+         * Configure the connection pool from configuration.
+         * The following configuration keys are used:
+         * <table>
+         * <caption>Connection pool configuration options</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>max-connections-per-host</td>
+         *     <td>{@code 500}</td>
+         *     <td>Maximal number of connections to a single host</td>
+         * </tr>
+         * <tr>
+         *     <td>max-pending-acquires</td>
+         *     <td>{@code 1000}</td>
+         *     <td>Maximal number of requests waiting for a connection to a single host</td>
+         * </tr>
+         * <tr>
+         *     <td>acquire-timeout-millis</td>
+         *     <td>{@code 30000}</td>
+         *     <td>How long to wait for a connection</td>
+         * </tr>
+         * <tr>
+         *     <td>idle-timeout-millis</td>
+         *     <td>{@code 50000}</td>
+         *     <td>How long to keep an unused connection</td>
+         * </tr>
+         * <tr>
+         *     <td>max-lifetime-millis</td>
+         *     <td>{@code 0}</td>
+         *     <td>Maximal lifetime of a connection, {@code 0} for unlimited</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of the connection pool
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-connections-per-host").asInt().ifPresent(this::maxConnectionsPerHost);
+            config.get("max-pending-acquires").asInt().ifPresent(this::maxPendingAcquires);
+            config.get("acquire-timeout-millis").asLong().ifPresent(it -> acquireTimeout(Duration.ofMillis(it)));
+            config.get("idle-timeout-millis").asLong().ifPresent(it -> idleTimeout(Duration.ofMillis(it)));
+            config.get("max-lifetime-millis").asLong().ifPresent(it -> maxLifetime(Duration.ofMillis(it)));
+            return this;
+        }
+
+        @Override
+        public ConnectionPoolConfiguration build() {
+            return new ConnectionPoolConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+/**
+ * Point in time statistics of the connection pool of a {@link WebClient}.
+ * Values are summed over all hosts.
+ */
+public interface ConnectionPoolStatistics {
+
+    /**
+     * Number of connections currently used by a request.
+     *
+     * @return active connections
+     */
+    long active();
+
+    /**
+     * Number of open connections available for reuse.
+     *
+     * @return idle connections
+     */
+    long idle();
+
+    /**
+     * Number of requests waiting for a connection.
+     *
+     * @return pending acquires
+     */
+    long pending();
+
+    /**
+     * Total number of connections opened by the pool.
+     *
+     * @return created connections
+     */
+    long created();
+
+    /**
+     * Total number of connections closed by the pool because they were idle for too long,
+     * exceeded their lifetime or were found closed before reuse.
+     *
+     * @return evicted connections
+     */
+    long evicted();
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.Objects;
+
+import io.helidon.config.Config;
+
+/**
+ * Configuration of HTTP/2 connections of a {@link WebClient}.
+ * <p>
+ * Requests with version {@link io.helidon.common.http.Http.Version#V2_0} are sent over HTTP/2: for {@code https}
+ * the protocol is negotiated using ALPN (falling back to HTTP/1.1 if the server does not support it), for {@code http}
+ * the client expects the server to support HTTP/2 without upgrade (prior knowledge).
+ * Requests to the same host are multiplexed over a shared connection, additional connections (up to
+ * {@link ConnectionPoolConfiguration.Builder#maxConnectionsPerHost(int)}) are only opened when all existing connections
+ * have reached their max concurrent streams.
+ */
+public final class Http2ClientConfiguration {
+
+    private final boolean enabled;
+    private final int maxConcurrentStreams;
+    private final int initialWindowSize;
+    private final int connectionWindowSize;
+    private final int maxFrameSize;
+    private final long maxHeaderListSize;
+
+    private Http2ClientConfiguration(Builder builder) {
+        this.enabled = builder.enabled;
+        this.maxConcurrentStreams = builder.maxConcurrentStreams;
+        this.initialWindowSize = builder.initialWindowSize;
+        this.connectionWindowSize = builder.connectionWindowSize;
+        this.maxFrameSize = builder.maxFrameSize;
+        this.maxHeaderListSize = builder.maxHeaderListSize;
+    }
+
+    /**
+     * Fluent API builder for new instances.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new instance with default values.
+     *
+     * @return HTTP/2 configuration
+     */
+    public static Http2ClientConfiguration create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new instance from configuration.
+     *
+     * @param config configuration of HTTP/2
+     * @return HTTP/2 configuration
+     * @see Builder#config(Config)
+     */
+    public static Http2ClientConfiguration create(Config config) {
+        return builder().config(config).build();
+    }
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    int maxConcurrentStreams() {
+        return maxConcurrentStreams;
+    }
+
+    int initialWindowSize() {
+        return initialWindowSize;
+    }
+
+    int connectionWindowSize() {
+        return connectionWindowSize;
+    }
+
+    int maxFrameSize() {
+        return maxFrameSize;
+    }
+
+    long maxHeaderListSize() {
+        return maxHeaderListSize;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Http2ClientConfiguration that = (Http2ClientConfiguration) o;
+        return enabled == that.enabled
+                && maxConcurrentStreams == that.maxConcurrentStreams
+                && initialWindowSize == that.initialWindowSize
+                && connectionWindowSize == that.connectionWindowSize
+                && maxFrameSize == that.maxFrameSize
+                && maxHeaderListSize == that.maxHeaderListSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(enabled, maxConcurrentStreams, initialWindowSize, connectionWindowSize, maxFrameSize,
+                            maxHeaderListSize);
+    }
+
+    /**
+     * Fluent API builder for {@link Http2ClientConfiguration} instance.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Http2ClientConfiguration> {
+
+        private static final int DEFAULT_WINDOW_SIZE = 65535;
+        private static final int MIN_FRAME_SIZE = 16384;
+        private static final int MAX_FRAME_SIZE = 16777215;
+
+        private boolean enabled = false;
+        private int maxConcurrentStreams = 100;
+        private int initialWindowSize = DEFAULT_WINDOW_SIZE;
+        private int connectionWindowSize = 1024 * 1024;
+        private int maxFrameSize = MIN_FRAME_SIZE;
+        private long maxHeaderListSize = 8192;
+
+        private Builder() {
+        }
+
+        /**
+         * Whether requests should use HTTP/2 by default.
+         * Individual requests can still choose the version using {@link WebClientRequestBuilder#httpVersion}.
+         * Defaults to {@code false}.
+         *
+         * @param enabled use HTTP/2 by default
+         * @return updated builder instance
+         */
+        public Builder enabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        /**
+         * Maximal number of concurrent requests (streams) on a single connection.
+         * If the server announces a lower limit, the server limit is used.
+         * Defaults to {@code 100}.
+         *
+         * @param maxConcurrentStreams max concurrent streams per connection
+         * @return updated builder instance
+         */
+        public Builder maxConcurrentStreams(int maxConcurrentStreams) {
+            if (maxConcurrentStreams < 1) {
+                throw new IllegalArgumentException("Max concurrent streams must be positive, but is "
+                                                           + maxConcurrentStreams);
+            }
+            this.maxConcurrentStreams = maxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Initial flow control window of each stream, sent to the server in SETTINGS.
+         * Defaults to {@code 65535}.
+         *
+         * @param initialWindowSize stream window size in bytes
+         * @return updated builder instance
+         */
+        public Builder initialWindowSize(int initialWindowSize) {
+            if (initialWindowSize < 0) {
+                throw new IllegalArgumentException("Initial window size must not be negative, but is " + initialWindowSize);
+            }
+            this.initialWindowSize = initialWindowSize;
+            return this;
+        }
+
+        /**
+         * Flow control window of the whole connection, shared by all its streams.
+         * Defaults to {@code 1048576} (1 MiB).
+         *
+         * @param connectionWindowSize connection window size in bytes
+         * @return updated builder instance
+         */
+        public Builder connectionWindowSize(int connectionWindowSize) {
+            if (connectionWindowSize < DEFAULT_WINDOW_SIZE) {
+                throw new IllegalArgumentException("Connection window size must be at least " + DEFAULT_WINDOW_SIZE
+                                                           + ", but is " + connectionWindowSize);
+            }
+            this.connectionWindowSize = connectionWindowSize;
+            return this;
+        }
+
+        /**
+         * Maximal size of a frame the client is willing to receive.
+         * Defaults to {@code 16384}.
+         *
+         * @param maxFrameSize max frame size in bytes
+         * @return updated builder instance
+         */
+        public Builder maxFrameSize(int maxFrameSize) {
+            if (maxFrameSize < MIN_FRAME_SIZE || maxFrameSize > MAX_FRAME_SIZE) {
+                throw new IllegalArgumentException("Max frame size must be between " + MIN_FRAME_SIZE + " and "
+                                                           + MAX_FRAME_SIZE + ", but is " + maxFrameSize);
+            }
+            this.maxFrameSize = maxFrameSize;
+            return this;
+        }
+
+        /**
+         * Maximal size of response headers the client is willing to receive.
+         * Defaults to {@code 8192}.
+         *
+         * @param maxHeaderListSize max header list size in bytes
+         * @return updated builder instance
+         */
+        public Builder maxHeaderListSize(long maxHeaderListSize) {
+            this.maxHeaderListSize = maxHeaderListSize;
+            return this;
+        }
+
+        /**
+         * Configure HTTP/2 from configuration.
+         * The following configuration keys are used:
+         * <table>
+         * <caption>HTTP/2 configuration options</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>enabled</td>
+         *     <td>{@code false}</td>
+         *     <td>Whether requests use HTTP/2 by default</td>
+         * </tr>
+         * <tr>
+         *     <td>max-concurrent-streams</td>
+         *     <td>{@code 100}</td>
+         *     <td>Maximal number of concurrent requests on a single connection</td>
+         * </tr>
+         * <tr>
+         *     <td>initial-window-size</td>
+         *     <td>{@code 65535}</td>
+         *     <td>Flow control window of each stream</td>
+         * </tr>
+         * <tr>
+         *     <td>connection-window-size</td>
+         *     <td>{@code 1048576}</td>
+         *     <td>Flow control window of the connection</td>
+         * </tr>
+         * <tr>
+         *     <td>max-frame-size</td>
+         *     <td>{@code 16384}</td>
+         *     <td>Maximal size of a received frame</td>
+         * </tr>
+         * <tr>
+         *     <td>max-header-list-size</td>
+         *     <td>{@code 8192}</td>
+         *     <td>Maximal size of received headers</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of HTTP/2
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("enabled").asBoolean().ifPresent(this::enabled);
+            config.get("max-concurrent-streams").asInt().ifPresent(this::maxConcurrentStreams);
+            config.get("initial-window-size").asInt().ifPresent(this::initialWindowSize);
+            config.get("connection-window-size").asInt().ifPresent(this::connectionWindowSize);
+            config.get("max-frame-size").asInt().ifPresent(this::maxFrameSize);
+            config.get("max-header-list-size").asLong().ifPresent(this::maxHeaderListSize);
+            return this;
+        }
+
+        @Override
+        public Http2ClientConfiguration build() {
+            return new Http2ClientConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.logging.Logger;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandler;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+
+/**
+ * Pool of HTTP/2 connections of a single {@link WebClient} instance.
+ * <p>
+ * Requests are sent as streams of a shared connection. A new connection to the host is opened only when every
+ * existing connection has reached its max concurrent streams (the lower of the configured value and the value announced
+ * by the server). Requests over the limit of all connections wait in a bounded queue, same as in {@link ConnectionPool}.
+ */
+final class Http2ConnectionPool {
+
+    /**
+     * Completed once the connection is ready, with {@code true} if HTTP/2 is used, {@code false} if the server
+     * negotiated a different protocol.
+     */
+    static final AttributeKey<CompletableFuture<Boolean>> PROTOCOL = AttributeKey.valueOf("http2Protocol");
+
+    private static final AttributeKey<Connection> CONNECTION = AttributeKey.valueOf("http2Connection");
+    private static final Logger LOGGER = Logger.getLogger(Http2ConnectionPool.class.getName());
+
+    private final Map<WebClientRequestBuilderImpl.ConnectionIdent, HostPool> hosts = new ConcurrentHashMap<>();
+    private final ConnectionPoolConfiguration poolConfiguration;
+    private final Http2ClientConfiguration http2Configuration;
+    private final LongAdder created;
+    private final LongAdder evicted;
+
+    Http2ConnectionPool(ConnectionPoolConfiguration poolConfiguration,
+                        Http2ClientConfiguration http2Configuration,
+                        LongAdder created,
+                        LongAdder evicted) {
+        this.poolConfiguration = poolConfiguration;
+        this.http2Configuration = http2Configuration;
+        this.created = created;
+        this.evicted = evicted;
+    }
+
+    /**
+     * Whether HTTP/2 should be attempted for the host.
+     *
+     * @param ident connection identification
+     * @return {@code false} if the host already negotiated a different protocol
+     */
+    boolean supported(WebClientRequestBuilderImpl.ConnectionIdent ident) {
+        HostPool host = hosts.get(ident);
+        return host == null || host.supported;
+    }
+
+    /**
+     * Open a new stream to the host.
+     *
+     * @param ident         connection identification
+     * @param connector     used to open a new connection, the channel initializer must set {@link #PROTOCOL}
+     * @param streamHandler handler of the new stream channel
+     * @param fallback      used to obtain a channel if the host does not support HTTP/2
+     * @return future completed with the stream channel
+     */
+    CompletableFuture<Channel> acquire(WebClientRequestBuilderImpl.ConnectionIdent ident,
+                                       Supplier<ChannelFuture> connector,
+                                       ChannelHandler streamHandler,
+                                       Supplier<CompletableFuture<Channel>> fallback) {
+        return hosts.computeIfAbsent(ident, it -> new HostPool(it.toString()))
+                .acquire(new Waiter(connector, streamHandler, fallback));
+    }
+
+    /**
+     * Remove closed connection from its pool.
+     *
+     * @param channel connection channel
+     */
+    static void closed(Channel channel) {
+        Connection connection = channel.attr(CONNECTION).get();
+        if (connection != null) {
+            connection.host.remove(connection);
+        }
+    }
+
+    /**
+     * Close the connection if there are no streams.
+     *
+     * @param channel connection channel which reached the idle timeout
+     */
+    static void evictIdle(Channel channel) {
+        Connection connection = channel.attr(CONNECTION).get();
+        if (connection != null) {
+            connection.host.evictIdle(connection);
+        }
+    }
+
+    /**
+     * Stop opening new streams on the connection, the server is going to close it.
+     *
+     * @param channel connection channel which received GOAWAY
+     */
+    static void goAway(Channel channel) {
+        Connection connection = channel.attr(CONNECTION).get();
+        if (connection != null) {
+            connection.host.goAway(connection);
+        }
+    }
+
+    long active() {
+        return sum(HostPool::active);
+    }
+
+    long idle() {
+        return sum(HostPool::idle);
+    }
+
+    long pending() {
+        return sum(HostPool::pending);
+    }
+
+    private long sum(ToIntFunction<HostPool> counter) {
+        long result = 0;
+        for (HostPool host : hosts.values()) {
+            result += counter.applyAsInt(host);
+        }
+        return result;
+    }
+
+    private static final class Waiter {
+        private final CompletableFuture<Channel> result = new CompletableFuture<>();
+        private final Supplier<ChannelFuture> connector;
+        private final ChannelHandler streamHandler;
+        private final Supplier<CompletableFuture<Channel>> fallback;
+
+        private Waiter(Supplier<ChannelFuture> connector,
+                       ChannelHandler streamHandler,
+                       Supplier<CompletableFuture<Channel>> fallback) {
+            this.connector = connector;
+            this.streamHandler = streamHandler;
+            this.fallback = fallback;
+        }
+
+        private void fallback() {
+            try {
+                fallback.get().whenComplete((channel, throwable) -> {
+                    if (throwable == null) {
+                        if (!result.complete(channel)) {
+                            channel.close();
+                        }
+                    } else {
+                        result.completeExceptionally(throwable);
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Connection {
+        private final HostPool host;
+        // all fields guarded by host
+        private Channel channel;
+        private boolean ready;
+        private boolean goAway;
+        private boolean closed;
+        private int streams;
+
+        private Connection(HostPool host) {
+            this.host = host;
+        }
+    }
+
+    private final class HostPool {
+
+        private final String name;
+        private final List<Connection> connections = new ArrayList<>();
+        private final Deque<Waiter> pending = new ArrayDeque<>();
+        private volatile boolean supported = true;
+
+        private HostPool(String name) {
+            this.name = name;
+        }
+
+        private CompletableFuture<Channel> acquire(Waiter waiter) {
+            Connection stream = null;
+            Connection connect = null;
+            boolean http1;
+            synchronized (this) {
+                http1 = !supported;
+                if (!http1) {
+                    stream = available();
+                    if (stream == null) {
+                        if (pending.size() >= poolConfiguration.maxPendingAcquires()) {
+                            return CompletableFuture.failedFuture(
+                                    new WebClientException("Too many requests waiting for a connection to " + name
+                                                                   + ", max pending acquires: "
+                                                                   + poolConfiguration.maxPendingAcquires()));
+                        }
+                        pending.addLast(waiter);
+                        connect = newConnection();
+                    }
+                }
+            }
+            if (http1) {
+                waiter.fallback();
+            } else if (stream != null) {
+                openStream(stream, waiter);
+            } else {
+                waiter.result.orTimeout(poolConfiguration.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                        .whenComplete((channel, throwable) -> {
+                            if (throwable != null) {
+                                synchronized (this) {
+                                    pending.remove(waiter);
+                                }
+                            }
+                        });
+                if (connect != null) {
+                    connect(connect, waiter.connector);
+                }
+            }
+            return waiter.result;
+        }
+
+        private void connect(Connection connection, Supplier<ChannelFuture> connector) {
+            created.increment();
+            LOGGER.finest(() -> "New HTTP/2 connection to -> " + name);
+            ChannelFuture connect;
+            try {
+                connect = connector.get();
+            } catch (RuntimeException e) {
+                failed(connection, e);
+                return;
+            }
+            Channel channel = connect.channel();
+            synchronized (this) {
+                connection.channel = channel;
+            }
+            channel.attr(CONNECTION).set(connection);
+            connect.addListener(future -> {
+                if (!future.isSuccess()) {
+                    failed(connection, future.cause());
+                    return;
+                }
+                channel.attr(PROTOCOL).get().whenComplete((http2, throwable) -> {
+                    if (throwable != null) {
+                        failed(connection, throwable);
+                    } else if (http2) {
+                        synchronized (this) {
+                            connection.ready = true;
+                        }
+                        dispatch();
+                    } else {
+                        notSupported(connection);
+                    }
+                });
+            });
+        }
+
+        private void openStream(Connection connection, Waiter waiter) {
+            new Http2StreamChannelBootstrap(connection.channel)
+                    .handler(waiter.streamHandler)
+                    .open()
+                    .addListener((Future<Http2StreamChannel> future) -> {
+                        if (future.isSuccess()) {
+                            Http2StreamChannel stream = future.getNow();
+                            stream.closeFuture().addListener(it -> streamClosed(connection));
+                            if (!waiter.result.complete(stream)) {
+                                stream.close();
+                            }
+                        } else {
+                            streamClosed(connection);
+                            waiter.result.completeExceptionally(future.cause());
+                        }
+                    });
+        }
+
+        private void dispatch() {
+            List<Map.Entry<Connection, Waiter>> streams = new ArrayList<>();
+            Connection connect = null;
+            Supplier<ChannelFuture> connector = null;
+            synchronized (this) {
+                Waiter waiter;
+                while ((waiter = nextWaiter()) != null) {
+                    Connection connection = available();
+                    if (connection == null) {
+                        break;
+                    }
+                    pending.pollFirst();
+                    streams.add(Map.entry(connection, waiter));
+                }
+                if (waiter != null) {
+                    connect = newConnection();
+                    connector = waiter.connector;
+                }
+            }
+            streams.forEach(entry -> openStream(entry.getKey(), entry.getValue()));
+            if (connect != null) {
+                connect(connect, connector);
+            }
+        }
+
+        private void streamClosed(Connection connection) {
+            boolean close;
+            synchronized (this) {
+                connection.streams--;
+                close = connection.goAway && connection.streams == 0;
+            }
+            if (close) {
+                connection.channel.close();
+            } else {
+                dispatch();
+            }
+        }
+
+        private void failed(Connection connection, Throwable cause) {
+            List<Waiter> waiters;
+            synchronized (this) {
+                connection.closed = true;
+                connections.remove(connection);
+                // waiters were waiting for this connection, the host is most likely not reachable
+                waiters = new ArrayList<>(pending);
+                pending.clear();
+            }
+            if (connection.channel != null) {
+                connection.channel.close();
+            }
+            waiters.forEach(waiter -> waiter.result.completeExceptionally(cause));
+        }
+
+        private void notSupported(Connection connection) {
+            LOGGER.finest(() -> "HTTP/2 not supported by " + name + ", using HTTP/1.1");
+            List<Waiter> waiters;
+            synchronized (this) {
+                supported = false;
+                connection.closed = true;
+                connections.remove(connection);
+                waiters = new ArrayList<>(pending);
+                pending.clear();
+            }
+            connection.channel.close();
+            waiters.forEach(Waiter::fallback);
+        }
+
+        private void remove(Connection connection) {
+            synchronized (this) {
+                if (connection.closed) {
+                    return;
+                }
+                connection.closed = true;
+                connections.remove(connection);
+            }
+            dispatch();
+        }
+
+        private void evictIdle(Connection connection) {
+            synchronized (this) {
+                if (connection.closed || !connection.ready || connection.streams > 0) {
+                    return;
+                }
+                connection.closed = true;
+                connections.remove(connection);
+            }
+            LOGGER.finest(() -> "Evicting HTTP/2 connection " + connection.channel.hashCode() + " of " + name);
+            evicted.increment();
+            connection.channel.close();
+        }
+
+        private void goAway(Connection connection) {
+            boolean close;
+            synchronized (this) {
+                connection.goAway = true;
+                close = connection.streams == 0;
+            }
+            if (close) {
+                connection.channel.close();
+            }
+        }
+
+        // guarded by this
+        private Connection available() {
+            for (Connection connection : connections) {
+                if (connection.ready
+                        && !connection.goAway
+                        && connection.channel.isActive()
+                        && connection.streams < maxStreams(connection)) {
+                    connection.streams++;
+                    return connection;
+                }
+            }
+            return null;
+        }
+
+        // guarded by this
+        private Connection newConnection() {
+            if (connections.size() >= poolConfiguration.maxConnectionsPerHost()) {
+                return null;
+            }
+            for (Connection connection : connections) {
+                if (!connection.ready) {
+                    // wait for the connection being opened, it is likely to serve the waiting requests
+                    return null;
+                }
+            }
+            Connection connection = new Connection(this);
+            connections.add(connection);
+            return connection;
+        }
+
+        // guarded by this
+        private Waiter nextWaiter() {
+            Waiter waiter;
+            while ((waiter = pending.peekFirst()) != null) {
+                if (!waiter.result.isDone()) {
+                    return waiter;
+                }
+                pending.pollFirst();
+            }
+            return null;
+        }
+
+        private int maxStreams(Connection connection) {
+            int max = http2Configuration.maxConcurrentStreams();
+            Http2FrameCodec codec = connection.channel.pipeline().get(Http2FrameCodec.class);
+            if (codec != null) {
+                // updated from the SETTINGS frame of the server
+                max = Math.min(max, codec.connection().local().maxActiveStreams());
+            }
+            return max;
+        }
+
+        private synchronized int active() {
+            int result = 0;
+            for (Connection connection : connections) {
+                if (!connection.ready || connection.streams > 0) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        private synchronized int idle() {
+            int result = 0;
+            for (Connection connection : connections) {
+                if (connection.ready && connection.streams == 0) {
+                    result++;
+                }
+            }
+            return result;
+        }
+
+        private synchronized int pending() {
+            return pending.size();
+        }
+    }
+}
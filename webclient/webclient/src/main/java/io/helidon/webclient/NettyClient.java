@@ -27,7 +27,7 @@ import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.media.common.MediaContext;
 
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
 
 /*
  * This class must be:
@@ -48,6 +48,8 @@ final class NettyClient implements WebClient {
     private static final Proxy DEFAULT_PROXY = Proxy.noProxy();
     private static final MediaContext DEFAULT_MEDIA_SUPPORT = MediaContext.create();
     private static final WebClientTls DEFAULT_TLS = WebClientTls.builder().build();
+    private static final ConnectionPoolConfiguration DEFAULT_CONNECTION_POOL = ConnectionPoolConfiguration.create();
+    private static final Http2ClientConfiguration DEFAULT_HTTP2 = Http2ClientConfiguration.create();
 
     private static final AtomicBoolean DEFAULTS_CONFIGURED = new AtomicBoolean();
 
@@ -63,6 +65,8 @@ final class NettyClient implements WebClient {
                     .writerContextParent(DEFAULT_MEDIA_SUPPORT.writerContext())
                     .proxy(DEFAULT_PROXY)
                     .tls(DEFAULT_TLS)
+                    .connectionPool(DEFAULT_CONNECTION_POOL)
+                    .http2(DEFAULT_HTTP2)
                     .keepAlive(DEFAULT_KEEP_ALIVE)
                     .validateHeaders(DEFAULT_VALIDATE_HEADERS)
                     .build();
@@ -71,12 +75,14 @@ final class NettyClient implements WebClient {
     static final AtomicReference<WebClientConfiguration> SHARED_CONFIGURATION = new AtomicReference<>(DEFAULT_CONFIGURATION);
 
     // shared by all client instances
-    private static LazyValue<NioEventLoopGroup> eventGroup = LazyValue.create(() -> {
+    private static LazyValue<EventLoopGroup> eventGroup = LazyValue.create(() -> {
         throw new IllegalStateException("Value supplier not yet set");
     });
 
     // this instance configuration
     private final WebClientConfiguration configuration;
+    // connections of this instance
+    private final ConnectionPool connectionPool;
 
     /**
      * Creates new instance.
@@ -85,13 +91,14 @@ final class NettyClient implements WebClient {
      */
     NettyClient(Builder builder) {
         this.configuration = builder.configuration();
+        this.connectionPool = new ConnectionPool(configuration.connectionPool(), configuration.http2());
 
         // we need to configure these - if user wants to override, they must
         // do it before first usage
         configureDefaults(EMPTY_CONFIG);
     }
 
-    static LazyValue<NioEventLoopGroup> eventGroup() {
+    static LazyValue<EventLoopGroup> eventGroup() {
         return eventGroup;
     }
 
@@ -132,12 +139,17 @@ final class NettyClient implements WebClient {
 
     @Override
     public WebClientRequestBuilder method(String method) {
-        return WebClientRequestBuilderImpl.create(eventGroup, configuration, Http.RequestMethod.create(method));
+        return WebClientRequestBuilderImpl.create(eventGroup, connectionPool, configuration, Http.RequestMethod.create(method));
     }
 
     @Override
     public WebClientRequestBuilder method(Http.RequestMethod method) {
-        return WebClientRequestBuilderImpl.create(eventGroup, configuration, method);
+        return WebClientRequestBuilderImpl.create(eventGroup, connectionPool, configuration, method);
+    }
+
+    @Override
+    public ConnectionPoolStatistics connectionPoolStatistics() {
+        return connectionPool;
     }
 
     static void configureDefaults(Config globalConfig) {
@@ -151,6 +163,9 @@ final class NettyClient implements WebClient {
             String threadNamePrefix = eventLoopConfig.get("name-prefix")
                     .asString()
                     .orElse("helidon-client-");
+            String transport = eventLoopConfig.get("transport")
+                    .asString()
+                    .orElse("auto");
             AtomicInteger threadCounter = new AtomicInteger();
 
             ThreadFactory threadFactory =
@@ -161,7 +176,7 @@ final class NettyClient implements WebClient {
                         return result;
                     };
 
-            eventGroup = LazyValue.create(new NioEventLoopGroup(numberOfThreads, threadFactory));
+            eventGroup = LazyValue.create(NettyClientTransport.eventLoopGroup(transport, numberOfThreads, threadFactory));
 
             builder.config(config);
 
@@ -43,16 +43,17 @@ import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.util.AttributeKey;
 
 import static io.helidon.webclient.WebClientRequestBuilderImpl.COMPLETED;
-import static io.helidon.webclient.WebClientRequestBuilderImpl.IN_USE;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RECEIVED;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST_ID;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RESPONSE;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RESULT;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RETURN;
+import static io.helidon.webclient.WebClientRequestBuilderImpl.WRITTEN;
 
 /**
  * Created for each request/response interaction.
@@ -87,8 +88,19 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             channel.read();
         }
         if (channel.hasAttr(RETURN) && channel.attr(RETURN).get().compareAndSet(true, false)) {
-            LOGGER.finest(() -> "(client reqID: " + requestId + ") Returning channel " + channel.hashCode() + " to the cache");
-            channel.attr(IN_USE).get().set(false);
+            // the server may respond before the whole request was written (e.g. if it does not read the entity),
+            // the channel can be used by another request only once this request was written as well
+            boolean keepAlive = keepAlive(channel.attr(RESPONSE).get());
+            channel.attr(WRITTEN).get().whenComplete((ignored, throwable) -> {
+                if (throwable == null && keepAlive) {
+                    LOGGER.finest(() -> "(client reqID: " + requestId + ") Returning channel " + channel.hashCode()
+                            + " to the pool");
+                    ConnectionPool.release(channel);
+                } else {
+                    channel.close();
+                }
+            });
+            // returned before completing if possible, so the next request of the same caller gets this channel
             responseCloser.cf.complete(null);
             publisher.complete();
         }
@@ -111,7 +123,9 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             responseBuilder.contentPublisher(publisher)
                     .readerContext(requestConfiguration.readerContext())
                     .status(helidonStatus(response.status()))
-                    .httpVersion(Http.Version.create(response.protocolVersion().toString()))
+                    .httpVersion(channel instanceof Http2StreamChannel
+                                         ? Http.Version.V2_0
+                                         : Http.Version.create(response.protocolVersion().toString()))
                     .responseCloser(responseCloser)
                     .lastEndpointURI(requestConfiguration.requestURI());
 
@@ -209,6 +223,13 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
         }
     }
 
+    // the connection may be used by another request only if the server did not ask to close it
+    private static boolean keepAlive(WebClientResponse response) {
+        String connection = response.headers().first(Http.Header.CONNECTION)
+                .orElseGet(HttpHeaderValues.CLOSE::toString);
+        return !connection.equals(HttpHeaderValues.CLOSE.toString());
+    }
+
     private boolean shouldResponseAutomaticallyClose(WebClientResponse clientResponse) {
         WebClientResponseHeaders headers = clientResponse.headers();
         if (clientResponse.status() == Http.Status.NO_CONTENT_204) {
@@ -321,10 +342,7 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
                 WebClientServiceResponse clientServiceResponse = channel.attr(SERVICE_RESPONSE).get();
                 CompletableFuture<WebClientServiceResponse> requestComplete = channel.attr(COMPLETED).get();
                 requestComplete.complete(clientServiceResponse);
-                WebClientResponse response = channel.attr(RESPONSE).get();
-                String connection = response.headers().first(Http.Header.CONNECTION)
-                        .orElseGet(HttpHeaderValues.CLOSE::toString);
-                if (connection.equals(HttpHeaderValues.CLOSE.toString()) || !channel.hasAttr(RETURN)) {
+                if (!keepAlive(channel.attr(RESPONSE).get()) || !channel.hasAttr(RETURN)) {
                     ctx.close()
                             .addListener(future -> {
                                 if (future.isSuccess()) {
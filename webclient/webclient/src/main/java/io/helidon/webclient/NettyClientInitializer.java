@@ -16,7 +16,9 @@
 package io.helidon.webclient;
 
 import java.net.URI;
+import java.nio.channels.ClosedChannelException;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
@@ -26,22 +28,31 @@ import javax.net.ssl.SSLParameters;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http2.DefaultHttp2WindowUpdateFrame;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.proxy.ProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
+import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
 import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.FutureListener;
 
-import static io.helidon.webclient.WebClientRequestBuilderImpl.CONNECTION_IDENT;
-import static io.helidon.webclient.WebClientRequestBuilderImpl.IN_USE;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.RESULT;
 
 /**
@@ -50,6 +61,7 @@ import static io.helidon.webclient.WebClientRequestBuilderImpl.RESULT;
 class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
 
     private final RequestConfiguration configuration;
+    private final boolean http2;
 
     /**
      * Creates new instance.
@@ -57,7 +69,46 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
      * @param configuration request configuration
      */
     NettyClientInitializer(RequestConfiguration configuration) {
+        this(configuration, false);
+    }
+
+    private NettyClientInitializer(RequestConfiguration configuration, boolean http2) {
         this.configuration = configuration;
+        this.http2 = http2;
+    }
+
+    /**
+     * Creates new instance initializing an HTTP/2 connection.
+     * Negotiated protocol is available in {@link Http2ConnectionPool#PROTOCOL} channel attribute.
+     *
+     * @param configuration request configuration
+     * @return initializer of HTTP/2 connection
+     */
+    static NettyClientInitializer http2(RequestConfiguration configuration) {
+        return new NettyClientInitializer(configuration, true);
+    }
+
+    /**
+     * Creates new initializer of a single HTTP/2 stream. The stream pipeline translates HTTP/2 frames from and to
+     * HTTP/1.1 objects, so the request and response are processed the same way as over HTTP/1.1.
+     *
+     * @param configuration request configuration
+     * @return initializer of HTTP/2 stream
+     */
+    static ChannelInitializer<Channel> http2Stream(RequestConfiguration configuration) {
+        return new ChannelInitializer<>() {
+            @Override
+            protected void initChannel(Channel channel) {
+                ChannelPipeline pipeline = channel.pipeline();
+                Duration readTimeout = configuration.readTimout();
+                pipeline.addLast("readTimeout", new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+                pipeline.addLast("logger", new LoggingHandler(ClientNettyLog.class, LogLevel.TRACE));
+                pipeline.addLast("http2StreamCodec", new Http2StreamFrameToHttpObjectCodec(false,
+                                                                                           configuration.validateHeaders()));
+                pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
+                pipeline.addLast("helidonHandler", new NettyClientHandler());
+            }
+        };
     }
 
     @Override
@@ -66,6 +117,11 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
 
         URI address = configuration.requestURI();
 
+        if (http2) {
+            initHttp2(channel, address);
+            return;
+        }
+
         // read timeout (we also want to timeout waiting on a proxy)
         Duration readTimeout = configuration.readTimout();
         pipeline.addLast("readTimeout", new ReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
@@ -82,16 +138,7 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         // TLS configuration
         if (address.toString().startsWith("https")) {
             configuration.sslContext().ifPresent(ctx -> {
-                SslHandler sslHandler = ctx.newHandler(channel.alloc(), address.getHost(), address.getPort());
-
-                //This is how to enable hostname verification in netty
-                if (!configuration.tls().disableHostnameVerification()) {
-                    SSLEngine sslEngine = sslHandler.engine();
-                    SSLParameters sslParameters = sslEngine.getSSLParameters();
-                    sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
-                    sslEngine.setSSLParameters(sslParameters);
-                }
-
+                SslHandler sslHandler = sslHandler(channel, ctx, address);
                 pipeline.addLast("ssl", sslHandler);
                 sslHandler.handshakeFuture().addListener((FutureListener<Channel>) channelFuture -> {
                     //Check if ssl handshake has been successful. Without this check will this exception be replaced by
@@ -107,11 +154,136 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         pipeline.addLast("logger", new LoggingHandler(ClientNettyLog.class, LogLevel.TRACE));
         pipeline.addLast("httpCodec", new HttpClientCodec());
         pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
-        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, 50));
+        // pooled connections not used for this long are closed
+        Duration idleTimeout = configuration.connectionPool().idleTimeout();
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, idleTimeout.toMillis(), TimeUnit.MILLISECONDS));
         pipeline.addLast("idleConnectionHandler", new IdleConnectionHandler());
         pipeline.addLast("helidonHandler", new NettyClientHandler());
     }
 
+    private void initHttp2(SocketChannel channel, URI address) {
+        ChannelPipeline pipeline = channel.pipeline();
+        CompletableFuture<Boolean> protocol = new CompletableFuture<>();
+        channel.attr(Http2ConnectionPool.PROTOCOL).set(protocol);
+        channel.closeFuture().addListener(future -> protocol.completeExceptionally(new ClosedChannelException()));
+
+        if (address.toString().startsWith("https")) {
+            SslContext sslContext = configuration.http2SslContext()
+                    .orElseThrow(() -> new WebClientException("Could not create SSL context for " + address));
+            pipeline.addLast("ssl", sslHandler(channel, sslContext, address));
+            pipeline.addLast("alpn", new ApplicationProtocolNegotiationHandler(ApplicationProtocolNames.HTTP_1_1) {
+                @Override
+                protected void configurePipeline(ChannelHandlerContext ctx, String negotiated) {
+                    if (ApplicationProtocolNames.HTTP_2.equals(negotiated)) {
+                        addHttp2Handlers(ctx.pipeline());
+                    } else {
+                        protocol.complete(false);
+                    }
+                }
+
+                @Override
+                protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) throws Exception {
+                    protocol.completeExceptionally(cause);
+                    super.handshakeFailure(ctx, cause);
+                }
+            });
+        } else {
+            // h2c with prior knowledge, the connection preface is sent as soon as the channel is active
+            addHttp2Handlers(pipeline);
+        }
+    }
+
+    private void addHttp2Handlers(ChannelPipeline pipeline) {
+        Http2ClientConfiguration http2Configuration = configuration.http2();
+        Http2Settings settings = Http2Settings.defaultSettings()
+                .pushEnabled(false)
+                .initialWindowSize(http2Configuration.initialWindowSize())
+                .maxFrameSize(http2Configuration.maxFrameSize())
+                .maxHeaderListSize(http2Configuration.maxHeaderListSize());
+
+        pipeline.addLast("logger", new LoggingHandler(ClientNettyLog.class, LogLevel.TRACE));
+        pipeline.addLast("http2Codec", Http2FrameCodecBuilder.forClient()
+                .initialSettings(settings)
+                .validateHeaders(configuration.validateHeaders())
+                .build());
+        // server push is disabled, no inbound streams are expected
+        pipeline.addLast("http2Multiplex", new Http2MultiplexHandler(new ChannelInboundHandlerAdapter()));
+        Duration idleTimeout = configuration.connectionPool().idleTimeout();
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, idleTimeout.toMillis(), TimeUnit.MILLISECONDS));
+        pipeline.addLast("http2ConnectionHandler", new Http2ConnectionHandler(http2Configuration.connectionWindowSize()));
+    }
+
+    private SslHandler sslHandler(Channel channel, SslContext ctx, URI address) {
+        SslHandler sslHandler = ctx.newHandler(channel.alloc(), address.getHost(), address.getPort());
+
+        //This is how to enable hostname verification in netty
+        if (!configuration.tls().disableHostnameVerification()) {
+            SSLEngine sslEngine = sslHandler.engine();
+            SSLParameters sslParameters = sslEngine.getSSLParameters();
+            sslParameters.setEndpointIdentificationAlgorithm("HTTPS");
+            sslEngine.setSSLParameters(sslParameters);
+        }
+        return sslHandler;
+    }
+
+    private static class Http2ConnectionHandler extends ChannelDuplexHandler {
+
+        private static final int DEFAULT_WINDOW_SIZE = 65535;
+
+        private final int connectionWindowSize;
+
+        private Http2ConnectionHandler(int connectionWindowSize) {
+            this.connectionWindowSize = connectionWindowSize;
+        }
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+            if (ctx.channel().isActive()) {
+                ready(ctx);
+            }
+            super.handlerAdded(ctx);
+        }
+
+        @Override
+        public void channelActive(ChannelHandlerContext ctx) throws Exception {
+            super.channelActive(ctx);
+            ready(ctx);
+        }
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2GoAwayFrame) {
+                Http2ConnectionPool.goAway(ctx.channel());
+            }
+            ReferenceCountUtil.release(msg);
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent) {
+                Http2ConnectionPool.evictIdle(ctx.channel());
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            Http2ConnectionPool.closed(ctx.channel());
+            super.channelInactive(ctx);
+        }
+
+        private void ready(ChannelHandlerContext ctx) {
+            int increment = connectionWindowSize - DEFAULT_WINDOW_SIZE;
+            if (increment > 0) {
+                // frame without a stream updates the connection window
+                ctx.writeAndFlush(new DefaultHttp2WindowUpdateFrame(increment));
+            }
+            // the connection preface was sent by the frame codec, streams may be opened now
+            // (connect future is completed before the channel becomes active)
+            ctx.channel().attr(Http2ConnectionPool.PROTOCOL).get().complete(true);
+        }
+    }
+
     private static class IdleConnectionHandler extends ChannelDuplexHandler {
 
         private static final Logger LOGGER = Logger.getLogger(IdleConnectionHandler.class.getName());
@@ -119,24 +291,16 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         @Override
         public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
             if (evt instanceof IdleStateEvent) {
-                if (ctx.channel().hasAttr(IN_USE)
-                        && ctx.channel().attr(IN_USE).get().compareAndSet(false, true)) {
-                    ctx.close();
-                }
+                ConnectionPool.evictIdle(ctx.channel());
             }
             super.userEventTriggered(ctx, evt);
         }
 
         @Override
         public void channelInactive(ChannelHandlerContext ctx) throws Exception {
-            if (ctx.channel().hasAttr(CONNECTION_IDENT)) {
-                Channel channel = ctx.channel();
-                WebClientRequestBuilderImpl.ConnectionIdent key = channel.attr(CONNECTION_IDENT).get();
-                LOGGER.finest(() -> "Channel closed -> " + channel.hashCode());
-                if (key != null) {
-                    WebClientRequestBuilderImpl.removeChannelFromCache(key, channel);
-                }
-            }
+            Channel channel = ctx.channel();
+            LOGGER.finest(() -> "Channel closed -> " + channel.hashCode());
+            ConnectionPool.closed(channel);
             super.channelInactive(ctx);
         }
     }
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.ConfigException;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+/**
+ * Selects the Netty transport (Java NIO or Linux native epoll) used by the client event loop.
+ * <p>
+ * Native epoll is used only if the optional {@code netty-transport-native-epoll} library is on the classpath
+ * and supported by the current platform.
+ */
+final class NettyClientTransport {
+    private static final Logger LOGGER = Logger.getLogger(NettyClientTransport.class.getName());
+
+    private NettyClientTransport() {
+    }
+
+    /**
+     * Create event loop group of the requested transport.
+     *
+     * @param transport one of {@code nio}, {@code epoll} and {@code auto}
+     * @param numberOfThreads number of event loop threads
+     * @param threadFactory thread factory
+     * @return a new event loop group
+     */
+    static EventLoopGroup eventLoopGroup(String transport, int numberOfThreads, ThreadFactory threadFactory) {
+        switch (transport.toLowerCase(Locale.ROOT)) {
+        case "nio":
+            return new NioEventLoopGroup(numberOfThreads, threadFactory);
+        case "epoll":
+            if (EpollSupport.AVAILABLE) {
+                return EpollSupport.eventLoopGroup(numberOfThreads, threadFactory);
+            }
+            LOGGER.warning("Configured client transport epoll is not available, falling back to NIO.");
+            return new NioEventLoopGroup(numberOfThreads, threadFactory);
+        case "auto":
+            return EpollSupport.AVAILABLE
+                    ? EpollSupport.eventLoopGroup(numberOfThreads, threadFactory)
+                    : new NioEventLoopGroup(numberOfThreads, threadFactory);
+        default:
+            throw new ConfigException("Unknown client transport \"" + transport
+                                              + "\", supported values are nio, epoll and auto");
+        }
+    }
+
+    /**
+     * Socket channel type matching the event loop group.
+     *
+     * @param group event loop group created by {@link #eventLoopGroup(String, int, ThreadFactory)}
+     * @return channel type to use with the group
+     */
+    static Class<? extends Channel> channelType(EventLoopGroup group) {
+        if (EpollSupport.AVAILABLE && EpollSupport.isEpoll(group)) {
+            return EpollSupport.channelType();
+        }
+        return NioSocketChannel.class;
+    }
+
+    // epoll classes are only touched through this class when the library is present
+    private static final class EpollSupport {
+        private static final boolean AVAILABLE = checkAvailable();
+
+        private static boolean checkAvailable() {
+            try {
+                Class.forName("io.netty.channel.epoll.Epoll", false, NettyClientTransport.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.finest("Native epoll library is not on the classpath");
+                return false;
+            }
+            try {
+                if (Epoll.isAvailable()) {
+                    return true;
+                }
+                LOGGER.log(Level.FINEST, "Native epoll transport is not available", Epoll.unavailabilityCause());
+            } catch (LinkageError e) {
+                LOGGER.log(Level.FINEST, "Native epoll transport is not available", e);
+            }
+            return false;
+        }
+
+        private static EventLoopGroup eventLoopGroup(int numberOfThreads, ThreadFactory threadFactory) {
+            return new EpollEventLoopGroup(numberOfThreads, threadFactory);
+        }
+
+        private static boolean isEpoll(EventLoopGroup group) {
+            return group instanceof EpollEventLoopGroup;
+        }
+
+        private static Class<? extends Channel> channelType() {
+            return EpollSocketChannel.class;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import io.netty.util.concurrent.GenericFutureListener;
 
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST;
 import static io.helidon.webclient.WebClientRequestBuilderImpl.REQUEST_ID;
+import static io.helidon.webclient.WebClientRequestBuilderImpl.WRITTEN;
 
 /**
  * Subscriber which handles entity sending.
@@ -45,6 +46,7 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
 
     private final CompletableFuture<WebClientResponse> responseFuture;
     private final CompletableFuture<WebClientServiceRequest> sent;
+    private final CompletableFuture<Void> written;
     private final DefaultHttpRequest request;
     private final Channel channel;
     private final long requestId;
@@ -62,6 +64,7 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
         this.responseFuture = responseFuture;
         this.sent = sent;
         this.requestId = channel.attr(REQUEST_ID).get();
+        this.written = channel.attr(WRITTEN).get();
     }
 
     @Override
@@ -91,20 +94,32 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
             lengthOptimization = false;
             HttpUtil.setTransferEncodingChunked(request, true);
             channel.writeAndFlush(request);
-            sendData(firstDataChunk);
+            // already requested the chunk that follows
+            sendData(firstDataChunk, false);
             firstDataChunk = null;
 
         }
-        sendData(data);
+        sendData(data, true);
     }
 
     @Override
     public void onError(Throwable throwable) {
+        written.completeExceptionally(throwable);
         responseFuture.completeExceptionally(throwable);
     }
 
     @Override
     public void onComplete() {
+        // remaining writes run as a single task, so the server cannot respond before the request was written
+        // and the connection is back in the pool by the time the response completes
+        if (channel.eventLoop().inEventLoop()) {
+            writeLast();
+        } else {
+            channel.eventLoop().execute(this::writeLast);
+        }
+    }
+
+    private void writeLast() {
         if (lengthOptimization) {
             LOGGER.finest(() -> "(client reqID: " + requestId + ") "
                     + "Message body contains only one data chunk. Setting chunked encoding to false.");
@@ -114,14 +129,21 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
             }
             channel.writeAndFlush(request);
             if (firstDataChunk != null) {
-                sendData(firstDataChunk);
+                sendData(firstDataChunk, false);
             }
         }
         LOGGER.finest(() -> "(client reqID: " + requestId + ") Sending last http content");
         channel.writeAndFlush(LAST_HTTP_CONTENT)
                 .addListener(completeOnFailureListener("(client reqID: " + requestId + ") "
                                                                + "An exception occurred when writing last http content."))
-                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
+                .addListener(ChannelFutureListener.CLOSE_ON_FAILURE)
+                .addListener(future -> {
+                    if (future.isSuccess()) {
+                        written.complete(null);
+                    } else {
+                        written.completeExceptionally(future.cause());
+                    }
+                });
 
         WebClientRequestImpl clientRequest = channel.attr(REQUEST).get();
         WebClientServiceRequest serviceRequest = clientRequest.configuration().clientServiceRequest();
@@ -129,13 +151,16 @@ class RequestContentSubscriber implements Flow.Subscriber<DataChunk> {
         LOGGER.finest(() -> "(client reqID: " + requestId + ") Request sent");
     }
 
-    private void sendData(DataChunk data) {
+    // only one chunk is requested at a time, so chunks emitted on different threads are still written in order
+    private void sendData(DataChunk data, boolean requestNext) {
         LOGGER.finest(() -> "(client reqID: " + requestId + ") Sending data chunk");
         DefaultHttpContent httpContent = new DefaultHttpContent(Unpooled.wrappedBuffer(data.data()));
         channel.writeAndFlush(httpContent)
                 .addListener(future -> {
                     data.release();
-                    subscription.request(1);
+                    if (requestNext) {
+                        subscription.request(1);
+                    }
                     LOGGER.finest(() -> "(client reqID: " + requestId + ") Data chunk sent with result: " + future.isSuccess());
                 })
                 .addListener(completeOnFailureListener("(client reqID: " + requestId + ") Failure when sending a content!"))
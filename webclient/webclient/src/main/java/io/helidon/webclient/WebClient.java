@@ -139,6 +139,41 @@ public interface WebClient {
      */
     WebClientRequestBuilder method(Http.RequestMethod method);
 
+    /**
+     * Statistics of the connection pool of this client.
+     * The default implementation is for clients without a connection pool and reports zero values.
+     *
+     * @return connection pool statistics
+     */
+    default ConnectionPoolStatistics connectionPoolStatistics() {
+        return new ConnectionPoolStatistics() {
+            @Override
+            public long active() {
+                return 0;
+            }
+
+            @Override
+            public long idle() {
+                return 0;
+            }
+
+            @Override
+            public long pending() {
+                return 0;
+            }
+
+            @Override
+            public long created() {
+                return 0;
+            }
+
+            @Override
+            public long evicted() {
+                return 0;
+            }
+        };
+    }
+
     final class Builder implements io.helidon.common.Builder<WebClient>,
                                    ParentingMediaContextBuilder<Builder>,
                                    MediaContextBuilder<Builder> {
@@ -284,6 +319,28 @@ public interface WebClient {
             return this;
         }
 
+        /**
+         * Sets connection pool configuration. Each client has its own connection pool.
+         *
+         * @param connectionPool connection pool configuration
+         * @return updated builder instance
+         */
+        public Builder connectionPool(ConnectionPoolConfiguration connectionPool) {
+            configuration.connectionPool(connectionPool);
+            return this;
+        }
+
+        /**
+         * Sets HTTP/2 configuration.
+         *
+         * @param http2 HTTP/2 configuration
+         * @return updated builder instance
+         */
+        public Builder http2(Http2ClientConfiguration http2) {
+            configuration.http2(http2);
+            return this;
+        }
+
         /**
          * Sets specific context which should be used in requests.
          *
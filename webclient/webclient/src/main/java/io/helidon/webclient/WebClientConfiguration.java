@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -48,6 +48,8 @@ import io.helidon.media.common.MessageBodyWriterContext;
 import io.helidon.media.common.ParentingMediaContextBuilder;
 import io.helidon.webclient.spi.WebClientService;
 
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
@@ -78,6 +80,8 @@ class WebClientConfiguration {
     private final MessageBodyReaderContext readerContext;
     private final MessageBodyWriterContext writerContext;
     private final WebClientTls webClientTls;
+    private final ConnectionPoolConfiguration connectionPool;
+    private final Http2ClientConfiguration http2;
     private final URI uri;
     private final boolean validateHeaders;
 
@@ -93,6 +97,8 @@ class WebClientConfiguration {
         this.userAgent = builder.userAgent;
         this.proxy = builder.proxy;
         this.webClientTls = builder.webClientTls;
+        this.connectionPool = builder.connectionPool;
+        this.http2 = builder.http2;
         this.maxRedirects = builder.maxRedirects;
         this.clientHeaders = builder.clientHeaders;
         this.cookiePolicy = builder.cookiePolicy;
@@ -130,14 +136,32 @@ class WebClientConfiguration {
     }
 
     Optional<SslContext> sslContext() {
+        return sslContext(null);
+    }
+
+    /**
+     * SSL context which negotiates HTTP/2 using ALPN, with fallback to HTTP/1.1.
+     *
+     * @return ssl context
+     */
+    Optional<SslContext> http2SslContext() {
+        return sslContext(new ApplicationProtocolConfig(ApplicationProtocolConfig.Protocol.ALPN,
+                                                        ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                                                        ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                                                        ApplicationProtocolNames.HTTP_2,
+                                                        ApplicationProtocolNames.HTTP_1_1));
+    }
+
+    private Optional<SslContext> sslContext(ApplicationProtocolConfig applicationProtocolConfig) {
         SslContext sslContext;
         try {
             if (webClientTls.sslContext().isPresent()) {
-                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get());
+                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get(), applicationProtocolConfig);
             } else {
                 SslContextBuilder sslContextBuilder = SslContextBuilder
                         .forClient()
-                        .sslProvider(SslProvider.JDK);
+                        .sslProvider(SslProvider.JDK)
+                        .applicationProtocolConfig(applicationProtocolConfig);
                 if (webClientTls.certificates().size() > 0) {
                     sslContextBuilder.trustManager(webClientTls.certificates().toArray(new X509Certificate[0]));
                 }
@@ -158,10 +182,10 @@ class WebClientConfiguration {
         return Optional.of(sslContext);
     }
 
-    private SslContext nettySslFromJavaNet(SSLContext javaNetContext) {
+    private SslContext nettySslFromJavaNet(SSLContext javaNetContext, ApplicationProtocolConfig applicationProtocolConfig) {
         return new JdkSslContext(
                 javaNetContext, true, null,
-                IdentityCipherSuiteFilter.INSTANCE, null,
+                IdentityCipherSuiteFilter.INSTANCE, applicationProtocolConfig,
                 ClientAuth.OPTIONAL, null, false);
     }
 
@@ -241,6 +265,14 @@ class WebClientConfiguration {
         return webClientTls;
     }
 
+    ConnectionPoolConfiguration connectionPool() {
+        return connectionPool;
+    }
+
+    Http2ClientConfiguration http2() {
+        return http2;
+    }
+
     Optional<Context> context() {
         return Optional.ofNullable(context);
     }
@@ -297,6 +329,8 @@ class WebClientConfiguration {
         private boolean enableAutomaticCookieStore;
         private boolean keepAlive;
         private WebClientTls webClientTls;
+        private ConnectionPoolConfiguration connectionPool;
+        private Http2ClientConfiguration http2;
         private URI uri;
         private MessageBodyReaderContext readerContext;
         private MessageBodyWriterContext writerContext;
@@ -396,6 +430,28 @@ class WebClientConfiguration {
             return me;
         }
 
+        /**
+         * Connection pool configuration.
+         *
+         * @param connectionPool connection pool configuration
+         * @return updated builder instance
+         */
+        public B connectionPool(ConnectionPoolConfiguration connectionPool) {
+            this.connectionPool = connectionPool;
+            return me;
+        }
+
+        /**
+         * HTTP/2 configuration.
+         *
+         * @param http2 HTTP/2 configuration
+         * @return updated builder instance
+         */
+        public B http2(Http2ClientConfiguration http2) {
+            this.http2 = http2;
+            return me;
+        }
+
         /**
          * Sets max number of followed redirects.
          *
@@ -623,6 +679,14 @@ class WebClientConfiguration {
          *     <td>proxy</td>
          *     <td>Proxy configuration. See {@link Proxy.Builder#config(Config)}</td>
          * </tr>
+         * <tr>
+         *     <td>connection-pool</td>
+         *     <td>Connection pool configuration. See {@link ConnectionPoolConfiguration.Builder#config(Config)}</td>
+         * </tr>
+         * <tr>
+         *     <td>http2</td>
+         *     <td>HTTP/2 configuration. See {@link Http2ClientConfiguration.Builder#config(Config)}</td>
+         * </tr>
          * </table>
          *
          * @param config config
@@ -648,6 +712,12 @@ class WebClientConfiguration {
                     .as(Proxy.builder()::config)
                     .map(Proxy.Builder::build)
                     .ifPresent(this::proxy);
+            config.get("connection-pool")
+                    .as(ConnectionPoolConfiguration::create)
+                    .ifPresent(this::connectionPool);
+            config.get("http2")
+                    .as(Http2ClientConfiguration::create)
+                    .ifPresent(this::http2);
             config.get("media-support").as(MediaContext::create).ifPresent(this::mediaContext);
             return me;
         }
@@ -665,6 +735,8 @@ class WebClientConfiguration {
             userAgent(configuration.userAgent);
             proxy(configuration.proxy);
             tls(configuration.webClientTls);
+            connectionPool(configuration.connectionPool);
+            http2(configuration.http2);
             maxRedirects(configuration.maxRedirects);
             clientHeaders(configuration.clientHeaders);
             enableAutomaticCookieStore(configuration.enableAutomaticCookieStore);
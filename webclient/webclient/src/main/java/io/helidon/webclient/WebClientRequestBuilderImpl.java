@@ -24,16 +24,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Flow;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -62,10 +59,9 @@ import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -84,15 +80,13 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
 
     private static final Logger LOGGER = Logger.getLogger(WebClientRequestBuilderImpl.class.getName());
 
-    private static final Map<ConnectionIdent, Set<ChannelRecord>> CHANNEL_CACHE = new ConcurrentHashMap<>();
     static final AttributeKey<WebClientRequestImpl> REQUEST = AttributeKey.valueOf("request");
     static final AttributeKey<CompletableFuture<WebClientServiceResponse>> RECEIVED = AttributeKey.valueOf("received");
     static final AttributeKey<CompletableFuture<WebClientServiceResponse>> COMPLETED = AttributeKey.valueOf("completed");
     static final AttributeKey<CompletableFuture<WebClientResponse>> RESULT = AttributeKey.valueOf("result");
-    static final AttributeKey<AtomicBoolean> IN_USE = AttributeKey.valueOf("inUse");
+    static final AttributeKey<CompletableFuture<Void>> WRITTEN = AttributeKey.valueOf("written");
     static final AttributeKey<AtomicBoolean> RETURN = AttributeKey.valueOf("finished");
     static final AttributeKey<WebClientResponse> RESPONSE = AttributeKey.valueOf("response");
-    static final AttributeKey<ConnectionIdent> CONNECTION_IDENT = AttributeKey.valueOf("connectionIdent");
     static final AttributeKey<Long> REQUEST_ID = AttributeKey.valueOf("requestID");
 
     private static final AtomicLong REQUEST_NUMBER = new AtomicLong(0);
@@ -105,7 +99,8 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private final Map<String, String> properties;
-    private final LazyValue<NioEventLoopGroup> eventGroup;
+    private final LazyValue<EventLoopGroup> eventGroup;
+    private final ConnectionPool connectionPool;
     private final WebClientConfiguration configuration;
     private final Http.RequestMethod method;
     private final WebClientRequestHeaders headers;
@@ -129,11 +124,13 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     private boolean keepAlive;
     private Long requestId;
 
-    private WebClientRequestBuilderImpl(LazyValue<NioEventLoopGroup> eventGroup,
+    private WebClientRequestBuilderImpl(LazyValue<EventLoopGroup> eventGroup,
+                                        ConnectionPool connectionPool,
                                         WebClientConfiguration configuration,
                                         Http.RequestMethod method) {
         this.properties = new HashMap<>();
         this.eventGroup = eventGroup;
+        this.connectionPool = connectionPool;
         this.configuration = configuration;
         this.method = method;
         this.uri = configuration.uri();
@@ -142,7 +139,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         //Default headers added to the current headers of the request
         this.headers = new WebClientRequestHeadersImpl(this.configuration.headers());
         this.queryParams = HashParameters.create();
-        this.httpVersion = Http.Version.V1_1;
+        this.httpVersion = configuration.http2().enabled() ? Http.Version.V2_0 : Http.Version.V1_1;
         this.redirectionCount = 0;
         this.services = configuration.clientServices();
         this.readerContext = MessageBodyReaderContext.create(configuration.readerContext());
@@ -159,10 +156,11 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         this.keepAlive = configuration.keepAlive();
     }
 
-    public static WebClientRequestBuilder create(LazyValue<NioEventLoopGroup> eventGroup,
+    public static WebClientRequestBuilder create(LazyValue<EventLoopGroup> eventGroup,
+                                                 ConnectionPool connectionPool,
                                                  WebClientConfiguration configuration,
                                                  Http.RequestMethod method) {
-        return new WebClientRequestBuilderImpl(eventGroup, configuration, method);
+        return new WebClientRequestBuilderImpl(eventGroup, connectionPool, configuration, method);
     }
 
     /**
@@ -173,6 +171,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
      */
     static WebClientRequestBuilder create(WebClientRequestImpl clientRequest) {
         WebClientRequestBuilderImpl builder = new WebClientRequestBuilderImpl(NettyClient.eventGroup(),
+                                                                              clientRequest.connectionPool(),
                                                                               clientRequest.configuration(),
                                                                               Http.Method.GET);
         builder.headers(clientRequest.headers());
@@ -189,42 +188,6 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return builder;
     }
 
-    private static ChannelFuture obtainChannelFuture(RequestConfiguration configuration,
-                                                     Bootstrap bootstrap) {
-        ConnectionIdent connectionIdent = new ConnectionIdent(configuration);
-        Set<ChannelRecord> channels = CHANNEL_CACHE.computeIfAbsent(connectionIdent,
-                                                                    s -> Collections.synchronizedSet(new HashSet<>()));
-        synchronized (channels) {
-            for (ChannelRecord channelRecord : channels) {
-                Channel channel = channelRecord.channel;
-                if (channel.isOpen() && channel.attr(IN_USE).get().compareAndSet(false, true)) {
-                    LOGGER.finest(() -> "Reusing -> " + channel.hashCode());
-                    LOGGER.finest(() -> "Setting in use -> true");
-                    return channelRecord.channelFuture;
-                }
-                LOGGER.finest(() -> "Not accepted -> " + channel.hashCode());
-                LOGGER.finest(() -> "Open -> " + channel.isOpen());
-                LOGGER.finest(() -> "In use -> " + channel.attr(IN_USE).get());
-            }
-            LOGGER.finest(() -> "New connection to -> " + connectionIdent);
-            URI uri = connectionIdent.base;
-            ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
-            Channel channel = connect.channel();
-            channel.attr(IN_USE).set(new AtomicBoolean(true));
-            channel.attr(RETURN).set(new AtomicBoolean(false));
-            channel.attr(CONNECTION_IDENT).set(connectionIdent);
-            channels.add(new ChannelRecord(connect));
-            return connect;
-        }
-    }
-
-    static void removeChannelFromCache(ConnectionIdent key, Channel channel) {
-        LOGGER.finest(() -> "Removing from channel cache.");
-        LOGGER.finest(() -> "Connection ident -> " + key);
-        LOGGER.finest(() -> "Channel -> " + channel.hashCode());
-        CHANNEL_CACHE.get(key).remove(new ChannelRecord(channel));
-    }
-
     @Override
     public WebClientRequestBuilder uri(String uri) {
         return uri(URI.create(uri));
@@ -479,6 +442,10 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return requestConfiguration;
     }
 
+    ConnectionPool connectionPool() {
+        return connectionPool;
+    }
+
     Map<String, String> properties() {
         return properties;
     }
@@ -557,30 +524,31 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
 
             CompletableFuture<WebClientResponse> result = new CompletableFuture<>();
 
-            EventLoopGroup group = eventGroup.get();
-            Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(group)
-                    .channel(NioSocketChannel.class)
-                    .handler(new NettyClientInitializer(requestConfiguration))
-                    .option(ChannelOption.SO_KEEPALIVE, keepAlive)
-                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
-
-            ChannelFuture channelFuture = keepAlive
-                    ? obtainChannelFuture(requestConfiguration, bootstrap)
-                    : bootstrap.connect(uri.getHost(), uri.getPort());
-
-            channelFuture.addListener((ChannelFutureListener) future -> {
-                LOGGER.finest(() -> "(client reqID: " + requestId + ") "
-                        + "Channel hashcode -> " + channelFuture.channel().hashCode());
-                channelFuture.channel().attr(REQUEST).set(clientRequest);
-                channelFuture.channel().attr(RECEIVED).set(responseReceived);
-                channelFuture.channel().attr(COMPLETED).set(complete);
-                channelFuture.channel().attr(RESULT).set(result);
-                channelFuture.channel().attr(REQUEST_ID).set(requestId);
-                Throwable cause = future.cause();
+            ConnectionIdent connectionIdent = new ConnectionIdent(requestConfiguration);
+            CompletableFuture<Channel> channelFuture;
+            if (useHttp2(connectionIdent)) {
+                channelFuture = connectionPool.http2()
+                        .acquire(connectionIdent,
+                                 () -> bootstrap(NettyClientInitializer.http2(requestConfiguration), true)
+                                         .connect(uri.getHost(), uri.getPort()),
+                                 NettyClientInitializer.http2Stream(requestConfiguration),
+                                 () -> http1Channel(connectionIdent, keepAlive));
+            } else {
+                channelFuture = http1Channel(connectionIdent, keepAlive);
+            }
+
+            channelFuture.whenComplete((channel, cause) -> {
                 if (null == cause) {
+                    LOGGER.finest(() -> "(client reqID: " + requestId + ") "
+                            + "Channel hashcode -> " + channel.hashCode());
+                    channel.attr(REQUEST).set(clientRequest);
+                    channel.attr(RECEIVED).set(responseReceived);
+                    channel.attr(COMPLETED).set(complete);
+                    channel.attr(RESULT).set(result);
+                    channel.attr(REQUEST_ID).set(requestId);
+                    channel.attr(WRITTEN).set(new CompletableFuture<>());
                     RequestContentSubscriber requestContentSubscriber = new RequestContentSubscriber(request,
-                                                                                                     channelFuture.channel(),
+                                                                                                     channel,
                                                                                                      result,
                                                                                                      sent);
                     requestEntity.subscribe(requestContentSubscriber);
@@ -595,6 +563,47 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         }));
     }
 
+    private boolean useHttp2(ConnectionIdent connectionIdent) {
+        // HTTP/2 is not used through a proxy
+        return httpVersion == Http.Version.V2_0
+                && proxy == Proxy.noProxy()
+                && connectionPool.http2().supported(connectionIdent);
+    }
+
+    private CompletableFuture<Channel> http1Channel(ConnectionIdent connectionIdent, boolean keepAlive) {
+        Bootstrap bootstrap = bootstrap(new NettyClientInitializer(requestConfiguration), keepAlive);
+        if (keepAlive) {
+            return connectionPool.acquire(connectionIdent, () -> {
+                ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
+                connect.channel().attr(RETURN).set(new AtomicBoolean(false));
+                return connect;
+            });
+        }
+        return connect(bootstrap.connect(uri.getHost(), uri.getPort()));
+    }
+
+    private Bootstrap bootstrap(ChannelHandler initializer, boolean keepAlive) {
+        EventLoopGroup group = eventGroup.get();
+        return new Bootstrap()
+                .group(group)
+                .channel(NettyClientTransport.channelType(group))
+                .handler(initializer)
+                .option(ChannelOption.SO_KEEPALIVE, keepAlive)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
+    }
+
+    private static CompletableFuture<Channel> connect(ChannelFuture connect) {
+        CompletableFuture<Channel> result = new CompletableFuture<>();
+        connect.addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                result.complete(future.channel());
+            } else {
+                result.completeExceptionally(future.cause());
+            }
+        });
+        return result;
+    }
+
     private MessageBodyReadableContent getContentFromClientResponse(WebClientResponse response) {
         //If the response status is greater then 300, ask user to change requested entity to ClientResponse
         if (response.status().code() >= Http.Status.MOVED_PERMANENTLY_301.code()) {
@@ -718,6 +727,10 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private HttpVersion toNettyHttpVersion(Http.Version version) {
+        if (version == Http.Version.V2_0) {
+            // HTTP/2 streams exchange HTTP/1.1 objects, also used if the server does not support HTTP/2
+            return HttpVersion.HTTP_1_1;
+        }
         return HttpVersion.valueOf(version.value());
     }
 
@@ -852,40 +865,6 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         }
     }
 
-    private static class ChannelRecord {
-
-        private final ChannelFuture channelFuture;
-        private final Channel channel;
-
-        private ChannelRecord(ChannelFuture channelFuture) {
-            this.channelFuture = channelFuture;
-            this.channel = channelFuture.channel();
-        }
-
-        private ChannelRecord(Channel channel) {
-            this.channelFuture = null;
-            this.channel = channel;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-            ChannelRecord that = (ChannelRecord) o;
-            //Intentional comparison without equals
-            return channel == that.channel;
-        }
-
-        @Override
-        public int hashCode() {
-            return channel.hashCode();
-        }
-    }
-
     static class ConnectionIdent {
 
         private final URI base;
@@ -893,7 +872,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         private final Proxy proxy;
         private final WebClientTls tls;
 
-        private ConnectionIdent(RequestConfiguration requestConfiguration) {
+        ConnectionIdent(RequestConfiguration requestConfiguration) {
             URI uri = requestConfiguration.requestURI();
             this.base = URI.create(uri.getScheme() + "://" + uri.getAuthority());
             this.readTimeout = requestConfiguration.readTimout();
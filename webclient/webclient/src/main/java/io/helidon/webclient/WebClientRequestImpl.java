@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
 
     private final URI uri;
     private final RequestConfiguration requestConfiguration;
+    private final ConnectionPool connectionPool;
     private final WebClientRequestHeaders clientRequestHeaders;
     private final Http.RequestMethod requestMethod;
     private final Http.Version httpVersion;
@@ -50,6 +51,7 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
         fragment = builder.fragment();
         path = builder.path();
         requestConfiguration = builder.requestConfiguration();
+        connectionPool = builder.connectionPool();
         proxy = builder.proxy();
         redirectionCount = builder.redirectionCount();
         properties = Map.copyOf(builder.properties());
@@ -64,6 +66,15 @@ class WebClientRequestImpl implements WebClientRequestBuilder.ClientRequest {
         return requestConfiguration;
     }
 
+    /**
+     * Connection pool of the client which created this request.
+     *
+     * @return connection pool
+     */
+    ConnectionPool connectionPool() {
+        return connectionPool;
+    }
+
     @Override
     public WebClientRequestHeaders headers() {
         return clientRequestHeaders;
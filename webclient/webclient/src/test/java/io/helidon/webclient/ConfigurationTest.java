@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -54,6 +54,18 @@ public class ConfigurationTest {
                 .maxRedirects(10)
                 .userAgent("HelidonTest")
                 .defaultHeader(Http.Header.ACCEPT, List.of("application/json", "text/plain"))
+                .connectionPool(ConnectionPoolConfiguration.builder()
+                                        .maxConnectionsPerHost(20)
+                                        .maxPendingAcquires(100)
+                                        .acquireTimeout(Duration.ofSeconds(1))
+                                        .idleTimeout(Duration.ofSeconds(2))
+                                        .maxLifetime(Duration.ofMinutes(1))
+                                        .build())
+                .http2(Http2ClientConfiguration.builder()
+                               .enabled(true)
+                               .maxConcurrentStreams(50)
+                               .connectionWindowSize(131072)
+                               .build())
                 .build();
         validateConfiguration(wcc);
     }
@@ -66,6 +78,17 @@ public class ConfigurationTest {
         assertThat(wcc.maxRedirects(), is(10));
         assertThat(wcc.userAgent(), is("HelidonTest"));
         assertThat(wcc.headers().acceptedTypes(), containsInAnyOrder(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN));
+        ConnectionPoolConfiguration connectionPool = wcc.connectionPool();
+        assertThat(connectionPool.maxConnectionsPerHost(), is(20));
+        assertThat(connectionPool.maxPendingAcquires(), is(100));
+        assertThat(connectionPool.acquireTimeout(), is(Duration.ofSeconds(1)));
+        assertThat(connectionPool.idleTimeout(), is(Duration.ofSeconds(2)));
+        assertThat(connectionPool.maxLifetime(), is(Duration.ofMinutes(1)));
+        Http2ClientConfiguration http2 = wcc.http2();
+        assertThat(http2.enabled(), is(true));
+        assertThat(http2.maxConcurrentStreams(), is(50));
+        assertThat(http2.connectionWindowSize(), is(131072));
+        assertThat(http2.maxFrameSize(), is(16384));
     }
 
 }
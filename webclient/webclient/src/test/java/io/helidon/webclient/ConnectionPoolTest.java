@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webclient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link ConnectionPool}.
+ */
+public class ConnectionPoolTest {
+
+    private static final WebClientRequestBuilderImpl.ConnectionIdent IDENT = new WebClientRequestBuilderImpl.ConnectionIdent(
+            RequestConfiguration.builder(URI.create("http://localhost:8080"))
+                    .update(NettyClient.SHARED_CONFIGURATION.get())
+                    .build());
+
+    private final List<EmbeddedChannel> channels = new ArrayList<>();
+
+    @Test
+    public void testLifoReuse() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.create(), Http2ClientConfiguration.create());
+
+        Channel first = acquire(pool).get();
+        Channel second = acquire(pool).get();
+        assertThat(pool.active(), is(2L));
+
+        ConnectionPool.release(first);
+        ConnectionPool.release(second);
+        assertThat(pool.idle(), is(2L));
+        assertThat(pool.active(), is(0L));
+
+        assertThat(acquire(pool).get(), sameInstance(second));
+        assertThat(acquire(pool).get(), sameInstance(first));
+        assertThat(pool.created(), is(2L));
+    }
+
+    @Test
+    public void testPendingAcquire() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder()
+                                                         .maxConnectionsPerHost(1)
+                                                         .maxPendingAcquires(1)
+                                                         .build(),
+                                                 Http2ClientConfiguration.create());
+
+        Channel channel = acquire(pool).get();
+        CompletableFuture<Channel> pending = acquire(pool);
+        assertThat(pending.isDone(), is(false));
+        assertThat(pool.pending(), is(1L));
+
+        CompletableFuture<Channel> rejected = acquire(pool);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), instanceOf(WebClientException.class));
+
+        ConnectionPool.release(channel);
+        channels.get(0).runPendingTasks();
+        assertThat(pending.get(), sameInstance(channel));
+        assertThat(pool.pending(), is(0L));
+        assertThat(pool.active(), is(1L));
+        assertThat(pool.created(), is(1L));
+    }
+
+    @Test
+    public void testAcquireTimeout() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder()
+                                                         .maxConnectionsPerHost(1)
+                                                         .acquireTimeout(Duration.ofMillis(10))
+                                                         .build(),
+                                                 Http2ClientConfiguration.create());
+
+        acquire(pool).get();
+        CompletableFuture<Channel> pending = acquire(pool);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> pending.get(10, TimeUnit.SECONDS));
+        assertThat(e.getCause(), instanceOf(TimeoutException.class));
+        assertThat(pool.pending(), is(0L));
+    }
+
+    @Test
+    public void testClosedIdleChannelEvicted() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.create(), Http2ClientConfiguration.create());
+
+        Channel channel = acquire(pool).get();
+        ConnectionPool.release(channel);
+        channel.close();
+
+        Channel next = acquire(pool).get();
+        assertThat(next == channel, is(false));
+        assertThat(pool.evicted(), is(1L));
+        assertThat(pool.created(), is(2L));
+        assertThat(pool.active(), is(1L));
+        assertThat(pool.idle(), is(0L));
+    }
+
+    @Test
+    public void testExpiredChannelEvicted() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.builder()
+                                                         .maxLifetime(Duration.ofNanos(1))
+                                                         .build(),
+                                                 Http2ClientConfiguration.create());
+
+        Channel channel = acquire(pool).get();
+        ConnectionPool.release(channel);
+
+        assertThat(channel.isOpen(), is(false));
+        assertThat(pool.evicted(), is(1L));
+        assertThat(pool.active(), is(0L));
+        assertThat(pool.idle(), is(0L));
+    }
+
+    @Test
+    public void testIdleEviction() throws Exception {
+        ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration.create(), Http2ClientConfiguration.create());
+
+        Channel active = acquire(pool).get();
+        Channel idle = acquire(pool).get();
+        ConnectionPool.release(idle);
+
+        ConnectionPool.evictIdle(active);
+        ConnectionPool.evictIdle(idle);
+
+        assertThat(active.isOpen(), is(true));
+        assertThat(idle.isOpen(), is(false));
+        assertThat(pool.evicted(), is(1L));
+        assertThat(pool.active(), is(1L));
+        assertThat(pool.idle(), is(0L));
+
+        // closing an active channel is not an eviction
+        active.close();
+        ConnectionPool.closed(active);
+        assertThat(pool.evicted(), is(1L));
+        assertThat(pool.active(), is(0L));
+    }
+
+    private CompletableFuture<Channel> acquire(ConnectionPool pool) {
+        return pool.acquire(IDENT, this::connect);
+    }
+
+    private ChannelFuture connect() {
+        EmbeddedChannel channel = new EmbeddedChannel();
+        channels.add(channel);
+        return channel.newSucceededFuture();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.faulttolerance;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.faulttolerance.RateLimitException;
+import io.helidon.faulttolerance.RateLimiter;
+import io.helidon.webserver.Handler;
+import io.helidon.webserver.ServerRequest;
+import io.helidon.webserver.ServerResponse;
+
+/**
+ * Handler limiting the rate of requests using a {@link io.helidon.faulttolerance.RateLimiter}.
+ * Requests that get a permit continue to the next handler, other requests
+ * end with status {@code 429 Too Many Requests} and a {@code Retry-After} header.
+ * <p>
+ * Example limiting each client to 10 requests per second:
+ * <pre>{@code
+ * Routing.builder()
+ *     .any("/expensive", RateLimitHandler.builder()
+ *             .rateLimiter(RateLimiter.builder().permits(10).build())
+ *             .partitionBy(ServerRequest::remoteAddress)
+ *             .build())
+ *     .get("/expensive", service::expensive)
+ * }</pre>
+ */
+public final class RateLimitHandler implements Handler {
+    /**
+     * Status returned when no permit is available.
+     */
+    public static final Http.ResponseStatus TOO_MANY_REQUESTS = Http.ResponseStatus.create(429, "Too Many Requests");
+
+    private final RateLimiter rateLimiter;
+    private final Function<ServerRequest, ?> partitionBy;
+
+    private RateLimitHandler(Builder builder) {
+        this.rateLimiter = builder.rateLimiter;
+        this.partitionBy = builder.partitionBy;
+    }
+
+    /**
+     * Create a handler limiting the rate of all requests together.
+     *
+     * @param rateLimiter rate limiter to use
+     * @return a new handler
+     */
+    public static RateLimitHandler create(RateLimiter rateLimiter) {
+        return builder().rateLimiter(rateLimiter).build();
+    }
+
+    /**
+     * A new builder for {@link RateLimitHandler}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void accept(ServerRequest req, ServerResponse res) {
+        RateLimiter limiter = partitionBy == null
+                ? rateLimiter
+                : rateLimiter.partition(partitionBy.apply(req));
+
+        limiter.invoke(() -> {
+            req.next();
+            return Single.empty();
+        }).subscribe(it -> {
+        }, throwable -> {
+            if (throwable instanceof RateLimitException) {
+                long seconds = TimeUnit.NANOSECONDS.toSeconds(((RateLimitException) throwable).retryAfter().toNanos()
+                                                                      + TimeUnit.SECONDS.toNanos(1) - 1);
+                res.status(TOO_MANY_REQUESTS);
+                res.headers().add(Http.Header.RETRY_AFTER, String.valueOf(Math.max(1, seconds)));
+                res.send();
+            } else {
+                req.next(throwable);
+            }
+        });
+    }
+
+    /**
+     * Fluent API builder for {@link RateLimitHandler}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<RateLimitHandler> {
+        private RateLimiter rateLimiter;
+        private Function<ServerRequest, ?> partitionBy;
+
+        private Builder() {
+        }
+
+        @Override
+        public RateLimitHandler build() {
+            Objects.requireNonNull(rateLimiter, "Rate limiter must be configured");
+            return new RateLimitHandler(this);
+        }
+
+        /**
+         * Rate limiter to use.
+         *
+         * @param rateLimiter rate limiter
+         * @return updated builder instance
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = Objects.requireNonNull(rateLimiter);
+            return this;
+        }
+
+        /**
+         * Limit rate of requests for each key separately, such as a client address or an authenticated subject.
+         * By default, the rate of all requests is limited together.
+         *
+         * @param partitionBy function to obtain the key of a request
+         * @return updated builder instance
+         * @see io.helidon.faulttolerance.RateLimiter#partition(Object)
+         */
+        public Builder partitionBy(Function<ServerRequest, ?> partitionBy) {
+            this.partitionBy = Objects.requireNonNull(partitionBy);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.faulttolerance;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import io.helidon.common.http.Http;
+import io.helidon.faulttolerance.RateLimiter;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.testsupport.TestClient;
+import io.helidon.webserver.testsupport.TestResponse;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class RateLimitHandlerTest {
+    private static final String CLIENT = "X-Client";
+
+    private static TestClient testClient;
+
+    @BeforeAll
+    static void setupRouting() {
+        RateLimiter rateLimiter = RateLimiter.builder()
+                .permits(1)
+                .period(Duration.ofMinutes(1))
+                .build();
+        Routing routing = Routing.builder()
+                .any("/limited", RateLimitHandler.create(rateLimiter))
+                .any("/partitioned", RateLimitHandler.builder()
+                        .rateLimiter(rateLimiter)
+                        .partitionBy(req -> req.headers().first(CLIENT).orElse(""))
+                        .build())
+                .get("/{+path}", (req, res) -> res.send("ok"))
+                .build();
+
+        testClient = TestClient.create(routing);
+    }
+
+    @Test
+    void testLimited() throws TimeoutException, InterruptedException {
+        TestResponse response = testClient.path("/limited").get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+
+        response = testClient.path("/limited").get();
+        assertThat(response.status().code(), is(429));
+        assertThat(response.headers().first(Http.Header.RETRY_AFTER), is(Optional.of("60")));
+    }
+
+    @Test
+    void testPartitioned() throws TimeoutException, InterruptedException {
+        TestResponse response = testClient.path("/partitioned").header(CLIENT, "first").get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        response = testClient.path("/partitioned").header(CLIENT, "second").get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+
+        response = testClient.path("/partitioned").header(CLIENT, "first").get();
+        assertThat(response.status().code(), is(429));
+    }
+}
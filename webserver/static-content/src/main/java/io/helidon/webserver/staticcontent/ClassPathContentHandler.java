@@ -23,12 +23,16 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.jar.JarEntry;
@@ -38,6 +42,7 @@ import java.util.logging.Logger;
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.IoMulti;
+import io.helidon.common.reactive.Single;
 import io.helidon.webserver.HttpException;
 import io.helidon.webserver.ServerRequest;
 import io.helidon.webserver.ServerResponse;
@@ -55,6 +60,8 @@ class ClassPathContentHandler extends FileBasedContentHandler {
 
     // URL's hash code and equal are not suitable for map or set
     private final Map<String, ExtractedJarEntry> extracted = new ConcurrentHashMap<>();
+    // null if disabled
+    private final MemoryCache memoryCache;
 
     ClassPathContentHandler(StaticContentSupport.ClassPathBuilder builder) {
         super(builder);
@@ -62,6 +69,9 @@ class ClassPathContentHandler extends FileBasedContentHandler {
         this.classLoader = builder.classLoader();
         this.root = builder.root();
         this.rootWithTrailingSlash = root + '/';
+        this.memoryCache = builder.memoryCacheSize() > 0
+                ? new MemoryCache(builder.memoryCacheSize(), builder.memoryCacheMaxEntrySize())
+                : null;
 
         Path tmpDir = builder.tmpDir();
         if (tmpDir == null) {
@@ -154,13 +164,50 @@ class ClassPathContentHandler extends FileBasedContentHandler {
 
         LOGGER.fine(() -> "Sending static content from classpath: " + url);
 
+        if (memoryCache != null) {
+            Optional<MemoryCache.CachedContent> cached = memoryCache.get(requestedResource)
+                    .or(() -> cacheJarEntry(requestedResource, url));
+            if (cached.isPresent()) {
+                sendCached(method, cached.get(), request, response);
+                return true;
+            }
+        }
+
         ExtractedJarEntry extrEntry = extracted
                 .compute(requestedResource, (key, entry) -> existOrCreate(url, entry));
         if (extrEntry.tempFile == null) {
             return false;
         }
+
+        // precompressed variant not cached in memory, extracted the same way as the resource itself
+        String encoding = null;
+        ExtractedJarEntry variantEntry = null;
+        if (precompressed()) {
+            boolean hasVariant = false;
+            List<String> acceptedEncodings = acceptedEncodings(request.headers());
+            for (String candidate : PRECOMPRESSED_ENCODINGS) {
+                String variantResource = requestedResource + encodingSuffix(candidate);
+                URL variantUrl = classLoader.getResource(variantResource);
+                if (variantUrl != null && "jar".equals(variantUrl.getProtocol())) {
+                    hasVariant = true;
+                    if (acceptedEncodings.contains(candidate)) {
+                        ExtractedJarEntry entry = extracted.compute(variantResource,
+                                                                    (key, existing) -> existOrCreate(variantUrl, existing));
+                        if (entry.tempFile != null) {
+                            encoding = candidate;
+                            variantEntry = entry;
+                            break;
+                        }
+                    }
+                }
+            }
+            if (hasVariant) {
+                response.headers().add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+            }
+        }
+
         if (extrEntry.lastModified != null) {
-            processEtag(String.valueOf(extrEntry.lastModified.toEpochMilli()), request.headers(), response.headers());
+            processEtag(etag(extrEntry.lastModified, encoding), request.headers(), response.headers());
             processModifyHeaders(extrEntry.lastModified, request.headers(), response.headers());
         }
 
@@ -169,16 +216,118 @@ class ClassPathContentHandler extends FileBasedContentHandler {
         processContentType(entryName,
                            request.headers(),
                            response.headers());
+        if (encoding != null) {
+            response.headers().put(Http.Header.CONTENT_ENCODING, encoding);
+        }
 
         if (method == Http.Method.HEAD) {
             response.send();
         } else {
-            send(response, extrEntry.tempFile);
+            send(response, variantEntry == null ? extrEntry.tempFile : variantEntry.tempFile);
         }
 
         return true;
     }
 
+    private void sendCached(Http.RequestMethod method,
+                            MemoryCache.CachedContent cached,
+                            ServerRequest request,
+                            ServerResponse response) {
+
+        String encoding = null;
+        if (!cached.variants().isEmpty()) {
+            response.headers().add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+            for (String accepted : acceptedEncodings(request.headers())) {
+                if (cached.variants().containsKey(accepted)) {
+                    encoding = accepted;
+                    break;
+                }
+            }
+        }
+
+        if (cached.lastModified() != null) {
+            processEtag(etag(cached.lastModified(), encoding), request.headers(), response.headers());
+            processModifyHeaders(cached.lastModified(), request.headers(), response.headers());
+        }
+
+        processContentType(cached.mediaType(), request.headers(), response.headers());
+
+        ByteBuffer content = cached.content();
+        if (encoding != null) {
+            response.headers().put(Http.Header.CONTENT_ENCODING, encoding);
+            content = cached.variants().get(encoding);
+        }
+
+        if (method == Http.Method.HEAD) {
+            response.send();
+        } else {
+            response.headers().contentLength(content.remaining());
+            // read only duplicate, so the cached buffer is never copied nor modified
+            response.send(Single.just(DataChunk.create(false, true, content.duplicate())));
+        }
+    }
+
+    private Optional<MemoryCache.CachedContent> cacheJarEntry(String requestedResource, URL url) {
+        try {
+            JarURLConnection jarUrlConnection = (JarURLConnection) url.openConnection();
+            JarFile jarFile = jarUrlConnection.getJarFile();
+            try {
+                JarEntry jarEntry = jarUrlConnection.getJarEntry();
+                if (jarEntry.isDirectory() || jarEntry.getSize() < 0 || jarEntry.getSize() > memoryCache.maxEntrySize()) {
+                    return Optional.empty();
+                }
+                ByteBuffer content;
+                try (InputStream is = jarFile.getInputStream(jarEntry)) {
+                    content = directBuffer(is.readAllBytes());
+                }
+
+                Map<String, ByteBuffer> variants = new HashMap<>();
+                if (precompressed()) {
+                    for (String encoding : PRECOMPRESSED_ENCODINGS) {
+                        URL variantUrl = classLoader.getResource(requestedResource + encodingSuffix(encoding));
+                        if (variantUrl != null) {
+                            try (InputStream is = variantUrl.openStream()) {
+                                byte[] bytes = is.readNBytes(memoryCache.maxEntrySize() + 1);
+                                if (bytes.length > memoryCache.maxEntrySize()) {
+                                    // too large to cache, serve the resource itself from disk
+                                    return Optional.empty();
+                                }
+                                variants.put(encoding, directBuffer(bytes));
+                            }
+                        }
+                    }
+                }
+
+                MemoryCache.CachedContent cached = new MemoryCache.CachedContent(content,
+                                                                                 Map.copyOf(variants),
+                                                                                 getLastModified(jarFile.getName()),
+                                                                                 detectType(fileName(jarEntry.getName())));
+                memoryCache.put(requestedResource, cached);
+                return Optional.of(cached);
+            } finally {
+                if (!jarUrlConnection.getUseCaches()) {
+                    jarFile.close();
+                }
+            }
+        } catch (IOException ioe) {
+            throw new HttpException("Cannot load JAR file!", Http.Status.INTERNAL_SERVER_ERROR_500, ioe);
+        }
+    }
+
+    private static ByteBuffer directBuffer(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    @Override
+    void releaseCache() {
+        if (memoryCache != null) {
+            memoryCache.clear();
+        }
+    }
+
     private ExtractedJarEntry existOrCreate(URL url, ExtractedJarEntry entry) {
         if (entry == null) {
             return extractJarEntry(url);
@@ -219,6 +368,11 @@ class ClassPathContentHandler extends FileBasedContentHandler {
                               .map(DataChunk::create));
     }
 
+    private static String fileName(String entryName) {
+        int index = entryName.lastIndexOf('/');
+        return index > -1 ? entryName.substring(index + 1) : entryName;
+    }
+
     static String fileName(URL url) {
         String path = url.getPath();
         int index = path.lastIndexOf('/');
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -40,13 +42,81 @@ import io.helidon.webserver.ServerResponse;
 abstract class FileBasedContentHandler extends StaticContentHandler {
     private static final Logger LOGGER = Logger.getLogger(FileBasedContentHandler.class.getName());
     private static final MessageBodyWriter<Path> PATH_WRITER = DefaultMediaSupport.pathWriter();
+    /**
+     * Content encodings of precompressed variants, in order of preference.
+     */
+    static final List<String> PRECOMPRESSED_ENCODINGS = List.of("br", "gzip");
 
     private final Map<String, MediaType> customMediaTypes;
+    private final boolean precompressed;
 
     FileBasedContentHandler(StaticContentSupport.FileBasedBuilder<?> builder) {
         super(builder);
 
         this.customMediaTypes = builder.specificContentTypes();
+        this.precompressed = builder.precompressed();
+    }
+
+    /**
+     * Filename suffix of a precompressed variant.
+     *
+     * @param encoding content encoding, one of {@link #PRECOMPRESSED_ENCODINGS}
+     * @return suffix of the variant
+     */
+    static String encodingSuffix(String encoding) {
+        return "gzip".equals(encoding) ? ".gz" : "." + encoding;
+    }
+
+    /**
+     * Content encodings of {@link #PRECOMPRESSED_ENCODINGS} accepted by the request.
+     * Encodings with zero quality are not accepted, a wildcard accepts all other encodings.
+     *
+     * @param requestHeaders an HTTP request headers
+     * @return accepted encodings
+     */
+    static List<String> acceptedEncodings(RequestHeaders requestHeaders) {
+        List<String> accepted = new ArrayList<>(2);
+        List<String> rejected = new ArrayList<>(2);
+        boolean wildcard = false;
+        for (String value : requestHeaders.values(Http.Header.ACCEPT_ENCODING)) {
+            for (String item : value.split(",")) {
+                String[] parts = item.split(";");
+                String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+                boolean zeroQuality = false;
+                for (int i = 1; i < parts.length; i++) {
+                    String param = parts[i].trim();
+                    if (param.startsWith("q=") || param.startsWith("Q=")) {
+                        zeroQuality = param.substring(2).trim().matches("0(\\.0{0,3})?");
+                    }
+                }
+                if (zeroQuality) {
+                    rejected.add(coding);
+                } else if ("*".equals(coding)) {
+                    wildcard = true;
+                } else {
+                    accepted.add(coding);
+                }
+            }
+        }
+        List<String> result = new ArrayList<>(PRECOMPRESSED_ENCODINGS.size());
+        for (String encoding : PRECOMPRESSED_ENCODINGS) {
+            if (!rejected.contains(encoding) && (wildcard || accepted.contains(encoding))) {
+                result.add(encoding);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Entity tag of a file, specific for the content encoding of the sent variant.
+     *
+     * @param lastModified last modification of the file
+     * @param encoding     content encoding of the variant, {@code null} for the file itself
+     * @return entity tag
+     */
+    static String etag(Instant lastModified, String encoding) {
+        String etag = String.valueOf(lastModified.toEpochMilli());
+        return encoding == null ? etag : etag + "-" + encoding;
     }
 
     static String fileName(Path path) {
@@ -88,16 +158,44 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
         responseHeaders.contentType(detectType(filename, requestHeaders));
     }
 
-    private MediaType detectType(String fileName, RequestHeaders requestHeaders) {
+    /**
+     * Sets a Content-Type header based on a media type detected in advance.
+     *
+     * @param mediaType       media type detected by {@link #detectType(String)}
+     * @param requestHeaders  an HTTP request headers
+     * @param responseHeaders an HTTP response headers
+     */
+    void processContentType(Optional<MediaType> mediaType,
+                            RequestHeaders requestHeaders,
+                            ResponseHeaders responseHeaders) {
+        responseHeaders.contentType(acceptedType(mediaType, requestHeaders));
+    }
+
+    /**
+     * Detects a media type of a file from its name, using configured overrides first.
+     *
+     * @param fileName a filename
+     * @return detected media type
+     */
+    Optional<MediaType> detectType(String fileName) {
         Objects.requireNonNull(fileName);
-        Objects.requireNonNull(requestHeaders);
 
         // first try to see if we have an override
         // then find if we have a detected type
-        // then check the type is accepted by the request
         return findCustomMediaType(fileName)
                 .or(() -> MediaTypes.detectType(fileName)
-                        .map(MediaType::parse))
+                        .map(MediaType::parse));
+    }
+
+    private MediaType detectType(String fileName, RequestHeaders requestHeaders) {
+        return acceptedType(detectType(fileName), requestHeaders);
+    }
+
+    private MediaType acceptedType(Optional<MediaType> mediaType, RequestHeaders requestHeaders) {
+        Objects.requireNonNull(requestHeaders);
+
+        // check the type is accepted by the request
+        return mediaType
                 .map(it -> {
                     if (requestHeaders.isAccepted(it)) {
                         return it;
@@ -156,20 +254,45 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
             throw new HttpException("File is not accessible", Http.Status.FORBIDDEN_403);
         }
 
+        // Precompressed variant of the file (e.g. "app.js.gz")
+        String encoding = null;
+        Path variant = null;
+        if (precompressed) {
+            boolean hasVariant = false;
+            List<String> acceptedEncodings = acceptedEncodings(request.headers());
+            for (String candidate : PRECOMPRESSED_ENCODINGS) {
+                Path candidatePath = path.resolveSibling(fileName(path) + encodingSuffix(candidate));
+                if (Files.isRegularFile(candidatePath) && Files.isReadable(candidatePath)) {
+                    hasVariant = true;
+                    if (acceptedEncodings.contains(candidate)) {
+                        encoding = candidate;
+                        variant = candidatePath;
+                        break;
+                    }
+                }
+            }
+            if (hasVariant) {
+                response.headers().add(Http.Header.VARY, Http.Header.ACCEPT_ENCODING);
+            }
+        }
+
         // Caching headers support
         try {
             Instant lastMod = Files.getLastModifiedTime(path).toInstant();
-            processEtag(String.valueOf(lastMod.toEpochMilli()), request.headers(), response.headers());
+            processEtag(etag(lastMod, encoding), request.headers(), response.headers());
             processModifyHeaders(lastMod, request.headers(), response.headers());
         } catch (IOException | SecurityException e) {
             // Cannot get mod time or size - well, we cannot tell if it was modified or not. Don't support cache headers
         }
 
         processContentType(fileName(path), request.headers(), response.headers());
+        if (encoding != null) {
+            response.headers().put(Http.Header.CONTENT_ENCODING, encoding);
+        }
         if (method == Http.Method.HEAD) {
             response.send();
         } else {
-            send(response, path);
+            send(response, variant == null ? path : variant);
         }
     }
 
@@ -177,5 +300,8 @@ abstract class FileBasedContentHandler extends StaticContentHandler {
         response.send(PATH_WRITER.marshall(path));
     }
 
+    boolean precompressed() {
+        return precompressed;
+    }
 
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.staticcontent;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import io.helidon.common.http.MediaType;
+
+/**
+ * In-memory cache of static content bounded by the total size of the cached bytes.
+ * Least recently used entries are evicted first.
+ */
+final class MemoryCache {
+    // access ordered, guarded by this
+    private final LinkedHashMap<String, CachedContent> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maxSize;
+    private final int maxEntrySize;
+    private long size;
+
+    MemoryCache(long maxSize, int maxEntrySize) {
+        this.maxSize = maxSize;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    /**
+     * Maximal size of content (and of each of its variants) to be cached.
+     *
+     * @return size in bytes
+     */
+    int maxEntrySize() {
+        return maxEntrySize;
+    }
+
+    synchronized Optional<CachedContent> get(String resource) {
+        return Optional.ofNullable(entries.get(resource));
+    }
+
+    /**
+     * Cache content, evicting the least recently used entries if the cache would exceed its size.
+     * Content larger than the whole cache is not cached.
+     *
+     * @param resource name of the resource
+     * @param content  content to cache
+     */
+    synchronized void put(String resource, CachedContent content) {
+        long contentSize = content.size();
+        if (contentSize > maxSize) {
+            return;
+        }
+        CachedContent previous = entries.put(resource, content);
+        if (previous != null) {
+            size -= previous.size();
+        }
+        size += contentSize;
+
+        Iterator<CachedContent> iterator = entries.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            CachedContent evicted = iterator.next();
+            if (evicted != content) {
+                iterator.remove();
+                size -= evicted.size();
+            }
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Cached content with its precompressed variants and metadata computed when cached.
+     */
+    static final class CachedContent {
+        private final ByteBuffer content;
+        private final Map<String, ByteBuffer> variants;
+        private final Instant lastModified;
+        private final Optional<MediaType> mediaType;
+        private final long size;
+
+        /**
+         * Create cached content.
+         *
+         * @param content      content, read only
+         * @param variants     precompressed variants of the content by their content encoding, read only
+         * @param lastModified last modification, may be {@code null}
+         * @param mediaType    media type detected from the resource name
+         */
+        CachedContent(ByteBuffer content, Map<String, ByteBuffer> variants, Instant lastModified, Optional<MediaType> mediaType) {
+            this.content = content;
+            this.variants = variants;
+            this.lastModified = lastModified;
+            this.mediaType = mediaType;
+            long size = content.remaining();
+            for (ByteBuffer variant : variants.values()) {
+                size += variant.remaining();
+            }
+            this.size = size;
+        }
+
+        ByteBuffer content() {
+            return content;
+        }
+
+        Map<String, ByteBuffer> variants() {
+            return variants;
+        }
+
+        Instant lastModified() {
+            return lastModified;
+        }
+
+        Optional<MediaType> mediaType() {
+            return mediaType;
+        }
+
+        long size() {
+            return size;
+        }
+    }
+}
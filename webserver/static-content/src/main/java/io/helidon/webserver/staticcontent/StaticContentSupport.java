@@ -188,6 +188,7 @@ public interface StaticContentSupport extends Service {
     @SuppressWarnings("unchecked")
     abstract class FileBasedBuilder<T extends FileBasedBuilder<T>> extends StaticContentSupport.Builder<FileBasedBuilder<T>> {
         private final Map<String, MediaType> specificContentTypes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private boolean precompressed;
 
         /**
          * Maps a filename extension to the response content type.
@@ -217,9 +218,28 @@ public interface StaticContentSupport extends Service {
             return (T) this;
         }
 
+        /**
+         * Serve precompressed variants of the content if accepted by the client.
+         * A variant is a file (or a class path resource) next to the requested one with a {@code .br}
+         * (Brotli) or {@code .gz} (gzip) suffix, such as {@code app.js.gz} for {@code app.js}.
+         * The response has the content type of the requested file and a {@code Content-Encoding} header.
+         * Disabled by default.
+         *
+         * @param precompressed whether to serve precompressed variants
+         * @return updated builder
+         */
+        public T precompressed(boolean precompressed) {
+            this.precompressed = precompressed;
+            return (T) this;
+        }
+
         Map<String, MediaType> specificContentTypes() {
             return specificContentTypes;
         }
+
+        boolean precompressed() {
+            return precompressed;
+        }
     }
 
     /**
@@ -229,6 +249,8 @@ public interface StaticContentSupport extends Service {
         private String clRoot;
         private ClassLoader classLoader;
         private Path tmpDir;
+        private long memoryCacheSize;
+        private int memoryCacheMaxEntrySize = 64 * 1024;
 
         protected ClassPathBuilder() {
         }
@@ -273,10 +295,52 @@ public interface StaticContentSupport extends Service {
             return this;
         }
 
+        /**
+         * Sets the size of an in-memory cache of content from jar files. The content (together with its precompressed
+         * variants, see {@link #precompressed(boolean)}) is kept in direct memory instead of being extracted
+         * to a temporary file, least recently used content is evicted when the cache is full.
+         * Disabled by default.
+         *
+         * @param memoryCacheSize maximal number of bytes cached, {@code 0} to disable the cache
+         * @return updated builder
+         * @see #memoryCacheMaxEntrySize(int)
+         */
+        public ClassPathBuilder memoryCacheSize(long memoryCacheSize) {
+            if (memoryCacheSize < 0) {
+                throw new IllegalArgumentException("Memory cache size must not be negative");
+            }
+            this.memoryCacheSize = memoryCacheSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximal size of a resource (and of each of its precompressed variants) to be cached in memory.
+         * Larger resources are extracted to a temporary file. Defaults to 64 KiB.
+         *
+         * @param memoryCacheMaxEntrySize maximal size of a cached resource in bytes
+         * @return updated builder
+         * @see #memoryCacheSize(long)
+         */
+        public ClassPathBuilder memoryCacheMaxEntrySize(int memoryCacheMaxEntrySize) {
+            if (memoryCacheMaxEntrySize < 0) {
+                throw new IllegalArgumentException("Memory cache entry size must not be negative");
+            }
+            this.memoryCacheMaxEntrySize = memoryCacheMaxEntrySize;
+            return this;
+        }
+
         String root() {
             return clRoot;
         }
 
+        long memoryCacheSize() {
+            return memoryCacheSize;
+        }
+
+        int memoryCacheMaxEntrySize() {
+            return memoryCacheMaxEntrySize;
+        }
+
         ClassLoader classLoader() {
             return classLoader;
         }
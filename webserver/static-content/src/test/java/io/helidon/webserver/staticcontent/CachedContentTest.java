@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.staticcontent;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import io.helidon.common.http.Http;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.testsupport.TestClient;
+import io.helidon.webserver.testsupport.TestResponse;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests in-memory cache of class path content and precompressed variants.
+ */
+class CachedContentTest {
+    private static final String SCRIPT = "console.log('cached');";
+    private static final String GZIP_SCRIPT = "gzip variant";
+    private static final String BROTLI_SCRIPT = "brotli variant";
+
+    private static URLClassLoader classLoader;
+    private static TestClient testClient;
+
+    @BeforeAll
+    static void setupRouting(@TempDir Path tempDir) throws Exception {
+        Path jar = tempDir.resolve("static.jar");
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            entry(out, "web/app.js", SCRIPT);
+            entry(out, "web/app.js.gz", GZIP_SCRIPT);
+            entry(out, "web/app.js.br", BROTLI_SCRIPT);
+            entry(out, "web/plain.txt", "plain");
+            entry(out, "web/large.txt", "x".repeat(200));
+        }
+        classLoader = new URLClassLoader(new URL[] {jar.toUri().toURL()}, null);
+
+        Path files = Files.createDirectory(tempDir.resolve("files"));
+        Files.writeString(files.resolve("app.js"), SCRIPT);
+        Files.writeString(files.resolve("app.js.gz"), GZIP_SCRIPT);
+
+        Routing routing = Routing.builder()
+                .register("/cached", StaticContentSupport.builder("web", classLoader)
+                        .memoryCacheSize(1024)
+                        .memoryCacheMaxEntrySize(100)
+                        .precompressed(true))
+                .register("/jar", StaticContentSupport.builder("web", classLoader)
+                        .precompressed(true))
+                .register("/files", StaticContentSupport.builder(files)
+                        .precompressed(true))
+                .register("/plain-files", StaticContentSupport.builder(files))
+                .build();
+
+        testClient = TestClient.create(routing);
+    }
+
+    @AfterAll
+    static void closeClassLoader() throws Exception {
+        classLoader.close();
+    }
+
+    @Test
+    void testCachedContent() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            TestResponse response = testClient.path("/cached/plain.txt").get();
+            assertThat(response.status(), is(Http.Status.OK_200));
+            assertThat(response.headers().first(Http.Header.CONTENT_LENGTH).orElse(null), is("5"));
+            assertThat(response.headers().first(Http.Header.VARY).orElse(null), is(nullValue()));
+            assertThat(response.asString().get(), is("plain"));
+        }
+    }
+
+    @Test
+    void testLargeContentNotCached() throws Exception {
+        TestResponse response = testClient.path("/cached/large.txt").get();
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(response.asString().get(), is("x".repeat(200)));
+    }
+
+    @Test
+    void testCachedVariants() throws Exception {
+        TestResponse response = testClient.path("/cached/app.js").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is(nullValue()));
+        assertThat(response.headers().first(Http.Header.VARY).orElse(null), is(Http.Header.ACCEPT_ENCODING));
+        assertThat(response.asString().get(), is(SCRIPT));
+
+        response = testClient.path("/cached/app.js").header(Http.Header.ACCEPT_ENCODING, "gzip, deflate").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+        assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is("text/javascript"));
+        assertThat(response.asString().get(), is(GZIP_SCRIPT));
+
+        response = testClient.path("/cached/app.js").header(Http.Header.ACCEPT_ENCODING, "gzip, br").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("br"));
+        assertThat(response.asString().get(), is(BROTLI_SCRIPT));
+
+        response = testClient.path("/cached/app.js").header(Http.Header.ACCEPT_ENCODING, "*, br;q=0").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+        assertThat(response.asString().get(), is(GZIP_SCRIPT));
+    }
+
+    @Test
+    void testJarVariantWithoutCache() throws Exception {
+        TestResponse response = testClient.path("/jar/app.js").header(Http.Header.ACCEPT_ENCODING, "gzip").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+        assertThat(response.headers().all(Http.Header.VARY), is(List.of(Http.Header.ACCEPT_ENCODING)));
+        assertThat(response.headers().first(Http.Header.CONTENT_TYPE).orElse(null), is("text/javascript"));
+        assertThat(response.asString().get(), is(GZIP_SCRIPT));
+
+        response = testClient.path("/jar/app.js").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is(nullValue()));
+        assertThat(response.headers().all(Http.Header.VARY), is(List.of(Http.Header.ACCEPT_ENCODING)));
+        assertThat(response.asString().get(), is(SCRIPT));
+
+        response = testClient.path("/jar/plain.txt").header(Http.Header.ACCEPT_ENCODING, "gzip").get();
+        assertThat(response.headers().first(Http.Header.VARY).orElse(null), is(nullValue()));
+        assertThat(response.asString().get(), is("plain"));
+    }
+
+    @Test
+    void testFileSystemVariant() throws Exception {
+        TestResponse response = testClient.path("/files/app.js").header(Http.Header.ACCEPT_ENCODING, "br, gzip").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is("gzip"));
+        assertThat(response.headers().all(Http.Header.VARY), is(List.of(Http.Header.ACCEPT_ENCODING)));
+        assertThat(response.asString().get(), is(GZIP_SCRIPT));
+
+        response = testClient.path("/files/app.js").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is(nullValue()));
+        assertThat(response.asString().get(), is(SCRIPT));
+
+        response = testClient.path("/plain-files/app.js").header(Http.Header.ACCEPT_ENCODING, "gzip").get();
+        assertThat(response.headers().first(Http.Header.CONTENT_ENCODING).orElse(null), is(nullValue()));
+        assertThat(response.asString().get(), is(SCRIPT));
+    }
+
+    private static void entry(JarOutputStream out, String name, String content) throws Exception {
+        out.putNextEntry(new JarEntry(name));
+        out.write(content.getBytes(StandardCharsets.UTF_8));
+        out.closeEntry();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.staticcontent;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link MemoryCache}.
+ */
+class MemoryCacheTest {
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        MemoryCache cache = new MemoryCache(30, 10);
+        cache.put("a", content(10));
+        cache.put("b", content(10));
+        cache.put("c", content(10));
+        // make "a" recently used
+        assertThat(cache.get("a").isPresent(), is(true));
+
+        cache.put("d", content(10));
+
+        assertThat(cache.size(), is(30L));
+        assertThat(cache.get("a").isPresent(), is(true));
+        assertThat(cache.get("b").isPresent(), is(false));
+        assertThat(cache.get("c").isPresent(), is(true));
+        assertThat(cache.get("d").isPresent(), is(true));
+    }
+
+    @Test
+    void testVariantsCountToSize() {
+        MemoryCache cache = new MemoryCache(30, 20);
+        cache.put("a", new MemoryCache.CachedContent(ByteBuffer.allocate(20),
+                                                     Map.of("gzip", ByteBuffer.allocate(5)),
+                                                     null,
+                                                     Optional.empty()));
+        assertThat(cache.size(), is(25L));
+
+        cache.put("b", content(10));
+        assertThat(cache.size(), is(10L));
+        assertThat(cache.get("a").isPresent(), is(false));
+    }
+
+    @Test
+    void testReplaceAndClear() {
+        MemoryCache cache = new MemoryCache(30, 20);
+        cache.put("a", content(10));
+        cache.put("a", content(20));
+        assertThat(cache.size(), is(20L));
+
+        // larger than the whole cache
+        cache.put("b", content(31));
+        assertThat(cache.get("b").isPresent(), is(false));
+
+        cache.clear();
+        assertThat(cache.size(), is(0L));
+        assertThat(cache.get("a").isPresent(), is(false));
+    }
+
+    private static MemoryCache.CachedContent content(int size) {
+        return new MemoryCache.CachedContent(ByteBuffer.allocate(size), Map.of(), null, Optional.empty());
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2019 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -125,6 +125,15 @@ class BareRequestImpl implements BareRequest {
         return map;
     }
 
+    /**
+     * Gets read-only http request headers backed by the Netty request.
+     *
+     * @return request headers
+     */
+    HashRequestHeaders requestHeaders() {
+        return new NettyRequestHeaders(nettyRequest.headers());
+    }
+
     @Override
     public Flow.Publisher<DataChunk> bodyPublisher() {
         return publisher;
@@ -16,6 +16,8 @@
 
 package io.helidon.webserver;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -27,17 +29,23 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.FileDataChunk;
 import io.helidon.common.http.Http;
 import io.helidon.common.reactive.Single;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultFileRegion;
 import io.netty.handler.codec.http.DefaultHttpContent;
 import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.DefaultLastHttpContent;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.HttpContentCompressor;
 import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpHeaders;
@@ -45,6 +53,11 @@ import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.HttpConversionUtil;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedInput;
+import io.netty.handler.stream.ChunkedNioFile;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 
@@ -60,6 +73,8 @@ class BareResponseImpl implements BareResponse {
 
     // See HttpConversionUtil.ExtensionHeaderNames
     private static final String HTTP_2_HEADER_PREFIX = "x-http2";
+    private static final String HTTP_2_STREAM_ID = HttpConversionUtil.ExtensionHeaderNames.STREAM_ID.text().toString();
+    private static final int FILE_CHUNK_SIZE = 8192;
     private static final SocketClosedException CLOSED = new SocketClosedException("Response channel is closed!");
 
     private final boolean keepAlive;
@@ -390,8 +405,10 @@ class BareResponseImpl implements BareResponse {
     private ChannelFuture sendData(DataChunk data) {
         LOGGER.finest(() -> log("Sending data chunk"));
 
-        DefaultHttpContent httpContent;
-        if (data.isBackedBy(ByteBuf.class)) {
+        Object httpContent;
+        if (data instanceof FileDataChunk) {
+            httpContent = fileContent((FileDataChunk) data);
+        } else if (data.isBackedBy(ByteBuf.class)) {
             // DefaultHttpContent will call release, we retain to also call ours
             ByteBuf[] byteBufs = data.data(ByteBuf.class);
             if (byteBufs.length == 1) {
@@ -432,6 +449,34 @@ class BareResponseImpl implements BareResponse {
                 .addListener(ChannelFutureListener.CLOSE_ON_FAILURE);
     }
 
+    /**
+     * A file is transferred as a file region ({@code sendfile}) if nothing in the pipeline needs to
+     * process its bytes, that is on plain HTTP/1.x connection without compression. Otherwise it is
+     * read in chunks by the {@link ChunkedWriteHandler}, which is only in the pipeline of such connections.
+     *
+     * @param data file data chunk
+     * @return message to write
+     */
+    private Object fileContent(FileDataChunk data) {
+        ChannelPipeline pipeline = ctx.pipeline();
+        if (pipeline.get(SslHandler.class) == null
+                && pipeline.get(HttpContentCompressor.class) == null
+                && !requestHeaders.contains(HTTP_2_STREAM_ID)) {
+            LOGGER.finest(() -> log("Sending file region"));
+            return new ChunkFileRegion(data);
+        }
+        if (pipeline.get(ChunkedWriteHandler.class) == null) {
+            // not expected, the handler is added whenever a file region cannot be used
+            return new DefaultHttpContent(Unpooled.wrappedBuffer(data.data()));
+        }
+        LOGGER.finest(() -> log("Sending chunked file"));
+        try {
+            return new ChunkedFileContent(new ChunkedNioFile(data.channel(), data.position(), data.count(), FILE_CHUNK_SIZE));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private String log(String s) {
         return "(reqID: " + requestId + ") " + s;
     }
@@ -468,4 +513,65 @@ class BareResponseImpl implements BareResponse {
     public long requestId() {
         return requestId;
     }
+
+    /**
+     * Adapts a chunked file to {@link HttpContent} messages, so they are processed by the
+     * HTTP handlers (compression, HTTP/2). The last content is written on completion of the response.
+     */
+    /**
+     * File region of a {@link FileDataChunk}; the file channel is closed when the data chunk is released,
+     * as it may be shared by several chunks.
+     */
+    private static final class ChunkFileRegion extends DefaultFileRegion {
+
+        private ChunkFileRegion(FileDataChunk data) {
+            super(data.channel(), data.position(), data.count());
+        }
+
+        @Override
+        protected void deallocate() {
+            // the file channel is closed when the data chunk is released
+        }
+    }
+
+    private static final class ChunkedFileContent implements ChunkedInput<HttpContent> {
+
+        private final ChunkedNioFile file;
+
+        private ChunkedFileContent(ChunkedNioFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public boolean isEndOfInput() throws Exception {
+            return file.isEndOfInput();
+        }
+
+        @Override
+        public void close() {
+            // the file channel is closed when the data chunk is released
+        }
+
+        @Deprecated
+        @Override
+        public HttpContent readChunk(ChannelHandlerContext ctx) throws Exception {
+            return readChunk(ctx.alloc());
+        }
+
+        @Override
+        public HttpContent readChunk(ByteBufAllocator allocator) throws Exception {
+            ByteBuf buf = file.readChunk(allocator);
+            return buf == null ? null : new DefaultHttpContent(buf);
+        }
+
+        @Override
+        public long length() {
+            return file.length();
+        }
+
+        @Override
+        public long progress() {
+            return file.progress();
+        }
+    }
 }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+
+/**
+ * Linux native {@link Transport} of the {@link NettyWebServer} based on {@code epoll}.
+ * <p>
+ * Available only if the optional {@code netty-transport-native-epoll} library is on the classpath
+ * and its native part can be loaded on the current platform.
+ */
+final class EpollTransport implements Transport {
+    private static final Logger LOGGER = Logger.getLogger(EpollTransport.class.getName());
+
+    EpollTransport() {
+    }
+
+    /**
+     * Whether the native epoll transport can be used on this platform.
+     * The result is computed once, the library classes are not touched if not on the classpath.
+     *
+     * @return {@code true} if epoll is available
+     */
+    static boolean isAvailable() {
+        return Availability.AVAILABLE;
+    }
+
+    @Override
+    public boolean isAvailableFor(WebServer webserver) {
+        return webserver instanceof NettyWebServer && isAvailable();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> createTransportArtifact(Class<T> artifactType,
+                                                   String artifactName,
+                                                   ServerConfiguration config) {
+        if (EventLoopGroup.class.isAssignableFrom(artifactType)) {
+            switch (artifactName) {
+            case "bossGroup":
+                return Optional.of((T) new EpollEventLoopGroup(config.sockets().size()));
+            case "workerGroup":
+                return Optional.of((T) new EpollEventLoopGroup(Math.max(0, config.workersCount())));
+            default:
+                return Optional.empty();
+            }
+        } else if (ChannelFactory.class.isAssignableFrom(artifactType)) {
+            switch (artifactName) {
+            case "serverChannelFactory":
+                ChannelFactory<? extends ServerChannel> cf = EpollServerSocketChannel::new;
+                return Optional.of((T) cf);
+            default:
+                return Optional.empty();
+            }
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "epoll";
+    }
+
+    // holder, so the check is done once and only when needed
+    private static final class Availability {
+        private static final boolean AVAILABLE = checkAvailable();
+
+        private static boolean checkAvailable() {
+            try {
+                Class.forName("io.netty.channel.epoll.Epoll", false, EpollTransport.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.finest("Native epoll library is not on the classpath");
+                return false;
+            }
+            try {
+                if (Epoll.isAvailable()) {
+                    return true;
+                }
+                LOGGER.log(Level.FINEST, "Native epoll transport is not available", Epoll.unavailabilityCause());
+            } catch (LinkageError e) {
+                LOGGER.log(Level.FINEST, "Native epoll transport is not available", e);
+            }
+            return false;
+        }
+    }
+}
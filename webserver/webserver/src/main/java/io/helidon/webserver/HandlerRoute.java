@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -134,6 +134,15 @@ class HandlerRoute implements Route {
         return handler;
     }
 
+    /**
+     * Returns an effective {@link PathMatcher}.
+     *
+     * @return a path matcher
+     */
+    PathMatcher pathMatcher() {
+        return pathMatcher;
+    }
+
     public Map<String, String> diagnosticEvent() {
         return diagnosticEvent;
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -59,6 +59,7 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
     private final Object internalLock = new Object();
     private volatile Parameters cookies;
     private List<MediaType> acceptedtypesCache;
+    private volatile Optional<MediaType> contentTypeCache;
 
     /**
      * Creates a new instance.
@@ -79,7 +80,12 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
 
     @Override
     public Optional<MediaType> contentType() {
-        return first(Http.Header.CONTENT_TYPE).map(MediaType::parse);
+        Optional<MediaType> result = this.contentTypeCache;
+        if (result == null) {
+            result = first(Http.Header.CONTENT_TYPE).map(MediaType::parse);
+            this.contentTypeCache = result;
+        }
+        return result;
     }
 
     @Override
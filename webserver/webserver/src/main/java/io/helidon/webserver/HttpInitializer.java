@@ -48,6 +48,7 @@ import io.netty.handler.codec.http2.Http2CodecUtil;
 import io.netty.handler.codec.http2.Http2ServerUpgradeCodec;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.stream.ChunkedWriteHandler;
 import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
 import io.netty.util.concurrent.Future;
@@ -194,6 +195,12 @@ class HttpInitializer extends ChannelInitializer<SocketChannel> {
             }
         }
 
+        // Writes files sent as data chunks when they cannot be transferred as a file region,
+        // that is when the bytes must be encrypted, compressed or framed by HTTP/2
+        if (context != null || serverConfig.enableCompression() || serverConfig.isHttp2Enabled()) {
+            p.addLast(new ChunkedWriteHandler());
+        }
+
         // Helidon's forwarding handler
         p.addLast(new ForwardingHandler(routing, webServer, sslEngine, queues, this::clearQueues,
                                         requestDecoder, soConfig.maxPayloadSize()));
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import io.netty.handler.codec.http.HttpHeaders;
+
+/**
+ * A read-only {@link RequestHeaders} implementation backed directly by Netty {@link HttpHeaders}.
+ * Headers are not copied, unless a mutable copy is requested by {@link #toMap()}.
+ * The backing headers must not be modified once this instance is created.
+ * <p>
+ * The map inherited from {@link HashRequestHeaders} is always empty, so every method reading headers
+ * (including {@link #toString()}, {@link #equals(Object)} and {@link #hashCode()}) is backed by Netty headers.
+ */
+class NettyRequestHeaders extends HashRequestHeaders {
+
+    private final HttpHeaders nettyHeaders;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param nettyHeaders request headers as decoded by Netty
+     */
+    NettyRequestHeaders(HttpHeaders nettyHeaders) {
+        this.nettyHeaders = nettyHeaders;
+    }
+
+    @Override
+    public Optional<String> first(String name) {
+        return Optional.ofNullable(nettyHeaders.get(name));
+    }
+
+    @Override
+    public List<String> all(String name) {
+        List<String> values = nettyHeaders.getAll(name);
+        return values.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(values);
+    }
+
+    @Override
+    public Map<String, List<String>> toMap() {
+        Map<String, List<String>> data = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, String> entry : nettyHeaders) {
+            data.computeIfAbsent(entry.getKey(), s -> new ArrayList<>()).add(entry.getValue());
+        }
+        return new HashMap<>(data);
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NettyRequestHeaders)) {
+            return false;
+        }
+        NettyRequestHeaders that = (NettyRequestHeaders) o;
+        return nettyHeaders.equals(that.nettyHeaders);
+    }
+
+    @Override
+    public int hashCode() {
+        return nettyHeaders.hashCode();
+    }
+}
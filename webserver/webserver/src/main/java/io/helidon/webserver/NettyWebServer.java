@@ -24,7 +24,6 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.NoSuchElementException;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
@@ -53,8 +52,6 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
@@ -446,10 +443,19 @@ class NettyWebServer implements WebServer {
     }
 
     private Transport acquireTransport() {
-        Transport transport = configuration.transport().orElse(new NioTransport());
+        Transport transport = configuration.transport().orElseGet(Transport::auto);
+        if (transport.isAvailableFor(this)) {
+            LOGGER.fine(() -> "Using transport " + transport);
+            return transport;
+        }
         // (Note that an NioTransport's isAvailableFor() method will
         // always return true when passed this.)
-        return transport.isAvailableFor(this) ? transport : new NioTransport();
+        if (configuration.transport().isPresent()) {
+            LOGGER.warning(() -> "Configured transport " + transport + " is not available, falling back to NIO.");
+        } else {
+            LOGGER.fine(() -> "Transport " + transport + " is not available, falling back to NIO.");
+        }
+        return new NioTransport();
     }
 
     private Transport transport() {
@@ -484,46 +490,6 @@ class NettyWebServer implements WebServer {
                                           + name + "\"");
     }
 
-    private static final class NioTransport implements Transport {
-
-        private NioTransport() {
-            super();
-        }
-
-        @Override
-        public boolean isAvailableFor(WebServer webserver) {
-            return webserver instanceof NettyWebServer;
-        }
-
-        @Override
-        @SuppressWarnings("unchecked")
-        public <T> Optional<T> createTransportArtifact(Class<T> artifactType,
-                                                       String artifactName,
-                                                       ServerConfiguration config) {
-            if (EventLoopGroup.class.isAssignableFrom(artifactType)) {
-                switch (artifactName) {
-                case "bossGroup":
-                    return Optional.of((T) new NioEventLoopGroup(config.sockets().size()));
-                case "workerGroup":
-                    return Optional.of((T) new NioEventLoopGroup(Math.max(0, config.workersCount())));
-                default:
-                    return Optional.empty();
-                }
-            } else if (ChannelFactory.class.isAssignableFrom(artifactType)) {
-                switch (artifactName) {
-                case "serverChannelFactory":
-                    ChannelFactory<? extends ServerChannel> cf = NioServerSocketChannel::new;
-                    return Optional.of((T) cf);
-                default:
-                    return Optional.empty();
-                }
-            } else {
-                return Optional.empty();
-            }
-        }
-
-    }
-
     // this class is only used to create a log handler in NettyLogHandler, to distinguish from webclient
     private static final class NettyLog {
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -144,7 +144,7 @@ final class PathPattern {
         }
         try {
             if (isRegexp) {
-                return new RegexpPathMatcher(regexp.toString(), paramToGroupName);
+                return new RegexpPathMatcher(pattern.toString(), regexp.toString(), paramToGroupName);
             } else {
                 return new CanonicalPathMatcher(canonical.toString());
             }
@@ -302,6 +302,15 @@ final class PathPattern {
             this.pattern = pattern;
         }
 
+        /**
+         * Returns the exact (canonical) pattern.
+         *
+         * @return the pattern
+         */
+        String pattern() {
+            return pattern;
+        }
+
         @Override
         public Result match(CharSequence path) {
             Objects.requireNonNull(path, "Parameter 'path' is null!");
@@ -346,6 +355,7 @@ final class PathPattern {
 
         private static final String RIGHT_PART_PARAM_NAME = PARAM_PREFIX + "rightpart";
 
+        private final String source;
         private final Map<String, String> paramToGroupName;
         private final Pattern pattern;
         private final Pattern leftPattern;
@@ -353,13 +363,15 @@ final class PathPattern {
         /**
          * Creates new instance.
          *
+         * @param source an original path pattern the regular expression was generated from.
          * @param regexp an regular expression.
          * @param paramToGroupName a map of pattern parameter names and it's regexp matching group names.
          * @throws NullPointerException  In case of {@code null} regexp parameter.
          * @throws PatternSyntaxException If the expression's syntax is invalid.
          */
-        RegexpPathMatcher(String regexp, Map<String, String> paramToGroupName) {
+        RegexpPathMatcher(String source, String regexp, Map<String, String> paramToGroupName) {
             Objects.requireNonNull(regexp, "Parameter 'pattern' is null!");
+            this.source = source;
             this.pattern = Pattern.compile(regexp);
             this.leftPattern = Pattern.compile(regexp + "(?<" + RIGHT_PART_PARAM_NAME + ">/.+)?");
             if (paramToGroupName == null) {
@@ -369,6 +381,15 @@ final class PathPattern {
             }
         }
 
+        /**
+         * Returns an original path pattern this matcher was compiled from.
+         *
+         * @return the path pattern
+         */
+        String source() {
+            return source;
+        }
+
         @Override
         public Result match(CharSequence path) {
             Matcher matcher = pattern.matcher(path);
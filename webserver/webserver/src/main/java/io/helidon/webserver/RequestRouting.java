@@ -51,6 +51,7 @@ class RequestRouting implements Routing {
     private static final Logger LOGGER = Logger.getLogger(RequestRouting.class.getName());
 
     private final RouteList routes;
+    private final RouteTrie routeTrie;
     private final List<ErrorHandlerRecord<?>> errorHandlers;
     private final List<Consumer<WebServer>> newWebServerCallbacks;
 
@@ -62,7 +63,23 @@ class RequestRouting implements Routing {
      * @param newWebServerCallbacks a list of callback handlers for registration in new {@link WebServer}. It is copied.
      */
     RequestRouting(RouteList routes, List<ErrorHandlerRecord<?>> errorHandlers, List<Consumer<WebServer>> newWebServerCallbacks) {
+        this(routes, errorHandlers, newWebServerCallbacks, false);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param routes                effective route
+     * @param errorHandlers         a list of error handlers
+     * @param newWebServerCallbacks a list of callback handlers for registration in new {@link WebServer}. It is copied.
+     * @param compiled              whether to compile the routes into a {@link RouteTrie}
+     */
+    RequestRouting(RouteList routes,
+                   List<ErrorHandlerRecord<?>> errorHandlers,
+                   List<Consumer<WebServer>> newWebServerCallbacks,
+                   boolean compiled) {
         this.routes = routes;
+        this.routeTrie = compiled ? RouteTrie.create(routes) : null;
         this.errorHandlers = errorHandlers;
         this.newWebServerCallbacks = new ArrayList<>(newWebServerCallbacks);
     }
@@ -72,7 +89,7 @@ class RequestRouting implements Routing {
 
         try {
             WebServer webServer = bareRequest.webServer();
-            HashRequestHeaders requestHeaders = new HashRequestHeaders(bareRequest.headers());
+            HashRequestHeaders requestHeaders = requestHeaders(bareRequest);
             RoutedResponse response = new RoutedResponse(
                     webServer,
                     bareResponse,
@@ -82,7 +99,7 @@ class RequestRouting implements Routing {
             String path = canonicalize(bareRequest.uri().normalize().getPath());
             String rawPath = canonicalize(bareRequest.uri().normalize().getRawPath());
 
-            Crawler crawler = new Crawler(routes, path, rawPath, bareRequest.method());
+            RouteCrawler crawler = crawler(path, rawPath, bareRequest.method());
             RoutedRequest nextRequests = new RoutedRequest(bareRequest, response, webServer, crawler, errorHandlers,
                                                            requestHeaders);
             response.request(nextRequests);
@@ -93,6 +110,31 @@ class RequestRouting implements Routing {
         }
     }
 
+    private static HashRequestHeaders requestHeaders(BareRequest bareRequest) {
+        if (bareRequest instanceof BareRequestImpl) {
+            // no need to copy headers decoded by Netty
+            return ((BareRequestImpl) bareRequest).requestHeaders();
+        } else {
+            return new HashRequestHeaders(bareRequest.headers());
+        }
+    }
+
+    /**
+     * Creates a crawler over the routes accepting provided path and method.
+     *
+     * @param path    a canonicalized URI path to route
+     * @param rawPath not decoded canonicalized URI path to route
+     * @param method  an HTTP method to route
+     * @return a new crawler
+     */
+    RouteCrawler crawler(String path, String rawPath, Http.RequestMethod method) {
+        if (routeTrie == null) {
+            return new Crawler(routes, path, rawPath, method);
+        } else {
+            return routeTrie.crawler(path, rawPath, method);
+        }
+    }
+
     private static String canonicalize(String p) {
         String result;
         if (p == null || p.isEmpty() || p.equals("/")) {
@@ -119,10 +161,46 @@ class RequestRouting implements Routing {
         }
     }
 
+    /**
+     * A deep 'iterator' without a {@code hasNext()} method over the {@link HandlerRoute routes} accepting the routing criteria.
+     */
+    interface RouteCrawler {
+
+        /**
+         * Returns next {@link HandlerRoute} to execute or {@code null} if there are no more acceptable routes.
+         * It is not synchronized.
+         *
+         * @return a next item.
+         */
+        Item next();
+    }
+
+    /**
+     * Represents single accepted {@link HandlerRoute} with resolved {@code path parameters}.
+     */
+    static class Item {
+
+        private final HandlerRoute handlerRoute;
+        private final Request.Path path;
+
+        Item(HandlerRoute handlerRoute, Request.Path path) {
+            this.handlerRoute = handlerRoute;
+            this.path = path;
+        }
+
+        HandlerRoute handlerRoute() {
+            return handlerRoute;
+        }
+
+        Request.Path path() {
+            return path;
+        }
+    }
+
     /**
      * A deep 'iterator' without a {@code hasNext()} method for a tree of {@link Route routes} based on the routing criteria.
      */
-    private static class Crawler {
+    private static class Crawler implements RouteCrawler {
 
         private final List<Route> routes;
         private final Request.Path contextPath;
@@ -163,12 +241,7 @@ class RequestRouting implements Routing {
             this(routes, null, path, rawPath, method);
         }
 
-        /**
-         * Returns next {@link HandlerRoute} to execute or {@code null} if there are no more acceptable routes.
-         * It is not synchronized.
-         *
-         * @return a next item.
-         */
+        @Override
         public Item next() {
             while ((subCrawler != null) || (++index < routes.size())) {
                 if (subCrawler != null) {
@@ -210,26 +283,11 @@ class RequestRouting implements Routing {
             }
             return null;
         }
-
-        /**
-         * Represents single accepted {@link HandlerRoute} with resolved {@code path parameters}.
-         */
-        private static class Item {
-
-            private final HandlerRoute handlerRoute;
-            private final Request.Path path;
-
-            Item(HandlerRoute handlerRoute, Request.Path path) {
-                this.handlerRoute = handlerRoute;
-                this.path = path;
-            }
-
-        }
     }
 
     private static class RoutedRequest extends Request {
 
-        private final Crawler crawler;
+        private final RouteCrawler crawler;
         private final LinkedList<ErrorHandlerRecord<? extends Throwable>> errorHandlers;
         private final Path path;
         private final RoutedResponse response;
@@ -249,7 +307,7 @@ class RequestRouting implements Routing {
         RoutedRequest(BareRequest req,
                       RoutedResponse response,
                       WebServer webServer,
-                      Crawler crawler,
+                      RouteCrawler crawler,
                       List<ErrorHandlerRecord<?>> errorHandlers,
                       HashRequestHeaders headers) {
             super(req, webServer, headers);
@@ -299,7 +357,7 @@ class RequestRouting implements Routing {
         @Override
         public void next() {
             checkNexted();
-            Crawler.Item nextItem = crawler.next();
+            Item nextItem = crawler.next();
             if (nextItem == null) {
                 // 404 error
                 nextNoCheck(new NotFoundException("No handler found for path: " + path()));
@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import io.helidon.common.http.Http;
+
+/**
+ * Routing tree compiled into a path segment trie indexed by HTTP method.
+ * <p>
+ * All {@link HandlerRoute handler routes} of the tree are flattened in the routing order and every route is inserted into
+ * the trie by the path segments of its (possibly nested) path patterns. Static segments and {@code {param}} segments are
+ * indexed, a {@code {+param}} segment, a missing path pattern or any pattern which cannot be split into segments
+ * (optional sequences, custom regular expressions, custom {@link PathMatcher matchers}) accepts any remaining path.
+ * <p>
+ * The trie only selects the <i>candidate</i> routes for the path and method. Each candidate is still verified by its
+ * original {@link PathMatcher matchers} in the routing order, so the first-match ordering, resolved path parameters and
+ * the {@link ServerRequest#next()} semantics are the same as for the {@link RequestRouting default crawler}.
+ */
+final class RouteTrie {
+
+    private static final Logger LOGGER = Logger.getLogger(RouteTrie.class.getName());
+    private static final String[] ROOT_SEGMENTS = new String[0];
+
+    private final Leaf[] leaves;
+    private final int maxDepth;
+    private final Map<Http.RequestMethod, Node> methodNodes;
+    private final Node anyMethodNode;
+
+    private RouteTrie(Leaf[] leaves, int maxDepth, Map<Http.RequestMethod, Node> methodNodes, Node anyMethodNode) {
+        this.leaves = leaves;
+        this.maxDepth = maxDepth;
+        this.methodNodes = methodNodes;
+        this.anyMethodNode = anyMethodNode;
+    }
+
+    /**
+     * Compiles the routing tree.
+     *
+     * @param routes the root route list
+     * @return a compiled routing trie
+     */
+    static RouteTrie create(RouteList routes) {
+        List<Leaf> leaves = new ArrayList<>();
+        flatten(routes, new ArrayList<>(), Template.ROOT, leaves);
+
+        Set<Http.RequestMethod> methods = new HashSet<>();
+        int maxDepth = 0;
+        for (Leaf leaf : leaves) {
+            methods.addAll(leaf.route.acceptedMethods());
+            maxDepth = Math.max(maxDepth, leaf.contexts.length);
+        }
+
+        Node anyMethodNode = new Node();
+        Map<Http.RequestMethod, Node> methodNodes = new HashMap<>();
+        for (Http.RequestMethod method : methods) {
+            methodNodes.put(method, new Node());
+        }
+        for (Leaf leaf : leaves) {
+            if (leaf.route.acceptedMethods().isEmpty()) {
+                anyMethodNode.insert(leaf.template, 0, leaf.index);
+            }
+            for (Map.Entry<Http.RequestMethod, Node> entry : methodNodes.entrySet()) {
+                if (leaf.route.accepts(entry.getKey())) {
+                    entry.getValue().insert(leaf.template, 0, leaf.index);
+                }
+            }
+        }
+
+        return new RouteTrie(leaves.toArray(new Leaf[0]), maxDepth, methodNodes, anyMethodNode);
+    }
+
+    /**
+     * Creates a crawler over the compiled routes accepting provided path and method.
+     *
+     * @param path    a canonicalized URI path to route
+     * @param rawPath not decoded canonicalized URI path to route
+     * @param method  an HTTP method to route
+     * @return a new crawler
+     */
+    RequestRouting.RouteCrawler crawler(String path, String rawPath, Http.RequestMethod method) {
+        Node node = methodNodes.getOrDefault(method, anyMethodNode);
+        BitSet candidates = new BitSet(leaves.length);
+        node.collect(segments(path), 0, candidates);
+        return new TrieCrawler(candidates, path, rawPath);
+    }
+
+    private static void flatten(List<Route> routes, List<RouteList> contexts, Template template, List<Leaf> leaves) {
+        for (Route route : routes) {
+            if (route instanceof HandlerRoute) {
+                HandlerRoute hr = (HandlerRoute) route;
+                leaves.add(new Leaf(leaves.size(),
+                                    hr,
+                                    contexts.toArray(new RouteList[0]),
+                                    template.append(hr.pathMatcher(), false)));
+            } else if (route instanceof RouteList) {
+                RouteList rl = (RouteList) route;
+                List<RouteList> subContexts = new ArrayList<>(contexts);
+                subContexts.add(rl);
+                flatten(rl, subContexts, template.append(rl.pathContext(), true), leaves);
+            }
+        }
+    }
+
+    /**
+     * Splits a path into its segments, the same way as {@link Template} does for path patterns.
+     */
+    private static String[] segments(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        if (start >= path.length()) {
+            return ROOT_SEGMENTS;
+        }
+        List<String> result = new ArrayList<>();
+        int index;
+        while ((index = path.indexOf('/', start)) >= 0) {
+            result.add(path.substring(start, index));
+            start = index + 1;
+        }
+        result.add(path.substring(start));
+        return result.toArray(ROOT_SEGMENTS);
+    }
+
+    /**
+     * Segments of the combined path patterns of a single route.
+     */
+    private static final class Template {
+
+        private static final Template ROOT = new Template(Collections.emptyList(), false);
+        private static final String SPECIAL_CHARACTERS = "\\[]{}";
+
+        // static segments, null represents a parameter matching any single segment
+        private final List<String> segments;
+        private final boolean anyTail;
+
+        private Template(List<String> segments, boolean anyTail) {
+            this.segments = segments;
+            this.anyTail = anyTail;
+        }
+
+        /**
+         * Appends a path matcher of the nested route.
+         *
+         * @param matcher a path matcher, may be {@code null}
+         * @param prefix  whether the matcher is used for the prefix matching (path context of a route list)
+         * @return a new template
+         */
+        Template append(PathMatcher matcher, boolean prefix) {
+            if (anyTail) {
+                return this;
+            }
+            if (matcher == null || matcher == Route.EMPTY_PATH_MATCHER) {
+                // path context without pattern does not consume anything, a handler without pattern accepts anything
+                return prefix ? this : new Template(segments, true);
+            }
+            List<String> result = new ArrayList<>(segments);
+            if (matcher instanceof PathPattern.CanonicalPathMatcher) {
+                String pattern = ((PathPattern.CanonicalPathMatcher) matcher).pattern();
+                if (!pattern.startsWith("/")) {
+                    return new Template(result, true);
+                }
+                Collections.addAll(result, segments(pattern));
+                return new Template(result, false);
+            }
+            if (matcher instanceof PathPattern.RegexpPathMatcher) {
+                String pattern = ((PathPattern.RegexpPathMatcher) matcher).source();
+                if (pattern == null || !pattern.startsWith("/")) {
+                    return new Template(result, true);
+                }
+                for (String segment : segments(pattern)) {
+                    if (isStatic(segment)) {
+                        result.add(segment);
+                    } else if (isParam(segment)) {
+                        result.add(null);
+                    } else {
+                        // greedy parameter, optional sequence or custom regular expression
+                        return new Template(result, true);
+                    }
+                }
+                return new Template(result, false);
+            }
+            // custom path matcher
+            return new Template(result, true);
+        }
+
+        private static boolean isStatic(String segment) {
+            for (int i = 0; i < segment.length(); i++) {
+                if (SPECIAL_CHARACTERS.indexOf(segment.charAt(i)) >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isParam(String segment) {
+            int length = segment.length();
+            return length >= 2
+                    && segment.charAt(0) == '{'
+                    && segment.charAt(length - 1) == '}'
+                    && (length == 2 || segment.charAt(1) != '+')
+                    && segment.indexOf(':') < 0
+                    && isStatic(segment.substring(1, length - 1));
+        }
+    }
+
+    /**
+     * A flattened handler route.
+     */
+    private static final class Leaf {
+
+        private final int index;
+        private final HandlerRoute route;
+        private final RouteList[] contexts;
+        private final Template template;
+
+        private Leaf(int index, HandlerRoute route, RouteList[] contexts, Template template) {
+            this.index = index;
+            this.route = route;
+            this.contexts = contexts;
+            this.template = template;
+        }
+    }
+
+    /**
+     * A trie node.
+     */
+    private static final class Node {
+
+        private final Map<String, Node> statics = new HashMap<>();
+        private final BitSet exact = new BitSet();
+        private final BitSet anyTail = new BitSet();
+        private Node param;
+
+        void insert(Template template, int segmentIndex, int leafIndex) {
+            if (segmentIndex == template.segments.size()) {
+                if (template.anyTail) {
+                    anyTail.set(leafIndex);
+                } else {
+                    exact.set(leafIndex);
+                }
+                return;
+            }
+            String segment = template.segments.get(segmentIndex);
+            Node child;
+            if (segment == null) {
+                if (param == null) {
+                    param = new Node();
+                }
+                child = param;
+            } else {
+                child = statics.computeIfAbsent(segment, it -> new Node());
+            }
+            child.insert(template, segmentIndex + 1, leafIndex);
+        }
+
+        void collect(String[] segments, int segmentIndex, BitSet result) {
+            result.or(anyTail);
+            if (segmentIndex == segments.length) {
+                result.or(exact);
+                return;
+            }
+            Node child = statics.get(segments[segmentIndex]);
+            if (child != null) {
+                child.collect(segments, segmentIndex + 1, result);
+            }
+            if (param != null) {
+                param.collect(segments, segmentIndex + 1, result);
+            }
+        }
+    }
+
+    /**
+     * Iterates the candidate routes in the routing order and verifies them by their path matchers.
+     * Results of the prefix matching of path contexts are cached, as the consecutive candidates usually
+     * share them.
+     */
+    private final class TrieCrawler implements RequestRouting.RouteCrawler {
+
+        private final BitSet candidates;
+        // prefix matching state, index 0 is the root
+        private final RouteList[] matchedContexts;
+        private final boolean[] matched;
+        private final Request.Path[] contextPaths;
+        private final String[] paths;
+        private final String[] rawPaths;
+
+        // next() may be called from a different thread than the previous call; all the state above is
+        // published by the volatile write of index at the end of next() and read after reading it
+        private volatile int index = -1;
+        private int cachedDepth;
+
+        private TrieCrawler(BitSet candidates, String path, String rawPath) {
+            this.candidates = candidates;
+            this.matchedContexts = new RouteList[maxDepth];
+            this.matched = new boolean[maxDepth];
+            this.contextPaths = new Request.Path[maxDepth + 1];
+            this.paths = new String[maxDepth + 1];
+            this.rawPaths = new String[maxDepth + 1];
+            this.paths[0] = path;
+            this.rawPaths[0] = rawPath;
+        }
+
+        @Override
+        public RequestRouting.Item next() {
+            int current = index;
+            while ((current = candidates.nextSetBit(current + 1)) >= 0) {
+                Leaf leaf = leaves[current];
+                int depth = matchContexts(leaf.contexts);
+                if (depth < 0) {
+                    continue;
+                }
+                String path = paths[depth];
+                PathMatcher.Result match = leaf.route.match(path);
+                if (match.matches()) {
+                    index = current;
+                    return new RequestRouting.Item(leaf.route,
+                                                   Request.Path.create(contextPaths[depth],
+                                                                       path,
+                                                                       rawPaths[depth],
+                                                                       match.params()));
+                }
+                LOGGER.finest(() -> "Route candidate '" + leaf.route + "' doesn't match path: " + path);
+            }
+            index = current;
+            return null;
+        }
+
+        /**
+         * Prefix matches the path contexts of a route.
+         *
+         * @return depth of the matched state or {@code -1} if any of the contexts doesn't match
+         */
+        private int matchContexts(RouteList[] contexts) {
+            int depth = 0;
+            while (depth < contexts.length && depth < cachedDepth && matchedContexts[depth] == contexts[depth]) {
+                if (!matched[depth]) {
+                    return -1;
+                }
+                depth++;
+            }
+            for (; depth < contexts.length; depth++) {
+                RouteList rl = contexts[depth];
+                PathMatcher.PrefixResult prefixMatch = rl.prefixMatch(paths[depth]);
+                matchedContexts[depth] = rl;
+                matched[depth] = prefixMatch.matches();
+                cachedDepth = depth + 1;
+                if (!prefixMatch.matches()) {
+                    String path = paths[depth];
+                    LOGGER.finest(() -> "Route candidate '" + rl + "' doesn't match path: " + path);
+                    return -1;
+                }
+                PathMatcher.PrefixResult rawPrefixMatch = rl.prefixMatch(rawPaths[depth]);
+                contextPaths[depth + 1] = Request.Path.create(contextPaths[depth],
+                                                              paths[depth],
+                                                              rawPaths[depth],
+                                                              prefixMatch.params());
+                paths[depth + 1] = prefixMatch.remainingPart();
+                rawPaths[depth + 1] = rawPrefixMatch.remainingPart();
+            }
+            return depth;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -437,6 +437,7 @@ public interface Routing {
         private final RouteListRoutingRules delegate = new RouteListRoutingRules();
         private final List<RequestRouting.ErrorHandlerRecord<?>> errorHandlerRecords = new ArrayList<>();
         private boolean tracingRegistered;
+        private boolean compiled;
 
         /**
          * Creates new instance.
@@ -687,6 +688,20 @@ public interface Routing {
 
         // --------------- BUILD API
 
+        /**
+         * Whether to compile the routing rules into a path segment trie indexed by HTTP method when the routing is built.
+         * The compiled routing selects only the routes which may accept a request path, instead of testing every route
+         * in order. Ordering of the matched routes and behavior of {@link ServerRequest#next()} is not changed.
+         * Defaults to {@code false}.
+         *
+         * @param compiled {@code true} to compile the routing rules
+         * @return an updated builder
+         */
+        public Builder compiled(boolean compiled) {
+            this.compiled = compiled;
+            return this;
+        }
+
         /**
          * Builds a new routing instance.
          *
@@ -697,7 +712,10 @@ public interface Routing {
                 register(WebTracingConfig.create());
             }
             RouteListRoutingRules.Aggregation aggregate = delegate.aggregate();
-            return new RequestRouting(aggregate.routeList(), errorHandlerRecords, aggregate.newWebServerCallbacks());
+            return new RequestRouting(aggregate.routeList(),
+                                      errorHandlerRecords,
+                                      aggregate.newWebServerCallbacks(),
+                                      compiled);
         }
 
         /**
@@ -585,6 +585,11 @@ public interface ServerConfiguration extends SocketConfiguration {
 
             config.get("features.print-details").asBoolean().ifPresent(this::printFeatureDetails);
 
+            Config transportConfig = config.get("transport");
+            if (transportConfig.exists()) {
+                transport(Transport.create(transportConfig));
+            }
+
             // sockets
             Config socketsConfig = config.get("sockets");
             if (socketsConfig.exists()) {
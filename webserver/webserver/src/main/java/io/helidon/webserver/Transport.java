@@ -16,8 +16,12 @@
 
 package io.helidon.webserver;
 
+import java.util.Locale;
 import java.util.Optional;
 
+import io.helidon.config.Config;
+import io.helidon.config.ConfigException;
+
 /**
  * A very abstract notion of a <em>transport</em> for a particular
  * implementation of the {@link WebServer} interface.
@@ -40,9 +44,84 @@ import java.util.Optional;
  * @see #createTransportArtifact(Class, String, ServerConfiguration)
  *
  * @see WebServer.Builder#transport(Transport)
+ *
+ * @see #create(Config)
  */
 public interface Transport {
 
+  /**
+   * Returns the Java NIO based {@link Transport}, available on all
+   * platforms.
+   *
+   * @return the NIO {@link Transport}
+   */
+  static Transport nio() {
+    return new NioTransport();
+  }
+
+  /**
+   * Returns the Linux native {@code epoll} based {@link Transport}.
+   *
+   * <p>The returned {@link Transport} is only {@linkplain
+   * #isAvailableFor(WebServer) available} if the optional {@code
+   * io.netty:netty-transport-native-epoll} library is on the
+   * classpath and supported by the current platform; otherwise the
+   * {@link WebServer} falls back to {@linkplain #nio() NIO}.</p>
+   *
+   * @return the epoll {@link Transport}
+   */
+  static Transport epoll() {
+    return new EpollTransport();
+  }
+
+  /**
+   * Returns the native {@code epoll} {@link Transport} if it is
+   * available on the current platform, and the {@linkplain #nio()
+   * NIO} {@link Transport} otherwise.
+   *
+   * <p>This is the default {@link Transport} used when none is
+   * configured.</p>
+   *
+   * @return the best {@link Transport} available
+   */
+  static Transport auto() {
+    return EpollTransport.isAvailable() ? new EpollTransport() : new NioTransport();
+  }
+
+  /**
+   * Creates a {@link Transport} from configuration.
+   *
+   * <p>The configuration node may either be a value ({@code nio},
+   * {@code epoll} or {@code auto}), or an object with a {@code
+   * type} key of the same values.</p>
+   *
+   * <pre>
+   * server:
+   *   transport: epoll
+   * </pre>
+   *
+   * @param config configuration located on the transport node
+   *
+   * @return a new {@link Transport}
+   *
+   * @throws ConfigException if the transport type is not known
+   */
+  static Transport create(Config config) {
+    Config typeConfig = config.isLeaf() ? config : config.get("type");
+    String type = typeConfig.asString().orElse("auto").toLowerCase(Locale.ROOT);
+    switch (type) {
+    case "nio":
+      return nio();
+    case "epoll":
+      return epoll();
+    case "auto":
+      return auto();
+    default:
+      throw new ConfigException("Unknown transport \"" + type + "\" at " + typeConfig.key()
+                                + ", supported values are nio, epoll and auto");
+    }
+  }
+
   /**
    * Returns {@code true} if this {@link Transport} implementation is
    * available for use by the given {@link WebServer} implementation;
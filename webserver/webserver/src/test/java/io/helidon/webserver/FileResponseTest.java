@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests files are sent correctly both as file regions and chunked.
+ */
+public class FileResponseTest {
+
+    private static byte[] content;
+    private static Path file;
+    private static WebServer plainServer;
+    private static WebServer compressingServer;
+
+    @BeforeAll
+    static void startServers(@TempDir Path tempDir) throws Exception {
+        content = new byte[1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        file = Files.write(tempDir.resolve("content.bin"), content);
+
+        plainServer = startServer(false);
+        compressingServer = startServer(true);
+    }
+
+    @AfterAll
+    static void stopServers() {
+        plainServer.shutdown().await(10, TimeUnit.SECONDS);
+        compressingServer.shutdown().await(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void testFileRegion() {
+        assertThat(get(plainServer, "/path"), is(content));
+        assertThat(get(plainServer, "/file"), is(content));
+    }
+
+    @Test
+    void testFiltered() {
+        assertThat(get(plainServer, "/filtered"), is(content));
+    }
+
+    @Test
+    void testChunked() {
+        assertThat(get(compressingServer, "/path"), is(content));
+    }
+
+    @Test
+    void testCompressed() throws Exception {
+        URL url = new URL("http://localhost:" + compressingServer.port() + "/path");
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        assertThat(connection.getContentEncoding(), is("gzip"));
+        try (InputStream in = new GZIPInputStream(connection.getInputStream())) {
+            assertThat(in.readAllBytes(), is(content));
+        }
+    }
+
+    @Test
+    void testUpload() {
+        // the file is larger than a single region, the client sends it in bounded chunks
+        String response = WebClient.builder()
+                .baseUri("http://localhost:" + plainServer.port())
+                .build()
+                .post()
+                .path("/upload")
+                .submit(file, String.class)
+                .await(10, TimeUnit.SECONDS);
+        assertThat(response, is(String.valueOf(content.length)));
+    }
+
+    private static byte[] get(WebServer server, String path) {
+        return WebClient.builder()
+                .baseUri("http://localhost:" + server.port())
+                .build()
+                .get()
+                .path(path)
+                .request(byte[].class)
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    private static WebServer startServer(boolean compression) {
+        return WebServer.builder()
+                .enableCompression(compression)
+                .routing(Routing.builder()
+                                 .get("/path", (req, res) -> res.send(file))
+                                 .get("/file", (req, res) -> res.send(file.toFile()))
+                                 .get("/filtered", (req, res) -> {
+                                     res.registerFilter(publisher -> Multi.create(publisher)
+                                             .map(chunk -> {
+                                                 DataChunk copy = DataChunk.create(chunk.bytes());
+                                                 chunk.release();
+                                                 return copy;
+                                             }));
+                                     res.send(file);
+                                 })
+                                 .post("/upload", (req, res) -> req.content()
+                                         .as(byte[].class)
+                                         .forSingle(bytes -> res.send(Arrays.equals(bytes, content)
+                                                                              ? String.valueOf(bytes.length)
+                                                                              : "content differs"))))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+    }
+}
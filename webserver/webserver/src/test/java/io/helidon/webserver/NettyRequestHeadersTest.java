@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link NettyRequestHeaders}.
+ */
+public class NettyRequestHeadersTest {
+
+    private static NettyRequestHeaders headers() {
+        HttpHeaders nettyHeaders = new DefaultHttpHeaders()
+                .add("Foo", "val1")
+                .add("foo", "val2")
+                .add(Http.Header.CONTENT_TYPE, MediaType.APPLICATION_JSON.toString())
+                .add(Http.Header.ACCEPT, "text/plain, application/json; q=0.5")
+                .add(Http.Header.COOKIE, "foo=bar; aaa=bbb");
+        return new NettyRequestHeaders(nettyHeaders);
+    }
+
+    @Test
+    public void caseInsensitive() {
+        NettyRequestHeaders hs = headers();
+        assertThat(hs.first("FOO").orElse(null), is("val1"));
+        assertThat(hs.all("fOo"), contains("val1", "val2"));
+        assertThat(hs.all("bar").isEmpty(), is(true));
+        assertThat(hs.first("bar").isPresent(), is(false));
+    }
+
+    @Test
+    public void parsedHeaders() {
+        NettyRequestHeaders hs = headers();
+        assertThat(hs.contentType().orElse(null), is(MediaType.APPLICATION_JSON));
+        assertThat(hs.acceptedTypes().size(), is(2));
+        assertThat(hs.bestAccepted(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN).orElse(null), is(MediaType.TEXT_PLAIN));
+        assertThat(hs.cookies().first("aaa").orElse(null), is("bbb"));
+    }
+
+    @Test
+    public void readOnly() {
+        NettyRequestHeaders hs = headers();
+        assertThrows(UnsupportedOperationException.class, () -> hs.add("Foo", "val3"));
+        assertThrows(UnsupportedOperationException.class, () -> hs.remove("Foo"));
+        assertThrows(UnsupportedOperationException.class, () -> hs.all("Foo").add("val3"));
+    }
+
+    @Test
+    public void mutableCopy() {
+        NettyRequestHeaders hs = headers();
+        Map<String, List<String>> map = hs.toMap();
+        assertThat(map.get("Foo"), contains("val1", "val2"));
+        map.get("Foo").add("val3");
+        map.remove(Http.Header.CONTENT_TYPE);
+        assertThat(hs.all("Foo"), contains("val1", "val2"));
+        assertThat(hs.contentType().isPresent(), is(true));
+    }
+
+    @Test
+    public void backedByNettyHeaders() {
+        NettyRequestHeaders hs = headers();
+        assertThat(hs.toString(), containsString("val2"));
+        assertThat(hs, is(headers()));
+        assertThat(hs.hashCode(), is(headers().hashCode()));
+        assertThat(hs, not(new NettyRequestHeaders(new DefaultHttpHeaders().add("Foo", "val1"))));
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.common.http.Http;
+
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares request headers copied into {@link HashRequestHeaders} with the {@link NettyRequestHeaders} view.
+ * Run with the GC profiler to compare allocation per request.
+ */
+@State(Scope.Benchmark)
+public class RequestHeadersJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RequestHeadersJMH.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    HttpHeaders nettyHeaders;
+
+    @Setup
+    public void setup() {
+        nettyHeaders = new DefaultHttpHeaders()
+                .add(Http.Header.HOST, "localhost:8080")
+                .add(Http.Header.USER_AGENT, "Mozilla/5.0 (X11; Linux x86_64; rv:85.0) Gecko/20100101 Firefox/85.0")
+                .add(Http.Header.ACCEPT, "application/json, text/plain; q=0.9, */*; q=0.8")
+                .add(Http.Header.ACCEPT_ENCODING, "gzip, deflate, br")
+                .add(Http.Header.ACCEPT_LANGUAGE, "en-US,en;q=0.5")
+                .add(Http.Header.CONNECTION, "keep-alive")
+                .add(Http.Header.CONTENT_TYPE, "application/json")
+                .add(Http.Header.CONTENT_LENGTH, "42")
+                .add(Http.Header.COOKIE, "session=abcdef; theme=dark")
+                .add("X-Request-Id", "0af7651916cd43dd8448eb211c80319c");
+    }
+
+    @Benchmark
+    public void copy(Blackhole bh) {
+        // what BareRequestImpl.headers() with HashRequestHeaders do
+        Map<String, List<String>> map = new HashMap<>();
+        for (Map.Entry<String, String> entry : nettyHeaders.entries()) {
+            map.computeIfAbsent(entry.getKey(), s -> new ArrayList<>()).add(entry.getValue());
+        }
+        consume(bh, new HashRequestHeaders(map));
+    }
+
+    @Benchmark
+    public void view(Blackhole bh) {
+        consume(bh, new NettyRequestHeaders(nettyHeaders));
+    }
+
+    private static void consume(Blackhole bh, HashRequestHeaders headers) {
+        // typical access of a routed request
+        bh.consume(headers.acceptedTypes());
+        bh.consume(headers.contentType());
+        bh.consume(headers.first(Http.Header.CONTENT_LENGTH));
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.common.http.Http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests {@link RouteTrie} selects the same routes as the default crawler.
+ */
+public class RouteTrieTest {
+
+    private static final List<String> PARAM_NAMES = List.of("id", "name", "rest", "num", "opt", "ctx");
+    private static final Http.RequestMethod CUSTOM = Http.RequestMethod.create("CUSTOM");
+
+    private final List<Handler> handlers = new ArrayList<>();
+
+    @Test
+    public void testSameRoutesAsCrawler() {
+        // services are updated on each build, so their handlers must be created just once
+        List<Handler> api = List.of(handler(), handler(), handler(), handler(), handler(), handler(), handler(),
+                                    handler(), handler());
+        Routing.Builder builder = Routing.builder()
+                .any(handler())
+                .get("/", handler())
+                .get("/user", handler())
+                .post("/user", handler())
+                .get("/user/{name}", handler())
+                .get("/user/{name}/detail", handler())
+                .get("/user/admin", handler())
+                .put("/user/{id}", handler())
+                .any("/files/{+rest}", handler())
+                .get("/files/readme", handler())
+                .get("/num/{num:\\d+}", handler())
+                .get("/opt[/{opt}]", handler())
+                .get("/a\\{b", handler())
+                .get(PathMatcher.create("/custom/{id}"), handler())
+                .anyOf(List.of(CUSTOM), "/user/{name}", handler())
+                .register("/api", rules -> rules
+                        .get("/", api.get(0))
+                        .get("/items/{id}", api.get(1))
+                        .any(api.get(2))
+                        .register("/nested/{ctx}", nested -> nested.get("/{id}", api.get(3)).any(api.get(4))))
+                .register("/api", rules -> rules.get("/items/{id}", api.get(5)))
+                .register("/greedy/{+rest}", rules -> rules.get("/x", api.get(6)).any(api.get(7)))
+                .register(rules -> rules.get("/flat/{id}", api.get(8)))
+                .any("/user/{name}", handler());
+
+        RequestRouting crawling = (RequestRouting) builder.build();
+        RequestRouting compiled = (RequestRouting) builder.compiled(true).build();
+
+        List<String> paths = List.of("/", "/user", "/user/john", "/user/admin", "/user/john/detail", "/user/john/other",
+                                     "/files", "/files/readme", "/files/a/b/c", "/num/12", "/num/ab", "/opt", "/opt/x",
+                                     "/a{b", "/custom/1", "/api", "/api/items", "/api/items/1", "/api/items/1/2",
+                                     "/api/nested/n", "/api/nested/n/1", "/api/nested/n/1/2", "/greedy/a/b/x",
+                                     "/greedy/a", "/flat/1", "/unknown", "/user//john");
+        List<Http.RequestMethod> methods = List.of(Http.Method.GET, Http.Method.POST, Http.Method.PUT,
+                                                   Http.Method.DELETE, CUSTOM, Http.RequestMethod.create("OTHER"));
+
+        for (String path : paths) {
+            for (Http.RequestMethod method : methods) {
+                assertThat(method + " " + path,
+                           crawl(compiled, path, method),
+                           is(crawl(crawling, path, method)));
+            }
+        }
+    }
+
+    @Test
+    public void testNotMatched() {
+        RequestRouting routing = (RequestRouting) Routing.builder()
+                .compiled(true)
+                .get("/user/{name}", handler())
+                .build();
+
+        assertThat(crawl(routing, "/user/john", Http.Method.GET).size(), is(1));
+        assertThat(crawl(routing, "/user", Http.Method.GET), is(List.of()));
+        assertThat(crawl(routing, "/user/john", Http.Method.POST), is(List.of()));
+        assertThat(crawl(routing, "/user/john/doe", Http.Method.GET), is(List.of()));
+    }
+
+    private List<String> crawl(RequestRouting routing, String path, Http.RequestMethod method) {
+        List<String> result = new ArrayList<>();
+        RequestRouting.RouteCrawler crawler = routing.crawler(path, path, method);
+        for (RequestRouting.Item item = crawler.next(); item != null; item = crawler.next()) {
+            // ignore the tracing handler registered by the builder
+            int index = handlers.indexOf(item.handlerRoute().handler());
+            if (index < 0) {
+                continue;
+            }
+            Request.Path itemPath = item.path();
+            StringBuilder description = new StringBuilder()
+                    .append(index)
+                    .append(' ').append(itemPath)
+                    .append(' ').append(itemPath.toRawString())
+                    .append(' ').append(itemPath.absolute());
+            for (String name : PARAM_NAMES) {
+                description.append(' ').append(itemPath.param(name))
+                        .append('/').append(itemPath.absolute().param(name));
+            }
+            result.add(description.toString());
+        }
+        return result;
+    }
+
+    private Handler handler() {
+        // capturing lambda, so each handler is a distinct instance
+        int index = handlers.size();
+        Handler handler = (req, res) -> res.send(String.valueOf(index));
+        handlers.add(handler);
+        return handler;
+    }
+}
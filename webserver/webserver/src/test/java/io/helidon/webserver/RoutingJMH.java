@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webserver;
+
+import io.helidon.common.http.Http;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Compares the default routing crawler with the compiled {@link RouteTrie}.
+ * Each route is {@code GET /resource{i}/{id}}, half of them registered in a sub-routing. The request is routed
+ * to the last registered route, which is the worst case of the default crawler.
+ */
+@State(Scope.Benchmark)
+public class RoutingJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(RoutingJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "100", "1000"})
+    int routes;
+
+    @Param({"false", "true"})
+    boolean compiled;
+
+    RequestRouting routing;
+    String path;
+
+    @Setup
+    public void setup() {
+        Handler handler = (req, res) -> res.send();
+        int half = routes / 2;
+        Routing.Builder builder = Routing.builder()
+                .compiled(compiled)
+                .register("/api", rules -> {
+                    for (int i = 0; i < half; i++) {
+                        rules.get("/resource" + i + "/{id}", handler);
+                    }
+                });
+        for (int i = half; i < routes; i++) {
+            builder.get("/resource" + i + "/{id}", handler);
+        }
+        routing = (RequestRouting) builder.build();
+        path = "/resource" + (routes - 1) + "/42";
+    }
+
+    @Benchmark
+    public void route(Blackhole bh) {
+        RequestRouting.RouteCrawler crawler = routing.crawler(path, path, Http.Method.GET);
+        // tracing handler first, then the route
+        bh.consume(crawler.next());
+        bh.consume(crawler.next());
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2021 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigException;
+import io.helidon.config.ConfigSources;
+import io.helidon.webclient.WebClient;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests {@link Transport} selection.
+ */
+public class TransportTest {
+
+    @Test
+    public void testConfigValue() {
+        assertThat(Transport.create(config(Map.of("transport", "nio")).get("transport")), instanceOf(NioTransport.class));
+        assertThat(Transport.create(config(Map.of("transport", "EPOLL")).get("transport")), instanceOf(EpollTransport.class));
+        assertThat(Transport.create(config(Map.of("transport", "auto")).get("transport")),
+                   instanceOf(EpollTransport.isAvailable() ? EpollTransport.class : NioTransport.class));
+    }
+
+    @Test
+    public void testConfigObject() {
+        Transport transport = Transport.create(config(Map.of("transport.type", "epoll")).get("transport"));
+        assertThat(transport, instanceOf(EpollTransport.class));
+        assertThat(transport.toString(), is("epoll"));
+    }
+
+    @Test
+    public void testUnknown() {
+        Config config = config(Map.of("transport", "carrier-pigeon"));
+        assertThrows(ConfigException.class, () -> Transport.create(config.get("transport")));
+    }
+
+    @Test
+    public void testServerConfiguration() {
+        ServerConfiguration configuration = ServerConfiguration.builder()
+                .config(config(Map.of("transport", "nio")))
+                .build();
+        assertThat(configuration.transport().orElseThrow(), instanceOf(NioTransport.class));
+    }
+
+    @Test
+    public void testNio() throws Exception {
+        testServer(Transport.nio());
+    }
+
+    @Test
+    public void testEpoll() throws Exception {
+        assumeTrue(EpollTransport.isAvailable(), "Native epoll is not available");
+        testServer(Transport.epoll());
+    }
+
+    @Test
+    public void testUnavailableFallsBack() throws Exception {
+        Transport unavailable = new Transport() {
+            @Override
+            public boolean isAvailableFor(WebServer webserver) {
+                return false;
+            }
+
+            @Override
+            public <T> Optional<T> createTransportArtifact(Class<T> type,
+                                                                String name,
+                                                                ServerConfiguration config) {
+                throw new IllegalStateException("Should not be called");
+            }
+        };
+        testServer(unavailable);
+    }
+
+    private static void testServer(Transport transport) throws Exception {
+        WebServer server = WebServer.builder()
+                .transport(transport)
+                .routing(Routing.builder().get((req, res) -> res.send("test")))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+        try {
+            String response = WebClient.builder()
+                    .baseUri("http://localhost:" + server.port())
+                    .build()
+                    .get()
+                    .request(String.class)
+                    .await(10, TimeUnit.SECONDS);
+            assertThat(response, is("test"));
+        } finally {
+            server.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Config config(Map<String, String> values) {
+        return Config.builder(ConfigSources.create(values))
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .build();
+    }
+}